@@ -0,0 +1,77 @@
+package com.alpha.coding.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.expression.AnnotatedElementKey;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.ExpressionParser;
+
+import com.alpha.coding.common.aop.assist.AopHelper;
+import com.alpha.coding.common.aop.assist.SpelExpressionParserFactory;
+import com.alpha.coding.common.redis.cache.SimpleKeyGenerator;
+import com.alpha.coding.common.spring.spel.GlobalExpressionCache;
+
+/**
+ * CacheKeyBenchmark RedisCacheAspect的缓存key生成：无key表达式时走SimpleKeyGenerator，有表达式时走SpEL求值
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheKeyBenchmark {
+
+    private final SimpleKeyGenerator keyGenerator = new SimpleKeyGenerator();
+    private final ExpressionParser expressionParser = SpelExpressionParserFactory.getDefaultParser();
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final CacheKeyBenchmark target = this;
+    private Method method;
+    private String methodSignature;
+    private AnnotatedElementKey methodKey;
+    private Object[] args;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        method = CacheKeyBenchmark.class.getMethod("queryUser", Long.class, String.class);
+        methodSignature = method.toGenericString();
+        methodKey = new AnnotatedElementKey(method, CacheKeyBenchmark.class);
+        args = new Object[] {10086L, "benchmark_user"};
+    }
+
+    /**
+     * 被缓存方法的签名样例
+     */
+    public String queryUser(Long userId, String userName) {
+        return userName + userId;
+    }
+
+    @Benchmark
+    public Object simpleKeyGenerator() {
+        return "ReCh:" + keyGenerator.generate(target, method, methodSignature, args);
+    }
+
+    @Benchmark
+    public Object spelKey() {
+        return "ReCh:" + AopHelper.getExpression(GlobalExpressionCache.getCache(), methodKey,
+                "'user:' + #p0 + ':' + #p1", expressionParser)
+                .getValue(AopHelper.createEvaluationContext(method, args, target, CacheKeyBenchmark.class,
+                        null, null, parameterNameDiscoverer));
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.alpha.coding.benchmark;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alpha.coding.common.compute.ComputeEngine;
+
+/**
+ * ComputeEngineBenchmark 集合表达式计算，表达式中的数字对应预先生成的集合
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComputeEngineBenchmark {
+
+    private static final String EXPRESSION = "(1 + 2) - 3 | 4";
+
+    private final Map<String, List<Long>> sets = new HashMap<>();
+    private final Function<Long, Object> keyFunction = x -> x;
+    private final Function<String, List<Long>> valueFunction = sets::get;
+
+    @Setup
+    public void setup() {
+        sets.put("1", range(0, 1000));
+        sets.put("2", range(500, 1500));
+        sets.put("3", range(200, 400));
+        sets.put("4", range(0, 2000, 2));
+    }
+
+    @Benchmark
+    public List<Long> computeList() {
+        return ComputeEngine.computeList(EXPRESSION, keyFunction, valueFunction);
+    }
+
+    private static List<Long> range(long from, long to) {
+        return range(from, to, 1);
+    }
+
+    private static List<Long> range(long from, long to, long step) {
+        return LongStream.range(from, to).filter(x -> (x - from) % step == 0).boxed().collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.alpha.coding.benchmark;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alpha.coding.common.utils.DateUtils;
+
+/**
+ * DateUtilsBenchmark 日期格式化与解析
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateUtilsBenchmark {
+
+    private Date date;
+    private String dateStr;
+
+    @Setup
+    public void setup() {
+        date = new Date();
+        dateStr = DateUtils.format(date, DateUtils.DEFAULT_FORMAT);
+    }
+
+    @Benchmark
+    public String format() {
+        return DateUtils.format(date, DateUtils.DEFAULT_FORMAT);
+    }
+
+    @Benchmark
+    public Date parse() {
+        return DateUtils.parse(dateStr, DateUtils.DEFAULT_FORMAT);
+    }
+
+    @Benchmark
+    public Date smartParse() {
+        return DateUtils.smartParse(dateStr);
+    }
+
+}
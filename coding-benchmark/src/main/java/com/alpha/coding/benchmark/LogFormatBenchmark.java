@@ -0,0 +1,76 @@
+package com.alpha.coding.benchmark;
+
+import java.lang.annotation.Annotation;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alpha.coding.benchmark.support.BenchmarkBean;
+import com.alpha.coding.common.log.DefaultLogor;
+
+/**
+ * LogFormatBenchmark AbstractLogor请求参数格式化，分别覆盖无过滤与jsonPath过滤
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogFormatBenchmark {
+
+    private final ExposedLogor logor = new ExposedLogor();
+    private final String[] paramNames = new String[] {"userId", "request"};
+    private final Annotation[][] parameterAnnotations = new Annotation[2][0];
+    private Object[] params;
+    private Map<Integer, List<String>> ignorePathMap;
+
+    @Setup
+    public void setup() {
+        final BenchmarkBean bean = new BenchmarkBean().setId(10086L).setUserName("benchmark_user").setStatus(1)
+                .setAmount(new BigDecimal("1024.50")).setCreateTime(new Date()).setUpdateTime(new Date())
+                .setTags(Arrays.asList("a", "b", "c"));
+        params = new Object[] {10086L, bean};
+        ignorePathMap = Collections.singletonMap(1, Collections.singletonList("$.userName"));
+    }
+
+    @Benchmark
+    public String formatParams() {
+        return logor.format(paramNames, params, parameterAnnotations, null, null);
+    }
+
+    @Benchmark
+    public String formatParamsWithIgnorePath() {
+        return logor.format(paramNames, params, parameterAnnotations, ignorePathMap, null);
+    }
+
+    /**
+     * 暴露formatParams
+     */
+    private static class ExposedLogor extends DefaultLogor {
+
+        String format(String[] paramNames, Object[] params, Annotation[][] parameterAnnotations,
+                      Map<Integer, List<String>> ignoreJsonPathMap, Map<Integer, List<String>> retainJsonPathMap) {
+            return formatParams(paramNames, params, parameterAnnotations, ignoreJsonPathMap, retainJsonPathMap);
+        }
+    }
+
+}
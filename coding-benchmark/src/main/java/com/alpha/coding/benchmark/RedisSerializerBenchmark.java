@@ -0,0 +1,59 @@
+package com.alpha.coding.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alpha.coding.benchmark.support.BenchmarkBean;
+import com.alpha.coding.common.redis.cache.serializer.AutoJsonRedisSerializer;
+
+/**
+ * RedisSerializerBenchmark AutoJsonRedisSerializer编解码
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisSerializerBenchmark {
+
+    private AutoJsonRedisSerializer serializer;
+    private BenchmarkBean bean;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        serializer = new AutoJsonRedisSerializer(BenchmarkBean.class, BenchmarkBean.class);
+        bean = new BenchmarkBean().setId(10086L).setUserName("benchmark_user").setStatus(1)
+                .setAmount(new BigDecimal("1024.50")).setCreateTime(new Date()).setUpdateTime(new Date())
+                .setTags(Arrays.asList("a", "b", "c"));
+        bytes = serializer.serialize(bean);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(bean);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(bytes);
+    }
+
+}
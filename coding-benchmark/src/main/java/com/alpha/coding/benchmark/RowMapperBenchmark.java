@@ -0,0 +1,58 @@
+package com.alpha.coding.benchmark;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alpha.coding.benchmark.support.BenchmarkBean;
+import com.alpha.coding.benchmark.support.FakeResultSet;
+import com.alpha.coding.common.jdbc.MyBeanPropertyRowMapper;
+import com.alpha.coding.common.jdbc.PrecompiledBeanPropertyRowMapper;
+
+/**
+ * RowMapperBenchmark MyBeanPropertyRowMapper与PrecompiledBeanPropertyRowMapper单行映射，ResultSet为内存实现
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    private MyBeanPropertyRowMapper<BenchmarkBean> rowMapper;
+    private PrecompiledBeanPropertyRowMapper<BenchmarkBean> precompiledRowMapper;
+    private ResultSet resultSet;
+
+    @Setup
+    public void setup() {
+        rowMapper = new MyBeanPropertyRowMapper<>(BenchmarkBean.class);
+        precompiledRowMapper = new PrecompiledBeanPropertyRowMapper<>(BenchmarkBean.class);
+        resultSet = FakeResultSet.create();
+    }
+
+    @Benchmark
+    public BenchmarkBean mapRow() throws SQLException {
+        return rowMapper.mapRow(resultSet, 1);
+    }
+
+    @Benchmark
+    public BenchmarkBean mapRowPrecompiled() throws SQLException {
+        return precompiledRowMapper.mapRow(resultSet, 1);
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.alpha.coding.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alpha.coding.bo.trace.TimestampBase62UUIDTraceIdGenerator;
+
+/**
+ * TraceIdBenchmark traceId生成，含多线程竞争场景
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraceIdBenchmark {
+
+    private final TimestampBase62UUIDTraceIdGenerator generator = TimestampBase62UUIDTraceIdGenerator.getInstance();
+
+    @Benchmark
+    public String traceId() {
+        return generator.traceId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String traceIdContended() {
+        return generator.traceId();
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.alpha.coding.benchmark.support;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * BenchmarkBean 基准测试使用的数据对象
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@Data
+@Accessors(chain = true)
+public class BenchmarkBean implements Serializable {
+
+    private Long id;
+    private String userName;
+    private Integer status;
+    private BigDecimal amount;
+    private Date createTime;
+    private Date updateTime;
+    private List<String> tags;
+
+}
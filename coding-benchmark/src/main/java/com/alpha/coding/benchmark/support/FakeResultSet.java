@@ -0,0 +1,83 @@
+package com.alpha.coding.benchmark.support;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+
+/**
+ * FakeResultSet 基于动态代理的内存ResultSet，固定返回一行数据，仅实现RowMapper用到的方法
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+public class FakeResultSet {
+
+    private static final String[] COLUMNS = new String[] {
+            "id", "user_name", "status", "amount", "create_time", "update_time", "extra_column"
+    };
+
+    /**
+     * 创建ResultSet，值按列顺序给出
+     */
+    public static ResultSet create() {
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+        final Object[] values = new Object[] {
+                10086L, "benchmark_user", 1, new BigDecimal("1024.50"), now, now, "ignored"
+        };
+        final Object[] lastValue = new Object[1];
+        final ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+                FakeResultSet.class.getClassLoader(), new Class[] {ResultSetMetaData.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getColumnCount":
+                            return COLUMNS.length;
+                        case "getColumnLabel":
+                        case "getColumnName":
+                            return COLUMNS[(Integer) args[0] - 1];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        return (ResultSet) Proxy.newProxyInstance(FakeResultSet.class.getClassLoader(),
+                new Class[] {ResultSet.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getMetaData":
+                            return metaData;
+                        case "wasNull":
+                            return lastValue[0] == null;
+                        case "next":
+                            return true;
+                        default:
+                            break;
+                    }
+                    if (!method.getName().startsWith("get") || args == null || !(args[0] instanceof Integer)) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    final Object value = values[(Integer) args[0] - 1];
+                    lastValue[0] = value;
+                    return convert(value, method.getReturnType());
+                });
+    }
+
+    private static Object convert(Object value, Class<?> type) {
+        if (value == null || type.isInstance(value)) {
+            return value;
+        }
+        if (type == String.class) {
+            return String.valueOf(value);
+        }
+        if (type == long.class) {
+            return ((Number) value).longValue();
+        }
+        if (type == int.class) {
+            return ((Number) value).intValue();
+        }
+        if (type == BigDecimal.class) {
+            return new BigDecimal(String.valueOf(value));
+        }
+        throw new UnsupportedOperationException("can not convert " + value.getClass() + " to " + type);
+    }
+
+}
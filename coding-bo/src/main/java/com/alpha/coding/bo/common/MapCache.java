@@ -1,20 +1,24 @@
 package com.alpha.coding.bo.common;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
-import lombok.Data;
-import lombok.experimental.Accessors;
-
 /**
  * MapCache
+ * <p>
+ * <li>过期：条目按写入顺序排队，访问时顺带清理队首超过(expire + 20s)未刷新的条目，无后台扫描线程</li>
+ * <li>容量：指定maximumSize时按LRU淘汰，并以TinyLFU频率估算做准入，避免一次性访问冲刷热点数据</li>
+ * <li>统计：命中、加载、淘汰、过期次数，见{@link #stats()}</li>
  *
  * @version 1.0
  * Date: 2020/4/9
@@ -22,9 +26,9 @@ import lombok.experimental.Accessors;
 public class MapCache {
 
     /**
-     * 调度服务
+     * 条目在过期后仍保留的时间，期间可通过引用快速刷新
      */
-    private static final ScheduledExecutorService SCHEDULED_EXECUTOR = Executors.newSingleThreadScheduledExecutor();
+    private static final long RETAIN_NANOS = TimeUnit.SECONDS.toNanos(20);
     /**
      * 缓存容器
      */
@@ -38,39 +42,74 @@ public class MapCache {
      * 过期时间
      */
     private final long expireNanos;
+    /**
+     * 条目清理时间
+     */
+    private final long expireInterval;
+    /**
+     * 最大条目数，不大于0表示不限制
+     */
+    private final long maximumSize;
+    /**
+     * 以下结构均由evictionLock保护
+     */
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    @SuppressWarnings({"rawtypes"})
+    private final LinkedHashMap<String, CacheValueWrapper> writeOrder = new LinkedHashMap<>();
+    @SuppressWarnings({"rawtypes"})
+    private final LinkedHashMap<String, CacheValueWrapper> accessOrder;
+    private final FrequencySketch sketch;
+    /**
+     * 统计
+     */
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expirationCount = new LongAdder();
 
     public MapCache(long expireMillis) {
+        this(expireMillis, 0);
+    }
+
+    public MapCache(long expireMillis, long maximumSize) {
         this.expireNanos = TimeUnit.MILLISECONDS.toNanos(expireMillis);
-        final long expireInterval = TimeUnit.SECONDS.toNanos(20) + expireNanos;
-        SCHEDULED_EXECUTOR.scheduleAtFixedRate(() -> valMap.keySet().stream()
-                        .filter(p -> Math.abs(System.nanoTime() - valMap.get(p).freshTimestamp.get()) > expireInterval)
-                        .forEach(valMap::remove),
-                expireMillis, expireMillis, TimeUnit.MILLISECONDS);
+        this.expireInterval = RETAIN_NANOS + expireNanos;
+        this.maximumSize = maximumSize;
+        this.accessOrder = maximumSize > 0 ? new LinkedHashMap<>(16, 0.75f, true) : null;
+        this.sketch = maximumSize > 0 ? new FrequencySketch(maximumSize) : null;
     }
 
     private static class CacheValueWrapper<T> {
-        private final AtomicReference<T> reference = new AtomicReference<>(null);
-        private final AtomicLong freshTimestamp = new AtomicLong(0);
+        private final String key;
+        private volatile T value;
+        private volatile long freshTimestamp;
+        /**
+         * 最近写入时间，决定清理顺序
+         */
+        private long writeTimestamp;
+
+        private CacheValueWrapper(String key) {
+            this.key = key;
+            this.writeTimestamp = System.nanoTime();
+        }
     }
 
     @SuppressWarnings({"unchecked"})
     public <T> T computeIfAbsent(String key, Function<String, T> loader) {
-        final CacheValueWrapper<T> wrapper = valMap.computeIfAbsent(key, k -> new CacheValueWrapper<T>());
-        long delta = System.nanoTime() - wrapper.freshTimestamp.get();
+        final CacheValueWrapper<T> wrapper = getWrapper(key);
+        long delta = System.nanoTime() - wrapper.freshTimestamp;
         if (delta <= -expireNanos || delta > expireNanos) {
-            wrapper.reference.set(loader.apply(key));
-            wrapper.freshTimestamp.set(System.nanoTime());
+            missCount.increment();
+            return refresh(wrapper, loader.apply(key));
         }
-        return wrapper.reference.get();
+        hitCount.increment();
+        return wrapper.value;
     }
 
-    @Data
-    @Accessors(chain = true)
     private static class InvokeLock {
 
-        private CountDownLatch signal;
-        private Thread loaderThread;
-        private Object value;
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private final Thread loaderThread = Thread.currentThread();
 
     }
 
@@ -78,64 +117,224 @@ public class MapCache {
      * 标记缓存过期
      */
     public void markCacheExpire(String key) {
-        valMap.computeIfAbsent(key, k -> new CacheValueWrapper<>()).freshTimestamp.set(0);
+        getWrapper(key).freshTimestamp = 0;
     }
 
     /**
-     * 同步加载
+     * 同步加载，同一key并发加载时只有一个线程执行loader，其余线程等待并共享其结果(含异常)；
+     * 等待超时或被中断时自行加载
      */
     @SuppressWarnings({"unchecked"})
     public <T> T syncComputeIfAbsent(String key, Function<String, T> loader, Long awaitMillis) {
-        final CacheValueWrapper<T> wrapper = valMap.computeIfAbsent(key, k -> new CacheValueWrapper<T>());
-        long delta = System.nanoTime() - wrapper.freshTimestamp.get();
+        final CacheValueWrapper<T> wrapper = getWrapper(key);
+        long delta = System.nanoTime() - wrapper.freshTimestamp;
         if (delta > 0 && delta <= expireNanos) {
-            return wrapper.reference.get();
-        }
-        boolean create = false;
-        final InvokeLock[] lock = new InvokeLock[] {lockCache.get(key)};
-        if (lock[0] == null) {
-            synchronized(lockCache) {
-                lock[0] = lockCache.get(key);
-                if (lock[0] == null) {
-                    lock[0] = new InvokeLock();
-                    lock[0].loaderThread = Thread.currentThread();
-                    lock[0].signal = new CountDownLatch(1);
-                    create = true;
-                    lockCache.put(key, lock[0]);
-                }
-            }
+            hitCount.increment();
+            return wrapper.value;
         }
+        final InvokeLock newLock = new InvokeLock();
+        final InvokeLock lock = lockCache.putIfAbsent(key, newLock);
         // 执行load数据逻辑
         final Supplier<T> execSupplier = () -> {
-            T result = loader.apply(key);
-            wrapper.reference.set(result);
-            wrapper.freshTimestamp.set(System.nanoTime());
-            lock[0].value = result;
-            return result;
+            missCount.increment();
+            return refresh(wrapper, loader.apply(key));
         };
-        if (create || lock[0].getLoaderThread() == Thread.currentThread()) {
+        if (lock == null) {
             try {
-                return execSupplier.get();
+                final T result = execSupplier.get();
+                newLock.future.complete(result);
+                return result;
+            } catch (Throwable e) {
+                newLock.future.completeExceptionally(e);
+                throw e;
             } finally {
-                lock[0].signal.countDown();
-                if (create) {
-                    lockCache.remove(key);
-                }
+                lockCache.remove(key, newLock);
             }
-        } else {
+        }
+        if (lock.loaderThread == Thread.currentThread()) {
+            return execSupplier.get();
+        }
+        try {
+            final T result = (T) (awaitMillis == null ? lock.future.get()
+                    : lock.future.get(awaitMillis, TimeUnit.MILLISECONDS));
+            hitCount.increment();
+            return result;
+        } catch (TimeoutException e) {
+            return execSupplier.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return execSupplier.get();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * 移除缓存
+     */
+    public void invalidate(String key) {
+        final CacheValueWrapper<?> wrapper = valMap.remove(key);
+        if (wrapper != null) {
+            evictionLock.lock();
             try {
-                if (awaitMillis == null) {
-                    lock[0].signal.await();
-                } else {
-                    final boolean ok = lock[0].signal.await(awaitMillis, TimeUnit.MILLISECONDS);
-                    if (!ok) {
-                        return execSupplier.get();
-                    }
+                unlink(wrapper);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 当前条目数
+     */
+    public long size() {
+        return valMap.size();
+    }
+
+    /**
+     * 统计快照
+     */
+    public MapCacheStats stats() {
+        return new MapCacheStats()
+                .setHitCount(hitCount.sum())
+                .setMissCount(missCount.sum())
+                .setEvictionCount(evictionCount.sum())
+                .setExpirationCount(expirationCount.sum())
+                .setSize(valMap.size());
+    }
+
+    @SuppressWarnings({"unchecked"})
+    private <T> CacheValueWrapper<T> getWrapper(String key) {
+        CacheValueWrapper<T> wrapper = valMap.get(key);
+        if (wrapper != null) {
+            afterRead(wrapper);
+            return wrapper;
+        }
+        final boolean[] created = new boolean[1];
+        wrapper = valMap.computeIfAbsent(key, k -> {
+            created[0] = true;
+            return new CacheValueWrapper<T>(k);
+        });
+        if (created[0]) {
+            afterCreate(wrapper);
+        } else {
+            afterRead(wrapper);
+        }
+        return wrapper;
+    }
+
+    private <T> T refresh(CacheValueWrapper<T> wrapper, T value) {
+        wrapper.value = value;
+        wrapper.freshTimestamp = System.nanoTime();
+        evictionLock.lock();
+        try {
+            if (writeOrder.remove(wrapper.key, wrapper)) {
+                wrapper.writeTimestamp = wrapper.freshTimestamp;
+                writeOrder.put(wrapper.key, wrapper);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+        return value;
+    }
+
+    /**
+     * 读操作不阻塞：获取不到锁时放弃本次访问记录
+     */
+    private void afterRead(CacheValueWrapper<?> wrapper) {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            if (accessOrder != null) {
+                sketch.increment(wrapper.key);
+                accessOrder.get(wrapper.key);
+            }
+            expireEntries(System.nanoTime());
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void afterCreate(CacheValueWrapper<?> wrapper) {
+        evictionLock.lock();
+        try {
+            if (valMap.get(wrapper.key) != wrapper) {
+                return;
+            }
+            writeOrder.put(wrapper.key, wrapper);
+            if (accessOrder != null) {
+                sketch.increment(wrapper.key);
+                accessOrder.put(wrapper.key, wrapper);
+            }
+            expireEntries(System.nanoTime());
+            evictEntries(wrapper);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * 写入顺序即清理顺序，从队首清理到第一个未到期条目为止
+     */
+    @SuppressWarnings({"rawtypes"})
+    private void expireEntries(long now) {
+        final Iterator<CacheValueWrapper> iterator = writeOrder.values().iterator();
+        while (iterator.hasNext()) {
+            final CacheValueWrapper wrapper = iterator.next();
+            if (now - wrapper.writeTimestamp <= expireInterval) {
+                return;
+            }
+            iterator.remove();
+            if (accessOrder != null) {
+                accessOrder.remove(wrapper.key, wrapper);
+            }
+            if (valMap.remove(wrapper.key, wrapper)) {
+                expirationCount.increment();
+            }
+        }
+    }
+
+    /**
+     * 超出容量时比较新条目与LRU队首条目的访问频率，新条目频率更高时才淘汰队首，否则拒绝新条目
+     */
+    @SuppressWarnings({"rawtypes"})
+    private void evictEntries(CacheValueWrapper<?> candidate) {
+        if (accessOrder == null) {
+            return;
+        }
+        while (accessOrder.size() > maximumSize) {
+            CacheValueWrapper victim = null;
+            for (Map.Entry<String, CacheValueWrapper> entry : accessOrder.entrySet()) {
+                if (entry.getValue() != candidate) {
+                    victim = entry.getValue();
+                    break;
                 }
-            } catch (InterruptedException e) {
-                return execSupplier.get();
             }
-            return (T) (lock[0].value);
+            if (victim == null || sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+                victim = candidate;
+            }
+            unlink(victim);
+            if (valMap.remove(victim.key, victim)) {
+                evictionCount.increment();
+            }
+            if (victim == candidate) {
+                return;
+            }
+        }
+    }
+
+    private void unlink(CacheValueWrapper<?> wrapper) {
+        writeOrder.remove(wrapper.key, wrapper);
+        if (accessOrder != null) {
+            accessOrder.remove(wrapper.key, wrapper);
         }
     }
 
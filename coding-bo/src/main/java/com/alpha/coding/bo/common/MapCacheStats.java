@@ -0,0 +1,47 @@
+package com.alpha.coding.bo.common;
+
+import java.io.Serializable;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * MapCacheStats MapCache统计快照
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@Data
+@Accessors(chain = true)
+public class MapCacheStats implements Serializable {
+
+    /**
+     * 命中次数(未触发加载)
+     */
+    private long hitCount;
+    /**
+     * 未命中次数(触发加载)
+     */
+    private long missCount;
+    /**
+     * 因容量淘汰的次数
+     */
+    private long evictionCount;
+    /**
+     * 因过期清理的次数
+     */
+    private long expirationCount;
+    /**
+     * 当前条目数
+     */
+    private long size;
+
+    /**
+     * 命中率
+     */
+    public double hitRate() {
+        final long total = hitCount + missCount;
+        return total == 0 ? 1.0D : (double) hitCount / total;
+    }
+
+}
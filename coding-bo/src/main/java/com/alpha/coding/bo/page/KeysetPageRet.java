@@ -0,0 +1,34 @@
+package com.alpha.coding.bo.page;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+/**
+ * KeysetPageRet 游标(keyset)分页结果
+ * <p>
+ * totalCount为-1表示未统计总数
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@Data
+@NoArgsConstructor
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+@Accessors(chain = true)
+public class KeysetPageRet extends PageRet {
+
+    /**
+     * 下一页的续传令牌，无下一页时为null
+     */
+    private String nextToken;
+
+    /**
+     * 是否有下一页
+     */
+    private boolean hasMore;
+
+}
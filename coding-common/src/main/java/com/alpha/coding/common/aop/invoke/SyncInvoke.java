@@ -39,6 +39,12 @@ public @interface SyncInvoke {
      */
     String concurrency() default "1";
 
+    /**
+     * 本地控制：单飞模式，同一key并发调用时仅首个调用者执行，其余调用者等待并共享其结果(值或异常)，
+     * 开启时忽略concurrency及failFastWhenAcquireFail
+     */
+    boolean singleFlight() default false;
+
     /**
      * 本地控制：竞争失败后快速失败，否则进入等待
      */
@@ -4,6 +4,7 @@ import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -48,6 +49,7 @@ public class SyncInvokeAspect implements ApplicationContextAware {
     private final Object NO_RESULT = new Object();
     private final Map<String, String> methodSignatureCache = new ConcurrentHashMap<>(64);
     private final Map<String, InvokeUtils.InvokeLock> invokeLockCache = new ConcurrentHashMap<>(256);
+    private final ConcurrentMap<String, InvokeUtils.InvokeFlight> invokeFlightCache = new ConcurrentHashMap<>(256);
 
     /**
      * 切面逻辑
@@ -154,10 +156,19 @@ public class SyncInvokeAspect implements ApplicationContextAware {
                 return tuple.getS();
             }
         }
-        final int concurrency = BeanDefineUtils.resolveValue(applicationContext, syncInvoke.concurrency(), int.class);
-        final InvokeUtils.InvokeResult invokeResult = InvokeUtils.syncInvoke(invokeLockCache, invokeKey, concurrency,
-                syncInvoke.maxAwait() == -1 ? null : syncInvoke.maxAwait(), syncInvoke.failFastWhenAcquireFail(),
-                syncInvoke.failFastWhenTimeout(), syncInvoke.failFastWhenWaitInterrupted(), joinPoint::proceed, null);
+        final InvokeUtils.InvokeResult invokeResult;
+        if (syncInvoke.singleFlight()) {
+            invokeResult = InvokeUtils.singleFlightInvoke(invokeFlightCache, invokeKey,
+                    syncInvoke.maxAwait() == -1 ? null : syncInvoke.maxAwait(), syncInvoke.failFastWhenTimeout(),
+                    syncInvoke.failFastWhenWaitInterrupted(), joinPoint::proceed, null);
+        } else {
+            final int concurrency =
+                    BeanDefineUtils.resolveValue(applicationContext, syncInvoke.concurrency(), int.class);
+            invokeResult = InvokeUtils.syncInvoke(invokeLockCache, invokeKey, concurrency,
+                    syncInvoke.maxAwait() == -1 ? null : syncInvoke.maxAwait(), syncInvoke.failFastWhenAcquireFail(),
+                    syncInvoke.failFastWhenTimeout(), syncInvoke.failFastWhenWaitInterrupted(), joinPoint::proceed,
+                    null);
+        }
         if (invokeResult.isInterrupted() && syncInvoke.failFastWhenWaitInterrupted()
                 && !syncInvoke.failCallback().equals(FailCallback.class)) {
             final FailCallback failCallback = FailCallbackFactory.instance(syncInvoke.failCallback());
@@ -170,7 +181,8 @@ public class SyncInvokeAspect implements ApplicationContextAware {
             return failCallback.onLocalWaitTimeout(method, joinPoint.getArgs(), invokeResult.getData(),
                     BeanDefineUtils.resolveValue(applicationContext, syncInvoke.failText(), String.class));
         }
-        if (!invokeResult.isWinLock() && !syncInvoke.failCallback().equals(FailCallback.class)) {
+        if (!syncInvoke.singleFlight() && !invokeResult.isWinLock()
+                && !syncInvoke.failCallback().equals(FailCallback.class)) {
             final FailCallback failCallback = FailCallbackFactory.instance(syncInvoke.failCallback());
             return failCallback.onLocalAcquireFail(method, joinPoint.getArgs(), invokeResult.getData(),
                     BeanDefineUtils.resolveValue(applicationContext, syncInvoke.failText(), String.class));
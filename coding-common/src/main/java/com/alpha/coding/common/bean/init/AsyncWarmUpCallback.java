@@ -11,7 +11,8 @@ import java.util.List;
 public interface AsyncWarmUpCallback {
 
     /**
-     * 异步暖启动回调
+     * 异步暖启动回调，返回{@link WarmUpTask}时可声明依赖与优先级，
+     * 返回{@link com.alpha.coding.bo.executor.schedule.ScheduledTask}时按周期调度
      */
     List<Runnable> asyncWarmUp();
 
@@ -19,20 +19,45 @@ import com.alpha.coding.bo.executor.RunnableWrapper;
 import com.alpha.coding.bo.executor.schedule.ScheduleDelegator;
 import com.alpha.coding.bo.executor.schedule.ScheduledTask;
 
+import lombok.Setter;
+import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * ContextWarmUpInitializer
+ * <p>
+ * <li>WarmUpCallback按声明的依赖关系(DAG)和优先级在有界线程池上执行，未声明依赖的按原有顺序依次执行</li>
+ * <li>等待关键任务(默认为WarmUpCallback)完成后结束暖启动，非关键任务在后台继续执行，结束后输出耗时报告</li>
+ * <li>关键WarmUpCallback全部成功后才调用AsyncWarmUpCallback：ScheduledTask按周期调度，WarmUpTask按依赖关系执行，
+ * 其它Runnable每个任务独占线程；长期运行的WarmUpTask会持续占用线程池，应使用ScheduledTask</li>
  *
  * @version 1.0
  * Date: 2020-02-21
  */
 @Slf4j
+@Accessors(chain = true)
 public class ContextWarmUpInitializer implements ApplicationListener<ContextRefreshedEvent>, DisposableBean, Ordered {
 
     private final AtomicInteger initFlag = new AtomicInteger(0);
     private final List<ExecutorService> executorServiceList = new ArrayList<>();
     private Function<Runnable, RunnableWrapper> warmUpAopProvider = null; // 切面逻辑控制
+    private volatile WarmUpScheduler scheduler;
+    private volatile WarmUpScheduler taskScheduler;
+    /**
+     * 暖启动最大并行数
+     */
+    @Setter
+    private int parallelism = Math.max(2, Runtime.getRuntime().availableProcessors());
+    /**
+     * 关键任务的总等待时长(ms)，超出时启动失败，不大于0时一直等待
+     */
+    @Setter
+    private long deadlineMillis = 0;
+    /**
+     * 关键任务完成后继续等待非关键任务的时长(ms)，超出后非关键任务在后台继续执行
+     */
+    @Setter
+    private long nonCriticalWaitMillis = 0;
 
     public ContextWarmUpInitializer() {
     }
@@ -55,7 +80,6 @@ public class ContextWarmUpInitializer implements ApplicationListener<ContextRefr
             log.info("warm up......");
             try {
                 doWarmUp(context);
-                doAsyncWarmUp(context);
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
@@ -68,76 +92,239 @@ public class ContextWarmUpInitializer implements ApplicationListener<ContextRefr
     }
 
     /**
-     * 同步暖启动
+     * 暖启动：WarmUpCallback按依赖关系在有界线程池上执行，未声明依赖的按顺序依次执行；
+     * 关键任务完成后再执行AsyncWarmUpCallback返回的异步任务，非关键任务在后台继续执行
      */
     private void doWarmUp(ApplicationContext applicationContext) throws Exception {
+        final long deadline = System.currentTimeMillis() + deadlineMillis;
+        final WarmUpScheduler scheduler = new WarmUpScheduler("WarmUpPool").setParallelism(parallelism);
         Map<String, WarmUpCallback> beans = applicationContext.getBeansOfType(WarmUpCallback.class);
+        String previous = null;
         for (final Map.Entry<String, WarmUpCallback> entry : beans.entrySet()) {
-            log.info("do warm up for bean={}", entry.getKey());
-            if (warmUpAopProvider == null) {
-                entry.getValue().doWarmUp();
-            } else {
-                final Exception[] exceptions = new Exception[1];
-                final Runnable task = () -> {
-                    try {
-                        entry.getValue().doWarmUp();
-                    } catch (Exception e) {
-                        exceptions[0] = e;
-                    }
-                };
-                warmUpAopProvider.apply(task).dynamicRun(task); // 使用动态执行
-                if (exceptions[0] != null) {
-                    throw exceptions[0];
-                }
+            final WarmUpCallback callback = entry.getValue();
+            final String taskName = defaultIfBlank(callback.warmUpName(), entry.getKey());
+            WarmUpDescriptor descriptor = callback;
+            if (callback.warmUpDependsOn() == null || callback.warmUpDependsOn().length == 0) {
+                // 未声明依赖的回调保持原有的顺序执行，依赖前一个未声明依赖的回调
+                descriptor = new DelegateDescriptor(callback,
+                        previous == null ? new String[0] : new String[] {previous});
+                previous = taskName;
             }
+            scheduler.add(taskName, descriptor, () -> {
+                log.info("do warm up for bean={}", entry.getKey());
+                runCallback(callback);
+                return null;
+            });
+        }
+        this.scheduler = scheduler;
+        scheduler.setOnAllDone(() -> log.info(scheduler.getReport()));
+        scheduler.start();
+        try {
+            scheduler.awaitCritical(deadlineMillis);
+        } catch (Exception e) {
+            log.error(scheduler.getReport());
+            scheduler.shutdownNow();
+            throw e;
+        }
+        final int executorCnt = executorServiceList.size();
+        try {
+            doAsyncWarmUp(applicationContext, scheduler, deadline);
+        } catch (Exception e) {
+            // 取消已开始的周期任务与异步任务
+            for (ExecutorService executorService : executorServiceList.subList(executorCnt,
+                    executorServiceList.size())) {
+                executorService.shutdownNow();
+            }
+            if (taskScheduler != null) {
+                log.error(taskScheduler.getReport());
+                taskScheduler.shutdownNow();
+            }
+            throw e;
+        }
+        if (nonCriticalWaitMillis > 0) {
+            final long waitDeadline = System.currentTimeMillis() + nonCriticalWaitMillis;
+            if (scheduler.awaitAll(nonCriticalWaitMillis) && taskScheduler != null) {
+                taskScheduler.awaitAll(Math.max(waitDeadline - System.currentTimeMillis(), 0));
+            }
+        }
+        if (!scheduler.isAllDone() || (taskScheduler != null && !taskScheduler.isAllDone())) {
+            log.info("critical warm up finished, others continue in background, {}", getWarmUpReport());
         }
     }
 
     /**
-     * 异步暖启动
+     * 异步暖启动：在关键WarmUpCallback成功后执行；ScheduledTask按周期调度，WarmUpTask按依赖关系在有界线程池上执行，
+     * 其它任务每个独占线程
      */
-    private void doAsyncWarmUp(ApplicationContext applicationContext) throws Exception {
-        Map<String, AsyncWarmUpCallback> beans = applicationContext.getBeansOfType(AsyncWarmUpCallback.class);
-        for (Map.Entry<String, AsyncWarmUpCallback> entry : beans.entrySet()) {
+    private void doAsyncWarmUp(ApplicationContext applicationContext, WarmUpScheduler callbackScheduler,
+                               long deadline) throws Exception {
+        final WarmUpScheduler scheduler = new WarmUpScheduler("WarmUpTaskPool").setParallelism(parallelism);
+        final List<Runnable> commonTasks = new ArrayList<>();
+        final List<ScheduledTask> scheduledTasks = new ArrayList<>();
+        Map<String, AsyncWarmUpCallback> asyncBeans = applicationContext.getBeansOfType(AsyncWarmUpCallback.class);
+        for (Map.Entry<String, AsyncWarmUpCallback> entry : asyncBeans.entrySet()) {
             log.info("do async warm up for bean={}", entry.getKey());
             final List<Runnable> tasks = entry.getValue().asyncWarmUp();
             if (tasks == null || tasks.size() == 0) {
                 continue;
             }
-            List<Runnable> commonTasks = new ArrayList<>(tasks.size());
-            List<ScheduledTask> scheduledTasks = new ArrayList<>(tasks.size());
-            for (Runnable task : tasks) {
+            for (int i = 0; i < tasks.size(); i++) {
+                final Runnable task = tasks.get(i);
                 if (task instanceof ScheduledTask) {
                     scheduledTasks.add((ScheduledTask) task);
+                } else if (task instanceof WarmUpTask) {
+                    addWarmUpTask(scheduler, callbackScheduler, entry.getKey() + "#" + i, (WarmUpTask) task);
                 } else {
                     commonTasks.add(task);
                 }
             }
-            if (commonTasks.size() > 0) {
-                final ExecutorService executor = NamedExecutorPool.newFixedThreadPool("WarmUpPool", commonTasks.size());
-                executorServiceList.add(executor);
-                for (final Runnable task : commonTasks) {
-                    if (warmUpAopProvider == null) {
-                        executor.submit(task);
-                    } else {
-                        executor.submit(() -> warmUpAopProvider.apply(task).dynamicRun(task));
-                    }
+        }
+        if (!scheduler.getTaskNames().isEmpty()) {
+            scheduler.setOnAllDone(() -> log.info(scheduler.getReport()));
+            scheduler.start();
+            this.taskScheduler = scheduler;
+        }
+        if (commonTasks.size() > 0) {
+            // 未声明依赖的异步任务每个独占线程，避免长时间运行的任务相互阻塞
+            final ExecutorService executor = NamedExecutorPool.newFixedThreadPool("WarmUpAsyncPool", commonTasks.size());
+            executorServiceList.add(executor);
+            for (final Runnable task : commonTasks) {
+                executor.submit(() -> runTask(task));
+            }
+        }
+        if (scheduledTasks.size() > 0) {
+            final ScheduledExecutorService executor =
+                    NamedExecutorPool.newScheduledThreadPool("WarmUpSchPool", scheduledTasks.size());
+            executorServiceList.add(executor);
+            ScheduleDelegator delegator = new ScheduleDelegator(executor);
+            for (final ScheduledTask task : scheduledTasks) {
+                delegator.schedule(task, warmUpAopProvider == null ? null : warmUpAopProvider.apply(task));
+            }
+        }
+        if (this.taskScheduler != null) {
+            // 声明为关键任务的WarmUpTask共用关键任务的等待时长
+            final long remainMillis = deadline - System.currentTimeMillis();
+            if (deadlineMillis > 0 && remainMillis <= 0) {
+                throw new IllegalStateException("critical warm up tasks not finished within " + deadlineMillis + "ms");
+            }
+            scheduler.awaitCritical(deadlineMillis <= 0 ? 0 : remainMillis);
+        }
+    }
+
+    /**
+     * 添加WarmUpTask，对WarmUpCallback的依赖在任务执行前等待其成功
+     */
+    private void addWarmUpTask(WarmUpScheduler scheduler, WarmUpScheduler callbackScheduler, String defaultName,
+                               WarmUpTask task) {
+        final String taskName = defaultIfBlank(task.warmUpName(), defaultName);
+        if (callbackScheduler.getTaskNames().contains(taskName)) {
+            throw new IllegalArgumentException("duplicate warm up task: " + taskName);
+        }
+        final List<String> taskDeps = new ArrayList<>();
+        final List<String> callbackDeps = new ArrayList<>();
+        if (task.warmUpDependsOn() != null) {
+            for (String dep : task.warmUpDependsOn()) {
+                (callbackScheduler.getTaskNames().contains(dep) ? callbackDeps : taskDeps).add(dep);
+            }
+        }
+        final WarmUpDescriptor descriptor = callbackDeps.isEmpty() ? task
+                : new DelegateDescriptor(task, taskDeps.toArray(new String[0]));
+        scheduler.add(taskName, descriptor, () -> {
+            for (String dep : callbackDeps) {
+                final WarmUpScheduler.State state = callbackScheduler.await(dep);
+                if (state != WarmUpScheduler.State.SUCCESS) {
+                    throw new IllegalStateException("warm up task " + taskName + " depends on " + dep + " " + state);
                 }
             }
-            if (scheduledTasks.size() > 0) {
-                final ScheduledExecutorService executor =
-                        NamedExecutorPool.newScheduledThreadPool("WarmUpSchPool", scheduledTasks.size());
-                executorServiceList.add(executor);
-                ScheduleDelegator delegator = new ScheduleDelegator(executor);
-                for (final ScheduledTask task : scheduledTasks) {
-                    delegator.schedule(task, warmUpAopProvider == null ? null : warmUpAopProvider.apply(task));
+            return runTask(task);
+        });
+    }
+
+    private void runCallback(WarmUpCallback callback) throws Exception {
+        if (warmUpAopProvider == null) {
+            callback.doWarmUp();
+        } else {
+            final Exception[] exceptions = new Exception[1];
+            final Runnable task = () -> {
+                try {
+                    callback.doWarmUp();
+                } catch (Exception e) {
+                    exceptions[0] = e;
                 }
+            };
+            warmUpAopProvider.apply(task).dynamicRun(task); // 使用动态执行
+            if (exceptions[0] != null) {
+                throw exceptions[0];
             }
         }
     }
 
+    private Object runTask(Runnable task) {
+        if (warmUpAopProvider == null) {
+            task.run();
+        } else {
+            warmUpAopProvider.apply(task).dynamicRun(task);
+        }
+        return null;
+    }
+
+    private static String defaultIfBlank(String name, String defaultName) {
+        return name == null || name.trim().isEmpty() ? defaultName : name;
+    }
+
+    /**
+     * 替换依赖的任务描述，其它属性与原描述一致
+     */
+    private static class DelegateDescriptor implements WarmUpDescriptor {
+
+        private final WarmUpDescriptor delegate;
+        private final String[] dependsOn;
+
+        DelegateDescriptor(WarmUpDescriptor delegate, String[] dependsOn) {
+            this.delegate = delegate;
+            this.dependsOn = dependsOn;
+        }
+
+        @Override
+        public String[] warmUpDependsOn() {
+            return dependsOn;
+        }
+
+        @Override
+        public int warmUpPriority() {
+            return delegate.warmUpPriority();
+        }
+
+        @Override
+        public long warmUpTimeoutMillis() {
+            return delegate.warmUpTimeoutMillis();
+        }
+
+        @Override
+        public boolean warmUpCritical() {
+            return delegate.warmUpCritical();
+        }
+    }
+
+    /**
+     * 暖启动耗时报告
+     */
+    public String getWarmUpReport() {
+        if (scheduler == null) {
+            return null;
+        }
+        return taskScheduler == null ? scheduler.getReport()
+                : scheduler.getReport() + System.lineSeparator() + taskScheduler.getReport();
+    }
+
     @Override
     public void destroy() throws Exception {
+        if (scheduler != null && !scheduler.isAllDone()) {
+            scheduler.shutdownNow();
+        }
+        if (taskScheduler != null && !taskScheduler.isAllDone()) {
+            taskScheduler.shutdownNow();
+        }
         for (ExecutorService executorService : executorServiceList) {
             try {
                 executorService.shutdown();
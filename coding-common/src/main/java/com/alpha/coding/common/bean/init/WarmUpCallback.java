@@ -1,12 +1,12 @@
 package com.alpha.coding.common.bean.init;
 
 /**
- * WarmUpCallback
+ * WarmUpCallback 同步暖启动回调，默认为关键任务，可通过{@link WarmUpDescriptor}的方法声明依赖与优先级
  *
  * @version 1.0
  * Date: 2020-02-21
  */
-public interface WarmUpCallback {
+public interface WarmUpCallback extends WarmUpDescriptor {
 
     /**
      * 暖启动回调
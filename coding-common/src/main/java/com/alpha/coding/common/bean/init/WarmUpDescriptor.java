@@ -0,0 +1,46 @@
+package com.alpha.coding.common.bean.init;
+
+/**
+ * WarmUpDescriptor 暖启动任务描述，用于声明名称、依赖、优先级、超时与是否关键
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+public interface WarmUpDescriptor {
+
+    /**
+     * 任务名称，为空时使用默认名称(WarmUpCallback为beanName，异步任务为beanName#序号)
+     */
+    default String warmUpName() {
+        return null;
+    }
+
+    /**
+     * 依赖的任务名称，依赖全部成功后才会执行
+     */
+    default String[] warmUpDependsOn() {
+        return new String[0];
+    }
+
+    /**
+     * 优先级，同时就绪时值越大越先执行
+     */
+    default int warmUpPriority() {
+        return 0;
+    }
+
+    /**
+     * 执行超时(ms)，超时后中断执行并视为失败，不大于0时不限制
+     */
+    default long warmUpTimeoutMillis() {
+        return 0;
+    }
+
+    /**
+     * 是否关键任务，关键任务(及其依赖)完成前不会结束暖启动，失败时启动失败；非关键任务在后台继续执行
+     */
+    default boolean warmUpCritical() {
+        return true;
+    }
+
+}
@@ -0,0 +1,455 @@
+package com.alpha.coding.common.bean.init;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.alpha.coding.bo.executor.NamedExecutorPool;
+import com.alpha.coding.bo.executor.NamedThreadFactory;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * WarmUpScheduler 按依赖关系(DAG)在有界线程池上调度暖启动任务
+ * <p>
+ * <li>依赖全部成功的任务进入就绪队列，就绪队列中关键任务优先，其次按优先级排序；依赖失败、超时或被跳过的任务会被跳过</li>
+ * <li>关键任务的依赖自动视为关键任务，{@link #awaitCritical(long)}等待关键任务完成，非关键任务在后台继续执行</li>
+ * <li>任务超时后中断执行线程并视为失败，全部任务结束后释放线程池并输出耗时报告</li>
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@Slf4j
+@Accessors(chain = true)
+public class WarmUpScheduler {
+
+    public enum State {
+        PENDING, RUNNING, SUCCESS, FAILED, TIMEOUT, SKIPPED;
+
+        public boolean isDone() {
+            return this != PENDING && this != RUNNING;
+        }
+    }
+
+    @Getter
+    public static class Node {
+        private final String name;
+        private final String[] dependsOn;
+        private final int priority;
+        private final long timeoutMillis;
+        private boolean critical;
+        private final Callable<?> body;
+        private final List<Node> dependents = new ArrayList<>();
+        private final AtomicInteger pendingDeps = new AtomicInteger();
+        private final AtomicReference<State> state = new AtomicReference<>(State.PENDING);
+        private final CountDownLatch doneLatch = new CountDownLatch(1);
+        private volatile Throwable error;
+        private volatile long readyNanos;
+        private volatile long startNanos;
+        private volatile long endNanos;
+        private Thread runner;
+        private long sequence;
+
+        private Node(String name, WarmUpDescriptor descriptor, Callable<?> body) {
+            this.name = name;
+            this.dependsOn = descriptor.warmUpDependsOn() == null ? new String[0] : descriptor.warmUpDependsOn();
+            this.priority = descriptor.warmUpPriority();
+            this.timeoutMillis = descriptor.warmUpTimeoutMillis();
+            this.critical = descriptor.warmUpCritical();
+            this.body = body;
+        }
+
+        public State getState() {
+            return state.get();
+        }
+    }
+
+    private final String name;
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+    /**
+     * 最大并行数
+     */
+    @Setter
+    private int parallelism = Math.max(2, Runtime.getRuntime().availableProcessors());
+    /**
+     * 全部任务结束后的回调
+     */
+    @Setter
+    private Runnable onAllDone;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger remaining = new AtomicInteger();
+    private volatile ThreadPoolExecutor executor;
+    private volatile ScheduledExecutorService timer;
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    public WarmUpScheduler(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 添加任务
+     *
+     * @param taskName   任务名称，全局唯一
+     * @param descriptor 依赖、优先级、超时等描述
+     * @param body       任务逻辑
+     */
+    public synchronized WarmUpScheduler add(String taskName, WarmUpDescriptor descriptor, Callable<?> body) {
+        if (executor != null) {
+            throw new IllegalStateException("WarmUpScheduler " + name + " already started");
+        }
+        if (nodes.containsKey(taskName)) {
+            throw new IllegalArgumentException("duplicate warm up task: " + taskName);
+        }
+        nodes.put(taskName, new Node(taskName, descriptor, body));
+        return this;
+    }
+
+    public Set<String> getTaskNames() {
+        return Collections.unmodifiableSet(nodes.keySet());
+    }
+
+    /**
+     * 校验依赖关系并开始执行无依赖的任务
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        link();
+        startNanos = System.nanoTime();
+        remaining.set(nodes.size());
+        if (nodes.isEmpty()) {
+            finish();
+            return;
+        }
+        executor = new ThreadPoolExecutor(Math.min(Math.max(parallelism, 1), nodes.size()),
+                Math.min(Math.max(parallelism, 1), nodes.size()), 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), new NamedThreadFactory(name), new ThreadPoolExecutor.AbortPolicy());
+        if (nodes.values().stream().anyMatch(n -> n.timeoutMillis > 0)) {
+            timer = NamedExecutorPool.newScheduledThreadPool(name + "Timeout", 1);
+        }
+        final List<Node> roots = new ArrayList<>();
+        for (Node node : nodes.values()) {
+            if (node.pendingDeps.get() == 0) {
+                roots.add(node);
+            }
+        }
+        // 线程池未满时任务不经过队列，先排序再提交
+        roots.sort(Comparator.comparing((Node n) -> !n.critical).thenComparing(n -> -n.priority));
+        roots.forEach(this::submit);
+        log.info("start WarmUpScheduler {}: tasks={},parallelism={},roots={}",
+                name, nodes.size(), executor.getCorePoolSize(), roots.size());
+    }
+
+    /**
+     * 等待关键任务完成
+     *
+     * @param deadlineMillis 等待时长(ms)，不大于0时一直等待
+     * @throws IllegalStateException 关键任务失败、超时、被跳过或超出等待时长
+     */
+    public void awaitCritical(long deadlineMillis) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        for (Node node : nodes.values()) {
+            if (!node.critical) {
+                continue;
+            }
+            if (deadlineMillis <= 0) {
+                node.doneLatch.await();
+            } else if (!node.doneLatch.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw new IllegalStateException("critical warm up task " + node.name
+                        + " not finished within " + deadlineMillis + "ms");
+            }
+            if (node.getState() != State.SUCCESS) {
+                throw new IllegalStateException("critical warm up task " + node.name
+                        + " " + node.getState(), node.error);
+            }
+        }
+    }
+
+    /**
+     * 等待全部任务结束
+     *
+     * @param waitMillis 等待时长(ms)
+     * @return 是否全部结束
+     */
+    public boolean awaitAll(long waitMillis) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        for (Node node : nodes.values()) {
+            if (!node.doneLatch.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 等待任务结束
+     *
+     * @param taskName 任务名称
+     * @return 任务的最终状态，任务不存在时返回null
+     */
+    public State await(String taskName) throws InterruptedException {
+        final Node node = nodes.get(taskName);
+        if (node == null) {
+            return null;
+        }
+        node.doneLatch.await();
+        return node.getState();
+    }
+
+    public boolean isAllDone() {
+        return remaining.get() == 0;
+    }
+
+    /**
+     * 中断全部执行中的任务并跳过未执行的任务
+     */
+    public void shutdownNow() {
+        final ThreadPoolExecutor pool = executor;
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+        for (Node node : nodes.values()) {
+            skip(node, null);
+        }
+    }
+
+    /**
+     * 耗时报告，按开始时间排序，未结束的任务耗时计算到当前
+     */
+    public String getReport() {
+        final long now = System.nanoTime();
+        final long base = startNanos;
+        final List<Node> list = new ArrayList<>(nodes.values());
+        list.sort(Comparator.comparingLong((Node n) -> n.startNanos == 0 ? Long.MAX_VALUE : n.startNanos - base));
+        final Map<State, Integer> stateCnt = new LinkedHashMap<>();
+        long sumCost = 0;
+        final StringBuilder sb = new StringBuilder();
+        for (Node node : list) {
+            final State state = node.getState();
+            stateCnt.merge(state, 1, Integer::sum);
+            final long cost = node.startNanos == 0 ? 0 : (node.endNanos == 0 ? now : node.endNanos) - node.startNanos;
+            sumCost += cost;
+            sb.append(String.format("%n  %-48s %-8s %-8s prio=%-4d start=+%-7d wait=%-7d cost=%-7d%s",
+                    node.name, state, node.critical ? "critical" : "bg", node.priority,
+                    node.startNanos == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(node.startNanos - base),
+                    node.startNanos == 0 || node.readyNanos == 0 ? 0
+                            : TimeUnit.NANOSECONDS.toMillis(node.startNanos - node.readyNanos),
+                    TimeUnit.NANOSECONDS.toMillis(cost),
+                    node.error == null ? "" : " error=" + node.error));
+        }
+        final long elapsed = (endNanos == 0 ? now : endNanos) - base;
+        return String.format("WarmUpScheduler %s report: elapsed=%dms, sumCost=%dms, states=%s",
+                name, TimeUnit.NANOSECONDS.toMillis(elapsed), TimeUnit.NANOSECONDS.toMillis(sumCost), stateCnt)
+                + sb;
+    }
+
+    private void link() {
+        for (Node node : nodes.values()) {
+            for (String dep : node.dependsOn) {
+                final Node depNode = nodes.get(dep);
+                if (depNode == null) {
+                    throw new IllegalArgumentException("warm up task " + node.name + " depends on unknown task " + dep);
+                }
+                depNode.dependents.add(node);
+                node.pendingDeps.incrementAndGet();
+            }
+        }
+        // 拓扑排序检测环
+        final Map<Node, Integer> inDegree = new LinkedHashMap<>();
+        final Deque<Node> queue = new ArrayDeque<>();
+        for (Node node : nodes.values()) {
+            inDegree.put(node, node.pendingDeps.get());
+            if (node.pendingDeps.get() == 0) {
+                queue.add(node);
+            }
+        }
+        int visited = 0;
+        while (!queue.isEmpty()) {
+            final Node node = queue.poll();
+            visited++;
+            for (Node dependent : node.dependents) {
+                if (inDegree.merge(dependent, -1, Integer::sum) == 0) {
+                    queue.add(dependent);
+                }
+            }
+        }
+        if (visited < nodes.size()) {
+            final List<String> cycle = new ArrayList<>();
+            inDegree.forEach((k, v) -> {
+                if (v > 0) {
+                    cycle.add(k.name);
+                }
+            });
+            throw new IllegalArgumentException("warm up tasks have circular dependencies: " + cycle);
+        }
+        // 关键任务的依赖也是关键任务
+        final Deque<Node> stack = new ArrayDeque<>();
+        final Set<Node> seen = new HashSet<>();
+        nodes.values().stream().filter(n -> n.critical).forEach(stack::push);
+        while (!stack.isEmpty()) {
+            final Node node = stack.pop();
+            if (!seen.add(node)) {
+                continue;
+            }
+            node.critical = true;
+            for (String dep : node.dependsOn) {
+                stack.push(nodes.get(dep));
+            }
+        }
+    }
+
+    private void submit(Node node) {
+        node.readyNanos = System.nanoTime();
+        node.sequence = sequence.getAndIncrement();
+        try {
+            executor.execute(new NodeRunner(node));
+        } catch (RejectedExecutionException e) {
+            skip(node, e);
+        }
+    }
+
+    private void run(Node node) {
+        synchronized(node) {
+            if (!node.state.compareAndSet(State.PENDING, State.RUNNING)) {
+                return;
+            }
+            node.runner = Thread.currentThread();
+        }
+        node.startNanos = System.nanoTime();
+        if (node.timeoutMillis > 0 && timer != null) {
+            try {
+                timer.schedule(() -> timeout(node), node.timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // 已关闭，忽略超时控制
+            }
+        }
+        Throwable error = null;
+        try {
+            node.body.call();
+        } catch (Throwable e) {
+            error = e;
+        }
+        synchronized(node) {
+            node.runner = null;
+            // 清除超时中断标记，避免影响线程池中的下一个任务
+            Thread.interrupted();
+        }
+        if (node.state.compareAndSet(State.RUNNING, error == null ? State.SUCCESS : State.FAILED)) {
+            node.error = error;
+            complete(node);
+        }
+    }
+
+    private void timeout(Node node) {
+        synchronized(node) {
+            if (!node.state.compareAndSet(State.RUNNING, State.TIMEOUT)) {
+                return;
+            }
+            if (node.runner != null) {
+                node.runner.interrupt();
+            }
+        }
+        log.warn("warm up task {} timeout after {}ms", node.name, node.timeoutMillis);
+        complete(node);
+    }
+
+    private void skip(Node node, Throwable cause) {
+        if (node.state.compareAndSet(State.PENDING, State.SKIPPED)) {
+            node.error = cause;
+            complete(node);
+        }
+    }
+
+    private void complete(Node node) {
+        node.endNanos = System.nanoTime();
+        node.doneLatch.countDown();
+        final State state = node.getState();
+        if (state == State.SUCCESS) {
+            log.info("warm up task {} done, cost {}ms", node.name,
+                    TimeUnit.NANOSECONDS.toMillis(node.endNanos - node.startNanos));
+        } else if (state != State.SKIPPED) {
+            log.warn("warm up task {} {}", node.name, state, node.error);
+        }
+        for (Node dependent : node.dependents) {
+            if (state == State.SUCCESS) {
+                if (dependent.pendingDeps.decrementAndGet() == 0) {
+                    submit(dependent);
+                }
+            } else {
+                skip(dependent, new IllegalStateException("dependency " + node.name + " " + state));
+            }
+        }
+        if (remaining.decrementAndGet() == 0) {
+            finish();
+        }
+    }
+
+    private void finish() {
+        endNanos = System.nanoTime();
+        if (executor != null) {
+            executor.shutdown();
+        }
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+        if (onAllDone != null) {
+            try {
+                onAllDone.run();
+            } catch (Exception e) {
+                log.warn("WarmUpScheduler {} onAllDone error", name, e);
+            }
+        }
+    }
+
+    private class NodeRunner implements Runnable, Comparable<NodeRunner> {
+
+        private final Node node;
+
+        NodeRunner(Node node) {
+            this.node = node;
+        }
+
+        @Override
+        public void run() {
+            WarmUpScheduler.this.run(node);
+        }
+
+        @Override
+        public int compareTo(NodeRunner o) {
+            if (node.critical != o.node.critical) {
+                return node.critical ? -1 : 1;
+            }
+            if (node.priority != o.node.priority) {
+                return node.priority > o.node.priority ? -1 : 1;
+            }
+            return Long.compare(node.sequence, o.node.sequence);
+        }
+    }
+
+}
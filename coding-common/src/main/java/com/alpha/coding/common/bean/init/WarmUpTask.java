@@ -0,0 +1,19 @@
+package com.alpha.coding.common.bean.init;
+
+/**
+ * WarmUpTask 可声明依赖与优先级的异步暖启动任务，由{@link AsyncWarmUpCallback#asyncWarmUp()}返回
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+public interface WarmUpTask extends Runnable, WarmUpDescriptor {
+
+    /**
+     * 异步任务默认为非关键任务
+     */
+    @Override
+    default boolean warmUpCritical() {
+        return false;
+    }
+
+}
@@ -46,6 +46,11 @@ public class AsyncEventBusAutoConfig implements BeanFactoryPostProcessor {
                     v.getPollingEventInterval());
             eventBusTemplateBeanDefinitionBuilder.addPropertyValue("enableAsyncPost",
                     v.isEnableAsyncPost());
+            eventBusTemplateBeanDefinitionBuilder.addPropertyValue("ringBufferSize", v.getRingBufferSize());
+            eventBusTemplateBeanDefinitionBuilder.addPropertyValue("dispatchThreads", v.getDispatchThreads());
+            eventBusTemplateBeanDefinitionBuilder.addPropertyValue("waitStrategy", v.getWaitStrategy());
+            eventBusTemplateBeanDefinitionBuilder.addPropertyValue("backpressurePolicy",
+                    v.getBackpressurePolicy());
             eventBusTemplateBeanDefinitionBuilder.addPropertyValue("enableEventPostMonitor",
                     v.isEnableEventPostMonitor());
             eventBusTemplateBeanDefinitionBuilder.addPropertyValue("eventBusInstance", v.getEventBusInstance());
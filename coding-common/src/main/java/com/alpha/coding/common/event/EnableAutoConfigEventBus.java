@@ -61,4 +61,24 @@ public @interface EnableAutoConfigEventBus {
      */
     String enableEventPostMonitor() default "${event.bus.enable.event.post.monitor:true}";
 
+    /**
+     * 异步发送环形缓冲区容量，支持外部化配置，目标值为整型
+     */
+    String ringBufferSize() default "${event.bus.ring.buffer.size:8192}";
+
+    /**
+     * 异步发送分发线程数，支持外部化配置，目标值为整型
+     */
+    String dispatchThreads() default "${event.bus.dispatch.threads:2}";
+
+    /**
+     * 分发线程等待策略，支持外部化配置，可选BLOCKING/YIELDING/BUSY_SPIN
+     */
+    String waitStrategy() default "${event.bus.wait.strategy:BLOCKING}";
+
+    /**
+     * 缓冲区已满时的发布策略，支持外部化配置，可选BLOCK/DROP/CALLER_RUNS
+     */
+    String backpressurePolicy() default "${event.bus.backpressure.policy:BLOCK}";
+
 }
@@ -11,6 +11,8 @@ import com.alpha.coding.common.bean.register.BeanDefineUtils;
 import com.alpha.coding.common.bean.spi.ConfigurationRegisterHandler;
 import com.alpha.coding.common.bean.spi.RegisterBeanDefinitionContext;
 import com.alpha.coding.common.event.configuration.EventConfiguration;
+import com.alpha.coding.common.event.eventbus.BackpressurePolicy;
+import com.alpha.coding.common.event.eventbus.WaitStrategy;
 import com.alpha.coding.common.utils.SpringAnnotationConfigUtils;
 
 /**
@@ -50,6 +52,14 @@ public class EnableAutoConfigEventBusHandler implements ConfigurationRegisterHan
                         .resolveValue(context, attribute.getString("enableAsyncPost"), Boolean.class));
                 beanDefinitionBuilder.addPropertyValue("enableEventPostMonitor", BeanDefineUtils
                         .resolveValue(context, attribute.getString("enableEventPostMonitor"), Boolean.class));
+                beanDefinitionBuilder.addPropertyValue("ringBufferSize", BeanDefineUtils
+                        .resolveValue(context, attribute.getString("ringBufferSize"), Integer.class));
+                beanDefinitionBuilder.addPropertyValue("dispatchThreads", BeanDefineUtils
+                        .resolveValue(context, attribute.getString("dispatchThreads"), Integer.class));
+                beanDefinitionBuilder.addPropertyValue("waitStrategy", BeanDefineUtils
+                        .resolveValue(context, attribute.getString("waitStrategy"), WaitStrategy.class));
+                beanDefinitionBuilder.addPropertyValue("backpressurePolicy", BeanDefineUtils
+                        .resolveValue(context, attribute.getString("backpressurePolicy"), BackpressurePolicy.class));
                 registry.registerBeanDefinition(beanName, beanDefinitionBuilder.getRawBeanDefinition());
             }
         }
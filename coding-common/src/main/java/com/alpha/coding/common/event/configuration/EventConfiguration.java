@@ -11,6 +11,8 @@ import org.springframework.beans.factory.InitializingBean;
 import com.alibaba.fastjson.JSON;
 import com.alpha.coding.bo.enums.util.EnumUtils;
 import com.alpha.coding.bo.enums.util.EnumWithCodeSupplier;
+import com.alpha.coding.common.event.eventbus.BackpressurePolicy;
+import com.alpha.coding.common.event.eventbus.WaitStrategy;
 import com.alpha.coding.common.utils.StringUtils;
 
 import lombok.Getter;
@@ -85,12 +87,40 @@ public class EventConfiguration implements InitializingBean {
             t -> EnumUtils.safeParseEnumByName(identity, t);
 
     /**
-     * 轮询拉取事件间隔(ms)
+     * 轮询拉取事件间隔(ms)，即阻塞等待策略下分发线程的最长等待时间
      */
     @Setter
     @Getter
     private int pollingEventInterval = 200;
 
+    /**
+     * 异步发送环形缓冲区容量
+     */
+    @Setter
+    @Getter
+    private int ringBufferSize = 8192;
+
+    /**
+     * 异步发送分发线程数
+     */
+    @Setter
+    @Getter
+    private int dispatchThreads = 2;
+
+    /**
+     * 分发线程等待策略
+     */
+    @Setter
+    @Getter
+    private WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+
+    /**
+     * 缓冲区已满时的发布策略
+     */
+    @Setter
+    @Getter
+    private BackpressurePolicy backpressurePolicy = BackpressurePolicy.BLOCK;
+
     /**
      * 是否开启异步发送
      */
@@ -0,0 +1,24 @@
+package com.alpha.coding.common.event.eventbus;
+
+/**
+ * BackpressurePolicy 环形缓冲区已满时的发布策略
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+public enum BackpressurePolicy {
+
+    /**
+     * 阻塞发布线程直到有空闲槽位，发布线程为分发线程时直接处理
+     */
+    BLOCK,
+    /**
+     * 丢弃事件并计数
+     */
+    DROP,
+    /**
+     * 由发布线程直接处理
+     */
+    CALLER_RUNS;
+
+}
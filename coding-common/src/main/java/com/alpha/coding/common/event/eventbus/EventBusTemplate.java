@@ -3,9 +3,7 @@ package com.alpha.coding.common.event.eventbus;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.MDC;
@@ -24,7 +22,6 @@ import com.alpha.coding.common.event.common.EventBusChangeEvent;
 import com.alpha.coding.common.event.common.MetaMonitor;
 import com.alpha.coding.common.event.listener.EventListener;
 import com.alpha.coding.common.event.listener.EventListenerFactory;
-import com.google.common.collect.Lists;
 
 import lombok.Data;
 import lombok.Setter;
@@ -33,6 +30,9 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * EventBusTemplate
+ * <p>
+ * 异步发送基于{@link RingBufferDispatcher}：事件写入预分配的环形缓冲区，由分发线程批量取出处理，
+ * 缓冲区已满时按{@link BackpressurePolicy}处理
  *
  * @version 1.0
  * Date: 2020-02-21
@@ -57,11 +57,35 @@ public class EventBusTemplate implements InitializingBean, DisposableBean, BeanF
     protected com.google.common.eventbus.EventBus eventBusInstance;
 
     /**
-     * 轮询拉取事件间隔(ms)
+     * 阻塞等待策略下分发线程的最长等待时间(ms)
      */
     @Setter
     protected int pollingEventInterval = 200;
 
+    /**
+     * 环形缓冲区容量，向上取整为2的幂
+     */
+    @Setter
+    protected int ringBufferSize = 8192;
+
+    /**
+     * 分发线程数
+     */
+    @Setter
+    protected int dispatchThreads = 2;
+
+    /**
+     * 分发线程等待策略
+     */
+    @Setter
+    protected WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+
+    /**
+     * 缓冲区已满时的发布策略
+     */
+    @Setter
+    protected BackpressurePolicy backpressurePolicy = BackpressurePolicy.BLOCK;
+
     /**
      * 是否开启异步发送
      */
@@ -74,13 +98,13 @@ public class EventBusTemplate implements InitializingBean, DisposableBean, BeanF
     @Setter
     private boolean enableEventPostMonitor = true;
 
-    protected BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    protected RingBufferDispatcher<Object> dispatcher;
     protected ExecutorService postExecutor;
     protected ExecutorService monitorExecutor;
     private static final int BATCH_SIZE = 100;
-    protected boolean isRunning = false;
+    private static final long SHUTDOWN_AWAIT_MILLIS = 30000;
+    protected volatile boolean isRunning = false;
     protected AtomicLong postCnt = new AtomicLong();
-    private BlockingQueue<Byte> notifyQueue = new LinkedBlockingQueue<>(5);
 
     @Override
     public void afterPropertiesSet() throws Exception {
@@ -100,7 +124,7 @@ public class EventBusTemplate implements InitializingBean, DisposableBean, BeanF
         isRunning = true;
         if (enableAsyncPost) {
             if (postExecutor == null) {
-                postExecutor = NamedExecutorPool.newFixedThreadPool("EventBusPost", 2);
+                postExecutor = NamedExecutorPool.newFixedThreadPool("EventBusPost", Math.max(dispatchThreads, 1));
             }
             asyncPost();
         }
@@ -118,8 +142,8 @@ public class EventBusTemplate implements InitializingBean, DisposableBean, BeanF
     @Override
     public void destroy() throws Exception {
         isRunning = false;
-        while (queue.size() > 0) {
-            sleep(200);
+        if (dispatcher != null) {
+            dispatcher.shutdown(SHUTDOWN_AWAIT_MILLIS);
         }
         Collection<EventListener> eventListeners = eventListenerFactory.getEventListeners(getIdentity());
         if (eventListeners != null && !eventListeners.isEmpty()) {
@@ -158,9 +182,11 @@ public class EventBusTemplate implements InitializingBean, DisposableBean, BeanF
                 eventContext.setEvent(event)
                         .setSuperMDCContext(MDC.getMDCAdapter() != null ? MDC.getCopyOfContextMap() : null)
                         .setSuperMapThreadLocalAdaptorContext(MapThreadLocalAdaptor.getCopyOfContextMap());
-                queue.offer(eventContext);
-                postCnt.incrementAndGet();
-                notifyQueue.offer((byte) 0);
+                if (dispatcher.publish(eventContext)) {
+                    postCnt.incrementAndGet();
+                } else if (log.isDebugEnabled()) {
+                    log.debug("event-drop: eventID={}", event.getEventID());
+                }
             }
         }
     }
@@ -168,38 +194,18 @@ public class EventBusTemplate implements InitializingBean, DisposableBean, BeanF
     /**
      * 异步发送，子类可覆盖
      */
+    @SuppressWarnings({"unchecked"})
     protected <K, E extends EnumWithCodeSupplier, AE extends AbstractEvent<K, E>> void asyncPost() {
-        // 轮询任务
-        postExecutor.submit(() -> {
-            if (log.isDebugEnabled()) {
-                log.debug("start polling-event-post task");
-            }
-            while (true) {
-                List<Object> events = Lists.newArrayList();
-                queue.drainTo(events, BATCH_SIZE);
-                if (events.isEmpty()) {
-                    sleep(pollingEventInterval);
-                    continue;
-                }
-                handleEvents(events);
-            }
-        });
-        // 通知任务
-        postExecutor.submit(() -> {
-            if (log.isDebugEnabled()) {
-                log.debug("start notify-event-post task");
-            }
-            while (true) {
-                try {
-                    notifyQueue.take();
-                    List<Object> events = Lists.newArrayList();
-                    queue.drainTo(events, BATCH_SIZE);
-                    handleEvents(events);
-                } catch (Exception e) {
-                    log.warn("handle by notifyQueue error, msg={}", e.getMessage());
-                }
-            }
-        });
+        dispatcher = new RingBufferDispatcher<Object>(getIdentity().getSimpleName(), this::handleEvents)
+                .setBufferSize(ringBufferSize)
+                .setConsumerThreads(Math.max(dispatchThreads, 1))
+                .setBatchSize(BATCH_SIZE)
+                .setBlockingTimeoutMillis(pollingEventInterval)
+                .setWaitStrategy(waitStrategy)
+                .setBackpressurePolicy(backpressurePolicy)
+                // 发布线程直接处理时沿用其自身上下文
+                .setCallerRunsHandler(p -> handleRealEvent(((EventContext<AE>) p).getEvent()));
+        dispatcher.start(postExecutor);
     }
 
     private <K, E extends EnumWithCodeSupplier, AE extends AbstractEvent<K, E>> void handleEvents(List<Object> events) {
@@ -249,9 +255,12 @@ public class EventBusTemplate implements InitializingBean, DisposableBean, BeanF
             int cnt = 0;
             while (true) {
                 cnt++;
-                int size = queue.size();
+                long size = dispatcher == null ? 0 : dispatcher.size();
                 if (size > 0 || cnt >= 30) {
-                    log.info("{} ==> event-queue-size: {}, postTotal: {}", getIdentity(), size, postCnt.get());
+                    log.info("{} ==> event-queue-size: {}, postTotal: {}, dropTotal: {}, callerRunsTotal: {}",
+                            getIdentity(), size, postCnt.get(),
+                            dispatcher == null ? 0 : dispatcher.getDroppedCnt().get(),
+                            dispatcher == null ? 0 : dispatcher.getCallerRunsCnt().get());
                     cnt = 0;
                 }
                 sleep(20000);
@@ -0,0 +1,300 @@
+package com.alpha.coding.common.event.eventbus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * RingBufferDispatcher 基于预分配环形缓冲区的事件分发器
+ * <p>
+ * <li>槽位数组在启动时一次性分配，容量为2的幂；每个槽位维护序号，生产者与消费者均通过CAS推进游标，发布与消费无锁</li>
+ * <li>消费线程每次最多批量取出batchSize个事件交由batchHandler处理，缓冲区为空时按{@link WaitStrategy}等待</li>
+ * <li>缓冲区已满时按{@link BackpressurePolicy}处理：阻塞、丢弃或由发布线程直接处理；
+ * 消费线程自身发布时不阻塞等待(等待自身消费会死锁)，直接处理</li>
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@Slf4j
+@Accessors(chain = true)
+public class RingBufferDispatcher<T> {
+
+    private static final int SPIN_TRIES = 100;
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final String name;
+    private final Consumer<List<T>> batchHandler;
+
+    /**
+     * 缓冲区容量，向上取整为2的幂
+     */
+    @Setter
+    private int bufferSize = 8192;
+    /**
+     * 消费线程数
+     */
+    @Setter
+    private int consumerThreads = 1;
+    /**
+     * 单批最大处理数
+     */
+    @Setter
+    private int batchSize = 100;
+    /**
+     * 阻塞等待策略的最长等待时间(ms)，用于兜底唤醒
+     */
+    @Setter
+    private long blockingTimeoutMillis = 200;
+    @Setter
+    private WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+    @Setter
+    private BackpressurePolicy backpressurePolicy = BackpressurePolicy.BLOCK;
+    /**
+     * CALLER_RUNS策略下发布线程的处理逻辑，默认同batchHandler
+     */
+    @Setter
+    private Consumer<T> callerRunsHandler;
+
+    private Object[] entries;
+    private AtomicLongArray sequences;
+    private int mask;
+    private final AtomicLong producerCursor = new AtomicLong();
+    private final AtomicLong consumerCursor = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final AtomicInteger waitingConsumers = new AtomicInteger();
+    private final AtomicInteger activeConsumers = new AtomicInteger();
+    private final ThreadLocal<Boolean> consumerThread = new ThreadLocal<>();
+    private volatile boolean running;
+
+    @Getter
+    private final AtomicLong droppedCnt = new AtomicLong();
+    @Getter
+    private final AtomicLong callerRunsCnt = new AtomicLong();
+
+    public RingBufferDispatcher(String name, Consumer<List<T>> batchHandler) {
+        this.name = name;
+        this.batchHandler = batchHandler;
+    }
+
+    /**
+     * 分配缓冲区并在executor上启动消费线程
+     */
+    public synchronized void start(Executor executor) {
+        if (running) {
+            return;
+        }
+        final int capacity = Math.max(2, Integer.highestOneBit(Math.max(bufferSize, 2) - 1) << 1);
+        this.entries = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = capacity - 1;
+        if (callerRunsHandler == null) {
+            callerRunsHandler = event -> batchHandler.accept(Collections.singletonList(event));
+        }
+        running = true;
+        for (int i = 0; i < Math.max(consumerThreads, 1); i++) {
+            activeConsumers.incrementAndGet();
+            executor.execute(this::consumeLoop);
+        }
+        log.info("start RingBufferDispatcher {}: bufferSize={},consumerThreads={},waitStrategy={},backpressure={}",
+                name, capacity, consumerThreads, waitStrategy, backpressurePolicy);
+    }
+
+    /**
+     * 停止接收新事件，等待已发布事件处理完毕
+     *
+     * @return 是否在超时前处理完毕
+     */
+    public boolean shutdown(long awaitMillis) {
+        running = false;
+        signalAll();
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(awaitMillis);
+        while (activeConsumers.get() > 0) {
+            if (System.nanoTime() - deadline > 0) {
+                log.warn("RingBufferDispatcher {} shutdown timeout, remaining {}", name, size());
+                return false;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        return true;
+    }
+
+    /**
+     * 发布事件
+     *
+     * @return 是否被接收(入队或由发布线程处理)，DROP策略下缓冲区已满时返回false
+     */
+    public boolean publish(T event) {
+        if (tryPublish(event)) {
+            return true;
+        }
+        switch (backpressurePolicy) {
+            case DROP:
+                droppedCnt.incrementAndGet();
+                return false;
+            case CALLER_RUNS:
+                callerRunsCnt.incrementAndGet();
+                callerRunsHandler.accept(event);
+                return true;
+            default:
+                while (!tryPublish(event)) {
+                    if (!running || consumerThread.get() != null) {
+                        callerRunsCnt.incrementAndGet();
+                        callerRunsHandler.accept(event);
+                        return true;
+                    }
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                }
+                return true;
+        }
+    }
+
+    /**
+     * 待处理事件数
+     */
+    public long size() {
+        return Math.max(0, producerCursor.get() - consumerCursor.get());
+    }
+
+    public int getCapacity() {
+        return entries == null ? 0 : entries.length;
+    }
+
+    private boolean tryPublish(T event) {
+        if (entries == null || !running) {
+            return false;
+        }
+        long pos = producerCursor.get();
+        int index;
+        while (true) {
+            index = (int) pos & mask;
+            final long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (producerCursor.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+                pos = producerCursor.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = producerCursor.get();
+            }
+        }
+        entries[index] = event;
+        sequences.set(index, pos + 1);
+        if (waitStrategy == WaitStrategy.BLOCKING && waitingConsumers.get() > 0) {
+            signalAll();
+        }
+        return true;
+    }
+
+    @SuppressWarnings({"unchecked"})
+    private int drainTo(List<T> batch) {
+        while (batch.size() < batchSize) {
+            long pos = consumerCursor.get();
+            int index;
+            while (true) {
+                index = (int) pos & mask;
+                final long diff = sequences.get(index) - (pos + 1);
+                if (diff == 0) {
+                    if (consumerCursor.compareAndSet(pos, pos + 1)) {
+                        break;
+                    }
+                    pos = consumerCursor.get();
+                } else if (diff < 0) {
+                    return batch.size();
+                } else {
+                    pos = consumerCursor.get();
+                }
+            }
+            batch.add((T) entries[index]);
+            entries[index] = null;
+            sequences.set(index, pos + mask + 1);
+        }
+        return batch.size();
+    }
+
+    private boolean isEmpty() {
+        final long pos = consumerCursor.get();
+        return sequences.get((int) pos & mask) - (pos + 1) < 0;
+    }
+
+    private void consumeLoop() {
+        final List<T> batch = new ArrayList<>(batchSize);
+        int idle = 0;
+        consumerThread.set(Boolean.TRUE);
+        try {
+            while ((running || !isEmpty()) && !Thread.currentThread().isInterrupted()) {
+                if (drainTo(batch) > 0) {
+                    idle = 0;
+                    try {
+                        batchHandler.accept(batch);
+                    } catch (Throwable e) {
+                        log.warn("RingBufferDispatcher {} handle batch error, msg={}", name, e.getMessage());
+                    } finally {
+                        batch.clear();
+                    }
+                    continue;
+                }
+                idle = await(idle);
+            }
+        } finally {
+            consumerThread.remove();
+            activeConsumers.decrementAndGet();
+        }
+    }
+
+    private int await(int idle) {
+        switch (waitStrategy) {
+            case BUSY_SPIN:
+                return idle;
+            case YIELDING:
+                if (idle < SPIN_TRIES) {
+                    return idle + 1;
+                }
+                Thread.yield();
+                return idle;
+            default:
+                waitingConsumers.incrementAndGet();
+                lock.lock();
+                try {
+                    if (running && isEmpty()) {
+                        notEmpty.await(Math.max(blockingTimeoutMillis, 1), TimeUnit.MILLISECONDS);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    lock.unlock();
+                    waitingConsumers.decrementAndGet();
+                }
+                return 0;
+        }
+    }
+
+    private void signalAll() {
+        lock.lock();
+        try {
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
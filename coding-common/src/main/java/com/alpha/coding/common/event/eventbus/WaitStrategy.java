@@ -0,0 +1,24 @@
+package com.alpha.coding.common.event.eventbus;
+
+/**
+ * WaitStrategy 环形缓冲区为空时消费线程的等待策略
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+public enum WaitStrategy {
+
+    /**
+     * 阻塞等待，由生产者唤醒，CPU占用最低
+     */
+    BLOCKING,
+    /**
+     * 自旋若干次后让出CPU，延迟与CPU占用折中
+     */
+    YIELDING,
+    /**
+     * 持续自旋，延迟最低，独占一个CPU核
+     */
+    BUSY_SPIN;
+
+}
@@ -0,0 +1,446 @@
+package com.alpha.coding.common.executor;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.MDC;
+
+import com.alpha.coding.bo.executor.NamedThreadFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * HashedWheelTimer 哈希时间轮定时器
+ * <p>
+ * <li>时间轮由ticksPerWheel个槽组成，每tickDuration前进一格；任务按到期tick散列到槽内双向链表，超过一圈的任务记录剩余圈数，
+ * 调度与取消均为O(1)</li>
+ * <li>调度与取消先进入无锁队列，由时间轮线程在每个tick批量处理，调用线程不竞争锁</li>
+ * <li>时间轮线程只负责推进与出队，到期任务交给taskExecutor执行，单个任务异常不影响其它任务与时间轮</li>
+ * <li>maxPendingTimeouts大于0时限制待执行任务数，超过时拒绝调度</li>
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@Slf4j
+public class HashedWheelTimer {
+
+    private static final int STATE_INIT = 0;
+    private static final int STATE_STARTED = 1;
+    private static final int STATE_SHUTDOWN = 2;
+    /**
+     * 每个tick最多转移的新任务数，避免新任务过多时时间轮线程停顿
+     */
+    private static final int MAX_TRANSFER_PER_TICK = 100000;
+
+    private final String name;
+    private final long tickDuration;
+    private final HashedWheelBucket[] wheel;
+    private final int mask;
+    private final long maxPendingTimeouts;
+    private final Executor taskExecutor;
+    private final Queue<HashedWheelTimeout> timeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<HashedWheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingTimeouts = new AtomicLong();
+    private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+    private final CountDownLatch startLatch = new CountDownLatch(1);
+    private final Set<WheelTimeout> unprocessedTimeouts = new HashSet<>();
+    private final Thread workerThread;
+    private volatile long startTime;
+    private long tick;
+
+    /**
+     * @param name               名称，用于线程名
+     * @param tickDuration       tick时长
+     * @param unit               tick时长单位
+     * @param ticksPerWheel      每圈槽数，向上取整为2的幂
+     * @param maxPendingTimeouts 最大待执行任务数，不大于0时不限制
+     * @param taskExecutor       到期任务执行器
+     */
+    public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int ticksPerWheel,
+                            long maxPendingTimeouts, Executor taskExecutor) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be greater than 0");
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+            throw new IllegalArgumentException("ticksPerWheel must be in (0, 2^30]");
+        }
+        if (taskExecutor == null) {
+            throw new IllegalArgumentException("taskExecutor is null");
+        }
+        this.name = name;
+        this.tickDuration = Math.max(unit.toNanos(tickDuration), TimeUnit.MILLISECONDS.toNanos(1));
+        final int capacity = ticksPerWheel == 1 ? 1 : Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        this.wheel = new HashedWheelBucket[capacity];
+        for (int i = 0; i < capacity; i++) {
+            wheel[i] = new HashedWheelBucket();
+        }
+        this.mask = capacity - 1;
+        this.maxPendingTimeouts = maxPendingTimeouts;
+        this.taskExecutor = taskExecutor;
+        this.workerThread = new NamedThreadFactory("HashedWheelTimer-" + name, true).newThread(this::runWorker);
+        // 由守护线程创建时NamedThreadFactory不会设置守护标记
+        this.workerThread.setDaemon(true);
+    }
+
+    /**
+     * 启动时间轮线程，首次调度时会自动启动
+     */
+    public void start() {
+        switch (state.get()) {
+            case STATE_INIT:
+                if (state.compareAndSet(STATE_INIT, STATE_STARTED)) {
+                    workerThread.start();
+                }
+                break;
+            case STATE_STARTED:
+                break;
+            default:
+                throw new IllegalStateException("HashedWheelTimer " + name + " has been shutdown");
+        }
+        while (startTime == 0) {
+            try {
+                startLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 停止时间轮
+     *
+     * @return 未执行且未取消的任务
+     */
+    public Set<WheelTimeout> stop() {
+        if (Thread.currentThread() == workerThread) {
+            throw new IllegalStateException("HashedWheelTimer.stop() can not be called from the timer thread");
+        }
+        if (!state.compareAndSet(STATE_STARTED, STATE_SHUTDOWN)) {
+            state.set(STATE_SHUTDOWN);
+            return new HashSet<>();
+        }
+        boolean interrupted = false;
+        while (workerThread.isAlive()) {
+            workerThread.interrupt();
+            try {
+                workerThread.join(100);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return unprocessedTimeouts;
+    }
+
+    /**
+     * 调度任务，delay后交给taskExecutor执行，执行时恢复调度线程的MDC
+     *
+     * @throws RejectedExecutionException 待执行任务数超过maxPendingTimeouts或已停止
+     */
+    public WheelTimeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        if (task == null) {
+            throw new IllegalArgumentException("task is null");
+        }
+        final long pending = pendingTimeouts.incrementAndGet();
+        if (maxPendingTimeouts > 0 && pending > maxPendingTimeouts) {
+            pendingTimeouts.decrementAndGet();
+            throw new RejectedExecutionException("HashedWheelTimer " + name + " pending timeouts (" + pending
+                    + ") is greater than or equal to maximum allowed pending timeouts (" + maxPendingTimeouts + ")");
+        }
+        try {
+            start();
+        } catch (IllegalStateException e) {
+            pendingTimeouts.decrementAndGet();
+            throw new RejectedExecutionException(e.getMessage());
+        }
+        long deadline = System.nanoTime() + unit.toNanos(Math.max(delay, 0)) - startTime;
+        if (delay > 0 && deadline < 0) {
+            deadline = Long.MAX_VALUE;
+        }
+        final HashedWheelTimeout timeout = new HashedWheelTimeout(this, task, MDC.getCopyOfContextMap(), deadline);
+        timeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * 待执行任务数
+     */
+    public long pendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    private void runWorker() {
+        startTime = System.nanoTime();
+        if (startTime == 0) {
+            startTime = 1;
+        }
+        startLatch.countDown();
+        do {
+            final long deadline = waitForNextTick();
+            if (deadline > 0) {
+                final int idx = (int) (tick & mask);
+                processCancelledTasks();
+                transferTimeoutsToBuckets();
+                wheel[idx].expireTimeouts(deadline);
+                tick++;
+            }
+        } while (state.get() == STATE_STARTED);
+        for (HashedWheelBucket bucket : wheel) {
+            bucket.clearTimeouts(unprocessedTimeouts);
+        }
+        HashedWheelTimeout timeout;
+        while ((timeout = timeouts.poll()) != null) {
+            if (!timeout.isCancelled()) {
+                unprocessedTimeouts.add(timeout);
+            }
+        }
+        processCancelledTasks();
+    }
+
+    private long waitForNextTick() {
+        final long deadline = tickDuration * (tick + 1);
+        while (true) {
+            final long currentTime = System.nanoTime() - startTime;
+            final long sleepTimeMs = (deadline - currentTime + 999999) / 1000000;
+            if (sleepTimeMs <= 0) {
+                return currentTime == Long.MIN_VALUE ? -Long.MAX_VALUE : currentTime;
+            }
+            try {
+                Thread.sleep(sleepTimeMs);
+            } catch (InterruptedException e) {
+                if (state.get() == STATE_SHUTDOWN) {
+                    return Long.MIN_VALUE;
+                }
+            }
+        }
+    }
+
+    private void transferTimeoutsToBuckets() {
+        for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+            final HashedWheelTimeout timeout = timeouts.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.state() == HashedWheelTimeout.ST_CANCELLED) {
+                continue;
+            }
+            final long calculated = timeout.deadline / tickDuration;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            // 已过期的任务放入当前槽，本tick即执行
+            final long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].addTimeout(timeout);
+        }
+    }
+
+    private void processCancelledTasks() {
+        HashedWheelTimeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            try {
+                timeout.remove();
+            } catch (Throwable e) {
+                log.warn("HashedWheelTimer {} remove cancelled timeout error", name, e);
+            }
+        }
+    }
+
+    private void dispatch(HashedWheelTimeout timeout) {
+        final Runnable runnable = () -> {
+            try {
+                MDCRunnableWrapper.of(timeout.task, timeout.mdcContext).run();
+            } catch (Throwable e) {
+                log.warn("HashedWheelTimer {} task error", name, e);
+            }
+        };
+        try {
+            taskExecutor.execute(runnable);
+        } catch (Throwable e) {
+            log.warn("HashedWheelTimer {} dispatch task fail, msg={}", name, e.getMessage());
+        }
+    }
+
+    private static final class HashedWheelTimeout implements WheelTimeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<HashedWheelTimeout> STATE_UPDATER =
+                AtomicIntegerFieldUpdater.newUpdater(HashedWheelTimeout.class, "state");
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final Map<String, String> mdcContext;
+        private final long deadline;
+        @SuppressWarnings("unused")
+        private volatile int state = ST_INIT;
+        private long remainingRounds;
+        /**
+         * 是否已从时间轮移除并扣减待执行数，仅时间轮线程访问
+         */
+        private boolean removed;
+        private HashedWheelTimeout next;
+        private HashedWheelTimeout prev;
+        private HashedWheelBucket bucket;
+
+        private HashedWheelTimeout(HashedWheelTimer timer, Runnable task, Map<String, String> mdcContext,
+                                   long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.mdcContext = mdcContext;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            // 由时间轮线程从槽中移除
+            timer.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state == ST_EXPIRED;
+        }
+
+        @Override
+        public Runnable task() {
+            return task;
+        }
+
+        private int state() {
+            return state;
+        }
+
+        private void remove() {
+            if (removed) {
+                return;
+            }
+            if (bucket != null) {
+                bucket.remove(this);
+            } else {
+                removed = true;
+                timer.pendingTimeouts.decrementAndGet();
+            }
+        }
+
+        private void expire() {
+            if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            timer.dispatch(this);
+        }
+
+        @Override
+        public String toString() {
+            return "HashedWheelTimeout(deadline=" + deadline + ", state=" + state + ", task=" + task + ")";
+        }
+    }
+
+    private static final class HashedWheelBucket {
+
+        private HashedWheelTimeout head;
+        private HashedWheelTimeout tail;
+
+        private void addTimeout(HashedWheelTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expireTimeouts(long deadline) {
+            HashedWheelTimeout timeout = head;
+            while (timeout != null) {
+                HashedWheelTimeout next = timeout.next;
+                if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    next = remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    next = remove(timeout);
+                } else if (timeout.remainingRounds > 0) {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private HashedWheelTimeout remove(HashedWheelTimeout timeout) {
+            final HashedWheelTimeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                if (timeout == tail) {
+                    tail = null;
+                    head = null;
+                } else {
+                    head = next;
+                }
+            } else if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            timeout.removed = true;
+            timeout.timer.pendingTimeouts.decrementAndGet();
+            return next;
+        }
+
+        private void clearTimeouts(Set<WheelTimeout> set) {
+            HashedWheelTimeout timeout;
+            while ((timeout = pollTimeout()) != null) {
+                if (timeout.isExpired() || timeout.isCancelled()) {
+                    continue;
+                }
+                set.add(timeout);
+            }
+        }
+
+        private HashedWheelTimeout pollTimeout() {
+            final HashedWheelTimeout timeout = head;
+            if (timeout == null) {
+                return null;
+            }
+            final HashedWheelTimeout next = timeout.next;
+            if (next == null) {
+                tail = this.head = null;
+            } else {
+                this.head = next;
+                next.prev = null;
+            }
+            timeout.next = null;
+            timeout.prev = null;
+            timeout.bucket = null;
+            return timeout;
+        }
+    }
+
+}
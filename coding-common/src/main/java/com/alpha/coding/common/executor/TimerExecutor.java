@@ -2,45 +2,124 @@ package com.alpha.coding.common.executor;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 
+import com.alpha.coding.bo.executor.NamedThreadFactory;
 import com.alpha.coding.bo.executor.SelfRefTimerTask;
 import com.google.common.collect.Lists;
 
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
 /**
  * TimerExecutor
+ * <p>
+ * 定时任务优先使用{@link #schedule(Runnable, long, TimeUnit)}，由{@link HashedWheelTimer}调度，到期任务在工作线程池执行；
+ * 时间轮及工作线程池在首次调度时创建，线程均为守护线程；
+ * 基于java.util.Timer的submitToSchedule/submitToCancel仅为兼容保留，首次使用时才创建Timer线程
  *
  * @version 1.0
  * Date: 2020-02-21
  */
+@Slf4j
 public class TimerExecutor implements InitializingBean, DisposableBean {
 
-    private final Timer scheduleTimer = new Timer("ScheduleTimer", true);
-    private final Timer clearTimer = new Timer("ClearTimer", true);
+    private volatile Timer scheduleTimer;
+    private volatile Timer clearTimer;
     private final AtomicLong taskCnt = new AtomicLong(0);
     private Map<Long, TimerTask> cancelTaskMap = new ConcurrentHashMap<>();
     private long clearInterval = 60000; // 清理取消任务的时间间隔
 
+    /**
+     * 时间轮tick时长(ms)
+     */
+    @Setter
+    @Getter
+    private long tickMillis = 100;
+    /**
+     * 时间轮每圈槽数
+     */
+    @Setter
+    @Getter
+    private int ticksPerWheel = 512;
+    /**
+     * 最大待执行任务数，不大于0时不限制
+     */
+    @Setter
+    @Getter
+    private long maxPendingTimeouts = 0;
+    /**
+     * 工作线程数，未设置taskExecutor时生效
+     */
+    @Setter
+    @Getter
+    private int workerThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+    /**
+     * 到期任务执行器，为空时创建固定大小线程池
+     */
+    @Setter
+    private Executor taskExecutor;
+
+    private volatile HashedWheelTimer wheelTimer;
+    private ExecutorService ownedTaskExecutor;
+
+    /**
+     * 延迟执行任务，调度与取消均为O(1)
+     *
+     * @return 任务句柄，可用于取消
+     * @throws java.util.concurrent.RejectedExecutionException 待执行任务数超过maxPendingTimeouts或已关闭
+     */
+    public WheelTimeout schedule(Runnable task, long delay, TimeUnit unit) {
+        return wheelTimer().newTimeout(task, delay, unit);
+    }
+
+    /**
+     * 待执行任务数
+     */
+    public long pendingTimeouts() {
+        return wheelTimer == null ? 0 : wheelTimer.pendingTimeouts();
+    }
+
+    /**
+     * @deprecated 基于java.util.Timer，单线程且任务异常会终止Timer，使用{@link #schedule(Runnable, long, TimeUnit)}
+     */
+    @Deprecated
     public void submitToSchedule(Consumer<Timer> timerConsumer) {
         if (timerConsumer != null) {
-            timerConsumer.accept(scheduleTimer);
+            timerConsumer.accept(scheduleTimer());
         }
     }
 
+    /**
+     * @deprecated 使用{@link WheelTimeout#cancel()}
+     */
+    @Deprecated
     public void submitToCancel(TimerTask toCancelTask) {
         submitToCancel(toCancelTask, 0);
     }
 
+    /**
+     * @deprecated 使用{@link #schedule(Runnable, long, TimeUnit)}与{@link WheelTimeout#cancel()}
+     */
+    @Deprecated
     public void submitToCancel(TimerTask toCancelTask, long delay) {
         if (toCancelTask != null) {
-            scheduleTimer.schedule(new SelfRefTimerTask(t -> {
+            scheduleTimer().schedule(new SelfRefTimerTask(t -> {
                 try {
                     toCancelTask.cancel();
                     cancelTaskMap.put(taskCnt.getAndIncrement(), t);
@@ -52,29 +131,81 @@ public class TimerExecutor implements InitializingBean, DisposableBean {
     }
 
     public void start() {
-        clearTimer.scheduleAtFixedRate(new SelfRefTimerTask(t -> {
-            List<Long> taskIds = Lists.newArrayList(cancelTaskMap.keySet());
-            for (Long taskId : taskIds) {
-                try {
-                    cancelTaskMap.get(taskId).cancel();
-                } catch (Exception e) {
-                    //
+        wheelTimer().start();
+    }
+
+    private HashedWheelTimer wheelTimer() {
+        HashedWheelTimer timer = wheelTimer;
+        if (timer == null) {
+            synchronized (this) {
+                timer = wheelTimer;
+                if (timer == null) {
+                    Executor executor = taskExecutor;
+                    if (executor == null) {
+                        final ThreadFactory threadFactory = new NamedThreadFactory("TimerExecutorWorker", true);
+                        final int threads = Math.max(workerThreads, 1);
+                        ownedTaskExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                                new LinkedBlockingQueue<>(), r -> {
+                                    // 工作线程由时间轮的守护线程创建，需显式设置守护标记
+                                    final Thread thread = threadFactory.newThread(r);
+                                    thread.setDaemon(true);
+                                    return thread;
+                                });
+                        executor = ownedTaskExecutor;
+                    }
+                    timer = new HashedWheelTimer("TimerExecutor", tickMillis, TimeUnit.MILLISECONDS,
+                            ticksPerWheel, maxPendingTimeouts, executor);
+                    wheelTimer = timer;
                 }
-                cancelTaskMap.remove(taskId);
             }
-            scheduleTimer.purge();
-            clearTimer.purge();
-        }), 100, clearInterval);
+        }
+        return timer;
+    }
+
+    private Timer scheduleTimer() {
+        if (scheduleTimer == null) {
+            synchronized (this) {
+                if (scheduleTimer == null) {
+                    clearTimer = new Timer("ClearTimer", true);
+                    clearTimer.scheduleAtFixedRate(new SelfRefTimerTask(t -> {
+                        List<Long> taskIds = Lists.newArrayList(cancelTaskMap.keySet());
+                        for (Long taskId : taskIds) {
+                            try {
+                                cancelTaskMap.get(taskId).cancel();
+                            } catch (Exception e) {
+                                //
+                            }
+                            cancelTaskMap.remove(taskId);
+                        }
+                        scheduleTimer.purge();
+                        clearTimer.purge();
+                    }), 100, clearInterval);
+                    scheduleTimer = new Timer("ScheduleTimer", true);
+                }
+            }
+        }
+        return scheduleTimer;
     }
 
     @Override
     public void afterPropertiesSet() throws Exception {
-        start();
+        // 时间轮及工作线程池在首次调度时创建
     }
 
-    public void shutdown() {
-        scheduleTimer.cancel();
-        clearTimer.cancel();
+    public synchronized void shutdown() {
+        if (scheduleTimer != null) {
+            scheduleTimer.cancel();
+            clearTimer.cancel();
+        }
+        if (wheelTimer != null) {
+            final Set<WheelTimeout> unprocessed = wheelTimer.stop();
+            if (!unprocessed.isEmpty()) {
+                log.warn("TimerExecutor shutdown with {} unprocessed timeouts", unprocessed.size());
+            }
+        }
+        if (ownedTaskExecutor != null) {
+            ownedTaskExecutor.shutdown();
+        }
     }
 
     @Override
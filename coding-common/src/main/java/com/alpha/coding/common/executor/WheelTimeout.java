@@ -0,0 +1,22 @@
+package com.alpha.coding.common.executor;
+
+/**
+ * WheelTimeout {@link HashedWheelTimer}中已调度任务的句柄
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+public interface WheelTimeout {
+
+    /**
+     * 取消任务，O(1)，已到期或已取消时返回false
+     */
+    boolean cancel();
+
+    boolean isCancelled();
+
+    boolean isExpired();
+
+    Runnable task();
+
+}
@@ -7,6 +7,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import org.apache.http.client.HttpClient;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.conn.HttpClientConnectionManager;
 import org.springframework.beans.factory.DisposableBean;
@@ -15,11 +16,15 @@ import org.springframework.http.client.ClientHttpRequest;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 
+import com.alpha.coding.common.http.model.HttpConfig;
+
 import lombok.Data;
 import lombok.experimental.Accessors;
 
 /**
  * CachedHttpComponentsClientHttpRequestFactory
+ * <p>
+ * 未指定httpClientConnectionManager且httpConfig启用连接池时，复用{@link HttpConnectionPoolManager}中的共享HttpClient
  *
  * @version 1.0
  * Date: 2020/6/9
@@ -32,25 +37,52 @@ public class CachedHttpComponentsClientHttpRequestFactory implements ClientHttpR
 
     private HttpClientConnectionManager httpClientConnectionManager;
     private RequestConfig requestConfig;
+    private HttpConfig httpConfig;
 
     @Override
     public void destroy() throws Exception {
+        if (useSharedClient()) {
+            // 共享HttpClient由HttpConnectionPoolManager统一管理
+            CACHE.clear();
+            return;
+        }
         for (Map.Entry<String, HttpComponentsClientHttpRequestFactory> entry : CACHE.entrySet()) {
             entry.getValue().destroy();
         }
     }
 
+    private boolean useSharedClient() {
+        return httpClientConnectionManager == null && httpConfig != null && httpConfig.isPooled();
+    }
+
+    private HttpComponentsClientHttpRequestFactory createRequestFactory(String key) {
+        if (!useSharedClient()) {
+            return new HttpComponentsClientHttpRequestFactory(new DefaultHttpClientSupplier()
+                    .setHttpClientConnectionManager(httpClientConnectionManager)
+                    .setRequestConfig(requestConfig)
+                    .setHttpConfig(httpConfig)
+                    .setUseHttps(key.toLowerCase().startsWith("https://"))
+                    .get());
+        }
+        final HttpClient httpClient = HttpConnectionPoolManager.getHttpClient(httpConfig);
+        final HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        final int connTimeout = requestConfig != null ? requestConfig.getConnectTimeout() : httpConfig.getConnTimeout();
+        final int soTimeout = requestConfig != null ? requestConfig.getSocketTimeout() : httpConfig.getSoTimeout();
+        if (connTimeout > 0) {
+            factory.setConnectTimeout(connTimeout);
+            factory.setConnectionRequestTimeout(connTimeout);
+        }
+        if (soTimeout > 0) {
+            factory.setReadTimeout(soTimeout);
+        }
+        return factory;
+    }
+
     @Override
     public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
         final URL url = uri.toURL();
         String key = url.getProtocol() + "://" + url.getHost() + (url.getPort() > 0 ? ":" + url.getPort() : "");
-        return CACHE.computeIfAbsent(key,
-                k -> new HttpComponentsClientHttpRequestFactory(new DefaultHttpClientSupplier()
-                        .setHttpClientConnectionManager(httpClientConnectionManager)
-                        .setRequestConfig(requestConfig)
-                        .setUseHttps(k.toLowerCase().startsWith("https://"))
-                        .get()))
-                .createRequest(uri, httpMethod);
+        return CACHE.computeIfAbsent(key, this::createRequestFactory).createRequest(uri, httpMethod);
     }
 
 }
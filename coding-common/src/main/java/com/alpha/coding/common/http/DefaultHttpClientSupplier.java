@@ -9,6 +9,7 @@ import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
 import org.apache.http.conn.HttpClientConnectionManager;
 import org.apache.http.conn.SchemePortResolver;
 import org.apache.http.impl.client.BasicCredentialsProvider;
@@ -49,6 +50,11 @@ public class DefaultHttpClientSupplier implements Supplier<CloseableHttpClient>
 
     private boolean useHttps;
     private HttpClientConnectionManager httpClientConnectionManager;
+    /**
+     * 连接管理器是否被多个client共享，共享时关闭client不会关闭连接管理器
+     */
+    private boolean connectionManagerShared;
+    private ConnectionKeepAliveStrategy keepAliveStrategy;
     private RequestConfig requestConfig;
     private HttpConfig httpConfig;
 
@@ -72,6 +78,10 @@ public class DefaultHttpClientSupplier implements Supplier<CloseableHttpClient>
             throw new RuntimeException("Construct HttpClientBuilder fail", e);
         }
         httpClientBuilder.setConnectionManager(httpClientConnectionManager);
+        httpClientBuilder.setConnectionManagerShared(connectionManagerShared);
+        if (keepAliveStrategy != null) {
+            httpClientBuilder.setKeepAliveStrategy(keepAliveStrategy);
+        }
         httpClientBuilder.setDefaultRequestConfig(requestConfig);
         if (httpConfig != null && httpConfig.getRetry() > 0) {
             httpClientBuilder.setRetryHandler(new BwopHttpRequestRetryHandler(httpConfig.getRetry()));
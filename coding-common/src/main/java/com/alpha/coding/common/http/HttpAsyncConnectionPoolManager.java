@@ -0,0 +1,151 @@
+package com.alpha.coding.common.http;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpHost;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.springframework.http.client.HttpComponentsAsyncClientHttpRequestFactory;
+
+import com.alpha.coding.common.http.model.HttpConfig;
+import com.alpha.coding.common.utils.StringUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * HttpAsyncConnectionPoolManager 进程级共享的异步(NIO)Http连接池
+ * <p>
+ * 与{@link HttpConnectionPoolManager}使用相同的连接池配置及空闲回收线程，需引入httpasyncclient依赖
+ *
+ * @version 1.0
+ * @date 2026年10月18日
+ */
+@Slf4j
+public class HttpAsyncConnectionPoolManager {
+
+    private static final ConcurrentMap<String, CloseableHttpAsyncClient> ASYNC_CLIENT_CACHE =
+            new ConcurrentHashMap<>();
+
+    static {
+        HttpConnectionPoolManager.registerShutdownHook(() -> {
+            ASYNC_CLIENT_CACHE.values().forEach(client -> {
+                try {
+                    client.close();
+                } catch (Exception e) {
+                    // nothing
+                }
+            });
+            ASYNC_CLIENT_CACHE.clear();
+        });
+    }
+
+    private HttpAsyncConnectionPoolManager() {
+    }
+
+    /**
+     * 获取共享的异步HttpClient(已启动)，调用方不可关闭
+     */
+    public static CloseableHttpAsyncClient getHttpAsyncClient(HttpConfig httpConfig) {
+        Objects.requireNonNull(httpConfig, "httpConfig is null");
+        return ASYNC_CLIENT_CACHE.computeIfAbsent(HttpConnectionPoolManager.managerKey(httpConfig)
+                + "|" + HttpConnectionPoolManager.clientKey(httpConfig)
+                + "|" + httpConfig.getAsyncIoThreads(), k -> createHttpAsyncClient(httpConfig));
+    }
+
+    /**
+     * 基于共享异步HttpClient构建Spring异步请求工厂，超时取自httpConfig
+     */
+    @SuppressWarnings("deprecation")
+    public static HttpComponentsAsyncClientHttpRequestFactory getAsyncRequestFactory(HttpConfig httpConfig) {
+        final HttpComponentsAsyncClientHttpRequestFactory factory =
+                new HttpComponentsAsyncClientHttpRequestFactory(HttpConnectionPoolManager.getHttpClient(httpConfig),
+                        getHttpAsyncClient(httpConfig));
+        if (httpConfig.getConnTimeout() > 0) {
+            factory.setConnectTimeout(httpConfig.getConnTimeout());
+            factory.setConnectionRequestTimeout(httpConfig.getConnTimeout());
+        }
+        if (httpConfig.getSoTimeout() > 0) {
+            factory.setReadTimeout(httpConfig.getSoTimeout());
+        }
+        return factory;
+    }
+
+
+    private static CloseableHttpAsyncClient createHttpAsyncClient(HttpConfig httpConfig) {
+        final PoolingNHttpClientConnectionManager manager;
+        try {
+            final SSLIOSessionStrategy sslStrategy = httpConfig.isSslTrustAny()
+                    ? new SSLIOSessionStrategy(SSLClientBuilder.trustAnySSLContext(httpConfig.getSslContextType()),
+                    httpConfig.getSupportedProtocols(), httpConfig.getSupportedCipherSuites(),
+                    new SSLClientBuilder.TrustAnyHostnameVerifier())
+                    : SSLIOSessionStrategy.getDefaultStrategy();
+            final Registry<SchemeIOSessionStrategy> registry = RegistryBuilder.<SchemeIOSessionStrategy> create()
+                    .register("http", NoopIOSessionStrategy.INSTANCE)
+                    .register("https", sslStrategy)
+                    .build();
+            final IOReactorConfig.Builder ioReactorConfig = IOReactorConfig.custom()
+                    .setConnectTimeout(Math.max(httpConfig.getConnTimeout(), 0))
+                    .setSoTimeout(Math.max(httpConfig.getSoTimeout(), 0));
+            if (httpConfig.getAsyncIoThreads() > 0) {
+                ioReactorConfig.setIoThreadCount(httpConfig.getAsyncIoThreads());
+            }
+            manager = new PoolingNHttpClientConnectionManager(
+                    new DefaultConnectingIOReactor(ioReactorConfig.build()), registry);
+        } catch (Exception e) {
+            throw new RuntimeException("Construct PoolingNHttpClientConnectionManager fail", e);
+        }
+        manager.setMaxTotal(httpConfig.getPoolMaxTotal());
+        manager.setDefaultMaxPerRoute(httpConfig.getPoolMaxPerRoute());
+        if (httpConfig.getPoolMaxPerRouteMap() != null) {
+            httpConfig.getPoolMaxPerRouteMap().forEach((route, max) -> {
+                if (max != null && max > 0) {
+                    manager.setMaxPerRoute(HttpConnectionPoolManager.parseRoute(route), max);
+                }
+            });
+        }
+        final long idleTimeout = httpConfig.getPoolIdleTimeout();
+        HttpConnectionPoolManager.registerEvictor(() -> {
+            manager.closeExpiredConnections();
+            if (idleTimeout > 0) {
+                manager.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+            }
+        });
+        final HttpAsyncClientBuilder builder = HttpAsyncClientBuilder.create()
+                .setConnectionManager(manager)
+                .setKeepAliveStrategy(HttpConnectionPoolManager.keepAliveStrategy(httpConfig.getKeepAliveTimeout()));
+        if (StringUtils.isNotBlank(httpConfig.getHttpProxyHost())) {
+            builder.setProxy(new HttpHost(httpConfig.getHttpProxyHost(), httpConfig.getHttpProxyPort()));
+            if (StringUtils.isNotBlank(httpConfig.getHttpProxyUsername())) {
+                CredentialsProvider provider = new BasicCredentialsProvider();
+                provider.setCredentials(new AuthScope(httpConfig.getHttpProxyHost(), httpConfig.getHttpProxyPort()),
+                        new UsernamePasswordCredentials(httpConfig.getHttpProxyUsername(),
+                                httpConfig.getHttpProxyPassword()));
+                builder.setDefaultCredentialsProvider(provider);
+            }
+        }
+        if (StringUtils.isNotBlank(httpConfig.getUserAgent())) {
+            builder.setUserAgent(httpConfig.getUserAgent());
+        }
+        final CloseableHttpAsyncClient client = builder.build();
+        client.start();
+        log.info("create shared CloseableHttpAsyncClient: maxTotal={},maxPerRoute={},ioThreads={}",
+                httpConfig.getPoolMaxTotal(), httpConfig.getPoolMaxPerRoute(), httpConfig.getAsyncIoThreads());
+        return client;
+    }
+
+}
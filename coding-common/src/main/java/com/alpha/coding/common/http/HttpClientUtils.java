@@ -125,6 +125,7 @@ public class HttpClientUtils {
     private static class HttpRequestContext {
         private HttpRequestTypeEnum requestType;
         private CloseableHttpClient httpClient;
+        private boolean sharedClient;
         private CloseableHttpResponse response;
         private String url;
         private String charset;
@@ -841,7 +842,15 @@ public class HttpClientUtils {
                 httpResponseConsumer.accept(httpRequestContext.response, httpExecRes);
             }
         } finally {
-            close(httpRequestContext.httpClient, httpRequestContext.response);
+            if (httpRequestContext.sharedClient) {
+                // 读完响应体以便连接归还连接池复用
+                if (httpRequestContext.response != null) {
+                    EntityUtils.consumeQuietly(httpRequestContext.response.getEntity());
+                }
+                close(httpRequestContext.response);
+            } else {
+                close(httpRequestContext.httpClient, httpRequestContext.response);
+            }
             final long endTime = System.nanoTime();
             httpExecRes.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(endTime - startTime));
             if (finalLogConsumer != null) {
@@ -854,9 +863,15 @@ public class HttpClientUtils {
      * 构建并执行请求
      */
     private static void doRequest(HttpRequestContext context) throws IOException {
-        context.httpClient = context.clientSupplier != null ? context.clientSupplier.get()
-                : DefaultHttpClientSupplier.create().setHttpConfig(context.httpConfig)
-                        .setUseHttps(context.url.startsWith("https://")).get();
+        if (context.clientSupplier != null) {
+            context.httpClient = context.clientSupplier.get();
+        } else if (context.httpConfig.isPooled()) {
+            context.httpClient = HttpConnectionPoolManager.getHttpClient(context.httpConfig);
+            context.sharedClient = true;
+        } else {
+            context.httpClient = DefaultHttpClientSupplier.create().setHttpConfig(context.httpConfig)
+                    .setUseHttps(context.url.startsWith("https://")).get();
+        }
         final RequestConfig.Builder configBuilder = RequestConfig.custom();
         configBuilder.setSocketTimeout(context.httpConfig.getSoTimeout());
         configBuilder.setConnectTimeout(context.httpConfig.getConnTimeout());
@@ -0,0 +1,208 @@
+package com.alpha.coding.common.http;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpHost;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import com.alpha.coding.bo.executor.NamedThreadFactory;
+import com.alpha.coding.common.http.model.HttpConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * HttpConnectionPoolManager 进程级共享的Http连接池
+ * <p>
+ * 按{@link HttpConfig}中的SSL与连接池配置共享{@link PoolingHttpClientConnectionManager}，
+ * 按重试、代理、UserAgent等client级配置共享{@link CloseableHttpClient}，
+ * 并由后台线程定期回收过期及空闲连接
+ *
+ * @version 1.0
+ * @date 2026年10月18日
+ */
+@Slf4j
+public class HttpConnectionPoolManager {
+
+    private static final long EVICT_INTERVAL_MILLIS = 5000;
+    private static final ConcurrentMap<String, PoolingHttpClientConnectionManager> MANAGER_CACHE =
+            new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, CloseableHttpClient> CLIENT_CACHE = new ConcurrentHashMap<>();
+    private static final List<Runnable> EVICTORS = new CopyOnWriteArrayList<>();
+    private static final List<Runnable> SHUTDOWN_HOOKS = new CopyOnWriteArrayList<>();
+    private static volatile ScheduledExecutorService evictScheduler;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(HttpConnectionPoolManager::shutdown));
+    }
+
+    private HttpConnectionPoolManager() {
+    }
+
+    /**
+     * 获取共享的连接管理器
+     */
+    public static PoolingHttpClientConnectionManager getConnectionManager(HttpConfig httpConfig) {
+        Objects.requireNonNull(httpConfig, "httpConfig is null");
+        return MANAGER_CACHE.computeIfAbsent(managerKey(httpConfig), k -> createConnectionManager(httpConfig));
+    }
+
+    /**
+     * 获取共享的HttpClient，调用方不可关闭
+     */
+    public static CloseableHttpClient getHttpClient(HttpConfig httpConfig) {
+        Objects.requireNonNull(httpConfig, "httpConfig is null");
+        final String managerKey = managerKey(httpConfig);
+        return CLIENT_CACHE.computeIfAbsent(managerKey + "|" + clientKey(httpConfig),
+                k -> DefaultHttpClientSupplier.create()
+                        .setHttpConfig(httpConfig)
+                        .setHttpClientConnectionManager(MANAGER_CACHE.computeIfAbsent(managerKey,
+                                mk -> createConnectionManager(httpConfig)))
+                        .setConnectionManagerShared(true)
+                        .setKeepAliveStrategy(keepAliveStrategy(httpConfig.getKeepAliveTimeout()))
+                        .get());
+    }
+
+    /**
+     * 关闭所有共享连接池
+     */
+    public static synchronized void shutdown() {
+        if (evictScheduler != null) {
+            evictScheduler.shutdownNow();
+            evictScheduler = null;
+        }
+        EVICTORS.clear();
+        CLIENT_CACHE.clear();
+        MANAGER_CACHE.values().forEach(PoolingHttpClientConnectionManager::shutdown);
+        MANAGER_CACHE.clear();
+        SHUTDOWN_HOOKS.forEach(Runnable::run);
+    }
+
+    private static PoolingHttpClientConnectionManager createConnectionManager(HttpConfig httpConfig) {
+        final SSLConnectionSocketFactory sslConnectionSocketFactory;
+        try {
+            sslConnectionSocketFactory = httpConfig.isSslTrustAny()
+                    ? SSLClientBuilder.trustAnySSLConnectionSocketFactory(httpConfig.getSslContextType(),
+                    httpConfig.getSupportedProtocols(), httpConfig.getSupportedCipherSuites())
+                    : SSLClientBuilder.trustAllSSLConnectionSocketFactory();
+        } catch (Exception e) {
+            throw new RuntimeException("Construct SSLConnectionSocketFactory fail", e);
+        }
+        final Registry<ConnectionSocketFactory> registry = RegistryBuilder.<ConnectionSocketFactory> create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", sslConnectionSocketFactory)
+                .build();
+        final PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager(registry);
+        manager.setMaxTotal(httpConfig.getPoolMaxTotal());
+        manager.setDefaultMaxPerRoute(httpConfig.getPoolMaxPerRoute());
+        if (httpConfig.getPoolMaxPerRouteMap() != null) {
+            httpConfig.getPoolMaxPerRouteMap().forEach((route, max) -> {
+                if (max != null && max > 0) {
+                    manager.setMaxPerRoute(parseRoute(route), max);
+                }
+            });
+        }
+        manager.setValidateAfterInactivity(httpConfig.getPoolValidateAfterInactivity());
+        final long idleTimeout = httpConfig.getPoolIdleTimeout();
+        registerEvictor(() -> {
+            manager.closeExpiredConnections();
+            if (idleTimeout > 0) {
+                manager.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+            }
+        });
+        log.info("create shared PoolingHttpClientConnectionManager: maxTotal={},maxPerRoute={},"
+                        + "validateAfterInactivity={}ms,idleTimeout={}ms",
+                httpConfig.getPoolMaxTotal(), httpConfig.getPoolMaxPerRoute(),
+                httpConfig.getPoolValidateAfterInactivity(), httpConfig.getPoolIdleTimeout());
+        return manager;
+    }
+
+    /**
+     * 注册关闭共享连接池时的回调
+     */
+    static void registerShutdownHook(Runnable hook) {
+        SHUTDOWN_HOOKS.add(hook);
+    }
+
+    static void registerEvictor(Runnable evictor) {
+        EVICTORS.add(evictor);
+        ensureEvictScheduler();
+    }
+
+    private static synchronized void ensureEvictScheduler() {
+        if (evictScheduler != null) {
+            return;
+        }
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1,
+                new NamedThreadFactory("HttpConnectionEvictor", true));
+        scheduler.scheduleWithFixedDelay(HttpConnectionPoolManager::evict,
+                EVICT_INTERVAL_MILLIS, EVICT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        evictScheduler = scheduler;
+    }
+
+    private static void evict() {
+        for (Runnable evictor : EVICTORS) {
+            try {
+                evictor.run();
+            } catch (Exception e) {
+                log.warn("evict idle http connections fail", e);
+            }
+        }
+    }
+
+    static ConnectionKeepAliveStrategy keepAliveStrategy(long defaultKeepAlive) {
+        return (response, context) -> {
+            final long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return keepAlive > 0 ? keepAlive : (defaultKeepAlive > 0 ? defaultKeepAlive : -1);
+        };
+    }
+
+    static HttpRoute parseRoute(String route) {
+        final URI uri = URI.create(route.contains("://") ? route : "http://" + route);
+        final boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        final int port = uri.getPort() > 0 ? uri.getPort() : (secure ? 443 : 80);
+        return new HttpRoute(new HttpHost(uri.getHost(), port, uri.getScheme()), null, secure);
+    }
+
+    static String managerKey(HttpConfig httpConfig) {
+        return httpConfig.isSslTrustAny()
+                + "," + httpConfig.getSslContextType()
+                + "," + Arrays.toString(httpConfig.getSupportedProtocols())
+                + "," + Arrays.toString(httpConfig.getSupportedCipherSuites())
+                + "," + httpConfig.getPoolMaxTotal()
+                + "," + httpConfig.getPoolMaxPerRoute()
+                + "," + (httpConfig.getPoolMaxPerRouteMap() == null ? null
+                : new TreeMap<>(httpConfig.getPoolMaxPerRouteMap()))
+                + "," + httpConfig.getPoolValidateAfterInactivity()
+                + "," + httpConfig.getPoolIdleTimeout();
+    }
+
+    static String clientKey(HttpConfig httpConfig) {
+        return httpConfig.getRetry()
+                + "," + httpConfig.getHttpProxyHost()
+                + "," + httpConfig.getHttpProxyPort()
+                + "," + httpConfig.getHttpProxyUsername()
+                + "," + httpConfig.getHttpProxyPassword()
+                + "," + httpConfig.getUserAgent()
+                + "," + httpConfig.getKeepAliveTimeout();
+    }
+
+}
@@ -33,9 +33,7 @@ public class SSLClientBuilder {
 
     public static HttpClientBuilder trustAllSSLClientBuilder() throws Exception {
         final HttpClientBuilder builder = HttpClientBuilder.create();
-        SSLContext sslContext = SSLContextBuilder.create().build();
-        SSLConnectionSocketFactory sslConnectionSocketFactory = new SSLConnectionSocketFactory(sslContext);
-        builder.setSSLSocketFactory(sslConnectionSocketFactory);
+        builder.setSSLSocketFactory(trustAllSSLConnectionSocketFactory());
         return builder;
     }
 
@@ -46,13 +44,28 @@ public class SSLClientBuilder {
     public static HttpClientBuilder trustAnySSLClientBuilder(String sslContextType, String[] supportedProtocols,
                                                              String[] supportedCipherSuites) throws Exception {
         final HttpClientBuilder builder = HttpClientBuilder.create();
+        builder.setSSLSocketFactory(trustAnySSLConnectionSocketFactory(sslContextType, supportedProtocols,
+                supportedCipherSuites));
+        return builder;
+    }
+
+    public static SSLConnectionSocketFactory trustAllSSLConnectionSocketFactory() throws Exception {
+        SSLContext sslContext = SSLContextBuilder.create().build();
+        return new SSLConnectionSocketFactory(sslContext);
+    }
+
+    public static SSLConnectionSocketFactory trustAnySSLConnectionSocketFactory(String sslContextType,
+                                                                                String[] supportedProtocols,
+                                                                                String[] supportedCipherSuites)
+            throws Exception {
+        return new SSLConnectionSocketFactory(trustAnySSLContext(sslContextType), supportedProtocols,
+                supportedCipherSuites, new TrustAnyHostnameVerifier());
+    }
+
+    public static SSLContext trustAnySSLContext(String sslContextType) throws Exception {
         SSLContext sslContext = SSLContext.getInstance(Optional.ofNullable(sslContextType).orElse("SSL"));
         sslContext.init(null, new TrustManager[] {new TrustAnyTrustManager()}, new SecureRandom());
-        SSLConnectionSocketFactory sslConnectionSocketFactory =
-                new SSLConnectionSocketFactory(sslContext, supportedProtocols, supportedCipherSuites,
-                        new TrustAnyHostnameVerifier());
-        builder.setSSLSocketFactory(sslConnectionSocketFactory);
-        return builder;
+        return sslContext;
     }
 
     @Deprecated
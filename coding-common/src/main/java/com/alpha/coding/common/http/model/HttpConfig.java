@@ -1,6 +1,7 @@
 package com.alpha.coding.common.http.model;
 
 import java.io.Serializable;
+import java.util.Map;
 
 import lombok.Data;
 import lombok.experimental.Accessors;
@@ -27,6 +28,46 @@ public class HttpConfig implements Serializable {
     private String httpProxyUsername;
     private String httpProxyPassword;
     private String userAgent;
+    /**
+     * 是否使用进程级共享连接池(未指定clientSupplier时生效)
+     */
+    private boolean pooled = true;
+    /**
+     * 连接池最大连接数
+     */
+    private int poolMaxTotal = 200;
+    /**
+     * 连接池每个路由默认最大连接数
+     */
+    private int poolMaxPerRoute = 50;
+    /**
+     * 指定路由最大连接数，key格式为scheme://host:port，如https://api.example.com:443
+     */
+    private Map<String, Integer> poolMaxPerRouteMap;
+    /**
+     * 连接空闲超过该时长(ms)后，复用前先校验连接有效性，非正数表示不校验
+     */
+    private int poolValidateAfterInactivity = 2000;
+    /**
+     * 空闲连接回收时长(ms)，非正数表示不回收
+     */
+    private long poolIdleTimeout = 60000;
+    /**
+     * 服务端未返回Keep-Alive时的默认保活时长(ms)，非正数表示无限期
+     */
+    private long keepAliveTimeout = 30000;
+    /**
+     * 异步请求IO线程数，非正数表示使用CPU核数
+     */
+    private int asyncIoThreads;
+    /**
+     * 异步请求最大并发(在途)数
+     */
+    private int asyncMaxInFlight = 256;
+    /**
+     * 异步请求整体超时(ms)，非正数表示仅依赖connTimeout/soTimeout
+     */
+    private long asyncTimeout;
 
     public static HttpConfig create() {
         return new HttpConfig();
@@ -35,6 +35,8 @@ import com.alpha.coding.common.bean.register.EnvironmentChangeListener;
 import com.alpha.coding.common.bean.spi.ConfigurationRegisterHandler;
 import com.alpha.coding.common.bean.spi.RegisterBeanDefinitionContext;
 import com.alpha.coding.common.http.CachedHttpComponentsClientHttpRequestFactory;
+import com.alpha.coding.common.http.HttpConnectionPoolManager;
+import com.alpha.coding.common.http.model.HttpConfig;
 import com.alpha.coding.common.utils.SpringAnnotationConfigUtils;
 import com.alpha.coding.common.utils.StringUtils;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -70,16 +72,34 @@ public class EnableAutoMyRestApiHandler implements ConfigurationRegisterHandler,
             final String restTemplateRef = attributes.getString("restTemplateRef");
             final String prefix = attributes.getString("prefix");
             if (StringUtils.isBlank(restTemplateRef)) {
-                // 注册 PoolingHttpClientConnectionManager
+                // 注册 PoolingHttpClientConnectionManager(进程级共享)
+                final HttpConfig httpConfig = HttpConfig.create()
+                        .setConnTimeout((Integer) BeanDefineUtils
+                                .fetchProperty(environment, Arrays.asList(prefix + ".http.conn.timeout",
+                                        "http.conn.timeout"), Integer.class, 3000))
+                        .setSoTimeout((Integer) BeanDefineUtils
+                                .fetchProperty(environment, Arrays.asList(prefix + ".http.socket.timeout",
+                                        "http.socket.timeout"), Integer.class, 3000))
+                        .setPoolMaxTotal((Integer) BeanDefineUtils
+                                .fetchProperty(environment, Arrays.asList(prefix + ".http.pool.conn.maxTotal",
+                                        "http.pool.conn.maxTotal"), Integer.class, 1000))
+                        .setPoolMaxPerRoute((Integer) BeanDefineUtils
+                                .fetchProperty(environment, Arrays.asList(prefix + ".http.pool.conn.maxPerRoute",
+                                        "http.pool.conn.maxPerRoute"), Integer.class, 100))
+                        .setPoolValidateAfterInactivity((Integer) BeanDefineUtils
+                                .fetchProperty(environment,
+                                        Arrays.asList(prefix + ".http.pool.conn.validateAfterInactivity",
+                                                "http.pool.conn.validateAfterInactivity"), Integer.class, 2000))
+                        .setPoolIdleTimeout((Long) BeanDefineUtils
+                                .fetchProperty(environment, Arrays.asList(prefix + ".http.pool.conn.idleTimeout",
+                                        "http.pool.conn.idleTimeout"), Long.class, 60000L))
+                        .setKeepAliveTimeout((Long) BeanDefineUtils
+                                .fetchProperty(environment, Arrays.asList(prefix + ".http.pool.conn.keepAlive",
+                                        "http.pool.conn.keepAlive"), Long.class, 30000L));
                 BeanDefinitionBuilder managerDefinitionBuilder =
                         BeanDefinitionBuilder.genericBeanDefinition(CustomFactoryBean.class);
-                PoolingHttpClientConnectionManager poolingConnectionManager = new PoolingHttpClientConnectionManager();
-                poolingConnectionManager.setMaxTotal((Integer) BeanDefineUtils
-                        .fetchProperty(environment, Arrays.asList(prefix + ".http.pool.conn.maxTotal",
-                                "http.pool.conn.maxTotal"), Integer.class, 1000));
-                poolingConnectionManager.setDefaultMaxPerRoute((Integer) BeanDefineUtils
-                        .fetchProperty(environment, Arrays.asList(prefix + ".http.pool.conn.maxPerRoute",
-                                "http.pool.conn.maxPerRoute"), Integer.class, 100));
+                PoolingHttpClientConnectionManager poolingConnectionManager =
+                        HttpConnectionPoolManager.getConnectionManager(httpConfig);
                 managerDefinitionBuilder.addPropertyValue("type", PoolingHttpClientConnectionManager.class);
                 managerDefinitionBuilder.addPropertyValue("target", poolingConnectionManager);
                 if (BeanDefinitionRegistryUtils.overideBeanDefinition(registry,
@@ -90,19 +110,13 @@ public class EnableAutoMyRestApiHandler implements ConfigurationRegisterHandler,
                 }
                 // 注册 ClientHttpRequestFactory
                 final RequestConfig config = RequestConfig.custom()
-                        .setConnectTimeout((Integer) BeanDefineUtils
-                                .fetchProperty(environment, Arrays.asList(prefix + ".http.conn.timeout",
-                                        "http.conn.timeout"), Integer.class, 3000))
-                        .setConnectionRequestTimeout((Integer) BeanDefineUtils
-                                .fetchProperty(environment, Arrays.asList(prefix + ".http.conn.timeout",
-                                        "http.conn.timeout"), Integer.class, 3000))
-                        .setSocketTimeout((Integer) BeanDefineUtils
-                                .fetchProperty(environment, Arrays.asList(prefix + ".http.socket.timeout",
-                                        "http.socket.timeout"), Integer.class, 3000))
+                        .setConnectTimeout(httpConfig.getConnTimeout())
+                        .setConnectionRequestTimeout(httpConfig.getConnTimeout())
+                        .setSocketTimeout(httpConfig.getSoTimeout())
                         .build();
                 log.info("{}RequestConfig: {}", prefix, config.toString());
                 ClientHttpRequestFactory clientHttpRequestFactory = new CachedHttpComponentsClientHttpRequestFactory()
-                        .setHttpClientConnectionManager(poolingConnectionManager)
+                        .setHttpConfig(httpConfig)
                         .setRequestConfig(config);
                 BeanDefinitionBuilder clientHttpRequestFactoryDefinitionBuilder =
                         BeanDefinitionBuilder.genericBeanDefinition(CustomFactoryBean.class);
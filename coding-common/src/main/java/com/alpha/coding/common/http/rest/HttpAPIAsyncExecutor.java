@@ -0,0 +1,94 @@
+package com.alpha.coding.common.http.rest;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.AsyncClientHttpRequestFactory;
+
+import com.alpha.coding.bo.executor.NamedThreadFactory;
+import com.alpha.coding.common.http.HttpAsyncConnectionPoolManager;
+import com.alpha.coding.common.http.model.HttpConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * HttpAPIAsyncExecutor 接口代理的非阻塞执行器
+ * <p>
+ * 基于共享的NIO连接池发送请求，限制在途请求数，并支持请求整体超时；
+ * 返回的future在IO线程上完成，耗时的后续处理应切换到业务线程池
+ *
+ * @version 1.0
+ * @date 2026年10月18日
+ */
+@Slf4j
+public class HttpAPIAsyncExecutor {
+
+    private static final ScheduledExecutorService TIMEOUT_SCHEDULER =
+            new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("HttpAPIAsyncTimeout", true));
+
+    private final MyRestTemplate restTemplate;
+    @SuppressWarnings("deprecation")
+    private final AsyncClientHttpRequestFactory requestFactory;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final long timeout;
+
+    public HttpAPIAsyncExecutor(MyRestTemplate restTemplate, HttpConfig httpConfig) {
+        this.restTemplate = restTemplate;
+        this.requestFactory = HttpAsyncConnectionPoolManager.getAsyncRequestFactory(httpConfig);
+        this.maxInFlight = Math.max(httpConfig.getAsyncMaxInFlight(), 1);
+        this.inFlight = new Semaphore(maxInFlight);
+        this.timeout = httpConfig.getAsyncTimeout();
+    }
+
+    /**
+     * 执行请求，不阻塞调用线程：在途请求数达到上限时直接返回以RejectedExecutionException失败的future
+     */
+    public <T> CompletableFuture<T> execute(String url, HttpMethod method, Object body, Type responseType,
+                                            Map<String, String[]> headerMap) {
+        if (!inFlight.tryAcquire()) {
+            final CompletableFuture<T> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(new RejectedExecutionException(
+                    "too many in-flight requests, max=" + maxInFlight + ", url=" + url));
+            return rejected;
+        }
+        final long st = System.currentTimeMillis();
+        final CompletableFuture<T> future;
+        try {
+            future = restTemplate.executeAsync(requestFactory, url, method, body, responseType, headerMap);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+        future.whenComplete((r, e) -> {
+            inFlight.release();
+            if (log.isDebugEnabled()) {
+                log.debug("invoke-async-url: {}, cost {}ms", url, (System.currentTimeMillis() - st));
+            }
+        });
+        if (timeout > 0 && !future.isDone()) {
+            final ScheduledFuture<?> timeoutTask = TIMEOUT_SCHEDULER.schedule(() -> future
+                            .completeExceptionally(new TimeoutException("request timeout " + timeout + "ms: " + url)),
+                    timeout, TimeUnit.MILLISECONDS);
+            future.whenComplete((r, e) -> timeoutTask.cancel(false));
+        }
+        return future;
+    }
+
+    /**
+     * 当前在途请求数
+     */
+    public int getInFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+}
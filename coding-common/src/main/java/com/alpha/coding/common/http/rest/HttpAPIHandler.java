@@ -5,12 +5,15 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
@@ -21,6 +24,7 @@ import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.http.HttpMethod;
 import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -32,6 +36,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.serializer.SerializerFeature;
 import com.alpha.coding.common.http.HttpUtils;
+import com.alpha.coding.common.http.model.HttpConfig;
 import com.alpha.coding.common.utils.ReflectionUtils;
 import com.alpha.coding.common.utils.StringUtils;
 
@@ -40,6 +45,9 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * HttpAPIHandler.java
+ * <p>
+ * 返回值声明为CompletableFuture/CompletionStage/Future，或含BiConsumer&lt;T, Throwable&gt;回调参数的方法，
+ * 通过{@link HttpAPIAsyncExecutor}非阻塞执行
  *
  * @author nick
  * @version 1.0
@@ -54,10 +62,22 @@ public class HttpAPIHandler implements InvocationHandler, InitializingBean {
     private MyRestTemplate restTemplate;
     @Setter
     private String uri;
+    /**
+     * 未指定restTemplate时，用于构建基于共享连接池的MyRestTemplate
+     */
+    @Setter
+    private HttpConfig httpConfig;
+    /**
+     * uri选择策略，默认随机；可选{@link PeakEwmaUriSelectPolicy}按耗时及健康状况自适应选择
+     */
     @Setter
     private UriSelectPolicy selectPolicy = list -> list.get(ThreadLocalRandom.current().nextInt(0, list.size()));
 
     private List<String> uriList;
+    private volatile HttpAPIAsyncExecutor asyncExecutor;
+
+    public HttpAPIHandler() {
+    }
 
     public HttpAPIHandler(MyRestTemplate restTemplate, String uri) {
         this.restTemplate = restTemplate;
@@ -65,12 +85,21 @@ public class HttpAPIHandler implements InvocationHandler, InitializingBean {
         init();
     }
 
+    public HttpAPIHandler(HttpConfig httpConfig, String uri) {
+        this.httpConfig = httpConfig;
+        this.uri = uri;
+        init();
+    }
+
     @Override
     public void afterPropertiesSet() throws Exception {
         init();
     }
 
     public void init() {
+        if (restTemplate == null) {
+            restTemplate = new MyRestTemplate(httpConfig == null ? HttpConfig.create() : httpConfig);
+        }
         if (uri != null) {
             uriList = Arrays.stream(uri.split(","))
                     .map(String::trim).filter(StringUtils::isNotBlank)
@@ -78,6 +107,18 @@ public class HttpAPIHandler implements InvocationHandler, InitializingBean {
         }
     }
 
+    private HttpAPIAsyncExecutor getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            synchronized(this) {
+                if (asyncExecutor == null) {
+                    asyncExecutor = new HttpAPIAsyncExecutor(restTemplate,
+                            httpConfig == null ? HttpConfig.create() : httpConfig);
+                }
+            }
+        }
+        return asyncExecutor;
+    }
+
     private String selectUri() {
         if (uriList == null) {
             init();
@@ -85,8 +126,7 @@ public class HttpAPIHandler implements InvocationHandler, InitializingBean {
         return selectPolicy.select(uriList);
     }
 
-    private String contactPath(String path) {
-        final String uri = selectUri();
+    private String contactPath(String uri, String path) {
         if (uri.endsWith("/") && path.startsWith("/")) {
             return uri + path.substring(1);
         } else if (uri.endsWith("/") || path.startsWith("/")) {
@@ -96,6 +136,84 @@ public class HttpAPIHandler implements InvocationHandler, InitializingBean {
         }
     }
 
+    private static boolean isIgnoredArg(Object arg) {
+        return arg instanceof ServletRequest || arg instanceof ServletResponse || arg instanceof BiConsumer;
+    }
+
+    /**
+     * 异步方法的结果类型，非异步方法返回null
+     */
+    private static Type resolveAsyncResultType(Method method, int callbackIndex) {
+        final Class<?> returnType = method.getReturnType();
+        final Type genericType;
+        if (!Object.class.equals(returnType) && returnType.isAssignableFrom(CompletableFuture.class)) {
+            genericType = method.getGenericReturnType();
+        } else if (callbackIndex >= 0) {
+            genericType = method.getGenericParameterTypes()[callbackIndex];
+        } else {
+            return null;
+        }
+        return genericType instanceof ParameterizedType
+                ? ((ParameterizedType) genericType).getActualTypeArguments()[0] : Object.class;
+    }
+
+    private static int resolveCallbackIndex(Method method) {
+        final Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (BiConsumer.class.equals(parameterTypes[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 请求体：POST取RequestBody注解参数，PUT/PATCH取首个参数
+     */
+    private static Object resolveBody(RequestMethod httpMethod, Method method, Object[] args) {
+        if (args == null || args.length == 0) {
+            return null;
+        }
+        final boolean post = RequestMethod.POST.equals(httpMethod);
+        if (!post && !RequestMethod.PUT.equals(httpMethod) && !RequestMethod.PATCH.equals(httpMethod)) {
+            return null;
+        }
+        final Parameter[] parameters = method.getParameters();
+        for (int i = 0; i < args.length; i++) {
+            if (isIgnoredArg(args[i])) {
+                continue;
+            }
+            if (post && !parameters[i].isAnnotationPresent(RequestBody.class)) {
+                continue;
+            }
+            return args[i];
+        }
+        return null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object invokeAsync(Method method, Object[] args, RequestMethod httpMethod, String baseUri, String url,
+                               Map<String, String[]> headerMap, Type resultType, int callbackIndex) {
+        if (RequestMethod.OPTIONS.equals(httpMethod) || RequestMethod.TRACE.equals(httpMethod)) {
+            throw new UnsupportedOperationException("HttpMethod " + httpMethod.name() + " not support");
+        }
+        final long st = System.nanoTime();
+        selectPolicy.onStart(baseUri);
+        final CompletableFuture<Object> future;
+        try {
+            future = getAsyncExecutor().execute(url, HttpMethod.valueOf(httpMethod.name()),
+                    resolveBody(httpMethod, method, args), resultType, headerMap);
+        } catch (RuntimeException e) {
+            selectPolicy.onComplete(baseUri, System.nanoTime() - st, e);
+            throw e;
+        }
+        future.whenComplete((r, e) -> selectPolicy.onComplete(baseUri, System.nanoTime() - st, e));
+        if (callbackIndex >= 0 && args[callbackIndex] != null) {
+            future.whenComplete((BiConsumer) args[callbackIndex]);
+        }
+        return method.getReturnType().isAssignableFrom(CompletableFuture.class) ? future : null;
+    }
+
     private static List<String> parseUriVariables(String url) {
         List<String> list = new ArrayList<>();
         final Matcher matcher = URI_VARIABLE_PATTERN.matcher(url);
@@ -126,7 +244,8 @@ public class HttpAPIHandler implements InvocationHandler, InitializingBean {
         final RequestMethod[] methods = requestMappings[0].method();
         RequestMethod httpMethod = (methods == null || methods.length == 0) ? RequestMethod.POST : methods[0];
 
-        String url = contactPath(path);
+        final String baseUri = selectUri();
+        String url = contactPath(baseUri, path);
         final Map<String, String[]> headerMap = new HashMap<>();
         final Map<String, Object> urlParams = new HashMap<>();
         if (args != null && args.length > 0) {
@@ -136,7 +255,7 @@ public class HttpAPIHandler implements InvocationHandler, InitializingBean {
             if (!variables.isEmpty()) {
                 Map<String, Object> paramsMap = new HashMap<>();
                 for (int i = 0; i < args.length; i++) {
-                    if (args[i] instanceof ServletRequest || args[i] instanceof ServletResponse) {
+                    if (isIgnoredArg(args[i])) {
                         continue;
                     }
                     if (!parameters[i].isAnnotationPresent(PathVariable.class)) {
@@ -162,7 +281,7 @@ public class HttpAPIHandler implements InvocationHandler, InitializingBean {
                 if (arg == null) {
                     continue;
                 }
-                if (arg instanceof ServletRequest || arg instanceof ServletResponse) {
+                if (isIgnoredArg(arg)) {
                     continue;
                 }
                 final Parameter parameter = parameters[i];
@@ -218,7 +337,7 @@ public class HttpAPIHandler implements InvocationHandler, InitializingBean {
                 }
             };
             for (int i = 0; i < args.length; i++) {
-                if (args[i] instanceof ServletRequest || args[i] instanceof ServletResponse) {
+                if (isIgnoredArg(args[i])) {
                     continue;
                 }
                 if (!parameters[i].isAnnotationPresent(RequestHeader.class)) {
@@ -232,7 +351,15 @@ public class HttpAPIHandler implements InvocationHandler, InitializingBean {
                 }
             }
         }
+        final int callbackIndex = resolveCallbackIndex(method);
+        final Type asyncResultType = resolveAsyncResultType(method, callbackIndex);
+        if (asyncResultType != null) {
+            return invokeAsync(method, args, httpMethod, baseUri, url, headerMap, asyncResultType, callbackIndex);
+        }
         final long st = System.currentTimeMillis();
+        final long stNanos = System.nanoTime();
+        Throwable error = null;
+        selectPolicy.onStart(baseUri);
         try {
             if (RequestMethod.GET.equals(httpMethod)) {
                 return restTemplate.getForObjectGeneric(url, method.getGenericReturnType(), method.getReturnType(),
@@ -246,7 +373,7 @@ public class HttpAPIHandler implements InvocationHandler, InitializingBean {
                 }
                 Object body = null;
                 for (int i = 0; i < args.length; i++) {
-                    if (args[i] instanceof ServletRequest || args[i] instanceof ServletResponse) {
+                    if (isIgnoredArg(args[i])) {
                         continue;
                     }
                     final Parameter parameter = method.getParameters()[i];
@@ -264,7 +391,7 @@ public class HttpAPIHandler implements InvocationHandler, InitializingBean {
                 }
                 Object body = null;
                 for (int i = 0; i < args.length; i++) {
-                    if (args[i] instanceof ServletRequest || args[i] instanceof ServletResponse) {
+                    if (isIgnoredArg(args[i])) {
                         continue;
                     }
                     body = args[i];
@@ -279,7 +406,7 @@ public class HttpAPIHandler implements InvocationHandler, InitializingBean {
                 }
                 Object body = null;
                 for (int i = 0; i < args.length; i++) {
-                    if (args[i] instanceof ServletRequest || args[i] instanceof ServletResponse) {
+                    if (isIgnoredArg(args[i])) {
                         continue;
                     }
                     body = args[i];
@@ -291,7 +418,11 @@ public class HttpAPIHandler implements InvocationHandler, InitializingBean {
             } else if (RequestMethod.TRACE.equals(httpMethod)) {
                 throw new UnsupportedOperationException("HttpMethod trace not support");
             }
+        } catch (Throwable e) {
+            error = e;
+            throw e;
         } finally {
+            selectPolicy.onComplete(baseUri, System.nanoTime() - stNanos, error);
             log.info("invoke-url: {}, cost {}ms", url, (System.currentTimeMillis() - st));
         }
         return null;
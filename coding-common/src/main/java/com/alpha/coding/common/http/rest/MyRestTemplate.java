@@ -1,6 +1,7 @@
 package com.alpha.coding.common.http.rest;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.net.URI;
 import java.util.ArrayList;
@@ -10,6 +11,9 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 
 import org.slf4j.MDC;
 import org.springframework.http.HttpEntity;
@@ -17,15 +21,22 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.RequestEntity;
+import org.springframework.http.client.AsyncClientHttpRequest;
+import org.springframework.http.client.AsyncClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequest;
 import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.converter.GenericHttpMessageConverter;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.util.concurrent.ListenableFuture;
 import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import com.alpha.coding.bo.constant.Keys;
+import com.alpha.coding.common.http.CachedHttpComponentsClientHttpRequestFactory;
+import com.alpha.coding.common.http.model.HttpConfig;
 
 /**
  * MyRestTemplate.java
@@ -48,6 +59,13 @@ public class MyRestTemplate extends RestTemplate {
         super(messageConverters);
     }
 
+    /**
+     * 使用HttpConnectionPoolManager共享连接池(httpConfig.pooled=true时)
+     */
+    public MyRestTemplate(HttpConfig httpConfig) {
+        super(new CachedHttpComponentsClientHttpRequestFactory().setHttpConfig(httpConfig));
+    }
+
     public <T> T getForObjectGeneric(String url, Type responseType, Class<T> responseClass,
                                      Map<String, String[]> headerMap, Object... uriVariables)
             throws RestClientException {
@@ -146,6 +164,63 @@ public class MyRestTemplate extends RestTemplate {
         return execute(url, HttpMethod.PATCH, requestCallback, responseExtractor);
     }
 
+    /**
+     * 非阻塞执行请求，请求体写入及响应解析复用本模板的消息转换器与错误处理
+     *
+     * @param requestFactory 异步请求工厂，如基于NIO的HttpComponentsAsyncClientHttpRequestFactory
+     * @param url            请求地址
+     * @param method         请求方法
+     * @param request        请求体，可为空
+     * @param responseType   响应类型，Void表示忽略响应体
+     * @param headerMap      请求头
+     * @return 响应结果future，取消或超时时中断底层请求
+     */
+    @SuppressWarnings("deprecation")
+    public <T> CompletableFuture<T> executeAsync(AsyncClientHttpRequestFactory requestFactory, String url,
+                                                 HttpMethod method, Object request, Type responseType,
+                                                 Map<String, String[]> headerMap) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final URI uri;
+        final ListenableFuture<ClientHttpResponse> responseFuture;
+        try {
+            uri = getUriTemplateHandler().expand(url);
+            final AsyncClientHttpRequest asyncRequest = requestFactory.createAsyncRequest(uri, method);
+            final RequestCallback requestCallback = HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method)
+                    || HttpMethod.DELETE.equals(method) ? acceptHeaderRequestCallback(responseType, headerMap)
+                    : httpEntityRequestCallback(request, responseType, headerMap);
+            requestCallback.doWithRequest(new AsyncClientHttpRequestAdapter(asyncRequest));
+            responseFuture = asyncRequest.executeAsync();
+        } catch (IOException e) {
+            future.completeExceptionally(new ResourceAccessException("I/O error on " + method.name()
+                    + " request for \"" + url + "\": " + e.getMessage(), e));
+            return future;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        final HttpMessageConverterExtractor<T> responseExtractor =
+                responseType == null || Void.class.equals(responseType) || void.class.equals(responseType) ? null
+                        : new HttpMessageConverterExtractor<>(responseType, getMessageConverters(), logger);
+        responseFuture.addCallback(response -> {
+            try {
+                handleResponse(uri, method, response);
+                future.complete(responseExtractor == null ? null : responseExtractor.extractData(response));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                response.close();
+            }
+        }, e -> future.completeExceptionally(e instanceof IOException
+                ? new ResourceAccessException("I/O error on " + method.name() + " request for \"" + url + "\": "
+                + e.getMessage(), (IOException) e) : e));
+        future.whenComplete((r, e) -> {
+            if (e instanceof CancellationException || e instanceof TimeoutException) {
+                responseFuture.cancel(true);
+            }
+        });
+        return future;
+    }
+
     protected <T> RequestCallback acceptHeaderRequestCallback(Type responseType, Map<String, String[]> headerMap) {
         return new MyAcceptHeaderRequestCallback(responseType, headerMap);
     }
@@ -358,4 +433,47 @@ public class MyRestTemplate extends RestTemplate {
         }
     }
 
+    /**
+     * 将AsyncClientHttpRequest适配为ClientHttpRequest以复用RequestCallback，仅用于写入请求头与请求体
+     */
+    @SuppressWarnings("deprecation")
+    private static class AsyncClientHttpRequestAdapter implements ClientHttpRequest {
+
+        private final AsyncClientHttpRequest request;
+
+        private AsyncClientHttpRequestAdapter(AsyncClientHttpRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            throw new UnsupportedOperationException("execute not supported");
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return request.getMethod();
+        }
+
+        @Override
+        public String getMethodValue() {
+            return request.getMethodValue();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return request.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+    }
+
 }
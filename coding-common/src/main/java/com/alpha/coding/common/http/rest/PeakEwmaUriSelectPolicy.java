@@ -0,0 +1,211 @@
+package com.alpha.coding.common.http.rest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.web.client.HttpClientErrorException;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PeakEwmaUriSelectPolicy 基于响应耗时及健康状况的自适应选择策略
+ * <p>
+ * <li>耗时：每个uri维护peak-EWMA耗时(变慢立即生效，变快按decayTime平滑衰减)，
+ * 负载代价为 ewma * (在途请求数 + 1)，采用随机二选一(P2C)选代价较小者</li>
+ * <li>健康：连续失败达到阈值后摘除，摘除时长随摘除次数递增(不超过maxEjectionMillis)，到期自动恢复；
+ * 同时摘除的uri不超过maxEjectionPercent，全部不可用时退化为在全部uri中选择</li>
+ * <li>4xx响应及在途限流拒绝不计为失败</li>
+ *
+ * @version 1.0
+ * @date 2026年10月18日
+ */
+@Slf4j
+@Accessors(chain = true)
+public class PeakEwmaUriSelectPolicy implements UriSelectPolicy {
+
+    /**
+     * EWMA衰减时间窗口(ms)
+     */
+    @Getter
+    @Setter
+    private long decayTimeMillis = 10000;
+    /**
+     * 无观测数据时的初始耗时(ms)
+     */
+    @Getter
+    @Setter
+    private long initialRttMillis = 50;
+    /**
+     * 触发摘除的连续失败次数
+     */
+    @Getter
+    @Setter
+    private int consecutiveFailuresToEject = 5;
+    /**
+     * 基础摘除时长(ms)
+     */
+    @Getter
+    @Setter
+    private long baseEjectionMillis = 30000;
+    /**
+     * 最大摘除时长(ms)
+     */
+    @Getter
+    @Setter
+    private long maxEjectionMillis = 300000;
+    /**
+     * 最多同时摘除的比例(%)
+     */
+    @Getter
+    @Setter
+    private int maxEjectionPercent = 50;
+
+    private final ConcurrentMap<String, UriStats> statsMap = new ConcurrentHashMap<>();
+    private volatile int lastUriCount;
+
+    @Override
+    public String select(List<String> uriList) {
+        lastUriCount = uriList.size();
+        if (uriList.size() == 1) {
+            return uriList.get(0);
+        }
+        final long now = System.nanoTime();
+        List<String> candidates = new ArrayList<>(uriList.size());
+        for (String uri : uriList) {
+            if (!stats(uri).isEjected(now)) {
+                candidates.add(uri);
+            }
+        }
+        if (candidates.isEmpty()) {
+            candidates = uriList;
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int i = random.nextInt(candidates.size());
+        int j = random.nextInt(candidates.size() - 1);
+        if (j >= i) {
+            j++;
+        }
+        final String a = candidates.get(i);
+        final String b = candidates.get(j);
+        return stats(a).cost(now) <= stats(b).cost(now) ? a : b;
+    }
+
+    @Override
+    public void onStart(String uri) {
+        stats(uri).outstanding.incrementAndGet();
+    }
+
+    @Override
+    public void onComplete(String uri, long elapsedNanos, Throwable error) {
+        final UriStats stats = stats(uri);
+        stats.outstanding.decrementAndGet();
+        final Throwable cause = unwrap(error);
+        if (cause instanceof RejectedExecutionException) {
+            return;
+        }
+        final long now = System.nanoTime();
+        stats.observe(now, elapsedNanos);
+        if (cause == null || cause instanceof HttpClientErrorException) {
+            stats.onSuccess();
+        } else {
+            stats.onFailure(now, uri);
+        }
+    }
+
+    private UriStats stats(String uri) {
+        return statsMap.computeIfAbsent(uri, k -> new UriStats());
+    }
+
+    private int ejectedCount(long now) {
+        int count = 0;
+        for (UriStats stats : statsMap.values()) {
+            if (stats.isEjected(now)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private class UriStats {
+
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private double ewmaNanos = TimeUnit.MILLISECONDS.toNanos(initialRttMillis);
+        private long lastObserveNanos = System.nanoTime();
+        private int consecutiveFailures;
+        private int ejectionTimes;
+        private volatile long ejectedUntilNanos;
+
+        private boolean isEjected(long now) {
+            final long until = ejectedUntilNanos;
+            return until != 0 && now - until < 0;
+        }
+
+        private synchronized double cost(long now) {
+            return decayed(now) * (outstanding.get() + 1);
+        }
+
+        private double decayed(long now) {
+            final double w = Math.exp(-(now - lastObserveNanos) / (double) TimeUnit.MILLISECONDS
+                    .toNanos(Math.max(decayTimeMillis, 1)));
+            return ewmaNanos * w + TimeUnit.MILLISECONDS.toNanos(initialRttMillis) * (1 - w);
+        }
+
+        private synchronized void observe(long now, long rttNanos) {
+            if (rttNanos > ewmaNanos) {
+                ewmaNanos = rttNanos;
+            } else {
+                final double w = Math.exp(-(now - lastObserveNanos) / (double) TimeUnit.MILLISECONDS
+                        .toNanos(Math.max(decayTimeMillis, 1)));
+                ewmaNanos = ewmaNanos * w + rttNanos * (1 - w);
+            }
+            lastObserveNanos = now;
+        }
+
+        private synchronized void onSuccess() {
+            consecutiveFailures = 0;
+            if (ejectedUntilNanos != 0 && !isEjected(System.nanoTime())) {
+                ejectedUntilNanos = 0;
+                ejectionTimes = 0;
+            }
+        }
+
+        private synchronized void onFailure(long now, String uri) {
+            consecutiveFailures++;
+            if (consecutiveFailures < consecutiveFailuresToEject || isEjected(now)) {
+                return;
+            }
+            if ((ejectedCount(now) + 1) * 100 > lastUriCount * maxEjectionPercent) {
+                return;
+            }
+            ejectionTimes++;
+            final long ejectMillis = Math.min(baseEjectionMillis * ejectionTimes, maxEjectionMillis);
+            ejectedUntilNanos = now + TimeUnit.MILLISECONDS.toNanos(ejectMillis);
+            consecutiveFailures = 0;
+            log.warn("eject uri {} for {}ms after consecutive failures", uri, ejectMillis);
+        }
+    }
+
+}
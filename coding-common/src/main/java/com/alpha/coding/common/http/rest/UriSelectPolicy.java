@@ -15,4 +15,22 @@ public interface UriSelectPolicy {
      */
     String select(List<String> uriList);
 
+    /**
+     * 请求发起前回调
+     *
+     * @param uri 选中的uri
+     */
+    default void onStart(String uri) {
+    }
+
+    /**
+     * 请求结束回调
+     *
+     * @param uri          选中的uri
+     * @param elapsedNanos 耗时(ns)
+     * @param error        异常，成功时为null
+     */
+    default void onComplete(String uri, long elapsedNanos, Throwable error) {
+    }
+
 }
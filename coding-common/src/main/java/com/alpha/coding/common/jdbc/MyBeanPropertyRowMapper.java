@@ -224,6 +224,20 @@ public class MyBeanPropertyRowMapper<T> implements RowMapper<T> {
         }
     }
 
+    /**
+     * Return the map of mapped fields, keyed by lower case property name, underscored name or column name.
+     */
+    protected final Map<String, PropertyDescriptor> getMappedFields() {
+        return this.mappedFields;
+    }
+
+    /**
+     * Return the set of bean properties we provide mapping for.
+     */
+    protected final Set<String> getMappedProperties() {
+        return this.mappedProperties;
+    }
+
     /**
      * Convert a name in camelCase to an underscored name in lower case.
      * Any upper case letters are converted to lower case with a preceding underscore.
@@ -0,0 +1,350 @@
+package com.alpha.coding.common.jdbc;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PrecompiledBeanPropertyRowMapper
+ * <p>
+ * 映射规则同{@link MyBeanPropertyRowMapper}，区别在于：
+ * <li>按结果集列结构(列名序列)一次性解析列到属性的映射计划并缓存，同一线程内同一ResultSet的后续行直接复用</li>
+ * <li>通过LambdaMetafactory生成的setter/构造器访问bean，不再逐行创建BeanWrapper；bean类对本类的类加载器不可见、
+ * 无法生成或调用时抛出LinkageError时回退到反射</li>
+ * <li>值已是属性类型时直接赋值，否则使用预解析的TypeDescriptor经ConversionService转换，
+ * 未配置ConversionService或其无法转换时同BeanWrapper使用默认PropertyEditor转换</li>
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@Slf4j
+public class PrecompiledBeanPropertyRowMapper<T> extends MyBeanPropertyRowMapper<T> {
+
+    /**
+     * 缓存的映射计划数上限，超过时清空
+     */
+    private static final int MAX_PLAN_CACHE_SIZE = 64;
+
+    private final Map<String, RowPlan> planCache = new ConcurrentHashMap<>();
+    private final Map<Method, BiConsumer<Object, Object>> setterCache = new ConcurrentHashMap<>();
+    private final ThreadLocal<LastPlan> lastPlan = new ThreadLocal<>();
+    private final ThreadLocal<SimpleTypeConverter> typeConverter = ThreadLocal.withInitial(SimpleTypeConverter::new);
+    private volatile Supplier<T> instantiator;
+
+    public PrecompiledBeanPropertyRowMapper() {
+    }
+
+    public PrecompiledBeanPropertyRowMapper(Class<T> mappedClass) {
+        super(mappedClass);
+    }
+
+    public PrecompiledBeanPropertyRowMapper(Class<T> mappedClass, boolean checkFullyPopulated) {
+        super(mappedClass, checkFullyPopulated);
+    }
+
+    @Override
+    public void setConversionService(ConversionService conversionService) {
+        super.setConversionService(conversionService);
+        if (planCache != null) {
+            planCache.clear();
+        }
+    }
+
+    @Override
+    public T mapRow(ResultSet rs, int rowNumber) throws SQLException {
+        Assert.state(getMappedClass() != null, "Mapped class was not specified");
+        final RowPlan plan = resolvePlan(rs);
+        final T mappedObject = instantiate();
+        for (ColumnMapping mapping : plan.mappings) {
+            final Object value = getColumnValue(rs, mapping.index, mapping.pd);
+            if (value == null) {
+                if (mapping.primitive) {
+                    if (isPrimitivesDefaultedForNullValue()) {
+                        continue;
+                    }
+                    throw new TypeMismatchException((Object) null, mapping.pd.getPropertyType());
+                }
+                mapping.setter.accept(mappedObject, null);
+            } else if (mapping.boxedType.isInstance(value)) {
+                mapping.setter.accept(mappedObject, value);
+            } else {
+                mapping.setter.accept(mappedObject, convert(value, mapping));
+            }
+        }
+        return mappedObject;
+    }
+
+    private Object convert(Object value, ColumnMapping mapping) {
+        final ConversionService cs = getConversionService();
+        final TypeDescriptor sourceType = TypeDescriptor.forObject(value);
+        if (cs != null && cs.canConvert(sourceType, mapping.targetType)) {
+            return cs.convert(value, sourceType, mapping.targetType);
+        }
+        return typeConverter.get().convertIfNecessary(value, mapping.pd.getPropertyType(), mapping.targetType);
+    }
+
+    private RowPlan resolvePlan(ResultSet rs) throws SQLException {
+        final LastPlan last = this.lastPlan.get();
+        if (last != null && last.resultSet.get() == rs) {
+            return last.plan;
+        }
+        final ResultSetMetaData rsmd = rs.getMetaData();
+        final int columnCount = rsmd.getColumnCount();
+        final String[] columns = new String[columnCount];
+        final StringBuilder shape = new StringBuilder();
+        for (int index = 1; index <= columnCount; index++) {
+            columns[index - 1] = JdbcUtils.lookupColumnName(rsmd, index);
+            shape.append(columns[index - 1]).append('\u0001');
+        }
+        RowPlan plan = planCache.get(shape.toString());
+        if (plan == null) {
+            if (planCache.size() >= MAX_PLAN_CACHE_SIZE) {
+                planCache.clear();
+            }
+            plan = buildPlan(columns);
+            planCache.put(shape.toString(), plan);
+        }
+        this.lastPlan.set(new LastPlan(rs, plan));
+        return plan;
+    }
+
+    private RowPlan buildPlan(String[] columns) {
+        final List<ColumnMapping> mappings = new ArrayList<>(columns.length);
+        final Set<String> populatedProperties = new HashSet<>();
+        for (int index = 1; index <= columns.length; index++) {
+            final String column = columns[index - 1];
+            final String field = lowerCaseName(column.replaceAll(" ", ""));
+            final PropertyDescriptor pd = getMappedFields().get(field);
+            if (pd == null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("No property found for column '" + column + "' mapped to field '" + field + "'");
+                }
+                continue;
+            }
+            if (pd.getWriteMethod() == null) {
+                throw new DataRetrievalFailureException(
+                        "Unable to map column '" + column + "' to property '" + pd.getName() + "'");
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Mapping column '" + column + "' to property '" + pd.getName() +
+                        "' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) + "'");
+            }
+            mappings.add(new ColumnMapping(index, pd, setterOf(pd.getWriteMethod())));
+            populatedProperties.add(pd.getName());
+        }
+        if (isCheckFullyPopulated() && !populatedProperties.equals(getMappedProperties())) {
+            throw new InvalidDataAccessApiUsageException("Given ResultSet does not contain all fields " +
+                    "necessary to populate object of class [" + getMappedClass().getName() + "]: " +
+                    getMappedProperties());
+        }
+        return new RowPlan(mappings.toArray(new ColumnMapping[0]));
+    }
+
+    private T instantiate() {
+        Supplier<T> supplier = this.instantiator;
+        if (supplier == null) {
+            supplier = createInstantiator(getMappedClass());
+            this.instantiator = supplier;
+        }
+        return supplier.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Supplier<T> createInstantiator(Class<T> clazz) {
+        final Supplier<T> reflective = () -> BeanUtils.instantiateClass(clazz);
+        try {
+            final Constructor<T> constructor = clazz.getDeclaredConstructor();
+            if (Modifier.isPublic(clazz.getModifiers()) && Modifier.isPublic(constructor.getModifiers())
+                    && isVisible(clazz)) {
+                final MethodHandles.Lookup lookup = MethodHandles.lookup();
+                final CallSite site = LambdaMetafactory.metafactory(lookup, "get",
+                        MethodType.methodType(Supplier.class), MethodType.methodType(Object.class),
+                        lookup.unreflectConstructor(constructor), MethodType.methodType(clazz));
+                return new FallbackInstantiator<>((Supplier<T>) site.getTarget().invoke(), reflective, clazz);
+            }
+        } catch (Throwable e) {
+            log.debug("create instantiator by LambdaMetafactory fail for {}", clazz.getName(), e);
+        }
+        return reflective;
+    }
+
+    private BiConsumer<Object, Object> setterOf(Method method) {
+        return setterCache.computeIfAbsent(method, PrecompiledBeanPropertyRowMapper::createSetter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> createSetter(Method method) {
+        final BiConsumer<Object, Object> reflective = reflectiveSetter(method);
+        try {
+            if (Modifier.isPublic(method.getDeclaringClass().getModifiers())
+                    && isVisible(method.getDeclaringClass()) && isVisible(method.getParameterTypes()[0])) {
+                final MethodHandles.Lookup lookup = MethodHandles.lookup();
+                final MethodHandle handle = lookup.unreflect(method);
+                final CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                        MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class), handle,
+                        MethodType.methodType(void.class, method.getDeclaringClass(),
+                                ClassUtils.resolvePrimitiveIfNecessary(method.getParameterTypes()[0])));
+                return new FallbackSetter((BiConsumer<Object, Object>) site.getTarget().invoke(), reflective, method);
+            }
+        } catch (Throwable e) {
+            log.debug("create setter by LambdaMetafactory fail for {}", method, e);
+        }
+        return reflective;
+    }
+
+    private static BiConsumer<Object, Object> reflectiveSetter(Method method) {
+        method.setAccessible(true);
+        return (bean, value) -> {
+            try {
+                method.invoke(bean, value);
+            } catch (InvocationTargetException e) {
+                throw new DataRetrievalFailureException("invoke " + method + " fail", e.getTargetException());
+            } catch (IllegalAccessException e) {
+                throw new DataRetrievalFailureException("invoke " + method + " fail", e);
+            }
+        };
+    }
+
+    /**
+     * 生成的类由本类的类加载器解析，bean类位于子类加载器(如webapp)时不可见
+     */
+    private static boolean isVisible(Class<?> clazz) {
+        return ClassUtils.isVisible(clazz, PrecompiledBeanPropertyRowMapper.class.getClassLoader());
+    }
+
+    /**
+     * 生成的构造器调用时抛出LinkageError则改用反射
+     */
+    private static class FallbackInstantiator<T> implements Supplier<T> {
+
+        private final Supplier<T> fallback;
+        private final Class<T> clazz;
+        private volatile Supplier<T> delegate;
+
+        private FallbackInstantiator(Supplier<T> delegate, Supplier<T> fallback, Class<T> clazz) {
+            this.delegate = delegate;
+            this.fallback = fallback;
+            this.clazz = clazz;
+        }
+
+        @Override
+        public T get() {
+            try {
+                return delegate.get();
+            } catch (LinkageError e) {
+                if (delegate == fallback) {
+                    throw e;
+                }
+                log.warn("generated instantiator fail for {}, fallback to reflection: {}", clazz.getName(),
+                        e.toString());
+                delegate = fallback;
+                return fallback.get();
+            }
+        }
+    }
+
+    /**
+     * 生成的setter调用时抛出LinkageError则改用反射
+     */
+    private static class FallbackSetter implements BiConsumer<Object, Object> {
+
+        private final BiConsumer<Object, Object> fallback;
+        private final Method method;
+        private volatile BiConsumer<Object, Object> delegate;
+
+        private FallbackSetter(BiConsumer<Object, Object> delegate, BiConsumer<Object, Object> fallback,
+                               Method method) {
+            this.delegate = delegate;
+            this.fallback = fallback;
+            this.method = method;
+        }
+
+        @Override
+        public void accept(Object bean, Object value) {
+            try {
+                delegate.accept(bean, value);
+            } catch (LinkageError e) {
+                if (delegate == fallback) {
+                    throw e;
+                }
+                log.warn("generated setter fail for {}, fallback to reflection: {}", method, e.toString());
+                delegate = fallback;
+                fallback.accept(bean, value);
+            }
+        }
+    }
+
+    private static class LastPlan {
+
+        private final WeakReference<ResultSet> resultSet;
+        private final RowPlan plan;
+
+        private LastPlan(ResultSet resultSet, RowPlan plan) {
+            this.resultSet = new WeakReference<>(resultSet);
+            this.plan = plan;
+        }
+    }
+
+    private static class RowPlan {
+
+        private final ColumnMapping[] mappings;
+
+        private RowPlan(ColumnMapping[] mappings) {
+            this.mappings = mappings;
+        }
+    }
+
+    private static class ColumnMapping {
+
+        private final int index;
+        private final PropertyDescriptor pd;
+        private final BiConsumer<Object, Object> setter;
+        private final boolean primitive;
+        private final Class<?> boxedType;
+        private final TypeDescriptor targetType;
+
+        private ColumnMapping(int index, PropertyDescriptor pd, BiConsumer<Object, Object> setter) {
+            this.index = index;
+            this.pd = pd;
+            this.setter = setter;
+            this.primitive = pd.getPropertyType().isPrimitive();
+            this.boxedType = ClassUtils.resolvePrimitiveIfNecessary(pd.getPropertyType());
+            this.targetType = new TypeDescriptor(new MethodParameter(pd.getWriteMethod(), 0));
+        }
+    }
+
+}
@@ -13,6 +13,7 @@ import java.util.Optional;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.IntStream;
 
@@ -108,6 +109,44 @@ public abstract class AbstractLogor implements Logor {
                 parseReqPathMap(paramNames, condition.getReqRetainFieldPath()));
     }
 
+    @Override
+    public void snapshot(LogContext context) {
+        try {
+            if (context.getCondition().isLogRequest() && context.getFormattedRequest() == null) {
+                context.setFormattedRequest(formatRequest(context.getParamNames(), context.getParams(),
+                        context.getParameterAnnotations(), context.getCondition()));
+            }
+            if (context.getResponse() != null && !(context.getResponse() instanceof ProceedThrowable)
+                    && context.getCondition().isLogResponse()) {
+                context.setFormattedResponse(formatResponse(context));
+            }
+            context.setResponseCode(resolveResponseCode(context));
+        } catch (Exception e) {
+            (context.getLog() == null ? log : context.getLog()).warn("snapshot log context fail, msg={}",
+                    e.getMessage());
+        }
+        context.setParams(null);
+        context.setFormatted(true);
+    }
+
+    /**
+     * 解析响应码
+     */
+    private String resolveResponseCode(LogContext context) throws Exception {
+        if (context.getResponseCode() != null) {
+            return context.getResponseCode();
+        }
+        if (context.getResponse() instanceof ProceedThrowable) {
+            final Throwable cause = ((ProceedThrowable) context.getResponse()).getCause();
+            return Optional.ofNullable(getResponseCode(cause.getClass(), cause))
+                    .map(String::valueOf).filter(StringUtils::isNotBlank).orElse(SYSTEM_ERROR);
+        }
+        if (context.getResponse() == null) {
+            return context.getReturnType().equals(void.class) ? OK : UNKNOWN;
+        }
+        return String.valueOf(getResponseCode(context.getReturnType(), context.getResponse()));
+    }
+
     /**
      * 对外提供接口的日志记录方法
      *
@@ -115,6 +154,9 @@ public abstract class AbstractLogor implements Logor {
      */
     private void doApiLog(LogContext context) {
         try {
+            final Supplier<String> extraMsgSupplier = context.isAsync() ? context::getExtraMsg
+                    : (context.getCondition().getExtraMsgSupplier() == null ? null
+                    : context.getCondition().getExtraMsgSupplier().supplier());
             String logTypeStr;
             if (StringUtils.isNotBlank(context.getCondition().getCustomLogType())) {
                 logTypeStr = context.getCondition().getCustomLogType();
@@ -133,31 +175,26 @@ public abstract class AbstractLogor implements Logor {
                 if (context.getExceptionMsg() != null) {
                     extraData.put(EXCEPTION_MSG_KEY, context.getExceptionMsg());
                 }
-                final Throwable cause = ((ProceedThrowable) context.getResponse()).getCause();
                 MonitorLog.logService(context.getLog(), context.getThreadName(),
                         context.getLogId(), logTypeStr,
                         context.getStartTime(), context.getEndTime(),
                         context.getInterfaceName(), context.getMethodName(),
                         (context.getEndTime() - context.getStartTime()),
-                        Optional.ofNullable(getResponseCode(cause.getClass(), cause))
-                                .map(String::valueOf).filter(StringUtils::isNotBlank).orElse(SYSTEM_ERROR),
-                        extraData, context.getCondition());
+                        resolveResponseCode(context), extraData, context.getCondition(), extraMsgSupplier);
                 return;
             }
             if (context.getResponse() == null) {
                 final Map<String, String> extraData = new LinkedHashMap<>();
                 handleLogReq(context, extraData);
                 extraData.put(RESPONSE_KEY, null);
-                String resultCode = context.getReturnType().equals(void.class) ? OK : UNKNOWN;
                 MonitorLog.logService(context.getLog(), context.getThreadName(),
                         context.getLogId(), logTypeStr,
                         context.getStartTime(), context.getEndTime(),
                         context.getInterfaceName(), context.getMethodName(),
                         (context.getEndTime() - context.getStartTime()),
-                        resultCode, extraData, context.getCondition());
+                        resolveResponseCode(context), extraData, context.getCondition(), extraMsgSupplier);
                 return;
             }
-            Class<?> responseClazz = context.getReturnType();
             final Map<String, String> extraData = new LinkedHashMap<>();
             handleLogReq(context, extraData);
             handleLogRes(context, extraData);
@@ -166,8 +203,7 @@ public abstract class AbstractLogor implements Logor {
                     context.getStartTime(), context.getEndTime(),
                     context.getInterfaceName(), context.getMethodName(),
                     (context.getEndTime() - context.getStartTime()),
-                    String.valueOf(getResponseCode(responseClazz, context.getResponse())),
-                    extraData, context.getCondition());
+                    resolveResponseCode(context), extraData, context.getCondition(), extraMsgSupplier);
         } catch (Exception e) {
             (context.getLog() == null ? log : context.getLog()).error("doLog fail", e);
         }
@@ -220,7 +256,8 @@ public abstract class AbstractLogor implements Logor {
      */
     private void handleLogReq(LogContext context, Map<String, String> extraData) {
         if (context.getCondition().isLogRequest()) {
-            if (context.getFormattedRequest() != null || !context.getCondition().isLazyFormatRequest()) {
+            // 未预先格式化时(lazyFormatRequest、未采样但抛出异常、异步日志)在此格式化
+            if (context.getFormattedRequest() != null || context.isFormatted() || context.getParams() == null) {
                 extraData.put(REQUEST_KEY, context.getFormattedRequest());
                 return;
             }
@@ -237,14 +274,22 @@ public abstract class AbstractLogor implements Logor {
      */
     private void handleLogRes(LogContext context, Map<String, String> extraData) {
         if (context.getCondition().isLogResponse()) {
-            extraData.put(RESPONSE_KEY, formatParams(new String[] {"return"},
-                    new Object[] {context.getResponse()},
-                    new Annotation[][] {context.getTargetMethod().getDeclaredAnnotations()},
-                    parseResPathMap(context.getCondition().getResIgnoreFieldPath()),
-                    parseResPathMap(context.getCondition().getResRetainFieldPath())));
+            extraData.put(RESPONSE_KEY, context.getFormattedResponse() != null || context.isFormatted()
+                    ? context.getFormattedResponse() : formatResponse(context));
         }
     }
 
+    /**
+     * 格式化响应结果
+     */
+    private String formatResponse(LogContext context) {
+        return formatParams(new String[] {"return"},
+                new Object[] {context.getResponse()},
+                new Annotation[][] {context.getTargetMethod().getDeclaredAnnotations()},
+                parseResPathMap(context.getCondition().getResIgnoreFieldPath()),
+                parseResPathMap(context.getCondition().getResRetainFieldPath()));
+    }
+
     /**
      * 格式化请求/响应参数
      */
@@ -10,6 +10,7 @@ import java.lang.annotation.Target;
 import org.springframework.context.annotation.Import;
 
 import com.alpha.coding.common.bean.register.EnableAutoRegistrar;
+import com.alpha.coding.common.event.eventbus.BackpressurePolicy;
 
 /**
  * EnableLogMonitor
@@ -35,6 +36,26 @@ public @interface EnableLogMonitor {
      */
     LogMonitor logConfig();
 
+    /**
+     * 是否异步格式化并输出日志
+     */
+    boolean asyncLog() default false;
+
+    /**
+     * 异步日志缓冲区容量
+     */
+    int asyncBufferSize() default 8192;
+
+    /**
+     * 异步日志缓冲区已满时的处理策略
+     */
+    BackpressurePolicy asyncOverflowPolicy() default BackpressurePolicy.DROP;
+
+    /**
+     * 日志采样率，(0, 1]，抛出异常的调用始终记录
+     */
+    double sampleRate() default 1.0D;
+
     /**
      * AOP: proxyTargetClass
      */
@@ -67,6 +67,11 @@ public class EnableLogMonitorHandler implements ConfigurationRegisterHandler {
                     logDataPath.getStringArray("reqRetainFieldPath"));
             beanDefinitionBuilder.addPropertyValue("resRetainFieldPath",
                     logDataPath.getStringArray("resRetainFieldPath"));
+            beanDefinitionBuilder.addPropertyValue("asyncLog", attributes.getBoolean("asyncLog"));
+            beanDefinitionBuilder.addPropertyValue("asyncBufferSize",
+                    attributes.getNumber("asyncBufferSize").intValue());
+            beanDefinitionBuilder.addPropertyValue("asyncOverflowPolicy", attributes.getEnum("asyncOverflowPolicy"));
+            beanDefinitionBuilder.addPropertyValue("sampleRate", attributes.getNumber("sampleRate").doubleValue());
             context.getRegistry().registerBeanDefinition(beanName, beanDefinitionBuilder.getRawBeanDefinition());
             // 注册AOP
             final AspectJParams params = new AspectJParams()
@@ -27,6 +27,11 @@ public class LogCondition {
 
     private boolean lazyFormatRequest = false;
 
+    /**
+     * 异步日志时是否在请求线程格式化参数与结果
+     */
+    private boolean asyncEagerFormat = false;
+
     private boolean useItsLog = false;
 
     private Set<String> excludeInfoKeys;
@@ -74,6 +79,7 @@ public class LogCondition {
         this.logRequest = logMonitor.logRequest();
         this.logResponse = logMonitor.logResponse();
         this.lazyFormatRequest = logMonitor.lazyFormatRequest();
+        this.asyncEagerFormat = logMonitor.asyncEagerFormat();
         this.customLogType = logMonitor.customLogType();
         this.useItsLog = logMonitor.useItsLog();
         if (logMonitor.excludeInfoKeys().length > 0) {
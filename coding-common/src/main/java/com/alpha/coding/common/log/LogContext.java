@@ -2,6 +2,7 @@ package com.alpha.coding.common.log;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.Map;
 
 import org.slf4j.Logger;
 
@@ -36,5 +37,17 @@ public class LogContext {
     private Class<? extends Throwable> exceptionClass;
     private String exceptionMsg;
     private String formattedRequest;
+    private String formattedResponse;
+    private String responseCode;
+    /**
+     * 参数、结果、响应码已格式化，输出时不再访问原对象
+     */
+    private boolean formatted;
+    /**
+     * 异步输出：附加消息及MDC为请求线程采集的值
+     */
+    private boolean async;
+    private String extraMsg;
+    private Map<String, String> mdcContext;
 
 }
@@ -44,6 +44,11 @@ public @interface LogMonitor {
      */
     boolean lazyFormatRequest() default false;
 
+    /**
+     * 异步日志时是否在请求线程格式化参数与结果，默认在后台格式化；参数或结果在方法返回后会被修改时开启
+     */
+    boolean asyncEagerFormat() default false;
+
     /**
      * 使用自身的log实例
      */
@@ -5,30 +5,51 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.expression.AnnotatedElementKey;
 
 import com.alpha.coding.bo.base.MapThreadLocalAdaptor;
+import com.alpha.coding.bo.executor.NamedExecutorPool;
 import com.alpha.coding.bo.trace.TimestampBase62UUIDTraceIdGenerator;
 import com.alpha.coding.common.aop.assist.AopHelper;
+import com.alpha.coding.common.event.eventbus.BackpressurePolicy;
+import com.alpha.coding.common.event.eventbus.RingBufferDispatcher;
 import com.alpha.coding.common.utils.StringUtils;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * LogMonitorAop
+ * <p>
+ * <li>方法的logger、LogCondition、参数名等元数据按方法缓存，首次调用后不再重复解析，配置需在首次调用前设置</li>
+ * <li>异步模式(asyncLog)下请求线程只复制参数数组、采集MDC及附加消息后发布，参数与结果的格式化及日志输出由后台有界缓冲区处理，
+ * 缓冲区已满时按asyncOverflowPolicy处理；参数或结果在方法返回后会被修改时，可通过asyncEagerFormat在请求线程格式化</li>
+ * <li>sampleRate小于1时按比例采样记录，抛出异常的调用始终记录</li>
  *
  * @version 1.0
  * Date: 2020-02-21
  */
 @Data
-public class LogMonitorAop {
+@Slf4j
+public class LogMonitorAop implements DisposableBean {
 
     private static final String TRACE_ID_KEY = "traceId";
 
@@ -44,6 +65,11 @@ public class LogMonitorAop {
 
     private Boolean lazyFormatRequest;
 
+    /**
+     * 异步日志时是否在请求线程格式化参数与结果
+     */
+    private boolean asyncEagerFormat = false;
+
     private Logor logor;
 
     private String customLogType;
@@ -90,6 +116,43 @@ public class LogMonitorAop {
      */
     private String[] resRetainFieldPath;
 
+    /**
+     * 是否异步格式化并输出日志
+     */
+    private boolean asyncLog = false;
+
+    /**
+     * 异步日志缓冲区容量
+     */
+    private int asyncBufferSize = 8192;
+
+    /**
+     * 异步日志线程数
+     */
+    private int asyncThreads = 1;
+
+    /**
+     * 异步日志缓冲区已满时的处理策略，默认丢弃
+     */
+    private BackpressurePolicy asyncOverflowPolicy = BackpressurePolicy.DROP;
+
+    /**
+     * 日志采样率，(0, 1]，抛出异常的调用始终记录
+     */
+    private double sampleRate = 1.0D;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final ConcurrentMap<AnnotatedElementKey, MethodLogMetadata> metadataCache = new ConcurrentHashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile RingBufferDispatcher<LogContext> asyncDispatcher;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ExecutorService asyncExecutor;
+
     public LogMonitorAop() {
         this.logRequest = false;
         this.logResponse = false;
@@ -129,46 +192,35 @@ public class LogMonitorAop {
     private Object monitorHandler(ProceedingJoinPoint joinPoint) throws Throwable {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
         Method method = signature.getMethod();
-        if (method.isAnnotationPresent(LogMonitorIgnore.class)) {
+        final MethodLogMetadata metadata = metadataCache.computeIfAbsent(
+                new AnnotatedElementKey(method, joinPoint.getTarget() == null ? null : joinPoint.getTarget().getClass()),
+                k -> resolveMetadata(joinPoint, signature, method));
+        if (metadata.ignore) {
             return joinPoint.proceed();
         }
         // 进行log切面
-        Class<?> targetClass = method.getDeclaringClass();
-        try {
-            final Object target = AopHelper.getTarget(joinPoint.getTarget());
-            if (!Proxy.isProxyClass(target.getClass())) {
-                targetClass = target.getClass();
-            }
-        } catch (Exception e) {
-            // nothing
-        }
-        // 获取执行class的slf4j logger对象
-        final Logger log = LoggerFactory.getLogger(targetClass);
-        // 获取log条件信息，包括logType，request和response是否需要打印
-        final LogCondition logCondition = parseMethodLogCondition(method);
+        final Logger log = metadata.log;
+        final LogCondition logCondition = metadata.logCondition;
+        final boolean sampled = sampleRate >= 1.0D || ThreadLocalRandom.current().nextDouble() < sampleRate;
         if (logCondition.getExtraMsgSupplier() != null) {
             MapThreadLocalAdaptor.put("CURR_ExtraMsgSupplier", logCondition.getExtraMsgSupplier());
         }
-        final String className = targetClass.getSimpleName();
-        final String methodName = method.getName();
-        final Class<?> returnType = method.getReturnType();
         final Object[] params = joinPoint.getArgs();
-        final String[] paramNames = signature.getParameterNames();
-        final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
         String formattedRequest = null;
-        if (logCondition.isLogRequest() && !logCondition.isLazyFormatRequest()) {
+        if (sampled && logCondition.isLogRequest() && !logCondition.isLazyFormatRequest()
+                && (!asyncLog || logCondition.isAsyncEagerFormat())) {
             try {
-                formattedRequest = logor.formatRequest(paramNames, params, parameterAnnotations, logCondition);
+                formattedRequest = logor.formatRequest(metadata.paramNames, params,
+                        metadata.parameterAnnotations, logCondition);
             } catch (Throwable throwable) {
                 log.warn("format request fail, names={}, params={}, msg={}",
-                        Arrays.toString(paramNames), Arrays.toString(params), throwable.getMessage());
+                        Arrays.toString(metadata.paramNames), Arrays.toString(params), throwable.getMessage());
             }
         }
         final long start = System.currentTimeMillis();
         long end = 0L;
         Object result = null;
         final String logId = LogIdThreadLocalHolder.getLogId();
-        final String threadName = Thread.currentThread().getName();
         Class<? extends Throwable> exceptionClass = null;
         String exceptionMsg = null;
         try {
@@ -189,36 +241,148 @@ public class LogMonitorAop {
                 end = System.currentTimeMillis();
             }
             long finalEnd = end;
+            if (sampled || exceptionClass != null) {
+                try {
+                    LogContext context = new LogContext()
+                            .setLog(logCondition.isUseItsLog() ? log : null)
+                            .setThreadName(Thread.currentThread().getName())
+                            .setLogId(logId)
+                            .setParams(params)
+                            .setParamNames(metadata.paramNames)
+                            .setResponse(result)
+                            .setTargetClass(metadata.targetClass)
+                            .setTargetMethod(method)
+                            .setReturnType(metadata.returnType)
+                            .setInterfaceName(metadata.className)
+                            .setMethodName(metadata.methodName)
+                            .setStartTime(start)
+                            .setEndTime(finalEnd)
+                            .setCondition(logCondition)
+                            .setParameterAnnotations(metadata.parameterAnnotations)
+                            .setExceptionClass(exceptionClass)
+                            .setExceptionMsg(exceptionMsg)
+                            .setFormattedRequest(formattedRequest);
+                    if (asyncLog) {
+                        asyncLog(context, log);
+                    } else {
+                        logor.doLog(context);
+                    }
+                } catch (Exception e) {
+                    log.error("log monitor error", e);
+                }
+            }
+            if (logCondition.getExtraMsgSupplier() != null) {
+                MapThreadLocalAdaptor.remove("CURR_ExtraMsgSupplier");
+            }
+        }
+    }
+
+    /**
+     * 解析方法的日志元数据
+     */
+    private MethodLogMetadata resolveMetadata(ProceedingJoinPoint joinPoint, MethodSignature signature,
+                                              Method method) {
+        Class<?> targetClass = method.getDeclaringClass();
+        try {
+            final Object target = AopHelper.getTarget(joinPoint.getTarget());
+            if (!Proxy.isProxyClass(target.getClass())) {
+                targetClass = target.getClass();
+            }
+        } catch (Exception e) {
+            // nothing
+        }
+        final MethodLogMetadata metadata = new MethodLogMetadata();
+        metadata.ignore = method.isAnnotationPresent(LogMonitorIgnore.class);
+        metadata.targetClass = targetClass;
+        // 获取执行class的slf4j logger对象
+        metadata.log = LoggerFactory.getLogger(targetClass);
+        // 获取log条件信息，包括logType，request和response是否需要打印
+        metadata.logCondition = parseMethodLogCondition(method);
+        metadata.className = targetClass.getSimpleName();
+        metadata.methodName = method.getName();
+        metadata.returnType = method.getReturnType();
+        metadata.paramNames = signature.getParameterNames();
+        metadata.parameterAnnotations = method.getParameterAnnotations();
+        return metadata;
+    }
+
+    /**
+     * 在请求线程采集参数快照、附加消息及MDC后交由后台格式化并输出
+     */
+    private void asyncLog(LogContext context, Logger log) {
+        final LogCondition logCondition = context.getCondition();
+        if (logCondition.isAsyncEagerFormat()) {
+            logor.snapshot(context);
+        } else if (context.getParams() != null) {
+            // 复制参数数组，避免数组被复用或修改
+            context.setParams(context.getParams().clone());
+        }
+        if (logCondition.getExtraMsgSupplier() != null) {
+            context.setExtraMsg(logCondition.getExtraMsgSupplier().supplier().get());
+        }
+        context.setAsync(true);
+        if (MDC.getMDCAdapter() != null) {
+            context.setMdcContext(MDC.getCopyOfContextMap());
+        }
+        if (!ensureAsyncDispatcher().publish(context) && log.isDebugEnabled()) {
+            log.debug("drop monitor log for {}.{}", context.getInterfaceName(), context.getMethodName());
+        }
+    }
+
+    private RingBufferDispatcher<LogContext> ensureAsyncDispatcher() {
+        if (asyncDispatcher == null) {
+            synchronized (this) {
+                if (asyncDispatcher == null) {
+                    final int threads = Math.max(asyncThreads, 1);
+                    asyncExecutor = NamedExecutorPool.newFixedThreadPool("LogMonitorAsync", threads);
+                    final RingBufferDispatcher<LogContext> dispatcher =
+                            new RingBufferDispatcher<>("LogMonitorAsync", this::doLogBatch);
+                    dispatcher.setBufferSize(asyncBufferSize)
+                            .setConsumerThreads(threads)
+                            .setBackpressurePolicy(asyncOverflowPolicy)
+                            .setCallerRunsHandler(logor::doLog)
+                            .start(asyncExecutor);
+                    asyncDispatcher = dispatcher;
+                }
+            }
+        }
+        return asyncDispatcher;
+    }
+
+    private void doLogBatch(List<LogContext> contexts) {
+        final boolean hasMdc = MDC.getMDCAdapter() != null;
+        for (LogContext context : contexts) {
+            final Map<String, String> mdcContext = context.getMdcContext();
+            if (hasMdc && mdcContext != null) {
+                MDC.setContextMap(mdcContext);
+            }
             try {
-                LogContext context = new LogContext()
-                        .setLog(logCondition.isUseItsLog() ? log : null)
-                        .setThreadName(threadName)
-                        .setLogId(logId)
-                        .setParams(params)
-                        .setParamNames(paramNames)
-                        .setResponse(result)
-                        .setTargetClass(targetClass)
-                        .setTargetMethod(method)
-                        .setReturnType(returnType)
-                        .setInterfaceName(className)
-                        .setMethodName(methodName)
-                        .setStartTime(start)
-                        .setEndTime(finalEnd)
-                        .setCondition(logCondition)
-                        .setParameterAnnotations(parameterAnnotations)
-                        .setExceptionClass(exceptionClass)
-                        .setExceptionMsg(exceptionMsg)
-                        .setFormattedRequest(formattedRequest);
                 logor.doLog(context);
             } catch (Exception e) {
                 log.error("log monitor error", e);
-            }
-            if (logCondition.getExtraMsgSupplier() != null) {
-                MapThreadLocalAdaptor.remove("CURR_ExtraMsgSupplier");
+            } finally {
+                if (hasMdc && mdcContext != null) {
+                    MDC.clear();
+                }
             }
         }
     }
 
+    /**
+     * 异步日志因缓冲区已满丢弃的条数
+     */
+    public long getAsyncDroppedCount() {
+        return asyncDispatcher == null ? 0 : asyncDispatcher.getDroppedCnt().get();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (asyncDispatcher != null) {
+            asyncDispatcher.shutdown(5000);
+            asyncExecutor.shutdown();
+        }
+    }
+
     /**
      * 根据方法取LogCondition
      * <p>
@@ -248,6 +412,7 @@ public class LogMonitorAop {
         logCondition.setLogRequest(this.logRequest != null && this.logRequest);
         logCondition.setLogResponse(this.logResponse != null && this.logResponse);
         logCondition.setLazyFormatRequest(this.lazyFormatRequest != null && this.lazyFormatRequest);
+        logCondition.setAsyncEagerFormat(this.asyncEagerFormat);
         logCondition.setCustomLogType(this.customLogType);
         logCondition.setUseItsLog(this.useItsLog);
         if (StringUtils.isNotBlank(this.excludeInfoKeys)) {
@@ -273,6 +438,21 @@ public class LogMonitorAop {
         return logCondition;
     }
 
+    /**
+     * 方法日志元数据
+     */
+    private static class MethodLogMetadata {
+        private boolean ignore;
+        private Class<?> targetClass;
+        private Logger log;
+        private LogCondition logCondition;
+        private String className;
+        private String methodName;
+        private Class<?> returnType;
+        private String[] paramNames;
+        private Annotation[][] parameterAnnotations;
+    }
+
     /**
      * 生成traceId
      *
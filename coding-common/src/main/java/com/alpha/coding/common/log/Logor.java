@@ -28,4 +28,12 @@ public interface Logor {
     String formatRequest(String[] paramNames, Object[] params, Annotation[][] paramAnnotations,
                          LogCondition condition);
 
+    /**
+     * 将参数、结果等格式化为字符串，之后输出时不再访问原对象，用于异步日志的请求线程格式化(asyncEagerFormat)
+     *
+     * @param context 日志上下文
+     */
+    default void snapshot(LogContext context) {
+    }
+
 }
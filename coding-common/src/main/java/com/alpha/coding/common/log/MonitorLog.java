@@ -2,6 +2,7 @@ package com.alpha.coding.common.log;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 
@@ -25,6 +26,18 @@ public class MonitorLog {
                                   long st, long et, String interfaceName, String method,
                                   long costTime, String resultCode, Map<String, String> extraData,
                                   LogCondition condition) {
+        logService(logger, threadName, logId, logType, st, et, interfaceName, method, costTime, resultCode,
+                extraData, condition, condition.getExtraMsgSupplier() == null ? null
+                        : condition.getExtraMsgSupplier().supplier());
+    }
+
+    /**
+     * 输出日志，附加消息由extraMsgSupplier提供(异步输出时为请求线程采集的值)
+     */
+    public static void logService(Logger logger, String threadName, String logId, String logType,
+                                  long st, long et, String interfaceName, String method,
+                                  long costTime, String resultCode, Map<String, String> extraData,
+                                  LogCondition condition, Supplier<String> extraMsgSupplier) {
         try {
             StringBuilder sb = new StringBuilder();
             final Set<String> excludeKeys = condition.getExcludeInfoKeys();
@@ -43,8 +56,8 @@ public class MonitorLog {
                     append(sb, entry.getKey(), entry.getValue(), excludeKeys);
                 }
             }
-            if (condition.getExtraMsgSupplier() != null) {
-                final String extraMsg = condition.getExtraMsgSupplier().supplier().get();
+            if (extraMsgSupplier != null) {
+                final String extraMsg = extraMsgSupplier.get();
                 if (extraMsg != null) {
                     sb.append(extraMsg).append(DELIMITER_SPACE);
                 }
@@ -1,22 +1,29 @@
 package com.alpha.coding.common.message.dal;
 
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Component;
 
 import com.alpha.coding.bo.base.Tuple;
 import com.alpha.coding.bo.function.common.Functions;
-import com.alpha.coding.common.jdbc.MyBeanPropertyRowMapper;
+import com.alpha.coding.common.jdbc.PrecompiledBeanPropertyRowMapper;
 import com.alpha.coding.common.message.DependencyHolder;
+import com.alpha.coding.common.message.constant.MessageSendStatus;
 import com.alpha.coding.common.utils.ClassUtils;
 import com.alpha.coding.common.utils.SqlUtils;
 import com.alpha.coding.common.utils.StringUtils;
@@ -33,6 +40,9 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 public class MessageMonitorDao {
 
+    private static final PrecompiledBeanPropertyRowMapper<MessageMonitor> ROW_MAPPER =
+            new PrecompiledBeanPropertyRowMapper<>(MessageMonitor.class);
+
     @Autowired
     private DependencyHolder dependencyHolder;
 
@@ -88,6 +98,121 @@ public class MessageMonitorDao {
                 });
     }
 
+    /**
+     * 累加批量执行的影响行数，SUCCESS_NO_INFO按1行计，EXECUTE_FAILED不计入并记录错误
+     */
+    private static int sumAffectedRows(int[] counts, String sql) {
+        int affected = 0;
+        int failed = 0;
+        for (int count : counts) {
+            if (count == Statement.SUCCESS_NO_INFO) {
+                affected++;
+            } else if (count == Statement.EXECUTE_FAILED) {
+                failed++;
+            } else if (count > 0) {
+                affected += count;
+            }
+        }
+        if (failed > 0) {
+            log.error("execute-batch fail, {}: {}/{} rows failed", sql, failed, counts.length);
+        }
+        return affected;
+    }
+
+    /**
+     * 批量写入，按语句分组后每组一次JDBC批量执行，并回填主键
+     */
+    public int batchInsertSelective(List<MessageMonitor> messageMonitors) {
+        final Map<String, List<Tuple<MessageMonitor, List>>> sqlGroup = new LinkedHashMap<>();
+        for (MessageMonitor messageMonitor : messageMonitors) {
+            final Tuple<String, List> tuple = SqlUtils.genInsertSelective(messageMonitor);
+            sqlGroup.computeIfAbsent(tuple.getF(), k -> new ArrayList<>()).add(Tuple.of(messageMonitor, tuple.getS()));
+        }
+        int count = 0;
+        for (Map.Entry<String, List<Tuple<MessageMonitor, List>>> entry : sqlGroup.entrySet()) {
+            final List<Tuple<MessageMonitor, List>> rows = entry.getValue();
+            count += (int) executeAndLogSQL(entry.getKey() + " /* batch " + rows.size() + " */", null,
+                    (a, b) -> dependencyHolder.jdbcTemplate().execute((ConnectionCallback<Integer>) connection -> {
+                        try (PreparedStatement ps = connection.prepareStatement(entry.getKey(),
+                                Statement.RETURN_GENERATED_KEYS)) {
+                            for (Tuple<MessageMonitor, List> row : rows) {
+                                for (int i = 0; i < row.getS().size(); i++) {
+                                    ps.setObject(i + 1, row.getS().get(i));
+                                }
+                                ps.addBatch();
+                            }
+                            final int affected = sumAffectedRows(ps.executeBatch(), entry.getKey());
+                            try (ResultSet rs = ps.getGeneratedKeys()) {
+                                int i = 0;
+                                while (rs.next() && i < rows.size()) {
+                                    rows.get(i++).getF().setId(rs.getLong(1));
+                                }
+                            }
+                            return affected;
+                        }
+                    }));
+        }
+        return count;
+    }
+
+    /**
+     * 批量更新，按语句分组后每组一次JDBC批量执行
+     */
+    public int batchUpdateByPrimaryKeySelective(List<MessageMonitor> messageMonitors) {
+        final Map<String, List<Object[]>> sqlGroup = new LinkedHashMap<>();
+        for (MessageMonitor messageMonitor : messageMonitors) {
+            final Tuple<String, List> tuple = SqlUtils.genUpdateByPrimaryKeySelective(messageMonitor);
+            sqlGroup.computeIfAbsent(tuple.getF(), k -> new ArrayList<>()).add(tuple.getS().toArray(new Object[0]));
+        }
+        int count = 0;
+        for (Map.Entry<String, List<Object[]>> entry : sqlGroup.entrySet()) {
+            count += (int) executeAndLogSQL(entry.getKey() + " /* batch " + entry.getValue().size() + " */", null,
+                    (a, b) -> sumAffectedRows(dependencyHolder.jdbcTemplate().batchUpdate(entry.getKey(),
+                            entry.getValue()), entry.getKey()));
+        }
+        return count;
+    }
+
+    /**
+     * 抢占待发送且已到发送时间的消息，将下次发送时间推迟到leaseUntil，避免补偿任务同时发送
+     *
+     * @return 抢占成功的条数
+     */
+    public int claimWaitSend(List<Long> ids, Date now, Date leaseUntil) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        final String sql = "update message_monitor set next_send_time = ? where status = ? and next_send_time <= ?"
+                + " and id in (" + ids.stream().map(x -> "?").collect(Collectors.joining(",")) + ")";
+        final List<Object> argList = new ArrayList<>(ids.size() + 3);
+        argList.add(leaseUntil);
+        argList.add(MessageSendStatus.WAIT_SEND.getCode());
+        argList.add(now);
+        argList.addAll(ids);
+        return (int) executeAndLogSQL(sql, argList.toArray(),
+                (a, b) -> dependencyHolder.jdbcTemplate().update(a, b));
+    }
+
+    /**
+     * 释放{@link #claimWaitSend}的抢占，将仍处于抢占中的消息的下次发送时间恢复为nextSendTime
+     *
+     * @return 释放的条数
+     */
+    public int releaseClaim(List<Long> ids, Date leaseUntil, Date nextSendTime) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        final String sql = "update message_monitor set next_send_time = ? where status = ? and next_send_time = ?"
+                + " and id in (" + ids.stream().map(x -> "?").collect(Collectors.joining(",")) + ")";
+        final List<Object> argList = new ArrayList<>(ids.size() + 3);
+        argList.add(nextSendTime);
+        argList.add(MessageSendStatus.WAIT_SEND.getCode());
+        argList.add(leaseUntil);
+        argList.addAll(ids);
+        return (int) executeAndLogSQL(sql, argList.toArray(),
+                (a, b) -> dependencyHolder.jdbcTemplate().update(a, b));
+    }
+
     public int updateByPrimaryKeySelective(MessageMonitor messageMonitor) {
         final Tuple<String, List> tuple = SqlUtils.genUpdateByPrimaryKeySelective(messageMonitor);
         final Object[] args = tuple.getS().toArray(new Object[0]);
@@ -106,15 +231,49 @@ public class MessageMonitorDao {
      */
     public List<MessageMonitor> selectSinceNextSendTime(Date nextSendTime, Date nextSendTimeEnd, int status,
                                                         Long minId, int limit) {
+        return selectSinceNextSendTime(nextSendTime, nextSendTimeEnd, status, minId, null, null, limit);
+    }
+
+    /**
+     * 查询id范围内时间范围内该发送的消息
+     *
+     * @param idFrom id下界(含)，为null时不限
+     * @param idTo   id上界(含)，为null时不限
+     */
+    public List<MessageMonitor> selectSinceNextSendTime(Date nextSendTime, Date nextSendTimeEnd, int status,
+                                                        Long minId, Long idFrom, Long idTo, int limit) {
         String sql = "select * from message_monitor where next_send_time between ? and ? and status = ?";
+        final List<Object> argList = new ArrayList<>(Arrays.asList(nextSendTime, nextSendTimeEnd, status));
         if (minId != null) {
             sql += " and id > ?";
+            argList.add(minId);
+        }
+        if (idFrom != null) {
+            sql += " and id >= ?";
+            argList.add(idFrom);
+        }
+        if (idTo != null) {
+            sql += " and id <= ?";
+            argList.add(idTo);
         }
         sql += " order by next_send_time asc, id asc limit ?";
-        final Object[] args = minId == null ? new Object[] {nextSendTime, nextSendTimeEnd, status, limit} :
-                new Object[] {nextSendTime, nextSendTimeEnd, status, minId, limit};
-        return (List<MessageMonitor>) executeAndLogSQL(sql, args, (a, b) -> dependencyHolder.jdbcTemplate().query(a, b,
-                new BeanPropertyRowMapper<>(MessageMonitor.class)));
+        argList.add(limit);
+        final Object[] args = argList.toArray();
+        return (List<MessageMonitor>) executeAndLogSQL(sql, args,
+                (a, b) -> dependencyHolder.jdbcTemplate().query(a, b, ROW_MAPPER));
+    }
+
+    /**
+     * 查询时间范围内该发送消息的最小、最大id
+     *
+     * @return 无消息时返回null
+     */
+    public Tuple<Long, Long> selectIdRangeSinceNextSendTime(Date nextSendTime, Date nextSendTimeEnd, int status) {
+        String sql = "select min(id), max(id) from message_monitor where next_send_time between ? and ? and status = ?";
+        Object[] args = new Object[] {nextSendTime, nextSendTimeEnd, status};
+        return (Tuple<Long, Long>) executeAndLogSQL(sql, args,
+                (a, b) -> dependencyHolder.jdbcTemplate().queryForObject(a, (rs, i) -> rs.getObject(1) == null
+                        ? null : Tuple.of(rs.getLong(1), rs.getLong(2)), b));
     }
 
     public MessageMonitor selectByPrimaryKey(Long id) {
@@ -124,8 +283,7 @@ public class MessageMonitorDao {
         String sql = "select * from message_monitor where id = ?";
         Object[] args = new Object[] {id};
         return (MessageMonitor) executeAndLogSQL(sql, args,
-                (a, b) -> dependencyHolder.jdbcTemplate().queryForObject(a,
-                        new MyBeanPropertyRowMapper<>(MessageMonitor.class), b));
+                (a, b) -> dependencyHolder.jdbcTemplate().queryForObject(a, ROW_MAPPER, b));
     }
 
 }
@@ -0,0 +1,26 @@
+package com.alpha.coding.common.message.event;
+
+import java.util.List;
+
+import org.springframework.context.ApplicationEvent;
+
+import com.alpha.coding.common.message.dal.MessageMonitor;
+
+/**
+ * MessageBatchApplicationEvent 批量消息记录写入事件
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+public class MessageBatchApplicationEvent extends ApplicationEvent {
+
+    public MessageBatchApplicationEvent(List<MessageMonitor> source) {
+        super(source);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<MessageMonitor> getMessageMonitors() {
+        return (List<MessageMonitor>) getSource();
+    }
+
+}
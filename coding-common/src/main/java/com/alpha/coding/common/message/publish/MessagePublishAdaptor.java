@@ -1,6 +1,9 @@
 package com.alpha.coding.common.message.publish;
 
+import java.util.List;
+
 import com.alpha.coding.common.message.config.MessagePublishConfig;
+import com.alpha.coding.common.message.dal.MessageMonitor;
 
 /**
  * MessagePublishAdaptor
@@ -21,4 +24,22 @@ public interface MessagePublishAdaptor {
      * @return 发送完成后的消息ID
      */
     String send(String topic, String tag, String content, String bizNo, MessagePublishConfig publishConfig);
+
+    /**
+     * 是否支持批量发送，支持时批量发送走{@link #sendBatch(String, List)}
+     */
+    default boolean supportBatchSend() {
+        return false;
+    }
+
+    /**
+     * 批量发送同一主题的消息，整批成功或整批失败(抛出异常)
+     *
+     * @param topic    消息主题
+     * @param messages 消息记录
+     * @return 与入参顺序一致的消息ID
+     */
+    default List<String> sendBatch(String topic, List<MessageMonitor> messages) {
+        throw new UnsupportedOperationException("sendBatch");
+    }
 }
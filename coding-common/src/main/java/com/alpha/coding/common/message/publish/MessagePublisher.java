@@ -1,5 +1,7 @@
 package com.alpha.coding.common.message.publish;
 
+import java.util.List;
+
 import com.alpha.coding.common.message.config.MessagePublishConfig;
 import com.alpha.coding.common.message.dal.MessageMonitor;
 
@@ -33,6 +35,18 @@ public interface MessagePublisher {
      */
     void asyncSend(String topic, String tag, String content, String bizNo, MessagePublishConfig config);
 
+    /**
+     * 批量发送消息，在当前事务中写入消息记录，事务提交后发送
+     *
+     * @param messages 消息列表
+     */
+    default void asyncSendBatch(List<PublishMessage> messages) {
+        if (messages == null) {
+            return;
+        }
+        messages.forEach(m -> asyncSend(m.getTopic(), m.getTag(), m.getContent(), m.getBizNo(), m.getConfig()));
+    }
+
     /**
      * 从监控记录发送
      *
@@ -0,0 +1,41 @@
+package com.alpha.coding.common.message.publish;
+
+import java.io.Serializable;
+
+import com.alpha.coding.common.message.config.MessagePublishConfig;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * PublishMessage 批量发送的单条消息
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@Data
+@Accessors(chain = true)
+public class PublishMessage implements Serializable {
+
+    /**
+     * 消息主题
+     */
+    private String topic;
+    /**
+     * 消息标签
+     */
+    private String tag;
+    /**
+     * 消息内容
+     */
+    private String content;
+    /**
+     * 业务标识
+     */
+    private String bizNo;
+    /**
+     * 发送控制
+     */
+    private MessagePublishConfig config;
+
+}
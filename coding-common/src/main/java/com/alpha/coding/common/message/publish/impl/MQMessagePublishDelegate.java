@@ -1,8 +1,13 @@
 package com.alpha.coding.common.message.publish.impl;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanNameAware;
@@ -28,8 +33,11 @@ import com.alpha.coding.common.message.constant.MessageSendStatus;
 import com.alpha.coding.common.message.dal.MessageMonitor;
 import com.alpha.coding.common.message.dal.MessageMonitorDao;
 import com.alpha.coding.common.message.event.MessageApplicationEvent;
+import com.alpha.coding.common.message.event.MessageBatchApplicationEvent;
+import com.alpha.coding.common.message.publish.MessagePublishAdaptor;
 import com.alpha.coding.common.message.publish.MessagePublishListener;
 import com.alpha.coding.common.message.publish.MessagePublisher;
+import com.alpha.coding.common.message.publish.PublishMessage;
 import com.alpha.coding.common.redis.RedisTemplateUtils;
 import com.alpha.coding.common.utils.DateUtils;
 import com.alpha.coding.common.utils.MD5Utils;
@@ -62,6 +70,12 @@ public class MQMessagePublishDelegate implements MessagePublisher, MessagePublis
     @Value("${default.message.publish.retry.interval:10}")
     private int defaultMessagePublishRetryInterval;
 
+    /**
+     * 批量发送时单批最大条数
+     */
+    @Value("${message.publish.batch.send.size:100}")
+    private int batchSendSize;
+
     /**
      * 获取容器中发送器bean实例
      */
@@ -143,6 +157,105 @@ public class MQMessagePublishDelegate implements MessagePublisher, MessagePublis
         applicationEventPublisher.publishEvent(new MessageApplicationEvent(messageMonitor));
     }
 
+    @Override
+    public void asyncSendBatch(List<PublishMessage> messages) {
+        if (messages == null || messages.isEmpty()) {
+            return;
+        }
+        final Date now = new Date();
+        final List<MessageMonitor> messageMonitors = new ArrayList<>(messages.size());
+        for (PublishMessage message : messages) {
+            final MessageMonitor messageMonitor = buildMessageMonitor(message.getTopic(), message.getTag(),
+                    message.getContent(), message.getBizNo(), message.getConfig());
+            messageMonitor.setCreateTime(now);
+            messageMonitor.setUpdateTime(now);
+            messageMonitors.add(messageMonitor);
+        }
+        messageMonitorDao.batchInsertSelective(messageMonitors);
+        applicationEventPublisher.publishEvent(new MessageBatchApplicationEvent(messageMonitors));
+    }
+
+    /**
+     * 批量发送已落库的消息记录：一条语句抢占全部记录(推迟下次发送时间，避免补偿任务重复发送)，
+     * 按主题分批发送后批量更新状态；抢占不完整说明有记录已被处理，释放已抢占的记录后退化为逐条加锁发送
+     */
+    public void sendFromMonitors(List<MessageMonitor> messageMonitors) {
+        if (messageMonitors == null || messageMonitors.isEmpty()) {
+            return;
+        }
+        final Date now = new Date();
+        final Date leaseUntil = DateUtils.discardMillis(new Date(now.getTime()
+                + defaultMessagePublishRetryInterval * 1000L));
+        final List<Long> ids = messageMonitors.stream().map(MessageMonitor::getId).collect(Collectors.toList());
+        if (ids.contains(null)) {
+            messageMonitors.forEach(this::sendFromMonitor);
+            return;
+        }
+        if (messageMonitorDao.claimWaitSend(ids, now, leaseUntil) != ids.size()) {
+            log.info("批量消息抢占不完整，逐条发送，size={}", messageMonitors.size());
+            // 已抢占的记录恢复为到期，否则逐条发送时会因未到发送时间被跳过
+            messageMonitorDao.releaseClaim(ids, leaseUntil, DateUtils.discardMillis(now));
+            messageMonitors.forEach(this::sendFromMonitor);
+            return;
+        }
+        final MessagePublishAdaptor adaptor = dependencyHolder.getMessagePublishAdaptor();
+        final Map<String, List<MessageMonitor>> groups = new LinkedHashMap<>();
+        messageMonitors.forEach(p -> groups.computeIfAbsent(p.getTopic() + "#" + p.getTenantId(),
+                k -> new ArrayList<>()).add(p));
+        final int chunkSize = Math.max(batchSendSize, 1);
+        try {
+            for (List<MessageMonitor> group : groups.values()) {
+                for (int i = 0; i < group.size(); i += chunkSize) {
+                    final List<MessageMonitor> chunk = group.subList(i, Math.min(i + chunkSize, group.size()));
+                    if (adaptor.supportBatchSend() && chunk.size() > 1) {
+                        sendChunk(adaptor, chunk);
+                    } else {
+                        chunk.forEach(this::sendMessageMonitor);
+                    }
+                }
+            }
+        } finally {
+            final Date updateTime = new Date();
+            messageMonitors.forEach(p -> p.setUpdateTime(updateTime));
+            messageMonitorDao.batchUpdateByPrimaryKeySelective(messageMonitors);
+        }
+    }
+
+    /**
+     * 整批发送同一主题、同一租户的消息
+     */
+    private void sendChunk(MessagePublishAdaptor adaptor, List<MessageMonitor> chunk) {
+        final MessageMonitor first = chunk.get(0);
+        final Object oldTenantId = MapThreadLocalAdaptor.get("tenantId");
+        try {
+            if (first.getTenantId() != null) {
+                MapThreadLocalAdaptor.put("tenantId", first.getTenantId());
+            }
+            final int[] tryTimes = chunk.stream()
+                    .mapToInt(p -> Optional.ofNullable(p.getTryTimes()).orElse(0) + 1).toArray();
+            final List<String> msgIds;
+            try {
+                msgIds = adaptor.sendBatch(first.getTopic(), chunk);
+            } catch (Throwable e) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    onSendFail(chunk.get(i), tryTimes[i], e);
+                }
+                return;
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                final MessageMonitor messageMonitor = chunk.get(i);
+                try {
+                    onSendSuccess(messageMonitor, msgIds != null && msgIds.size() > i ? msgIds.get(i) : null,
+                            tryTimes[i]);
+                } catch (Throwable e) {
+                    onSendFail(messageMonitor, tryTimes[i], e);
+                }
+            }
+        } finally {
+            MapThreadLocalAdaptor.put("tenantId", oldTenantId);
+        }
+    }
+
     @Override
     public String sendFromMonitor(MessageMonitor messageMonitor) {
         final String lockKey = dependencyHolder.bizGroup() + ":MESSAGE:RLK:MQPUB:" + messageMonitor.getBizNo();
@@ -175,10 +288,26 @@ public class MQMessagePublishDelegate implements MessagePublisher, MessagePublis
      * 发送逻辑
      */
     private String doSendMessageMonitor(MessageMonitor messageMonitor) {
+        try {
+            return sendMessageMonitor(messageMonitor);
+        } finally {
+            final Date now = new Date();
+            messageMonitor.setUpdateTime(now);
+            if (messageMonitor.getId() == null) {
+                messageMonitor.setCreateTime(now);
+                messageMonitorDao.insertSelective(messageMonitor);
+            } else {
+                messageMonitorDao.updateByPrimaryKeySelective(messageMonitor);
+            }
+        }
+    }
+
+    /**
+     * 发送并更新记录状态，不落库
+     */
+    private String sendMessageMonitor(MessageMonitor messageMonitor) {
         String msgId = null;
-        int tryTimes = Optional.ofNullable(messageMonitor.getTryTimes()).orElse(0) + 1;
-        final MessagePublishListener publishListener = applicationContext
-                .getBean(messageMonitor.getPublishListener(), MessagePublishListener.class);
+        final int tryTimes = Optional.ofNullable(messageMonitor.getTryTimes()).orElse(0) + 1;
         final Object oldTenantId = MapThreadLocalAdaptor.get("tenantId");
         try {
             if (messageMonitor.getTenantId() != null) {
@@ -187,52 +316,58 @@ public class MQMessagePublishDelegate implements MessagePublisher, MessagePublis
             msgId = dependencyHolder.getMessagePublishAdaptor().send(messageMonitor.getTopic(),
                     messageMonitor.getTag(), messageMonitor.getContent(),
                     messageMonitor.getBizNo(), messageMonitor.getPublishConfig());
-            messageMonitor.setMsgId(msgId);
-            // 需要回执
-            if (messageMonitor.getNeedReceipt() != null
-                    && Predicates.testIntValue.test(messageMonitor.getNeedReceipt(), 1)) {
-                messageMonitor.setStatus(MessageSendStatus.WAIT_RECEIPT.getCode()); // 待回执
-            } else {
-                messageMonitor.setStatus(MessageSendStatus.SUCCESS.getCode()); // 成功
-            }
-            messageMonitor.setSendTime(new Date());
-            messageMonitor.setTryTimes(tryTimes);
-            if (publishListener != null) {
-                publishListener.onSuccess(messageMonitor);
-            }
+            onSendSuccess(messageMonitor, msgId, tryTimes);
         } catch (Throwable e) {
-            messageMonitor.setSendTime(new Date());
-            messageMonitor.setTryTimes(tryTimes);
-            // 无限重试模式
-            if (messageMonitor.getMaxTryTimes() == null
-                    || Predicates.testIntValue.test(messageMonitor.getMaxTryTimes(), -1)) {
-                messageMonitor.setNextSendTime(DateUtils.discardMillis(new Date(new Date().getTime()
-                        + defaultMessagePublishRetryInterval * 1000L)));
-            } else {
-                if (messageMonitor.getMaxTryTimes() <= tryTimes) {
-                    messageMonitor.setStatus(MessageSendStatus.CANCEL.getCode()); // 达到最大重试次数，任务取消
-                } else {
-                    messageMonitor.setNextSendTime(DateUtils.discardMillis(new Date(new Date().getTime()
-                            + defaultMessagePublishRetryInterval * 1000L)));
-                }
-            }
-            if (publishListener != null) {
-                publishListener.onFail(messageMonitor, e);
-            }
+            onSendFail(messageMonitor, tryTimes, e);
         } finally {
-            final Date now = new Date();
-            messageMonitor.setUpdateTime(now);
-            if (messageMonitor.getId() == null) {
-                messageMonitor.setCreateTime(now);
-                messageMonitorDao.insertSelective(messageMonitor);
-            } else {
-                messageMonitorDao.updateByPrimaryKeySelective(messageMonitor);
-            }
             MapThreadLocalAdaptor.put("tenantId", oldTenantId);
         }
         return msgId;
     }
 
+    private void onSendSuccess(MessageMonitor messageMonitor, String msgId, int tryTimes) {
+        messageMonitor.setMsgId(msgId);
+        // 需要回执
+        if (messageMonitor.getNeedReceipt() != null
+                && Predicates.testIntValue.test(messageMonitor.getNeedReceipt(), 1)) {
+            messageMonitor.setStatus(MessageSendStatus.WAIT_RECEIPT.getCode()); // 待回执
+        } else {
+            messageMonitor.setStatus(MessageSendStatus.SUCCESS.getCode()); // 成功
+        }
+        messageMonitor.setSendTime(new Date());
+        messageMonitor.setTryTimes(tryTimes);
+        final MessagePublishListener publishListener = getPublishListener(messageMonitor);
+        if (publishListener != null) {
+            publishListener.onSuccess(messageMonitor);
+        }
+    }
+
+    private void onSendFail(MessageMonitor messageMonitor, int tryTimes, Throwable e) {
+        messageMonitor.setSendTime(new Date());
+        messageMonitor.setTryTimes(tryTimes);
+        // 无限重试模式
+        if (messageMonitor.getMaxTryTimes() == null
+                || Predicates.testIntValue.test(messageMonitor.getMaxTryTimes(), -1)) {
+            messageMonitor.setNextSendTime(DateUtils.discardMillis(new Date(new Date().getTime()
+                    + defaultMessagePublishRetryInterval * 1000L)));
+        } else {
+            if (messageMonitor.getMaxTryTimes() <= tryTimes) {
+                messageMonitor.setStatus(MessageSendStatus.CANCEL.getCode()); // 达到最大重试次数，任务取消
+            } else {
+                messageMonitor.setNextSendTime(DateUtils.discardMillis(new Date(new Date().getTime()
+                        + defaultMessagePublishRetryInterval * 1000L)));
+            }
+        }
+        final MessagePublishListener publishListener = getPublishListener(messageMonitor);
+        if (publishListener != null) {
+            publishListener.onFail(messageMonitor, e);
+        }
+    }
+
+    private MessagePublishListener getPublishListener(MessageMonitor messageMonitor) {
+        return applicationContext.getBean(messageMonitor.getPublishListener(), MessagePublishListener.class);
+    }
+
     @Async("messageApplicationEventHandlerExec")
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT,
             value = MessageApplicationEvent.class, fallbackExecution = true)
@@ -254,4 +389,25 @@ public class MQMessagePublishDelegate implements MessagePublisher, MessagePublis
         }, HalfMDCTraceIdGenerator.getTimestampBase62Instance());
     }
 
+    @Async("messageApplicationEventHandlerExec")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT,
+            value = MessageBatchApplicationEvent.class, fallbackExecution = true)
+    public void handleMessageBatchApplicationEvent(MessageBatchApplicationEvent event) {
+        FunctionDelegator.traceRun(() -> {
+            try {
+                final Date now = new Date();
+                final List<MessageMonitor> messageMonitors = Optional.ofNullable(event.getMessageMonitors())
+                        .map(l -> l.stream().filter(p -> !p.getNextSendTime().after(now))
+                                .collect(Collectors.toList())).orElse(null);
+                if (messageMonitors == null || messageMonitors.isEmpty()) {
+                    return; // 无记录或未到发送时间
+                }
+                sendFromMonitors(messageMonitors);
+            } catch (Throwable e) {
+                log.error("监听事务提交批量发送消息事件处理异常：size={}",
+                        Optional.ofNullable(event.getMessageMonitors()).map(List::size).orElse(0), e);
+            }
+        }, HalfMDCTraceIdGenerator.getTimestampBase62Instance());
+    }
+
 }
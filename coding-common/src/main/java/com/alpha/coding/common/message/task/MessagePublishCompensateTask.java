@@ -1,13 +1,20 @@
 package com.alpha.coding.common.message.task;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
+import org.slf4j.MDC;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,10 +22,12 @@ import org.springframework.data.redis.core.ValueOperations;
 
 import com.alibaba.fastjson.JSON;
 import com.alpha.coding.bo.base.Tuple;
+import com.alpha.coding.bo.executor.NamedExecutorPool;
 import com.alpha.coding.bo.executor.schedule.ScheduledTask;
 import com.alpha.coding.bo.function.common.Functions;
 import com.alpha.coding.bo.trace.TimestampBase62UUIDTraceIdGenerator;
 import com.alpha.coding.common.bean.init.AsyncWarmUpCallback;
+import com.alpha.coding.common.executor.MDCRunnableWrapper;
 import com.alpha.coding.common.function.FunctionDelegator;
 import com.alpha.coding.common.message.DependencyHolder;
 import com.alpha.coding.common.message.constant.MessageSendStatus;
@@ -33,6 +42,10 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * MessagePublishCompensateTask
+ * <p>
+ * <li>shardCount大于1时按id范围分片：每轮将待发送消息的最小、最大id等分为shardCount段，分段经缓存在多实例间共享，
+ * 首尾分段不设下界、上界；分片通过分片锁(租约)在多实例间分配，租约仅在一轮补偿内持有，实例增减或宕机后下一轮自动重新分配</li>
+ * <li>单实例内由shardThreads个线程并行处理分片，消息发送在sendParallelism大小的线程池中并行执行</li>
  *
  * @version 1.0
  * Date: 2021/9/8
@@ -42,10 +55,42 @@ public class MessagePublishCompensateTask implements AsyncWarmUpCallback, Dispos
 
     private static final String MIN_NEXT_SEND_TIME_KEY = "MQM:min_next_send_time";
     private static final String MIN_NEXT_SEND_TIME_CURSOR_KEY = "MQM:CUR:min_next_send_time";
+    private static final String SHARD_LEASE_KEY = "MQM:SHARD:MessagePublishCompensateTask";
+    private static final String SHARD_RANGE_KEY = "MQM:SHARD:RANGE:MessagePublishCompensateTask";
 
     @Value("${message.compensate.task.interval:120}")
     private long messageCompensateTaskInterval;
 
+    /**
+     * 分片数，不大于1时不分片
+     */
+    @Value("${message.compensate.shard.count:1}")
+    private int shardCount;
+
+    /**
+     * 单实例并行处理的分片数
+     */
+    @Value("${message.compensate.shard.threads:2}")
+    private int shardThreads;
+
+    /**
+     * 分片租约时长(秒)，持有期间自动续期
+     */
+    @Value("${message.compensate.shard.lease.seconds:30}")
+    private long shardLeaseSeconds;
+
+    /**
+     * 单实例消息发送并行度
+     */
+    @Value("${message.compensate.send.parallelism:1}")
+    private int sendParallelism;
+
+    /**
+     * 单次查询条数
+     */
+    @Value("${message.compensate.batch.size:20}")
+    private int batchSize;
+
     @Setter
     private volatile boolean synchronizedExecTask = false;
 
@@ -58,9 +103,13 @@ public class MessagePublishCompensateTask implements AsyncWarmUpCallback, Dispos
     @Autowired
     private MessageMonitorDao messageMonitorDao;
 
+    private volatile ExecutorService shardExecutor;
+    private volatile ExecutorService sendExecutor;
+
     @Override
     public List<Runnable> asyncWarmUp() {
         running = true;
+        initExecutors();
         return Collections.singletonList(new ScheduledTask()
                 .setInitialDelay(1)
                 .setPeriod(messageCompensateTaskInterval)
@@ -71,14 +120,16 @@ public class MessagePublishCompensateTask implements AsyncWarmUpCallback, Dispos
                         log.warn("[业务组{}]消息发送补偿任务已终止", dependencyHolder.bizGroup());
                         return;
                     }
-                    if (!synchronizedExecTask) {
-                        execute(t);
+                    if (shardCount > 1) {
+                        executeShards();
+                    } else if (!synchronizedExecTask) {
+                        execute(0, null, null);
                     } else {
                         final Tuple<Boolean, Object> tuple = RedisTemplateUtils
                                 .doInLockAutoRenewalReturnOnLockFail(dependencyHolder.getRedisTemplate(),
                                         dependencyHolder.bizGroup() + ":MQM:MessagePublishCompensateTask", 10,
                                         () -> {
-                                            execute(t);
+                                            execute(0, null, null);
                                             return null;
                                         });
                         if (!tuple.getF()) {
@@ -88,12 +139,117 @@ public class MessagePublishCompensateTask implements AsyncWarmUpCallback, Dispos
                 }, TimestampBase62UUIDTraceIdGenerator.getInstance())));
     }
 
+    private synchronized void initExecutors() {
+        final String bizGroup = dependencyHolder.bizGroup();
+        if (shardCount > 1 && shardExecutor == null) {
+            shardExecutor = NamedExecutorPool.newFixedThreadPool("MQM-compensate-shard-" + bizGroup,
+                    Math.max(1, Math.min(shardThreads, shardCount)));
+        }
+        if (sendParallelism > 1 && sendExecutor == null) {
+            sendExecutor = NamedExecutorPool.newFixedThreadPool("MQM-compensate-send-" + bizGroup, sendParallelism);
+        }
+    }
+
+    /**
+     * 分片执行：从随机分片开始依次尝试获取分片租约，获取不到说明已被其他实例处理，直接跳过
+     */
+    private void executeShards() {
+        final String bizGroup = dependencyHolder.bizGroup();
+        final long startNanoTime = System.nanoTime();
+        final Tuple<Long, Long> idRange = loadShardIdRange();
+        if (idRange == null) {
+            log.info("[业务组{}]消息发送分片补偿无待发送消息", bizGroup);
+            return;
+        }
+        final long span = (idRange.getS() - idRange.getF()) / shardCount + 1;
+        final int start = ThreadLocalRandom.current().nextInt(shardCount);
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicInteger claimed = new AtomicInteger();
+        final int workers = Math.max(1, Math.min(shardThreads, shardCount));
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            futures.add(CompletableFuture.runAsync(MDCRunnableWrapper.of(() -> {
+                int k;
+                while (running && (k = next.getAndIncrement()) < shardCount) {
+                    final int shard = (start + k) % shardCount;
+                    final Long idFrom = shard == 0 ? null : idRange.getF() + shard * span;
+                    final Long idTo = shard == shardCount - 1 ? null : idRange.getF() + (shard + 1) * span - 1;
+                    try {
+                        final Tuple<Boolean, Object> tuple = RedisTemplateUtils
+                                .doInLockAutoRenewalReturnOnLockFail(dependencyHolder.getRedisTemplate(),
+                                        bizGroup + ":" + SHARD_LEASE_KEY + ":" + shardCount + ":" + shard,
+                                        shardLeaseSeconds, () -> {
+                                            execute(shard, idFrom, idTo);
+                                            return null;
+                                        });
+                        if (tuple.getF()) {
+                            claimed.incrementAndGet();
+                        } else if (log.isDebugEnabled()) {
+                            log.debug("[业务组{}]消息补偿分片{}已被其他实例处理", bizGroup, shard);
+                        }
+                    } catch (Exception e) {
+                        log.warn("[业务组{}]消息补偿分片{}获取租约失败", bizGroup, shard, e);
+                    }
+                }
+            }, MDC.getCopyOfContextMap()), shardExecutor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (Exception e) {
+            log.warn("[业务组{}]消息发送分片补偿异常", bizGroup, e);
+        }
+        log.info("[业务组{}]消息发送分片补偿完成，处理分片{}/{}，耗时{}", bizGroup, claimed.get(), shardCount,
+                Functions.formatNanos.apply(System.nanoTime() - startNanoTime));
+    }
+
+    /**
+     * 本轮分片的id范围，多实例共享同一轮的范围，保证分段一致
+     *
+     * @return 无待发送消息时返回null
+     */
+    private Tuple<Long, Long> loadShardIdRange() {
+        final ValueOperations valueOperations = dependencyHolder.getRedisTemplate().opsForValue();
+        final String key = dependencyHolder.bizGroup() + ":" + SHARD_RANGE_KEY + ":" + shardCount;
+        final Tuple<Long, Long> exist = parseShardIdRange(valueOperations.get(key));
+        if (exist != null) {
+            return exist;
+        }
+        final Date st = Optional.ofNullable(loadMinNextSendTimeFromCache()).orElseGet(this::loadMinNextSendTime);
+        final Tuple<Long, Long> idRange = messageMonitorDao.selectIdRangeSinceNextSendTime(st, new Date(),
+                MessageSendStatus.WAIT_SEND.getCode());
+        if (idRange == null) {
+            return null;
+        }
+        if (!Boolean.TRUE.equals(valueOperations.setIfAbsent(key, idRange.getF() + "," + idRange.getS()))) {
+            // 其他实例已写入本轮范围
+            return Optional.ofNullable(parseShardIdRange(valueOperations.get(key))).orElse(idRange);
+        }
+        dependencyHolder.getRedisTemplate().expire(key, Math.max(1L, messageCompensateTaskInterval / 2),
+                TimeUnit.SECONDS);
+        return idRange;
+    }
+
+    private Tuple<Long, Long> parseShardIdRange(Object val) {
+        if (val == null) {
+            return null;
+        }
+        final String[] arr = String.valueOf(val).split(",");
+        return Tuple.of(Long.valueOf(arr[0]), Long.valueOf(arr[1]));
+    }
+
     /**
      * 任务执行逻辑
+     *
+     * @param shard  分片序号，不分片时为0
+     * @param idFrom 分片id下界(含)，为null时不限
+     * @param idTo   分片id上界(含)，为null时不限
      */
-    private void execute(ScheduledTask task) {
+    private void execute(int shard, Long idFrom, Long idTo) {
         final String bizGroup = dependencyHolder.bizGroup();
-        log.info("[业务组{}]消息发送补偿任务开始执行", bizGroup);
+        final String cursorKey = shardCount > 1
+                ? bizGroup + ":" + MIN_NEXT_SEND_TIME_CURSOR_KEY + ":" + shardCount + ":" + shard
+                : bizGroup + ":" + MIN_NEXT_SEND_TIME_CURSOR_KEY;
+        log.info("[业务组{}]消息发送补偿任务开始执行，分片{}/{}", bizGroup, shard, Math.max(shardCount, 1));
         final long startNanoTime = System.nanoTime();
         Date st = null;
         Long minId = null;
@@ -102,26 +258,16 @@ public class MessagePublishCompensateTask implements AsyncWarmUpCallback, Dispos
             if (newDate == null) {
                 newDate = loadMinNextSendTime();
             }
-            st = upsertMinNextSendTime(newDate);
+            st = upsertMinNextSendTime(cursorKey, newDate);
             final Set<Long> existIds = new HashSet<>(); // 上一轮ID
-            while (true) {
+            while (running) {
                 final List<MessageMonitor> list =
                         messageMonitorDao.selectSinceNextSendTime(st, new Date(),
-                                MessageSendStatus.WAIT_SEND.getCode(), minId, 20);
+                                MessageSendStatus.WAIT_SEND.getCode(), minId, idFrom, idTo, batchSize);
                 if (list == null || list.isEmpty()) {
                     break;
                 }
-                for (MessageMonitor messageMonitor : list) {
-                    if (existIds.contains(messageMonitor.getId())) {
-                        continue;
-                    }
-                    try {
-                        MQMessagePublishDelegate.messagePublisher().sendFromMonitor(messageMonitor);
-                    } catch (Exception e) {
-                        log.info("[业务组{}]消息补偿处理失败,messageMonitor={}",
-                                bizGroup, JSON.toJSONString(messageMonitor));
-                    }
-                }
+                send(list.stream().filter(p -> !existIds.contains(p.getId())).collect(Collectors.toList()));
                 existIds.clear();
                 list.forEach(p -> existIds.add(p.getId()));
                 final Date nextSendTime = list.get(list.size() - 1).getNextSendTime();
@@ -132,19 +278,43 @@ public class MessagePublishCompensateTask implements AsyncWarmUpCallback, Dispos
                 } else {
                     // 时间有变化，使用时间作为游标
                     minId = null;
-                    st = upsertMinNextSendTime(nextSendTime);
+                    st = upsertMinNextSendTime(cursorKey, nextSendTime);
                 }
             }
-            log.info("[业务组{}]消息发送补偿任务执行成功，耗时{}，下次发送时间{}", bizGroup,
+            log.info("[业务组{}]消息发送补偿任务执行成功，分片{}，耗时{}，下次发送时间{}", bizGroup, shard,
                     Functions.formatNanos.apply(System.nanoTime() - startNanoTime),
                     DateUtils.format(st));
         } catch (Throwable e) {
-            log.info("[业务组{}]消息发送补偿任务执行失败，耗时{}，下次发送时间{}", bizGroup,
+            log.info("[业务组{}]消息发送补偿任务执行失败，分片{}，耗时{}，下次发送时间{}", bizGroup, shard,
                     Functions.formatNanos.apply(System.nanoTime() - startNanoTime),
                     DateUtils.format(st), e);
         }
     }
 
+    /**
+     * 发送一批消息，并行发送时等待整批完成后再推进游标
+     */
+    private void send(List<MessageMonitor> list) {
+        if (sendExecutor == null || list.size() <= 1) {
+            list.forEach(this::send);
+            return;
+        }
+        final CompletableFuture<?>[] futures = list.stream()
+                .map(p -> CompletableFuture.runAsync(MDCRunnableWrapper.of(() -> send(p), MDC.getCopyOfContextMap()),
+                        sendExecutor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+    }
+
+    private void send(MessageMonitor messageMonitor) {
+        try {
+            MQMessagePublishDelegate.messagePublisher().sendFromMonitor(messageMonitor);
+        } catch (Exception e) {
+            log.info("[业务组{}]消息补偿处理失败,messageMonitor={}",
+                    dependencyHolder.bizGroup(), JSON.toJSONString(messageMonitor));
+        }
+    }
+
     private Date loadMinNextSendTimeFromCache() {
         return Optional.ofNullable(dependencyHolder.getRedisTemplate().opsForValue()
                 .get(dependencyHolder.bizGroup() + ":" + MIN_NEXT_SEND_TIME_KEY))
@@ -159,9 +329,8 @@ public class MessagePublishCompensateTask implements AsyncWarmUpCallback, Dispos
         return date;
     }
 
-    private Date upsertMinNextSendTime(Date newDate) {
+    private Date upsertMinNextSendTime(String key, Date newDate) {
         final ValueOperations valueOperations = dependencyHolder.getRedisTemplate().opsForValue();
-        final String key = dependencyHolder.bizGroup() + ":" + MIN_NEXT_SEND_TIME_CURSOR_KEY;
         Object val = valueOperations.get(key);
         if (val == null) {
             Object value = valueOperations.get(dependencyHolder.bizGroup() + ":" + MIN_NEXT_SEND_TIME_KEY);
@@ -189,6 +358,12 @@ public class MessagePublishCompensateTask implements AsyncWarmUpCallback, Dispos
     @Override
     public void destroy() throws Exception {
         running = false;
+        if (shardExecutor != null) {
+            shardExecutor.shutdown();
+        }
+        if (sendExecutor != null) {
+            sendExecutor.shutdown();
+        }
     }
 
 }
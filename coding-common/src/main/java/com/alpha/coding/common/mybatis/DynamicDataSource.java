@@ -1,20 +1,35 @@
 package com.alpha.coding.common.mybatis;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 
+import com.alpha.coding.common.mybatis.replica.ReadReplica;
+import com.alpha.coding.common.mybatis.replica.ReadReplicaRouter;
+import com.alpha.coding.common.mybatis.replica.ReplicaLagProbe;
+import com.alpha.coding.common.mybatis.replica.ReplicaSelectStrategy;
+
 import lombok.Getter;
 import lombok.Setter;
 
 /**
  * DynamicDataSource
+ * <p>
+ * <li>配置readDataSources时读操作在多个读库间路由，见{@link ReadReplicaRouter}，无可用读库时回退到写库</li>
+ * <li>读己之写：见{@link DynamicDataSourceHolder#openReadYourWritesScope()}与readYourWritesMillis</li>
  *
  * @version 1.0
  * Date: 2020-02-21
  */
-public class DynamicDataSource extends AbstractRoutingDataSource {
+public class DynamicDataSource extends AbstractRoutingDataSource implements DisposableBean {
 
     @Setter
     @Getter
@@ -24,6 +39,49 @@ public class DynamicDataSource extends AbstractRoutingDataSource {
     @Getter
     private Object readDataSource;
 
+    /**
+     * 读库池，key为读库名称，readDataSource也会以default加入
+     */
+    @Setter
+    @Getter
+    private Map<String, Object> readDataSources;
+
+    /**
+     * 读库权重，默认1
+     */
+    @Setter
+    @Getter
+    private Map<String, Integer> readWeights;
+
+    @Setter
+    @Getter
+    private ReplicaSelectStrategy replicaSelectStrategy = ReplicaSelectStrategy.WEIGHTED;
+
+    /**
+     * 读库最大复制延迟(ms)，不大于0时不检测
+     */
+    @Setter
+    @Getter
+    private long maxReplicationLagMillis = 0;
+
+    @Setter
+    @Getter
+    private long healthCheckIntervalMillis = 5000;
+
+    @Setter
+    @Getter
+    private ReplicaLagProbe replicaLagProbe;
+
+    /**
+     * 写操作后同一线程读操作走写库的时间窗口(ms)，不大于0时仅在读己之写作用域内生效
+     */
+    @Setter
+    @Getter
+    private long readYourWritesMillis = 0;
+
+    @Getter
+    private ReadReplicaRouter readReplicaRouter;
+
     @Override
     public void afterPropertiesSet() {
         if (this.writeDataSource == null) {
@@ -37,15 +95,64 @@ public class DynamicDataSource extends AbstractRoutingDataSource {
         }
         setTargetDataSources(targetDataSources);
         super.afterPropertiesSet();
+        if (readDataSources != null && !readDataSources.isEmpty()) {
+            final List<ReadReplica> replicas = new ArrayList<>();
+            if (readDataSource != null && !readDataSources.containsValue(readDataSource)) {
+                replicas.add(new ReadReplica("default", resolveSpecifiedDataSource(readDataSource), weightOf("default")));
+            }
+            readDataSources.forEach((name, ds) ->
+                    replicas.add(new ReadReplica(name, resolveSpecifiedDataSource(ds), weightOf(name))));
+            readReplicaRouter = new ReadReplicaRouter(String.valueOf(System.identityHashCode(this)), replicas)
+                    .setStrategy(replicaSelectStrategy)
+                    .setMaxLagMillis(maxReplicationLagMillis)
+                    .setHealthCheckIntervalMillis(healthCheckIntervalMillis)
+                    .setLagProbe(replicaLagProbe);
+            readReplicaRouter.start();
+        }
+    }
+
+    private int weightOf(String name) {
+        return readWeights == null || readWeights.get(name) == null ? 1 : readWeights.get(name);
     }
 
     @Override
     protected Object determineCurrentLookupKey() {
         DynamicDataSourceGlobal dynamicDataSourceGlobal = DynamicDataSourceHolder.getDataSource();
         if (dynamicDataSourceGlobal == null
-                || dynamicDataSourceGlobal == DynamicDataSourceGlobal.WRITE) {
+                || dynamicDataSourceGlobal == DynamicDataSourceGlobal.WRITE
+                || DynamicDataSourceHolder.isReadYourWrites(readYourWritesMillis)) {
             return DynamicDataSourceGlobal.WRITE.name();
         }
         return DynamicDataSourceGlobal.READ.name();
     }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (readReplicaRouter != null && DynamicDataSourceGlobal.READ.name().equals(determineCurrentLookupKey())) {
+            final ReadReplica replica = readReplicaRouter.select();
+            return replica != null ? replica.getConnection() : writeTarget().getConnection();
+        }
+        return super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (readReplicaRouter != null && DynamicDataSourceGlobal.READ.name().equals(determineCurrentLookupKey())) {
+            final ReadReplica replica = readReplicaRouter.select();
+            return replica != null ? replica.getConnection(username, password)
+                    : writeTarget().getConnection(username, password);
+        }
+        return super.getConnection(username, password);
+    }
+
+    private DataSource writeTarget() {
+        return getResolvedDefaultDataSource();
+    }
+
+    @Override
+    public void destroy() {
+        if (readReplicaRouter != null) {
+            readReplicaRouter.shutdown();
+        }
+    }
 }
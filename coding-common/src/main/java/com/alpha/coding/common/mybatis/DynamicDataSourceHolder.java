@@ -1,5 +1,7 @@
 package com.alpha.coding.common.mybatis;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * DynamicDataSourceHolder
  *
@@ -10,6 +12,16 @@ public final class DynamicDataSourceHolder {
 
     private static final ThreadLocal<DynamicDataSourceGlobal> holder = new ThreadLocal<DynamicDataSourceGlobal>();
 
+    /**
+     * 最近一次写操作时间(nanoTime)
+     */
+    private static final ThreadLocal<Long> lastWriteHolder = new ThreadLocal<Long>();
+
+    /**
+     * 读己之写作用域嵌套深度
+     */
+    private static final ThreadLocal<int[]> scopeHolder = ThreadLocal.withInitial(() -> new int[1]);
+
     private DynamicDataSourceHolder() {
     }
 
@@ -25,4 +37,62 @@ public final class DynamicDataSourceHolder {
         holder.remove();
     }
 
+    /**
+     * 记录当前线程发生了写操作
+     */
+    public static void markWrite() {
+        lastWriteHolder.set(System.nanoTime());
+    }
+
+    /**
+     * 当前线程的读操作是否需要走写库：读己之写作用域内发生过写操作，或距上次写操作不超过windowMillis
+     */
+    public static boolean isReadYourWrites(long windowMillis) {
+        final Long lastWrite = lastWriteHolder.get();
+        if (lastWrite == null) {
+            return false;
+        }
+        if (scopeHolder.get()[0] > 0) {
+            return true;
+        }
+        return windowMillis > 0 && System.nanoTime() - lastWrite <= TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    /**
+     * 开启读己之写作用域(如一次请求)，作用域内一旦发生写操作，后续读操作均走写库，支持嵌套
+     */
+    public static ReadYourWritesScope openReadYourWritesScope() {
+        final int[] depth = scopeHolder.get();
+        if (depth[0]++ == 0) {
+            lastWriteHolder.remove();
+        }
+        return new ReadYourWritesScope(depth);
+    }
+
+    /**
+     * 读己之写作用域
+     */
+    public static final class ReadYourWritesScope implements AutoCloseable {
+
+        private final int[] depth;
+        private boolean closed;
+
+        private ReadYourWritesScope(int[] depth) {
+            this.depth = depth;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (--depth[0] <= 0) {
+                depth[0] = 0;
+                lastWriteHolder.remove();
+                scopeHolder.remove();
+            }
+        }
+    }
+
 }
@@ -26,6 +26,7 @@ public class DynamicDataSourceTransactionManager extends DataSourceTransactionMa
             DynamicDataSourceHolder.putDataSource(DynamicDataSourceGlobal.READ);
         } else {
             DynamicDataSourceHolder.putDataSource(DynamicDataSourceGlobal.WRITE);
+            DynamicDataSourceHolder.markWrite();
         }
         super.doBegin(transaction, definition);
     }
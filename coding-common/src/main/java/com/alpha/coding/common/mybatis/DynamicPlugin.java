@@ -33,7 +33,9 @@ import lombok.extern.slf4j.Slf4j;
                 MappedStatement.class, Object.class}),
         @Signature(type = Executor.class, method = "query", args = {
                 MappedStatement.class, Object.class, RowBounds.class,
-                ResultHandler.class})})
+                ResultHandler.class}),
+        @Signature(type = Executor.class, method = "queryCursor", args = {
+                MappedStatement.class, Object.class, RowBounds.class})})
 public class DynamicPlugin implements Interceptor {
 
     private static final String FORCE_USE_WRITE_DATA_SOURCE_SQL = "forceUseWriteDataSourceSql";
@@ -91,6 +93,9 @@ public class DynamicPlugin implements Interceptor {
                 CACHE_MAP.put(ms.getId(), dynamicDataSourceGlobal);
             }
             DynamicDataSourceHolder.putDataSource(dynamicDataSourceGlobal);
+            if (ms.getSqlCommandType() != SqlCommandType.SELECT) {
+                DynamicDataSourceHolder.markWrite();
+            }
         }
         return invocation.proceed();
     }
@@ -91,4 +91,29 @@ public @interface EnableMybatisAutoConfig {
      */
     String[] forceUseWriteDataSourceSql() default {};
 
+    /**
+     * 额外读库的beanName，beanName[:weight]形式，配置后读操作在{prefix}ReadDataSource与额外读库间路由
+     */
+    String[] readReplicas() default {};
+
+    /**
+     * 读库选择策略，见com.alpha.coding.common.mybatis.replica.ReplicaSelectStrategy，支持外部配置化参数
+     */
+    String replicaSelectStrategy() default "WEIGHTED";
+
+    /**
+     * 读库最大复制延迟(ms)，超过时移出读库列表，不大于0时不检测，支持外部配置化参数
+     */
+    String maxReplicationLagMillis() default "0";
+
+    /**
+     * 复制延迟探测(com.alpha.coding.common.mybatis.replica.ReplicaLagProbe)beanName
+     */
+    String replicaLagProbe() default "";
+
+    /**
+     * 写操作后同一线程读操作走写库的时间窗口(ms)，支持外部配置化参数
+     */
+    String readYourWritesMillis() default "0";
+
 }
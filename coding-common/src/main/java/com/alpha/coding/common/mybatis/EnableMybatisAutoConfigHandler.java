@@ -14,8 +14,10 @@ import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.session.Configuration;
 import org.mybatis.spring.SqlSessionFactoryBean;
 import org.mybatis.spring.mapper.MapperScannerConfigurer;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.ManagedMap;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.util.ClassUtils;
 
@@ -66,6 +68,9 @@ public class EnableMybatisAutoConfigHandler implements ConfigurationRegisterHand
             BeanDefinitionRegistryUtils.overideBeanDefinition(registry, "auto_PageHandlerInterceptor",
                     pageDefinitionBuilder.getBeanDefinition(), true);
         }
+        // 注册 fetchSizeInterceptor
+        BeanDefinitionRegistryUtils.overideBeanDefinition(registry, "auto_FetchSizeInterceptor",
+                BeanDefinitionBuilder.genericBeanDefinition(FetchSizeInterceptor.class).getBeanDefinition(), true);
         final Map<String, String> showSqlInterceptorBeanNameMap = new HashMap<>();
         // 注册mybatis相关配置
         for (AnnotationAttributes attributes : annotationAttributes) {
@@ -80,6 +85,35 @@ public class EnableMybatisAutoConfigHandler implements ConfigurationRegisterHand
                     BeanDefinitionBuilder.genericBeanDefinition(DynamicDataSource.class);
             dataSourceBeanDefinitionBuilder.addPropertyReference("readDataSource", prefix + "ReadDataSource");
             dataSourceBeanDefinitionBuilder.addPropertyReference("writeDataSource", prefix + "WriteDataSource");
+            final String[] readReplicas = attributes.getStringArray("readReplicas");
+            if (readReplicas != null && readReplicas.length > 0) {
+                final ManagedMap<String, Object> readDataSources = new ManagedMap<>();
+                final Map<String, Integer> readWeights = new HashMap<>();
+                readDataSources.put("default", new RuntimeBeanReference(prefix + "ReadDataSource"));
+                for (String replica : readReplicas) {
+                    final String resolved = BeanDefineUtils.resolveValue(context, replica, String.class);
+                    final int index = resolved.indexOf(':');
+                    final String beanName = (index > 0 ? resolved.substring(0, index) : resolved).trim();
+                    readDataSources.put(beanName, new RuntimeBeanReference(beanName));
+                    if (index > 0) {
+                        readWeights.put(beanName, Integer.valueOf(resolved.substring(index + 1).trim()));
+                    }
+                }
+                dataSourceBeanDefinitionBuilder.addPropertyValue("readDataSources", readDataSources);
+                dataSourceBeanDefinitionBuilder.addPropertyValue("readWeights", readWeights);
+                dataSourceBeanDefinitionBuilder.addPropertyValue("replicaSelectStrategy",
+                        BeanDefineUtils.resolveValue(context, attributes.getString("replicaSelectStrategy"),
+                                String.class));
+                dataSourceBeanDefinitionBuilder.addPropertyValue("maxReplicationLagMillis",
+                        BeanDefineUtils.resolveValue(context, attributes.getString("maxReplicationLagMillis"),
+                                Long.class));
+                if (StringUtils.isNotBlank(attributes.getString("replicaLagProbe"))) {
+                    dataSourceBeanDefinitionBuilder.addPropertyReference("replicaLagProbe",
+                            attributes.getString("replicaLagProbe"));
+                }
+            }
+            dataSourceBeanDefinitionBuilder.addPropertyValue("readYourWritesMillis",
+                    BeanDefineUtils.resolveValue(context, attributes.getString("readYourWritesMillis"), Long.class));
             if (BeanDefinitionRegistryUtils.overideBeanDefinition(registry, prefix + "DataSource",
                     dataSourceBeanDefinitionBuilder.getBeanDefinition(), true)) {
                 log.info("register DynamicDataSource: {}", prefix + "DataSource");
@@ -126,6 +160,7 @@ public class EnableMybatisAutoConfigHandler implements ConfigurationRegisterHand
             BeanDefinitionRegistryUtils.overideBeanDefinition(registry, prefix + "DynamicPlugin" + tag,
                     dynamicPluginDefinitionBuilder.getBeanDefinition(), true);
             plugins.add(prefix + "DynamicPlugin" + tag);
+            plugins.add("auto_FetchSizeInterceptor");
             if (attributes.getBoolean("enablePageHandlerInterceptor")) {
                 plugins.add("auto_PageHandlerInterceptor");
             }
@@ -0,0 +1,69 @@
+package com.alpha.coding.common.mybatis;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+
+/**
+ * FetchSizeInterceptor 按调用参数设置JDBC fetchSize
+ * <p>
+ * 参数中包含名为{@link #FETCH_SIZE_PARAM}的Integer参数时，以其覆盖Statement的fetchSize，为null时使用驱动默认值；
+ * MySQL逐行流式读取时传入{@link #MYSQL_STREAMING_FETCH_SIZE}(需同时使用ResultSetType.FORWARD_ONLY)，
+ * 其它数据库的驱动不接受负数fetchSize
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class})})
+public class FetchSizeInterceptor implements Interceptor {
+
+    public static final String FETCH_SIZE_PARAM = "streamFetchSize";
+
+    /**
+     * 默认fetchSize，PostgreSQL、Oracle等驱动按批读取；MySQL驱动未开启useCursorFetch时忽略该值
+     */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
+    /**
+     * MySQL驱动逐行流式读取的fetchSize，仅适用于MySQL，需显式传入。
+     * 流式读取时连接被结果集独占，提前关闭cursor或停止消费时驱动仍会读完剩余的全部行
+     */
+    public static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        final Statement statement = (Statement) invocation.proceed();
+        final Object parameterObject = ((StatementHandler) invocation.getTarget())
+                .getParameterHandler().getParameterObject();
+        if (parameterObject instanceof Map && ((Map) parameterObject).containsKey(FETCH_SIZE_PARAM)) {
+            final Object fetchSize = ((Map) parameterObject).get(FETCH_SIZE_PARAM);
+            if (fetchSize instanceof Integer) {
+                statement.setFetchSize((Integer) fetchSize);
+            }
+        }
+        return statement;
+    }
+
+    @Override
+    public Object plugin(Object target) {
+        if (target instanceof StatementHandler) {
+            return Plugin.wrap(target, this);
+        } else {
+            return target;
+        }
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+    }
+
+}
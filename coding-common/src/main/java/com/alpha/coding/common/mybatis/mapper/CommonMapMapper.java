@@ -3,13 +3,21 @@ package com.alpha.coding.common.mybatis.mapper;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
+
+import com.alpha.coding.common.mybatis.FetchSizeInterceptor;
 
 /**
  * CommonMapMapper
@@ -96,6 +104,90 @@ public interface CommonMapMapper {
     @Select({"${selectStatement}"})
     List<Map> selectByStatement(@Param("selectStatement") String selectStatement, @Param("params") Map params);
 
+    /**
+     * execute select by custom statement, return a cursor that fetches rows lazily.
+     * <p>
+     * the cursor holds the connection until closed, so it must be consumed inside a transaction (otherwise the
+     * SqlSession is closed once this method returns) and closed after use, e.g. with try-with-resources.
+     * fetchSize is applied by {@link FetchSizeInterceptor}. with MySQL streaming, closing the cursor before the end
+     * still reads and discards all remaining rows, so narrow the query (e.g. with limit) when stopping early
+     *
+     * @param selectStatement select sql statement, like: select * from table_a where column_a = #{params.a}
+     * @param params          params for sql, like: (a=xxx)
+     * @param fetchSize       jdbc fetch size, null for driver default. pass
+     *                        {@link FetchSizeInterceptor#MYSQL_STREAMING_FETCH_SIZE} (Integer.MIN_VALUE) to opt in to
+     *                        MySQL row-by-row streaming, other drivers reject a negative fetch size
+     * @return cursor of select results
+     */
+    @Select({"${selectStatement}"})
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY)
+    Cursor<Map> selectCursorByStatement(@Param("selectStatement") String selectStatement, @Param("params") Map params,
+                                        @Param(FetchSizeInterceptor.FETCH_SIZE_PARAM) Integer fetchSize);
+
+    /**
+     * execute select by custom statement with fetch size {@link FetchSizeInterceptor#DEFAULT_FETCH_SIZE}
+     *
+     * @see CommonMapMapper#selectCursorByStatement(String, Map, Integer)
+     */
+    default Cursor<Map> selectCursorByStatement(String selectStatement, Map params) {
+        return selectCursorByStatement(selectStatement, params, FetchSizeInterceptor.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * execute select by custom statement, pass each row to the handler as it is read.
+     * <p>
+     * rows are not collected, call {@link org.apache.ibatis.session.ResultContext#stop()} in the handler to stop
+     * early. fetchSize is applied by {@link FetchSizeInterceptor}. with MySQL streaming, stopping early still reads
+     * and discards all remaining rows when the result set is closed, so narrow the query (e.g. with limit) instead
+     *
+     * @param selectStatement select sql statement, like: select * from table_a where column_a = #{params.a}
+     * @param params          params for sql, like: (a=xxx)
+     * @param fetchSize       jdbc fetch size, null for driver default. pass
+     *                        {@link FetchSizeInterceptor#MYSQL_STREAMING_FETCH_SIZE} (Integer.MIN_VALUE) to opt in to
+     *                        MySQL row-by-row streaming, other drivers reject a negative fetch size
+     * @param handler         row handler
+     */
+    @Select({"${selectStatement}"})
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY)
+    @ResultType(Map.class)
+    void scanByStatement(@Param("selectStatement") String selectStatement, @Param("params") Map params,
+                         @Param(FetchSizeInterceptor.FETCH_SIZE_PARAM) Integer fetchSize,
+                         ResultHandler<Map> handler);
+
+    /**
+     * execute select by custom statement, pass each row to the consumer until it returns false
+     *
+     * @param selectStatement select sql statement, like: select * from table_a where column_a = #{params.a}
+     * @param params          params for sql, like: (a=xxx)
+     * @param fetchSize       jdbc fetch size, null for driver default. pass
+     *                        {@link FetchSizeInterceptor#MYSQL_STREAMING_FETCH_SIZE} (Integer.MIN_VALUE) to opt in to
+     *                        MySQL row-by-row streaming, other drivers reject a negative fetch size
+     * @param consumer        row consumer, return false to stop
+     * @return count of consumed rows
+     * @see CommonMapMapper#scanByStatement(String, Map, Integer, ResultHandler)
+     */
+    default long streamByStatement(String selectStatement, Map params, Integer fetchSize,
+                                   Predicate<Map> consumer) {
+        final long[] count = new long[1];
+        scanByStatement(selectStatement, params, fetchSize, context -> {
+            count[0]++;
+            if (!consumer.test(context.getResultObject())) {
+                context.stop();
+            }
+        });
+        return count[0];
+    }
+
+    /**
+     * execute select by custom statement with fetch size {@link FetchSizeInterceptor#DEFAULT_FETCH_SIZE}, pass each
+     * row to the consumer until it returns false
+     *
+     * @see CommonMapMapper#streamByStatement(String, Map, Integer, Predicate)
+     */
+    default long streamByStatement(String selectStatement, Map params, Predicate<Map> consumer) {
+        return streamByStatement(selectStatement, params, FetchSizeInterceptor.DEFAULT_FETCH_SIZE, consumer);
+    }
+
     /**
      * execute insert selective
      *
@@ -0,0 +1,108 @@
+package com.alpha.coding.common.mybatis.replica;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import lombok.Getter;
+
+/**
+ * ReadReplica 读库及其运行状态
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+public class ReadReplica {
+
+    @Getter
+    private final String name;
+    @Getter
+    private final DataSource dataSource;
+    @Getter
+    private final int weight;
+    /**
+     * 当前借出的连接数
+     */
+    private final AtomicInteger active = new AtomicInteger();
+    @Getter
+    private volatile boolean healthy = true;
+    /**
+     * 最近一次探测的复制延迟(ms)
+     */
+    @Getter
+    private volatile long lagMillis;
+    /**
+     * 健康检查响应时间的指数加权平均(ns)
+     */
+    @Getter
+    private volatile long latencyNanos;
+
+    public ReadReplica(String name, DataSource dataSource, int weight) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.weight = Math.max(weight, 0);
+    }
+
+    public int getActive() {
+        return active.get();
+    }
+
+    /**
+     * 获取连接，连接关闭时归还计数
+     */
+    public Connection getConnection() throws SQLException {
+        return track(() -> dataSource.getConnection());
+    }
+
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(() -> dataSource.getConnection(username, password));
+    }
+
+    void updateState(boolean healthy, long lagMillis, long latencyNanos) {
+        this.healthy = healthy;
+        this.lagMillis = lagMillis;
+        if (latencyNanos > 0) {
+            final long old = this.latencyNanos;
+            this.latencyNanos = old == 0 ? latencyNanos : (old * 7 + latencyNanos) / 8;
+        }
+    }
+
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    private Connection track(ConnectionSupplier supplier) throws SQLException {
+        active.incrementAndGet();
+        final Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            active.decrementAndGet();
+            throw e;
+        }
+        final AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ReadReplica.class.getClassLoader(),
+                new Class[] {Connection.class}, (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && closed.compareAndSet(false, true)) {
+                        active.decrementAndGet();
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    @Override
+    public String toString() {
+        return name + "(weight=" + weight + ",healthy=" + healthy + ",lag=" + lagMillis + "ms,active="
+                + active.get() + ")";
+    }
+
+}
@@ -0,0 +1,179 @@
+package com.alpha.coding.common.mybatis.replica;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.alpha.coding.bo.executor.NamedExecutorPool;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ReadReplicaRouter 读库池路由
+ * <p>
+ * <li>定时对每个读库做健康检查(Connection.isValid)与复制延迟探测，失败或延迟超过阈值的读库移出可用列表，恢复后自动加入</li>
+ * <li>从可用列表中按{@link ReplicaSelectStrategy}选择读库，无可用读库时返回null，由调用方回退到写库</li>
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@Slf4j
+@Accessors(chain = true)
+public class ReadReplicaRouter {
+
+    @Getter
+    private final String name;
+    @Getter
+    private final List<ReadReplica> replicas;
+
+    @Setter
+    private ReplicaSelectStrategy strategy = ReplicaSelectStrategy.WEIGHTED;
+    /**
+     * 最大复制延迟(ms)，不大于0时不检测延迟
+     */
+    @Setter
+    private long maxLagMillis = 0;
+    /**
+     * 健康检查间隔(ms)
+     */
+    @Setter
+    private long healthCheckIntervalMillis = 5000;
+    /**
+     * 健康检查超时(s)
+     */
+    @Setter
+    private int healthCheckTimeoutSeconds = 2;
+    @Setter
+    private ReplicaLagProbe lagProbe;
+
+    private volatile ReadReplica[] available;
+    private ScheduledExecutorService scheduler;
+
+    public ReadReplicaRouter(String name, List<ReadReplica> replicas) {
+        this.name = name;
+        this.replicas = Collections.unmodifiableList(new ArrayList<>(replicas));
+        this.available = replicas.toArray(new ReadReplica[0]);
+    }
+
+    /**
+     * 执行首次检查并启动定时检查
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        checkAll();
+        scheduler = NamedExecutorPool.newScheduledThreadPool("ReadReplicaCheck-" + name, 1);
+        scheduler.scheduleWithFixedDelay(this::checkAll, healthCheckIntervalMillis,
+                healthCheckIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("start ReadReplicaRouter {}: strategy={},maxLagMillis={},replicas={}",
+                name, strategy, maxLagMillis, replicas);
+    }
+
+    public synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * 选择读库
+     *
+     * @return 无可用读库时返回null
+     */
+    public ReadReplica select() {
+        final ReadReplica[] candidates = available;
+        if (candidates.length == 0) {
+            return null;
+        }
+        if (candidates.length == 1) {
+            return candidates[0];
+        }
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (strategy) {
+            case LEAST_ACTIVE: {
+                // 从随机位置开始扫描，活跃数相同时分散到不同读库
+                final int offset = random.nextInt(candidates.length);
+                ReadReplica selected = null;
+                for (int i = 0; i < candidates.length; i++) {
+                    final ReadReplica replica = candidates[(offset + i) % candidates.length];
+                    if (selected == null || replica.getActive() < selected.getActive()) {
+                        selected = replica;
+                    }
+                }
+                return selected;
+            }
+            case LATENCY: {
+                final ReadReplica a = candidates[random.nextInt(candidates.length)];
+                ReadReplica b = candidates[random.nextInt(candidates.length - 1)];
+                if (b == a) {
+                    b = candidates[candidates.length - 1];
+                }
+                return a.getLatencyNanos() <= b.getLatencyNanos() ? a : b;
+            }
+            default: {
+                int total = 0;
+                for (ReadReplica replica : candidates) {
+                    total += replica.getWeight();
+                }
+                if (total <= 0) {
+                    return candidates[random.nextInt(candidates.length)];
+                }
+                int r = random.nextInt(total);
+                for (ReadReplica replica : candidates) {
+                    r -= replica.getWeight();
+                    if (r < 0) {
+                        return replica;
+                    }
+                }
+                return candidates[candidates.length - 1];
+            }
+        }
+    }
+
+    /**
+     * 检查全部读库并刷新可用列表
+     */
+    public void checkAll() {
+        final List<ReadReplica> list = new ArrayList<>(replicas.size());
+        for (ReadReplica replica : replicas) {
+            final boolean before = replica.isHealthy();
+            check(replica);
+            if (replica.isHealthy()) {
+                list.add(replica);
+            }
+            if (before != replica.isHealthy()) {
+                log.warn("ReadReplicaRouter {}: replica {} is {}", name, replica,
+                        replica.isHealthy() ? "back in rotation" : "out of rotation");
+            }
+        }
+        available = list.toArray(new ReadReplica[0]);
+    }
+
+    private void check(ReadReplica replica) {
+        final long start = System.nanoTime();
+        try (Connection connection = replica.getDataSource().getConnection()) {
+            if (!connection.isValid(healthCheckTimeoutSeconds)) {
+                replica.updateState(false, replica.getLagMillis(), 0);
+                return;
+            }
+            final long latency = System.nanoTime() - start;
+            final long lag = lagProbe == null ? 0 : lagProbe.lagMillis(connection);
+            replica.updateState(maxLagMillis <= 0 || lag <= maxLagMillis, lag, latency);
+        } catch (Exception e) {
+            replica.updateState(false, replica.getLagMillis(), 0);
+            if (log.isDebugEnabled()) {
+                log.debug("ReadReplicaRouter {}: check replica {} fail", name, replica.getName(), e);
+            }
+        }
+    }
+
+}
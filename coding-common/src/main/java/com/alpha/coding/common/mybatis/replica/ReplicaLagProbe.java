@@ -0,0 +1,22 @@
+package com.alpha.coding.common.mybatis.replica;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * ReplicaLagProbe 读库复制延迟探测
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+public interface ReplicaLagProbe {
+
+    /**
+     * 探测复制延迟
+     *
+     * @param connection 读库连接，由调用方关闭
+     * @return 延迟毫秒数，无法确定时返回{@link Long#MAX_VALUE}
+     */
+    long lagMillis(Connection connection) throws SQLException;
+
+}
@@ -0,0 +1,24 @@
+package com.alpha.coding.common.mybatis.replica;
+
+/**
+ * ReplicaSelectStrategy 读库选择策略
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+public enum ReplicaSelectStrategy {
+
+    /**
+     * 按权重随机
+     */
+    WEIGHTED,
+    /**
+     * 当前借出连接数最少
+     */
+    LEAST_ACTIVE,
+    /**
+     * 健康检查响应时间(EWMA)较低，随机取两个比较，避免全部流量集中到同一读库
+     */
+    LATENCY;
+
+}
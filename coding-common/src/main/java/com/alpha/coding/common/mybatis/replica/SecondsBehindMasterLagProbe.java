@@ -0,0 +1,50 @@
+package com.alpha.coding.common.mybatis.replica;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+/**
+ * SecondsBehindMasterLagProbe 基于MySQL复制状态的延迟探测，读取Seconds_Behind_Master(Seconds_Behind_Source)，
+ * 非从库返回0，复制中断(值为NULL)返回{@link Long#MAX_VALUE}
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@Accessors(chain = true)
+public class SecondsBehindMasterLagProbe implements ReplicaLagProbe {
+
+    private static final String[] LAG_COLUMNS = new String[] {"Seconds_Behind_Master", "Seconds_Behind_Source"};
+
+    /**
+     * MySQL 8.0.22及以上可使用SHOW REPLICA STATUS
+     */
+    @Setter
+    private String statusSql = "SHOW SLAVE STATUS";
+
+    @Override
+    public long lagMillis(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(statusSql)) {
+            if (!rs.next()) {
+                return 0;
+            }
+            for (String column : LAG_COLUMNS) {
+                final long seconds;
+                try {
+                    seconds = rs.getLong(column);
+                } catch (SQLException e) {
+                    continue;
+                }
+                return rs.wasNull() ? Long.MAX_VALUE : TimeUnit.SECONDS.toMillis(seconds);
+            }
+            return Long.MAX_VALUE;
+        }
+    }
+
+}
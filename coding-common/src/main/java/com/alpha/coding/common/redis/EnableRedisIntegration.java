@@ -50,4 +50,9 @@ public @interface EnableRedisIntegration {
      */
     boolean enableRedisMessageListener() default false;
 
+    /**
+     * 是否启用本地缓存跨实例失效广播，仅在启用RedisCache时生效，启用时自动注册RedisMessageListenerContainer
+     */
+    boolean enableLocalCacheInvalidation() default false;
+
 }
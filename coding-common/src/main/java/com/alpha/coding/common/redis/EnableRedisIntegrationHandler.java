@@ -15,6 +15,7 @@ import com.alpha.coding.common.bean.spi.ConfigurationRegisterHandler;
 import com.alpha.coding.common.bean.spi.RegisterBeanDefinitionContext;
 import com.alpha.coding.common.executor.MDCThreadPoolTaskExecutor;
 import com.alpha.coding.common.redis.cache.CacheConfig;
+import com.alpha.coding.common.redis.cache.LocalCacheInvalidationBus;
 import com.alpha.coding.common.redis.cache.RedisCacheAspect;
 import com.alpha.coding.common.redis.cache.annotation.RedisCacheEvict;
 import com.alpha.coding.common.redis.cache.annotation.RedisCachePut;
@@ -68,16 +69,15 @@ public class EnableRedisIntegrationHandler implements ConfigurationRegisterHandl
         BeanDefinitionBuilder annotationRedisCacheAspectBuilder =
                 BeanDefinitionBuilder.genericBeanDefinition(RedisCacheAspect.class);
         annotationRedisCacheAspectBuilder.addPropertyReference("cacheConfig", "defaultRedisCacheConfig");
-        if (StringUtils.isNotBlank(attributes.getString("localCacheManager"))) {
-            annotationRedisCacheAspectBuilder.addPropertyReference("localCacheManager",
-                    attributes.getString("localCacheManager"));
-        } else {
-            try {
-                final CacheManager cacheManager = context.getBeanFactory().getBean(CacheManager.class);
-                annotationRedisCacheAspectBuilder.addPropertyValue("localCacheManager", cacheManager);
-            } catch (BeansException e) {
-                log.warn("can not wire CacheManager for localCache");
-            }
+        wireLocalCacheManager(attributes, context, annotationRedisCacheAspectBuilder);
+        if (attributes.getBoolean("enableLocalCacheInvalidation")) {
+            // 注册LocalCacheInvalidationBus
+            BeanDefinitionBuilder invalidationBusBuilder =
+                    BeanDefinitionBuilder.genericBeanDefinition(LocalCacheInvalidationBus.class);
+            wireLocalCacheManager(attributes, context, invalidationBusBuilder);
+            context.getRegistry().registerBeanDefinition("localCacheInvalidationBus",
+                    invalidationBusBuilder.getBeanDefinition());
+            annotationRedisCacheAspectBuilder.addPropertyReference("invalidationBus", "localCacheInvalidationBus");
         }
         context.getRegistry().registerBeanDefinition("annotationRedisCacheAspect",
                 annotationRedisCacheAspectBuilder.getBeanDefinition());
@@ -105,8 +105,24 @@ public class EnableRedisIntegrationHandler implements ConfigurationRegisterHandl
         }
     }
 
+    private void wireLocalCacheManager(AnnotationAttributes attributes, RegisterBeanDefinitionContext context,
+                                       BeanDefinitionBuilder builder) {
+        if (StringUtils.isNotBlank(attributes.getString("localCacheManager"))) {
+            builder.addPropertyReference("localCacheManager", attributes.getString("localCacheManager"));
+        } else {
+            try {
+                final CacheManager cacheManager = context.getBeanFactory().getBean(CacheManager.class);
+                builder.addPropertyValue("localCacheManager", cacheManager);
+            } catch (BeansException e) {
+                log.warn("can not wire CacheManager for localCache");
+            }
+        }
+    }
+
     private void handleRedisMessageListener(AnnotationAttributes attributes, RegisterBeanDefinitionContext context) {
-        if (!attributes.getBoolean("enableRedisMessageListener")) {
+        // 本地缓存失效广播依赖RedisMessageListenerContainer
+        if (!attributes.getBoolean("enableRedisMessageListener") && !(attributes.getBoolean("enableRedisCache")
+                && attributes.getBoolean("enableLocalCacheInvalidation"))) {
             return;
         }
         // 注册RedisMessageListenerContainer
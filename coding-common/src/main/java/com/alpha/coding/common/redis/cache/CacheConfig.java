@@ -2,6 +2,9 @@ package com.alpha.coding.common.redis.cache;
 
 import org.springframework.data.redis.core.RedisTemplate;
 
+import com.alpha.coding.common.redis.cache.serializer.SerializerType;
+import com.alpha.coding.common.utils.compress.CompressCodec;
+
 import lombok.Data;
 import lombok.experimental.Accessors;
 
@@ -26,4 +29,11 @@ public class CacheConfig {
     private transient ExpireStrategy expireStrategy;
     private String localName; // 本地缓存名
     private String localCacheManager; // 本地缓存CacheManager
+    private int batchArgIndex = -1; // 批量缓存的参数位置
+    private long staleExpire; // 过期后仍可返回旧值的时长(秒)
+    private long refreshAhead; // 过期前提前刷新的时长(秒)
+    private SerializerType serializer = SerializerType.JSON; // value序列化方式
+    private String compress; // 压缩编解码名称，非空时优先于gzip
+    private int compressThreshold = 256; // 压缩阈值(字节)，小于该长度的value不压缩
+    private transient CompressCodec compressCodec;
 }
@@ -0,0 +1,71 @@
+package com.alpha.coding.common.redis.cache;
+
+import java.lang.reflect.Method;
+
+import org.springframework.cache.Cache;
+import org.springframework.context.expression.AnnotatedElementKey;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.expression.Expression;
+import org.springframework.util.ObjectUtils;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+/**
+ * CacheOperationMetadata 缓存注解方法的预解析元数据
+ * <p>
+ * 每个(方法, 目标类)首次调用时解析一次并缓存：合并后的缓存配置、已解析的key表达式、key前缀、
+ * redisTemplate、本地缓存、value序列化工具及序列化后的null转义值，调用时不再重复解析
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@Getter
+@Setter(AccessLevel.PACKAGE)
+@Accessors(chain = true)
+public class CacheOperationMetadata {
+
+    /**
+     * 缓存操作，为null时不处理缓存(CacheIgnore)
+     */
+    private CacheOperation operation;
+    private CacheConfig cacheConfig;
+    private Method method;
+    private Method targetMethod;
+    private Class<?> targetClass;
+    private AnnotatedElementKey methodKey;
+    private String methodSignature;
+    /**
+     * 已解析的key表达式，未配置key时为null
+     */
+    private Expression keyExpression;
+    private String keyPrefix;
+    private RedisTemplate redisTemplate;
+    private Cache localCache;
+    private RedisSerializer valueSerializer;
+    private byte[] rawNullValue;
+    private RedisSerializer batchValueSerializer;
+    private byte[] batchRawNullValue;
+    /**
+     * 批量模式下key(表达式或KeyGenerator)不含批量参数时，以元素值作为key后缀
+     */
+    private boolean batchKeyAppendElement;
+
+    /**
+     * 展开可变参数
+     */
+    public Object[] resolveArgs(Object[] args) {
+        if (!method.isVarArgs()) {
+            return args;
+        }
+        Object[] varArgs = ObjectUtils.toObjectArray(args[args.length - 1]);
+        Object[] combinedArgs = new Object[args.length - 1 + varArgs.length];
+        System.arraycopy(args, 0, combinedArgs, 0, args.length - 1);
+        System.arraycopy(varArgs, 0, combinedArgs, args.length - 1, varArgs.length);
+        return combinedArgs;
+    }
+
+}
@@ -12,4 +12,11 @@ public interface KeyGenerator {
 
     Object generate(Object target, Method method, String methodSignature, Object... params);
 
+    /**
+     * 生成的key是否包含参数值，不包含时批量模式下以元素值作为key后缀
+     */
+    default boolean includeParams() {
+        return true;
+    }
+
 }
@@ -0,0 +1,367 @@
+package com.alpha.coding.common.redis.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import com.alibaba.fastjson.JSON;
+import com.alpha.coding.bo.executor.NamedExecutorPool;
+import com.alpha.coding.common.redis.message.RedisMessage;
+import com.alpha.coding.common.redis.message.RedisMessagePublisherTemplate;
+import com.alpha.coding.common.redis.message.StringRedisSerializerProvider;
+import com.alpha.coding.common.utils.StringUtils;
+
+import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * LocalCacheInvalidationBus 本地缓存跨实例失效广播
+ * <p>
+ * <li>RedisCacheEvict/RedisCachePut及后台刷新后，将本地缓存key通过redis pub/sub广播，其它实例收到后失效本地缓存</li>
+ * <li>待发送的key按批次间隔合并去重，单条消息最多携带maxBatchSize个key</li>
+ * <li>每个实例的消息带递增序号并定时发送心跳：超过失联阈值未收到任何消息(包括自身心跳)、发送失败，
+ * 或其它实例的消息序号在一个心跳周期后仍不连续时，视为可能丢失了失效消息，清空本实例使用过的本地缓存</li>
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@Slf4j
+@Accessors(chain = true)
+@RedisMessage(topic = LocalCacheInvalidationBus.TOPIC,
+        redisValueSerializerSupplier = StringRedisSerializerProvider.class)
+public class LocalCacheInvalidationBus extends RedisMessagePublisherTemplate
+        implements MessageListener, ApplicationContextAware, InitializingBean, DisposableBean {
+
+    public static final String TOPIC = "RE:CH:INVALIDATION";
+
+    @Getter
+    private final String source = UUID.randomUUID().toString().replace("-", "");
+
+    private ApplicationContext applicationContext;
+    /**
+     * 发送消息使用的redisTemplate的bean名称
+     */
+    @Setter
+    private String redisTemplateName = "stringRedisTemplate";
+    @Setter
+    private RedisTemplate redisTemplate;
+    /**
+     * 默认本地缓存管理器
+     */
+    @Setter
+    private CacheManager localCacheManager;
+    /**
+     * 批次间隔(ms)
+     */
+    @Setter
+    private long batchIntervalMillis = 20;
+    /**
+     * 单条消息最多携带的key数
+     */
+    @Setter
+    private int maxBatchSize = 500;
+    /**
+     * 心跳间隔(ms)
+     */
+    @Setter
+    private long heartbeatIntervalMillis = 5000;
+    /**
+     * 失联阈值(ms)，超过该时长未收到任何消息视为订阅中断，应大于心跳间隔
+     */
+    @Setter
+    private long disconnectThresholdMillis = 15000;
+
+    private final Map<Target, Set<String>> pending = new LinkedHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, SourceState> sourceStates = new ConcurrentHashMap<>();
+    private final Set<Cache> trackedCaches = ConcurrentHashMap.newKeySet();
+    private volatile long lastReceivedNanos = System.nanoTime();
+    private volatile boolean disconnected;
+    private ScheduledExecutorService scheduler;
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler = NamedExecutorPool.newScheduledThreadPool("CacheInvalidation", 1);
+        scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatIntervalMillis,
+                heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        flush();
+    }
+
+    @Override
+    protected RedisTemplate getRedisTemplate() {
+        if (redisTemplate == null) {
+            redisTemplate = applicationContext.getBean(redisTemplateName, RedisTemplate.class);
+        }
+        return redisTemplate;
+    }
+
+    /**
+     * 记录本实例使用的本地缓存，失联恢复或发现消息丢失时清空
+     */
+    public void track(Cache cache) {
+        if (cache != null && !trackedCaches.contains(cache)) {
+            trackedCaches.add(cache);
+        }
+    }
+
+    /**
+     * 广播本地缓存key失效
+     *
+     * @param cacheManager 本地缓存管理器bean名称，为空时使用默认本地缓存管理器
+     * @param cacheName    本地缓存名
+     * @param key          缓存key
+     */
+    public void publish(String cacheManager, String cacheName, String key) {
+        final Target target = new Target(StringUtils.isBlank(cacheManager) ? "" : cacheManager, cacheName);
+        synchronized(pending) {
+            pending.computeIfAbsent(target, k -> new LinkedHashSet<>()).add(key);
+        }
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                scheduler.schedule(this::flush, batchIntervalMillis, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                flushScheduled.set(false);
+                flush();
+            }
+        }
+    }
+
+    /**
+     * 立即发送待发送的失效key
+     */
+    public void flush() {
+        flushScheduled.set(false);
+        final Map<Target, Set<String>> batch;
+        synchronized(pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new LinkedHashMap<>(pending);
+            pending.clear();
+        }
+        InvalidationMessage message = newMessage();
+        int size = 0;
+        for (Map.Entry<Target, Set<String>> entry : batch.entrySet()) {
+            List<String> keys = new ArrayList<>();
+            for (String key : entry.getValue()) {
+                keys.add(key);
+                if (++size >= maxBatchSize) {
+                    message.getEntries().add(new Entry(entry.getKey().manager, entry.getKey().name, keys));
+                    send(message);
+                    message = newMessage();
+                    keys = new ArrayList<>();
+                    size = 0;
+                }
+            }
+            if (!keys.isEmpty()) {
+                message.getEntries().add(new Entry(entry.getKey().manager, entry.getKey().name, keys));
+            }
+        }
+        if (!message.getEntries().isEmpty()) {
+            send(message);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        final InvalidationMessage msg;
+        try {
+            msg = JSON.parseObject(new String(message.getBody(), StandardCharsets.UTF_8), InvalidationMessage.class);
+        } catch (Exception e) {
+            log.warn("parse cache invalidation message fail, msg={}", e.getMessage());
+            return;
+        }
+        lastReceivedNanos = System.nanoTime();
+        if (disconnected) {
+            disconnected = false;
+            clearTrackedCaches("subscription recovered");
+        }
+        if (msg == null || source.equals(msg.getSource())) {
+            return;
+        }
+        sourceStates.computeIfAbsent(msg.getSource(), k -> new SourceState(msg.getSeq() - 1)).received(msg.getSeq());
+        if (msg.getEntries() == null) {
+            return;
+        }
+        for (Entry entry : msg.getEntries()) {
+            final Cache cache = resolveCache(entry.getManager(), entry.getName());
+            if (cache == null || entry.getKeys() == null) {
+                continue;
+            }
+            entry.getKeys().forEach(cache::evict);
+        }
+    }
+
+    private void heartbeat() {
+        flush();
+        send(newMessage().setHeartbeat(true));
+        final long now = System.nanoTime();
+        if (!disconnected && now - lastReceivedNanos > TimeUnit.MILLISECONDS.toNanos(disconnectThresholdMillis)) {
+            disconnected = true;
+            log.warn("no cache invalidation message received in {}ms, local caches will be cleared on recovery",
+                    disconnectThresholdMillis);
+        }
+        // 消息由监听线程池并发处理，序号乱序时等待一个心跳周期再判断是否丢失
+        boolean gap = false;
+        for (Map.Entry<String, SourceState> entry : sourceStates.entrySet()) {
+            final SourceState state = entry.getValue();
+            if (now - state.lastSeenNanos > TimeUnit.MILLISECONDS.toNanos(disconnectThresholdMillis) * 10) {
+                sourceStates.remove(entry.getKey());
+            } else if (state.checkGap()) {
+                log.warn("cache invalidation message gap from {}", entry.getKey());
+                gap = true;
+            }
+        }
+        if (gap) {
+            clearTrackedCaches("message gap");
+        }
+    }
+
+    private InvalidationMessage newMessage() {
+        return new InvalidationMessage().setSource(source).setEntries(new ArrayList<>());
+    }
+
+    /**
+     * 发送时分配序号，保证序号与发送顺序一致
+     */
+    private synchronized void send(InvalidationMessage message) {
+        message.setSeq(sequence.incrementAndGet());
+        try {
+            sendMsg(JSON.toJSONString(message));
+        } catch (Exception e) {
+            // 序号已占用，其它实例会按序号不连续处理；本实例同样可能收不到消息
+            disconnected = true;
+            log.warn("publish cache invalidation fail, seq={}, msg={}", message.getSeq(), e.getMessage());
+        }
+    }
+
+    private Cache resolveCache(String manager, String name) {
+        CacheManager cacheManager = localCacheManager;
+        if (StringUtils.isNotBlank(manager)) {
+            try {
+                cacheManager = applicationContext.getBean(manager, CacheManager.class);
+            } catch (BeansException e) {
+                return null;
+            }
+        }
+        return cacheManager == null ? null : cacheManager.getCache(name);
+    }
+
+    private void clearTrackedCaches(String reason) {
+        log.warn("clear {} local caches, reason: {}", trackedCaches.size(), reason);
+        for (Cache cache : trackedCaches) {
+            try {
+                cache.clear();
+            } catch (Exception e) {
+                log.warn("clear local cache {} fail, msg={}", cache.getName(), e.getMessage());
+            }
+        }
+    }
+
+    @Data
+    @Accessors(chain = true)
+    public static class InvalidationMessage {
+        private String source;
+        private long seq;
+        private boolean heartbeat;
+        private List<Entry> entries;
+    }
+
+    @Data
+    public static class Entry {
+        private String manager;
+        private String name;
+        private List<String> keys;
+
+        public Entry() {
+        }
+
+        public Entry(String manager, String name, List<String> keys) {
+            this.manager = manager;
+            this.name = name;
+            this.keys = keys;
+        }
+    }
+
+    private static class SourceState {
+        private long contiguous; // 该序号及之前的消息均已收到
+        private long lastCheckContiguous;
+        private final Set<Long> ahead = new HashSet<>();
+        private volatile long lastSeenNanos = System.nanoTime();
+
+        SourceState(long contiguous) {
+            this.contiguous = contiguous;
+            this.lastCheckContiguous = contiguous;
+        }
+
+        synchronized void received(long seq) {
+            lastSeenNanos = System.nanoTime();
+            if (seq == contiguous + 1) {
+                contiguous = seq;
+                while (ahead.remove(contiguous + 1)) {
+                    contiguous++;
+                }
+            } else if (seq > contiguous + 1) {
+                ahead.add(seq);
+            }
+        }
+
+        /**
+         * 上次检查以来仍有未补齐的序号时视为丢失，并跳过缺失的序号
+         */
+        synchronized boolean checkGap() {
+            final boolean gap = !ahead.isEmpty() && contiguous == lastCheckContiguous;
+            if (gap) {
+                contiguous = ahead.stream().mapToLong(Long::longValue).max().orElse(contiguous);
+                ahead.clear();
+            }
+            lastCheckContiguous = contiguous;
+            return gap;
+        }
+    }
+
+    @Data
+    private static class Target {
+        private final String manager;
+        private final String name;
+    }
+
+}
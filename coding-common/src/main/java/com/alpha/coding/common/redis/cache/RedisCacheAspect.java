@@ -4,42 +4,65 @@ import java.io.IOException;
 import java.lang.reflect.Method;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 import javax.validation.constraints.NotNull;
 
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.MDC;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.expression.AnnotatedElementKey;
+import org.springframework.context.expression.BeanFactoryResolver;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.ResolvableType;
 import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.RedisSerializer;
-import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.BeanResolver;
 import org.springframework.expression.ExpressionParser;
 
 import com.alpha.coding.bo.base.Tuple;
+import com.alpha.coding.bo.executor.NamedExecutorPool;
 import com.alpha.coding.bo.function.ThrowableSupplier;
 import com.alpha.coding.common.aop.assist.AopHelper;
-import com.alpha.coding.common.aop.assist.JoinOperationContext;
-import com.alpha.coding.common.aop.assist.JoinOperationMetadata;
-import com.alpha.coding.common.aop.assist.JoinPointContext;
+import com.alpha.coding.common.aop.assist.ExpressionRootObject;
 import com.alpha.coding.common.aop.assist.SpelExpressionParserFactory;
+import com.alpha.coding.common.executor.MDCRunnableWrapper;
+import com.alpha.coding.common.redis.RedisTemplateUtils;
 import com.alpha.coding.common.redis.cache.annotation.CacheIgnore;
 import com.alpha.coding.common.redis.cache.annotation.RedisCacheEvict;
 import com.alpha.coding.common.redis.cache.annotation.RedisCachePut;
 import com.alpha.coding.common.redis.cache.annotation.RedisCacheable;
-import com.alpha.coding.common.redis.cache.serializer.AutoJsonRedisSerializer;
+import com.alpha.coding.common.redis.cache.serializer.SerializerType;
 import com.alpha.coding.common.spring.spel.GlobalExpressionCache;
 import com.alpha.coding.common.utils.CompressUtils;
+import com.alpha.coding.common.utils.compress.CompressCodecs;
 import com.alpha.coding.common.utils.InvokeUtils;
 import com.alpha.coding.common.utils.StringUtils;
 
@@ -48,13 +71,17 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * RedisCacheAspect
+ * <p>
+ * <li>配置staleExpire或refreshAhead时，读取redis时同时获取剩余过期时间：已过期(仍在staleExpire内)或即将过期的值直接返回，
+ * 并由单个后台任务重新加载</li>
+ * <li>配置invalidationBus时，RedisCacheEvict/RedisCachePut及后台刷新会广播本地缓存key，其它实例收到后失效本地缓存</li>
  *
  * @version 1.0
  * Date: 2020-02-21
  */
 @Data
 @Slf4j
-public class RedisCacheAspect implements ApplicationContextAware {
+public class RedisCacheAspect implements ApplicationContextAware, DisposableBean {
 
     @NotNull
     private ApplicationContext applicationContext;
@@ -69,26 +96,34 @@ public class RedisCacheAspect implements ApplicationContextAware {
     private ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
     private static final Object NO_RESULT = new Object();
     private final Charset DEFAULT_CS = StandardCharsets.UTF_8;
-    private final Map<String, InvokeUtils.InvokeLock> loadLockCache = new ConcurrentHashMap<>(256);
-    private final Map<AnnotatedElementKey, RedisSerializer<?>> serializerCache = new ConcurrentHashMap<>(256);
+    private final ConcurrentMap<String, InvokeUtils.InvokeFlight> loadFlightCache = new ConcurrentHashMap<>(256);
+    private final Map<AnnotatedElementKey, CacheOperationMetadata> metadataCache = new ConcurrentHashMap<>(256);
+    private static volatile Method SET_EX_METHOD = null; // setEx签名不兼容时使用反射调用
+    private volatile BeanResolver beanResolver;
+    private int refreshThreads = 4; // 后台刷新线程数
+    private int refreshQueueCapacity = 1024; // 后台刷新队列长度，队列满时放弃本次刷新
+    private long refreshLockSeconds = 30; // 跨实例刷新锁时长(秒)
+    private volatile ExecutorService refreshExecutor;
+    private final ConcurrentMap<String, Boolean> refreshingKeys = new ConcurrentHashMap<>(256);
+    private LocalCacheInvalidationBus invalidationBus; // 本地缓存跨实例失效广播
 
     /**
      * 切面逻辑
      */
     public Object doCacheAspect(final ProceedingJoinPoint joinPoint) throws Throwable {
-        final Tuple<CacheConfig, CacheOperation> cacheConfigCacheOperationTuple = parseCacheConfigOperation(joinPoint);
-        if (cacheConfigCacheOperationTuple == null || cacheConfigCacheOperationTuple.getF() == null
-                || cacheConfigCacheOperationTuple.getS() == null) {
+        final CacheOperationMetadata metadata = getCacheOperationMetadata(joinPoint);
+        if (metadata.getOperation() == null) {
             return joinPoint.proceed();
         }
-        final CacheConfig cacheConfig = cacheConfigCacheOperationTuple.getF();
-        final CacheOperation cacheOperation = cacheConfigCacheOperationTuple.getS();
-        final JoinPointContext joinPointContext = new JoinPointContext(joinPoint);
-        final Cache localCache = loadLocalCache(cacheConfig, joinPointContext.getMethodSignature());
-        final JoinOperationMetadata metadata = joinPointContext.getJoinOperationMetadata();
-        JoinOperationContext cacheOperationContext = new JoinOperationContext(metadata,
-                joinPoint.getArgs(), joinPoint.getTarget());
-        final String cacheKey = buildCacheKey(cacheOperationContext, cacheConfig);
+        final CacheConfig cacheConfig = metadata.getCacheConfig();
+        final CacheOperation cacheOperation = metadata.getOperation();
+        final Cache localCache = metadata.getLocalCache();
+        final Object[] args = metadata.resolveArgs(joinPoint.getArgs());
+        // batch get
+        if (cacheOperation == CacheOperation.GET && cacheConfig.getBatchArgIndex() >= 0) {
+            return doBatchCacheAspect(joinPoint, metadata, args);
+        }
+        final String cacheKey = buildCacheKey(metadata, args, joinPoint.getTarget(), NO_RESULT);
         if (log.isDebugEnabled()) {
             log.debug("generate cache key: {}", cacheKey);
         }
@@ -99,27 +134,37 @@ public class RedisCacheAspect implements ApplicationContextAware {
         };
         // cache del
         if (cacheOperation == CacheOperation.DEL) {
-            final RedisTemplate redisTemplate = loadRedisTemplate(cacheConfig);
+            final RedisTemplate redisTemplate = metadata.getRedisTemplate();
             if (redisTemplate != null) {
                 final RedisSerializer keySerializer = redisTemplate.getKeySerializer();
                 final byte[] rawKey = keySerializer.serialize(cacheKey);
                 redisTemplate.execute((RedisConnection connection) -> connection.del(rawKey));
             }
-            if (localCache != null) {
+            if (localCache == null) {
+                return joinPoint.proceed();
+            }
+            localCache.evict(cacheKey);
+            try {
+                return joinPoint.proceed();
+            } finally {
+                // 方法执行期间可能被并发读回填旧值，执行完成后再失效并通知其它节点
                 localCache.evict(cacheKey);
+                publishInvalidation(cacheConfig, cacheKey);
             }
-            return joinPoint.proceed();
         }
         // cache put
         if (cacheOperation == CacheOperation.PUT) {
-            final RedisTemplate redisTemplate = loadRedisTemplate(cacheConfig);
+            final RedisTemplate redisTemplate = metadata.getRedisTemplate();
             if (redisTemplate == null) {
                 log.error("CacheError: InvalidRedisTemplate");
                 return proceedLocalCacheFunction.get();
             }
-            return conditionSyncLoad(joinPoint, cacheConfig, redisTemplate,
-                    getRedisSerializer(cacheConfig, joinPointContext.getMetadataCacheKey(), metadata),
-                    metadata, cacheKey, localCache);
+            final Object result = conditionSyncLoad(joinPoint, cacheConfig, redisTemplate,
+                    metadata.getValueSerializer(), cacheKey, localCache);
+            if (localCache != null) {
+                publishInvalidation(cacheConfig, cacheKey);
+            }
+            return result;
         }
         // fetch from local cache
         if (localCache != null) {
@@ -132,30 +177,209 @@ public class RedisCacheAspect implements ApplicationContextAware {
             }
         }
         // fetch from redis
-        final RedisTemplate redisTemplate = loadRedisTemplate(cacheConfig);
+        final RedisTemplate redisTemplate = metadata.getRedisTemplate();
         if (redisTemplate == null) {
             log.error("CacheError: InvalidRedisTemplate");
             return proceedLocalCacheFunction.get();
         }
         final RedisSerializer keySerializer = redisTemplate.getKeySerializer();
-        final RedisSerializer valueSerializer = getRedisSerializer(cacheConfig,
-                joinPointContext.getMetadataCacheKey(), metadata);
-        final Object redisVal = redisTemplate.execute((RedisConnection connection) ->
-                connection.get(keySerializer.serialize(cacheKey)));
+        final RedisSerializer valueSerializer = metadata.getValueSerializer();
+        final byte[] rawKey = keySerializer.serialize(cacheKey);
+        final long refreshThresholdMillis =
+                TimeUnit.SECONDS.toMillis(cacheConfig.getStaleExpire() + cacheConfig.getRefreshAhead());
+        final Object redisVal;
+        long ttlMillis = -1;
+        if (refreshThresholdMillis > 0) {
+            // 同一次往返取值与剩余过期时间
+            final List<Object> rets = RedisTemplateUtils.executePipelined(redisTemplate, connection -> {
+                connection.get(rawKey);
+                connection.pTtl(rawKey);
+                return null;
+            });
+            redisVal = rets == null || rets.isEmpty() ? null : rets.get(0);
+            if (rets != null && rets.size() > 1 && rets.get(1) instanceof Long) {
+                ttlMillis = (Long) rets.get(1);
+            }
+        } else {
+            redisVal = redisTemplate.execute((RedisConnection connection) -> connection.get(rawKey));
+        }
         if (redisVal == null) {
             return conditionSyncLoad(joinPoint, cacheConfig, redisTemplate, valueSerializer,
-                    metadata, cacheKey, localCache);
+                    cacheKey, localCache);
         } else {
             try {
-                final Object result = parseOriginValue(cacheConfig, (byte[]) redisVal, valueSerializer);
+                final Object result = parseOriginValue(cacheConfig, (byte[]) redisVal, valueSerializer,
+                        metadata.getRawNullValue());
                 putIntoLocalCache(localCache, cacheConfig, cacheKey, result);
+                if (ttlMillis >= 0 && ttlMillis < refreshThresholdMillis) {
+                    // 已过期(返回旧值)或进入提前刷新窗口，后台重新加载
+                    refreshInBackground(joinPoint, cacheConfig, redisTemplate, valueSerializer, cacheKey, localCache);
+                }
                 return result;
-            } catch (IOException e) {
+            } catch (IOException | RuntimeException e) {
+                // 无法解析(如类型未放行、数据损坏)时视为未命中，重新加载并覆盖
                 log.warn("parseFromCache fail for key={},msg={}", cacheKey, e.getMessage());
                 return conditionSyncLoad(joinPoint, cacheConfig, redisTemplate, valueSerializer,
-                        metadata, cacheKey, localCache);
+                        cacheKey, localCache);
+            }
+        }
+    }
+
+    /**
+     * 批量缓存：按集合元素拆分key，依次查本地缓存、MGET，仅对未命中的元素调用目标方法，并以pipeline回写
+     */
+    @SuppressWarnings({"unchecked"})
+    private Object doBatchCacheAspect(final ProceedingJoinPoint joinPoint,
+                                      final CacheOperationMetadata metadata,
+                                      final Object[] resolvedArgs) throws Throwable {
+        final CacheConfig cacheConfig = metadata.getCacheConfig();
+        final Cache localCache = metadata.getLocalCache();
+        final Object[] args = joinPoint.getArgs();
+        final int index = cacheConfig.getBatchArgIndex();
+        final Method method = metadata.getMethod();
+        if (index >= args.length || !(args[index] instanceof Collection)
+                || !Map.class.isAssignableFrom(method.getReturnType())) {
+            log.warn("CacheError: batch cache requires Collection arg at {} and Map return type for {}",
+                    index, method);
+            return joinPoint.proceed();
+        }
+        final Collection<Object> elements = (Collection<Object>) args[index];
+        if (elements.isEmpty()) {
+            return joinPoint.proceed();
+        }
+        final Map<Object, Object> found = new LinkedHashMap<>();
+        final Map<Object, String> missKeys = new LinkedHashMap<>();
+        // fetch from local cache
+        for (Object element : elements) {
+            if (found.containsKey(element) || missKeys.containsKey(element)) {
+                continue;
+            }
+            final String cacheKey = buildCacheKey(metadata, resolvedArgs, joinPoint.getTarget(), element);
+            final Cache.ValueWrapper valueWrapper = localCache == null ? null : localCache.get(cacheKey);
+            if (valueWrapper == null) {
+                missKeys.put(element, cacheKey);
+            } else if (!cacheConfig.isCacheNull() || !nullValueSubstitute.equals(valueWrapper.get())) {
+                found.put(element, valueWrapper.get());
+            } else {
+                found.put(element, null);
+            }
+        }
+        // fetch from redis
+        final RedisTemplate redisTemplate = missKeys.isEmpty() ? null : metadata.getRedisTemplate();
+        final RedisSerializer valueSerializer = metadata.getBatchValueSerializer();
+        if (!missKeys.isEmpty() && redisTemplate == null) {
+            log.error("CacheError: InvalidRedisTemplate");
+        } else if (!missKeys.isEmpty()) {
+            final RedisSerializer keySerializer = redisTemplate.getKeySerializer();
+            final List<Object> missElements = new ArrayList<>(missKeys.keySet());
+            final byte[][] rawKeys = new byte[missElements.size()][];
+            for (int i = 0; i < rawKeys.length; i++) {
+                rawKeys[i] = keySerializer.serialize(missKeys.get(missElements.get(i)));
+            }
+            final List<byte[]> redisVals = (List<byte[]>) redisTemplate.execute((RedisConnection connection) ->
+                    connection.mGet(rawKeys));
+            for (int i = 0; redisVals != null && i < redisVals.size() && i < missElements.size(); i++) {
+                if (redisVals.get(i) == null) {
+                    continue;
+                }
+                final Object element = missElements.get(i);
+                final String cacheKey = missKeys.get(element);
+                try {
+                    final Object value = parseOriginValue(cacheConfig, redisVals.get(i), valueSerializer,
+                            metadata.getBatchRawNullValue());
+                    putIntoLocalCache(localCache, cacheConfig, cacheKey, value);
+                    found.put(element, value);
+                    missKeys.remove(element);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("parseFromCache fail for key={},msg={}", cacheKey, e.getMessage());
+                }
             }
         }
+        // load misses
+        Map<Object, Object> loaded = null;
+        if (!missKeys.isEmpty()) {
+            final Object[] missArgs = args.clone();
+            missArgs[index] = newBatchArg(method.getParameterTypes()[index], elements, missKeys.keySet());
+            loaded = (Map<Object, Object>) joinPoint.proceed(missArgs);
+            batchPutIntoCache(args, missKeys, loaded, cacheConfig, redisTemplate, valueSerializer, localCache);
+        }
+        final Map<Object, Object> result = newBatchResult(method.getReturnType(), loaded);
+        for (Object element : elements) {
+            if (found.containsKey(element)) {
+                final Object value = found.get(element);
+                if (value != null) {
+                    result.put(element, value);
+                }
+            } else if (loaded != null && loaded.containsKey(element)) {
+                result.put(element, loaded.get(element));
+            }
+        }
+        return result;
+    }
+
+    private void batchPutIntoCache(Object[] args, Map<Object, String> missKeys, Map<Object, Object> loaded,
+                                   final CacheConfig cacheConfig,
+                                   final RedisTemplate redisTemplate,
+                                   final RedisSerializer valueSerializer,
+                                   final Cache localCache) {
+        final int index = cacheConfig.getBatchArgIndex();
+        final Map<byte[], Long> expireMap = new LinkedHashMap<>();
+        final Map<byte[], byte[]> rawValueMap = new LinkedHashMap<>();
+        missKeys.forEach((element, cacheKey) -> {
+            final Object returnValue = loaded == null ? null : loaded.get(element);
+            putIntoLocalCache(localCache, cacheConfig, cacheKey, returnValue);
+            if (redisTemplate == null || (returnValue == null && !cacheConfig.isCacheNull())) {
+                return;
+            }
+            final Object[] elementArgs = args.clone();
+            elementArgs[index] = element;
+            final long expireSeconds = cacheConfig.getExpireStrategy() != null ? cacheConfig.getExpireStrategy()
+                    .calculateExpire(elementArgs, returnValue) : cacheConfig.getExpire();
+            if (expireSeconds == 0) {
+                return;
+            }
+            try {
+                final byte[] rawKey = redisTemplate.getKeySerializer().serialize(cacheKey);
+                final Object value = returnValue == null ? nullValueSubstitute : returnValue;
+                rawValueMap.put(rawKey, compressValue(cacheConfig, valueSerializer.serialize(value)));
+                expireMap.put(rawKey, expireSeconds);
+            } catch (IOException e) {
+                log.error("putIntoCache fail for {}, {}", cacheKey, e);
+            }
+        });
+        if (rawValueMap.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                rawValueMap.forEach((rawKey, rawValue) -> setEx(connection, rawKey, expireMap.get(rawKey), rawValue));
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("batchPutIntoCache fail for {} keys, {}", rawValueMap.size(), e.getMessage());
+        }
+    }
+
+    @SuppressWarnings({"unchecked"})
+    private Collection<Object> newBatchArg(Class<?> paramType, Collection<Object> origin, Set<Object> elements) {
+        Collection<Object> batchArg = origin instanceof Set ? new LinkedHashSet<>() : new ArrayList<>();
+        if (!paramType.isInstance(batchArg)) {
+            batchArg = BeanUtils.instantiateClass(origin.getClass());
+        }
+        batchArg.addAll(elements);
+        return batchArg;
+    }
+
+    @SuppressWarnings({"unchecked"})
+    private Map<Object, Object> newBatchResult(Class<?> returnType, Map<Object, Object> loaded) {
+        if (returnType.isInterface()) {
+            return SortedMap.class.isAssignableFrom(returnType) ? new TreeMap<>() : new LinkedHashMap<>();
+        }
+        if (returnType.isAssignableFrom(LinkedHashMap.class)) {
+            return new LinkedHashMap<>();
+        }
+        final Class<?> mapType = loaded != null ? loaded.getClass() : returnType;
+        return (Map<Object, Object>) BeanUtils.instantiateClass(mapType);
     }
 
     private CacheManager loadCacheManager(CacheConfig cacheConfig) {
@@ -172,7 +396,11 @@ public class RedisCacheAspect implements ApplicationContextAware {
                 throw new IllegalArgumentException("Cannot find cache named '" +
                         cacheConfig.getLocalName() + "' for " + signature.toLongString());
             }
-            return cacheManager.getCache(cacheConfig.getLocalName());
+            final Cache cache = cacheManager.getCache(cacheConfig.getLocalName());
+            if (invalidationBus != null) {
+                invalidationBus.track(cache);
+            }
+            return cache;
         }
         return null;
     }
@@ -188,7 +416,6 @@ public class RedisCacheAspect implements ApplicationContextAware {
                                      final CacheConfig cacheConfig,
                                      final RedisTemplate redisTemplate,
                                      final RedisSerializer valueSerializer,
-                                     final JoinOperationMetadata metadata,
                                      final String cacheKey,
                                      final Cache localCache) throws Throwable {
         if (!cacheConfig.isSyncLoad()) {
@@ -197,36 +424,115 @@ public class RedisCacheAspect implements ApplicationContextAware {
                     redisTemplate, valueSerializer, localCache);
             return result;
         } else {
-            return InvokeUtils.syncInvoke(loadLockCache, cacheKey, 1, null,
-                    false, false, false, joinPoint::proceed,
+            // 单飞加载：并发未命中时仅加载一次，其余调用者共享结果
+            return InvokeUtils.singleFlightInvoke(loadFlightCache, cacheKey, null,
+                    false, false, joinPoint::proceed,
                     val -> putIntoCache(joinPoint.getArgs(), val, cacheKey, cacheConfig,
                             redisTemplate, valueSerializer, localCache)
             ).getData();
         }
     }
 
-    private RedisSerializer getRedisSerializer(CacheConfig cacheConfig,
-                                               AnnotatedElementKey metadataCacheKey,
-                                               JoinOperationMetadata metadata) {
-        RedisSerializer redisSerializer = serializerCache.get(metadataCacheKey);
-        if (redisSerializer == null) {
-            redisSerializer = new AutoJsonRedisSerializer(metadata.getMethod().getReturnType(),
-                    metadata.getMethod().getGenericReturnType());
-            serializerCache.put(metadataCacheKey, redisSerializer);
+    /**
+     * 后台刷新缓存：本实例内同一key同时只有一个刷新任务，跨实例通过redis锁保证只有一个实例加载
+     */
+    private void refreshInBackground(final ProceedingJoinPoint joinPoint,
+                                     final CacheConfig cacheConfig,
+                                     final RedisTemplate redisTemplate,
+                                     final RedisSerializer valueSerializer,
+                                     final String cacheKey,
+                                     final Cache localCache) {
+        if (refreshingKeys.putIfAbsent(cacheKey, Boolean.TRUE) != null) {
+            return;
+        }
+        final Runnable task = () -> {
+            try {
+                RedisTemplateUtils.doInLockReturnOnLockFail(redisTemplate, cacheKey + ":refresh",
+                        refreshLockSeconds, () -> {
+                            try {
+                                final Object result = joinPoint.proceed();
+                                putIntoCache(joinPoint.getArgs(), result, cacheKey, cacheConfig,
+                                        redisTemplate, valueSerializer, localCache);
+                                if (localCache != null) {
+                                    publishInvalidation(cacheConfig, cacheKey);
+                                }
+                            } catch (Throwable e) {
+                                log.warn("refreshCache fail for key={},msg={}", cacheKey, e.getMessage());
+                            }
+                            return null;
+                        });
+            } catch (Exception e) {
+                log.warn("refreshCache fail for key={},msg={}", cacheKey, e.getMessage());
+            } finally {
+                refreshingKeys.remove(cacheKey);
+            }
+        };
+        try {
+            getRefreshExecutor().execute(MDCRunnableWrapper.of(task, MDC.getCopyOfContextMap()));
+        } catch (RejectedExecutionException e) {
+            refreshingKeys.remove(cacheKey);
+            log.warn("refreshCache rejected for key={}", cacheKey);
+        }
+    }
+
+    /**
+     * 广播本地缓存失效，其它实例收到后失效对应的本地缓存
+     */
+    private void publishInvalidation(CacheConfig cacheConfig, String cacheKey) {
+        if (invalidationBus == null) {
+            return;
+        }
+        try {
+            invalidationBus.publish(cacheConfig.getLocalCacheManager(), cacheConfig.getLocalName(), cacheKey);
+        } catch (Exception e) {
+            log.warn("publishInvalidation fail for key={},msg={}", cacheKey, e.getMessage());
+        }
+    }
+
+    private ExecutorService getRefreshExecutor() {
+        if (refreshExecutor == null) {
+            synchronized(refreshingKeys) {
+                if (refreshExecutor == null) {
+                    refreshExecutor = NamedExecutorPool.newFixedThreadPool("RedisCacheRefresh",
+                            refreshThreads, refreshQueueCapacity, new ThreadPoolExecutor.AbortPolicy());
+                }
+            }
+        }
+        return refreshExecutor;
+    }
+
+    @Override
+    public void destroy() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
         }
-        return redisSerializer;
     }
 
     private Object parseOriginValue(CacheConfig cacheConfig, byte[] rawValue,
-                                    RedisSerializer redisSerializer) throws IOException {
-        byte[] realRawValue = cacheConfig.isGzip() ? CompressUtils.unGzip(rawValue) : rawValue;
-        if (cacheConfig.isCacheNull()
-                && Arrays.equals(redisSerializer.serialize(nullValueSubstitute), realRawValue)) {
+                                    RedisSerializer redisSerializer, byte[] rawNullValue) throws IOException {
+        byte[] realRawValue = decompressValue(cacheConfig, rawValue);
+        if (cacheConfig.isCacheNull() && Arrays.equals(rawNullValue, realRawValue)) {
             return null;
         }
         return redisSerializer.deserialize(realRawValue);
     }
 
+    /**
+     * 指定压缩编解码时写入自描述格式；仅gzip=true时仍写入原gzip格式，兼容未升级的实例
+     */
+    private byte[] compressValue(CacheConfig cacheConfig, byte[] rawValue) throws IOException {
+        if (cacheConfig.getCompressCodec() != null) {
+            return CompressCodecs.encode(cacheConfig.getCompressCodec(), rawValue,
+                    cacheConfig.getCompressThreshold());
+        }
+        return cacheConfig.isGzip() ? CompressUtils.gzip(rawValue) : rawValue;
+    }
+
+    private byte[] decompressValue(CacheConfig cacheConfig, byte[] rawValue) throws IOException {
+        return cacheConfig.getCompressCodec() != null || cacheConfig.isGzip()
+                ? CompressCodecs.decode(rawValue) : rawValue;
+    }
+
     private void putIntoCache(Object[] args, Object returnValue,
                               final String cacheKey,
                               final CacheConfig cacheConfig,
@@ -242,23 +548,20 @@ public class RedisCacheAspect implements ApplicationContextAware {
                     value = nullValueSubstitute;
                 }
             }
-            final long expireSeconds = cacheConfig.getExpireStrategy() != null ? cacheConfig.getExpireStrategy()
+            long expireSeconds = cacheConfig.getExpireStrategy() != null ? cacheConfig.getExpireStrategy()
                     .calculateExpire(args, returnValue) : cacheConfig.getExpire();
             if (expireSeconds == 0) {
                 return;
             }
+            if (expireSeconds > 0) {
+                expireSeconds += cacheConfig.getStaleExpire();
+            }
+            final long hardExpireSeconds = expireSeconds;
             try {
                 final byte[] rawKey = redisTemplate.getKeySerializer().serialize(cacheKey);
-                final byte[] rawValue = cacheConfig.isGzip() ? CompressUtils.gzip(valueSerializer.serialize(value))
-                        : valueSerializer.serialize(value);
+                final byte[] rawValue = compressValue(cacheConfig, valueSerializer.serialize(value));
                 redisTemplate.execute((RedisConnection connection) -> {
-                    try {
-                        final Method setEx =
-                                connection.getClass().getMethod("setEx", byte[].class, long.class, byte[].class);
-                        setEx.invoke(connection, rawKey, expireSeconds, rawValue);
-                    } catch (Exception e) {
-                        log.warn("doInRedis:setEx invoke fail,{}", e.getMessage());
-                    }
+                    setEx(connection, rawKey, hardExpireSeconds, rawValue);
                     return null;
                 });
             } catch (IOException e) {
@@ -269,6 +572,23 @@ public class RedisCacheAspect implements ApplicationContextAware {
         }
     }
 
+    private void setEx(RedisConnection connection, byte[] rawKey, long expireSeconds, byte[] rawValue) {
+        try {
+            if (SET_EX_METHOD == null) {
+                try {
+                    connection.setEx(rawKey, expireSeconds, rawValue);
+                    return;
+                } catch (NoSuchMethodError e) {
+                    // 兼容方法不匹配的情况
+                    SET_EX_METHOD = RedisConnection.class.getMethod("setEx", byte[].class, long.class, byte[].class);
+                }
+            }
+            SET_EX_METHOD.invoke(connection, rawKey, expireSeconds, rawValue);
+        } catch (Exception e) {
+            log.warn("doInRedis:setEx invoke fail,{}", e.getMessage());
+        }
+    }
+
     private void putIntoLocalCache(Cache cache, CacheConfig config, String cacheKey, Object value) {
         if (cache == null) {
             return;
@@ -282,10 +602,87 @@ public class RedisCacheAspect implements ApplicationContextAware {
         }
     }
 
-    private Tuple<CacheConfig, CacheOperation> parseCacheConfigOperation(ProceedingJoinPoint joinPoint) {
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+    /**
+     * 获取方法的缓存元数据，首次调用时解析并缓存
+     */
+    private CacheOperationMetadata getCacheOperationMetadata(ProceedingJoinPoint joinPoint) {
+        final MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        final AnnotatedElementKey cacheKey = new AnnotatedElementKey(signature.getMethod(),
+                joinPoint.getTarget() == null ? signature.getDeclaringType() : joinPoint.getTarget().getClass());
+        CacheOperationMetadata metadata = metadataCache.get(cacheKey);
+        if (metadata == null) {
+            // 解析过程可能触发bean初始化并重入，不使用computeIfAbsent
+            metadata = buildCacheOperationMetadata(joinPoint, signature);
+            final CacheOperationMetadata exist = metadataCache.putIfAbsent(cacheKey, metadata);
+            if (exist != null) {
+                metadata = exist;
+            }
+        }
+        return metadata;
+    }
+
+    private CacheOperationMetadata buildCacheOperationMetadata(ProceedingJoinPoint joinPoint,
+                                                               MethodSignature signature) {
         final Class<?> targetClass = AopHelper.getTargetClass(joinPoint.getTarget());
-        final Method method = AopHelper.getTargetMethod(targetClass, signature.getMethod());
+        final Method targetMethod = AopHelper.getTargetMethod(targetClass, signature.getMethod());
+        final CacheOperationMetadata metadata = new CacheOperationMetadata()
+                .setMethod(signature.getMethod())
+                .setTargetMethod(targetMethod)
+                .setTargetClass(targetClass)
+                .setMethodKey(new AnnotatedElementKey(signature.getMethod(), targetClass))
+                .setMethodSignature(signature.toLongString());
+        final Tuple<CacheConfig, CacheOperation> tuple = parseCacheConfigOperation(targetClass, targetMethod);
+        if (tuple == null) {
+            return metadata;
+        }
+        final CacheConfig cacheConfig = tuple.getF();
+        metadata.setOperation(tuple.getS()).setCacheConfig(cacheConfig)
+                .setKeyPrefix(StringUtils.isNotBlank(cacheConfig.getName()) ? cacheConfig.getName() + ":" : "ReCh:")
+                .setRedisTemplate(loadRedisTemplate(cacheConfig))
+                .setLocalCache(loadLocalCache(cacheConfig, signature));
+        if (StringUtils.isNotBlank(cacheConfig.getCompress())) {
+            cacheConfig.setCompressCodec(CompressCodecs.get(cacheConfig.getCompress()));
+            if (cacheConfig.getCompressCodec() == null) {
+                log.warn("unknown compress codec {} for {}, use gzip={}", cacheConfig.getCompress(),
+                        metadata.getMethodSignature(), cacheConfig.isGzip());
+            }
+        }
+        if (StringUtils.isNotBlank(cacheConfig.getKey())) {
+            metadata.setKeyExpression(AopHelper.getExpression(GlobalExpressionCache.getCache(),
+                    metadata.getMethodKey(), cacheConfig.getKey(), getExpressionParser()));
+        }
+        if (tuple.getS() == CacheOperation.GET && cacheConfig.getBatchArgIndex() >= 0) {
+            final ResolvableType valueType = ResolvableType.forMethodReturnType(signature.getMethod())
+                    .asMap().getGeneric(1);
+            final RedisSerializer serializer = getSerializerType(cacheConfig)
+                    .create(valueType.resolve(Object.class), valueType.getType());
+            metadata.setBatchValueSerializer(serializer)
+                    .setBatchRawNullValue(serializer.serialize(nullValueSubstitute))
+                    .setBatchKeyAppendElement(metadata.getKeyExpression() == null ? !keyGenerator.includeParams()
+                            : !referBatchArg(cacheConfig.getKey(), targetMethod, cacheConfig.getBatchArgIndex()));
+        } else if (tuple.getS() != CacheOperation.DEL) {
+            final RedisSerializer serializer = getSerializerType(cacheConfig)
+                    .create(signature.getMethod().getReturnType(), signature.getMethod().getGenericReturnType());
+            metadata.setValueSerializer(serializer).setRawNullValue(serializer.serialize(nullValueSubstitute));
+        }
+        return metadata;
+    }
+
+    /**
+     * key表达式是否引用了批量参数(#参数名、#p{i}、#a{i}、args[i])
+     */
+    private boolean referBatchArg(String key, Method method, int index) {
+        final String[] parameterNames = getParameterNameDiscoverer().getParameterNames(method);
+        final String refs = (parameterNames != null && index < parameterNames.length
+                ? Pattern.quote(parameterNames[index]) + "|" : "") + "[pa]" + index;
+        return Pattern.compile("#(" + refs + ")\\b|args\\[\\s*" + index + "\\s*]").matcher(key).find();
+    }
+
+    private SerializerType getSerializerType(CacheConfig cacheConfig) {
+        return cacheConfig.getSerializer() == null ? SerializerType.JSON : cacheConfig.getSerializer();
+    }
+
+    private Tuple<CacheConfig, CacheOperation> parseCacheConfigOperation(Class<?> targetClass, Method method) {
         if (method.isAnnotationPresent(CacheIgnore.class)) {
             return null;
         }
@@ -303,7 +700,12 @@ public class RedisCacheAspect implements ApplicationContextAware {
                     .setCacheNull(this.cacheConfig.isCacheNull())
                     .setSyncLoad(this.cacheConfig.isSyncLoad())
                     .setExpireStrategy(this.cacheConfig.getExpireStrategy())
-                    .setLocalCacheManager(this.cacheConfig.getLocalCacheManager());
+                    .setLocalCacheManager(this.cacheConfig.getLocalCacheManager())
+                    .setStaleExpire(this.cacheConfig.getStaleExpire())
+                    .setRefreshAhead(this.cacheConfig.getRefreshAhead())
+                    .setSerializer(this.cacheConfig.getSerializer())
+                    .setCompress(this.cacheConfig.getCompress())
+                    .setCompressThreshold(this.cacheConfig.getCompressThreshold());
         }
         CacheOperation operation = CacheOperation.GET;
         if (targetClass.isAnnotationPresent(RedisCacheable.class)) {
@@ -362,7 +764,23 @@ public class RedisCacheAspect implements ApplicationContextAware {
                 .setGzip(cacheable == null ? cachePut.gzip() : cacheable.gzip())
                 .setKey(cacheable == null ? cachePut.key() : cacheable.key())
                 .setCacheNull(cacheable == null ? cachePut.cacheNull() : cacheable.cacheNull())
-                .setSyncLoad(cacheable == null ? cachePut.syncLoad() : cacheable.syncLoad());
+                .setSyncLoad(cacheable == null ? cachePut.syncLoad() : cacheable.syncLoad())
+                .setBatchArgIndex(cacheable == null ? -1 : cacheable.batchArgIndex())
+                .setStaleExpire(cacheable == null ? cachePut.staleExpire() : cacheable.staleExpire())
+                .setRefreshAhead(cacheable == null ? 0 : cacheable.refreshAhead());
+        final SerializerType serializer = cacheable == null ? cachePut.serializer() : cacheable.serializer();
+        if (serializer != SerializerType.DEFAULT) {
+            cacheConfig.setSerializer(serializer);
+        }
+        final String compress = cacheable == null ? cachePut.compress() : cacheable.compress();
+        if (StringUtils.isNotBlank(compress)) {
+            cacheConfig.setCompress(compress);
+        }
+        final int compressThreshold = cacheable == null ? cachePut.compressThreshold()
+                : cacheable.compressThreshold();
+        if (compressThreshold >= 0) {
+            cacheConfig.setCompressThreshold(compressThreshold);
+        }
     }
 
     private void updateCacheConfig(CacheConfig cacheConfig, RedisCacheEvict cacheEvict) {
@@ -381,28 +799,38 @@ public class RedisCacheAspect implements ApplicationContextAware {
         cacheConfig.setKey(cacheEvict.key());
     }
 
-    private String buildCacheKey(JoinOperationContext context, CacheConfig cacheConfig) {
-        String keySuffix = "";
-        if (StringUtils.isNotBlank(cacheConfig.getKey())) {
-            final Object key = generateKey(cacheConfig.getKey(), context.getMethodCacheKey(),
-                    AopHelper.createEvaluationContext(context.getMetadata().getMethod(), context.getArgs(),
-                            context.getTarget(), context.getMetadata().getTargetClass(), NO_RESULT,
-                            applicationContext, getParameterNameDiscoverer()));
-            keySuffix = String.valueOf(key);
+    /**
+     * 批量模式下key表达式中批量参数取值为单个元素，未指定key表达式时以元素值作为后缀
+     */
+    private String buildCacheKey(CacheOperationMetadata metadata, Object[] args, Object target,
+                                 Object batchElement) {
+        final boolean batch = batchElement != NO_RESULT;
+        if (batch) {
+            args = args.clone();
+            args[metadata.getCacheConfig().getBatchArgIndex()] = batchElement;
+        }
+        String keySuffix;
+        if (metadata.getKeyExpression() != null) {
+            final MethodBasedEvaluationContext evaluationContext = new MethodBasedEvaluationContext(
+                    new ExpressionRootObject(metadata.getMethod(), args, target, metadata.getTargetClass()),
+                    metadata.getTargetMethod(), args, getParameterNameDiscoverer());
+            evaluationContext.setBeanResolver(getBeanResolver());
+            keySuffix = String.valueOf(metadata.getKeyExpression().getValue(evaluationContext));
         } else {
-            keySuffix = String.valueOf(keyGenerator.generate(context.getTarget(), context.getMetadata().getMethod(),
-                    context.getMethodSignature(), context.getArgs()));
+            keySuffix = String.valueOf(keyGenerator.generate(target, metadata.getMethod(),
+                    metadata.getMethodSignature(), args));
         }
-        if (StringUtils.isNotBlank(cacheConfig.getName())) {
-            return cacheConfig.getName() + ":" + keySuffix;
-        } else {
-            return "ReCh:" + keySuffix;
+        if (batch && metadata.isBatchKeyAppendElement()) {
+            keySuffix = keySuffix + ":" + batchElement;
         }
+        return metadata.getKeyPrefix() + keySuffix;
     }
 
-    private Object generateKey(String keyExpression, AnnotatedElementKey methodKey, EvaluationContext evalContext) {
-        return AopHelper.getExpression(GlobalExpressionCache.getCache(), methodKey,
-                keyExpression, getExpressionParser()).getValue(evalContext);
+    private BeanResolver getBeanResolver() {
+        if (beanResolver == null) {
+            beanResolver = new BeanFactoryResolver(applicationContext);
+        }
+        return beanResolver;
     }
 
 }
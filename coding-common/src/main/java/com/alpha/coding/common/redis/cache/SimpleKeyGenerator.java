@@ -27,4 +27,9 @@ public class SimpleKeyGenerator implements KeyGenerator {
         }
         return val;
     }
+
+    @Override
+    public boolean includeParams() {
+        return false;
+    }
 }
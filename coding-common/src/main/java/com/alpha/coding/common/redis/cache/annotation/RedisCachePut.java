@@ -8,6 +8,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 import com.alpha.coding.common.redis.cache.ExpireStrategy;
+import com.alpha.coding.common.redis.cache.serializer.SerializerType;
 
 /**
  * RedisCachePut
@@ -71,4 +72,25 @@ public @interface RedisCachePut {
      */
     String localCacheManager() default "";
 
+    /**
+     * 过期后仍可返回旧值的时长(秒)，应与对应RedisCacheable的staleExpire一致
+     */
+    long staleExpire() default 0;
+
+    /**
+     * value序列化方式，应与对应RedisCacheable一致，DEFAULT时使用全局配置；BINARY可读取JSON格式的旧数据，从JSON切换时无需清理缓存
+     */
+    SerializerType serializer() default SerializerType.DEFAULT;
+
+    /**
+     * 压缩编解码名称(如gzip、lz，见CompressCodecs)，非空时优先于gzip：value带自描述头，小于压缩阈值时不压缩，
+     * 可读取gzip=true时写入的数据
+     */
+    String compress() default "";
+
+    /**
+     * 压缩阈值(字节)，小于0时使用全局配置
+     */
+    int compressThreshold() default -1;
+
 }
@@ -8,6 +8,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 import com.alpha.coding.common.redis.cache.ExpireStrategy;
+import com.alpha.coding.common.redis.cache.serializer.SerializerType;
 
 /**
  * RedisCacheable
@@ -71,4 +72,37 @@ public @interface RedisCacheable {
      */
     String localCacheManager() default "";
 
+    /**
+     * 批量缓存的参数位置，不小于0时开启批量模式：该参数须为Collection，方法返回以集合元素为key的Map；
+     * 按元素拆分缓存key(key表达式中该参数取值为单个元素)，本地缓存及MGET未命中的元素才调用目标方法，结果以pipeline回写
+     */
+    int batchArgIndex() default -1;
+
+    /**
+     * 过期后仍可返回旧值的时长(秒)，大于0时redis中的实际过期时间为expire+staleExpire：
+     * 超过expire后调用方直接获得旧值，同时由单个后台任务重新加载，批量模式不支持
+     */
+    long staleExpire() default 0;
+
+    /**
+     * 过期前提前刷新的时长(秒)，大于0时在expire到期前该时长内被访问的key会在后台重新加载，批量模式不支持
+     */
+    long refreshAhead() default 0;
+
+    /**
+     * value序列化方式，DEFAULT时使用全局配置；BINARY可读取JSON格式的旧数据，从JSON切换时无需清理缓存
+     */
+    SerializerType serializer() default SerializerType.DEFAULT;
+
+    /**
+     * 压缩编解码名称(如gzip、lz，见CompressCodecs)，非空时优先于gzip：value带自描述头，小于压缩阈值时不压缩，
+     * 可读取gzip=true时写入的数据
+     */
+    String compress() default "";
+
+    /**
+     * 压缩阈值(字节)，小于0时使用全局配置
+     */
+    int compressThreshold() default -1;
+
 }
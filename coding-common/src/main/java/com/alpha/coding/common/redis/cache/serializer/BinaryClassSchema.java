@@ -0,0 +1,102 @@
+package com.alpha.coding.common.redis.cache.serializer;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.ResolvableType;
+
+/**
+ * BinaryClassSchema 二进制序列化的对象结构：全部非static、非transient字段(含父类，子类同名字段优先)
+ * <p>
+ * 字段以名称写入，读取时忽略不存在的字段、缺失的字段保持默认值，以兼容类结构的增减
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+class BinaryClassSchema {
+
+    private static final Map<Class<?>, BinaryClassSchema> CACHE = new ConcurrentHashMap<>(64);
+
+    final Class<?> type;
+    /**
+     * 无参构造器，为null时不支持二进制序列化
+     */
+    final Constructor<?> constructor;
+    final FieldSchema[] fields;
+    private final Map<String, FieldSchema> fieldMap;
+
+    private BinaryClassSchema(Class<?> type) {
+        this.type = type;
+        this.constructor = findConstructor(type);
+        final List<FieldSchema> list = new ArrayList<>();
+        final Map<String, FieldSchema> map = new HashMap<>();
+        for (Class<?> clz = type; clz != null && clz != Object.class; clz = clz.getSuperclass()) {
+            for (Field field : clz.getDeclaredFields()) {
+                final int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()
+                        || map.containsKey(field.getName())) {
+                    continue;
+                }
+                field.setAccessible(true);
+                final FieldSchema fieldSchema = new FieldSchema(field, ResolvableType.forField(field, type));
+                list.add(fieldSchema);
+                map.put(field.getName(), fieldSchema);
+            }
+        }
+        this.fields = list.toArray(new FieldSchema[0]);
+        this.fieldMap = map;
+    }
+
+    static BinaryClassSchema of(Class<?> type) {
+        BinaryClassSchema schema = CACHE.get(type);
+        if (schema == null) {
+            schema = new BinaryClassSchema(type);
+            final BinaryClassSchema exist = CACHE.putIfAbsent(type, schema);
+            if (exist != null) {
+                schema = exist;
+            }
+        }
+        return schema;
+    }
+
+    FieldSchema getField(String name) {
+        return fieldMap.get(name);
+    }
+
+    Object newInstance() throws ReflectiveOperationException {
+        return constructor.newInstance();
+    }
+
+    private static Constructor<?> findConstructor(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())
+                || (type.isMemberClass() && !Modifier.isStatic(type.getModifiers()))) {
+            return null;
+        }
+        try {
+            final Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException | SecurityException e) {
+            return null;
+        }
+    }
+
+    static class FieldSchema {
+        final Field field;
+        final String name;
+        final ResolvableType type;
+
+        FieldSchema(Field field, ResolvableType type) {
+            this.field = field;
+            this.name = field.getName();
+            this.type = type;
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.alpha.coding.common.redis.cache.serializer;
+
+import java.util.Arrays;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * BinaryInput 直接读取字节数组的输入，与{@link BinaryOutput}对应
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+class BinaryInput {
+
+    private final byte[] buffer;
+    private int position;
+
+    BinaryInput(byte[] buffer, int offset) {
+        this.buffer = buffer;
+        this.position = offset;
+    }
+
+    /**
+     * 剩余可读字节数
+     */
+    int remaining() {
+        return buffer.length - position;
+    }
+
+    private void require(int count) {
+        if (count < 0 || count > buffer.length - position) {
+            throw new SerializationException("unexpected end of binary data at " + position);
+        }
+    }
+
+    byte readByte() {
+        require(1);
+        return buffer[position++];
+    }
+
+    byte[] readBytes() {
+        final int length = readVarInt();
+        require(length);
+        final byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+        position += length;
+        return bytes;
+    }
+
+    int readVarInt() {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final byte b = readByte();
+            result |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new SerializationException("malformed varint at " + position);
+    }
+
+    long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new SerializationException("malformed varlong at " + position);
+    }
+
+    int readZigZagInt() {
+        final int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    long readZigZagLong() {
+        final long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    long readLong() {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    String readString() {
+        final int length = readVarInt();
+        if (length < 0 || length > buffer.length - position) {
+            throw new SerializationException("malformed string length " + length + " at " + position);
+        }
+        final char[] chars = new char[length];
+        final byte[] buf = buffer;
+        int pos = position;
+        for (int i = 0; i < length; i++) {
+            if (pos >= buf.length) {
+                throw new SerializationException("unexpected end of binary data at " + pos);
+            }
+            final int b = buf[pos++] & 0xFF;
+            if (b < 0x80) {
+                chars[i] = (char) b;
+            } else if (b < 0xE0) {
+                require(pos - position + 1);
+                chars[i] = (char) (((b & 0x1F) << 6) | (buf[pos++] & 0x3F));
+            } else {
+                require(pos - position + 2);
+                chars[i] = (char) (((b & 0x0F) << 12) | ((buf[pos++] & 0x3F) << 6) | (buf[pos++] & 0x3F));
+            }
+        }
+        position = pos;
+        return new String(chars);
+    }
+
+}
@@ -0,0 +1,603 @@
+package com.alpha.coding.common.redis.cache.serializer;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.util.ClassUtils;
+
+import com.alibaba.fastjson.JSONObject;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * BinaryRedisSerializer 紧凑二进制序列化
+ * <p>
+ * <li>格式：魔数+版本，随后为带类型标记的值；整数为变长编码，对象字段以名称写入，声明类型与实际类型一致时不写类名，
+ * 通过{@link BinaryTypeRegistry}注册的类型以id代替类名</li>
+ * <li>类结构变化：读取时忽略已删除的字段、新增字段保持默认值，数值类型按字段类型转换，未知的枚举值读为null</li>
+ * <li>dictionary为true时同一value内重复的字符串只写入一次，字段名与类名总是如此</li>
+ * <li>按类名读取的类型须通过{@link BinaryTypeRegistry}注册或放行，否则视为非法数据，写入时需写类名且未放行的对象以JSON写入；
+ * 集合等的长度按剩余数据校验后再分配</li>
+ * <li>byte[]与String的处理与{@link AutoJsonRedisSerializer}一致；无法二进制序列化的对象(无无参构造器、JDK中未支持的类型、
+ * 嵌套过深等)以JSON写入，读取时非二进制格式的数据按JSON解析，可直接读取原JSON格式的缓存</li>
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@Slf4j
+public class BinaryRedisSerializer implements RedisSerializer {
+
+    /**
+     * 魔数，UTF-8编码的JSON文本不会以该字节开头
+     */
+    static final byte MAGIC = (byte) 0xB1;
+    static final byte VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte FLOAT = 5;
+    private static final byte DOUBLE = 6;
+    private static final byte STRING = 7;
+    private static final byte DICT_STRING = 8;
+    private static final byte BYTES = 9;
+    private static final byte BIG_DECIMAL = 10;
+    private static final byte BIG_INTEGER = 11;
+    private static final byte DATE = 12;
+    private static final byte CHAR = 13;
+    private static final byte SHORT = 14;
+    private static final byte BYTE = 15;
+    private static final byte ENUM = 16;
+    private static final byte LIST = 17;
+    private static final byte SET = 18;
+    private static final byte MAP = 19;
+    private static final byte ARRAY = 20;
+    private static final byte OBJECT = 21;
+    private static final byte TYPED = 22;
+
+    private static final int MAX_DEPTH = 64;
+    private static final int MAX_DICT_STRING_LENGTH = 64;
+    private static final int MAX_REUSE_BUFFER = 64 * 1024;
+    private static final Class<?> BYTE_ARRAY_TYPE = byte[].class;
+    private static final Map<String, Class<?>> CLASS_CACHE = new ConcurrentHashMap<>(64);
+    private static final ThreadLocal<BinaryOutput> OUTPUT = ThreadLocal.withInitial(() -> new BinaryOutput(256));
+
+    private final Class<?> targetType;
+    private final ResolvableType resolvableType;
+    private final boolean dictionary;
+    private final AutoJsonRedisSerializer jsonSerializer;
+
+    public BinaryRedisSerializer(Class<?> targetType, Type genericType, boolean dictionary) {
+        this.targetType = targetType;
+        this.resolvableType = genericType == null ? ResolvableType.forClass(targetType)
+                : ResolvableType.forType(genericType);
+        this.dictionary = dictionary;
+        this.jsonSerializer = new AutoJsonRedisSerializer(targetType, genericType);
+    }
+
+    @Override
+    public byte[] serialize(Object o) throws SerializationException {
+        if (o == null || o instanceof byte[] || o instanceof String) {
+            return jsonSerializer.serialize(o);
+        }
+        BinaryOutput out = OUTPUT.get();
+        if (out.capacity() > MAX_REUSE_BUFFER) {
+            out = new BinaryOutput(256);
+            OUTPUT.set(out);
+        }
+        out.reset();
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        try {
+            writeValue(new WriteContext(out), o, resolvableType);
+        } catch (UnsupportedTypeException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("binary serialize {} fail, fallback to json: {}", o.getClass().getName(), e.getMessage());
+            }
+            return jsonSerializer.serialize(o);
+        } catch (ReflectiveOperationException e) {
+            throw new SerializationException("binary serialize fail for " + o.getClass().getName(), e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length < 2 || bytes[0] != MAGIC || targetType.equals(BYTE_ARRAY_TYPE)) {
+            return jsonSerializer.deserialize(bytes);
+        }
+        if (bytes[1] != VERSION) {
+            throw new SerializationException("unsupported binary version " + bytes[1]);
+        }
+        try {
+            return readValue(new ReadContext(new BinaryInput(bytes, 2)), resolvableType);
+        } catch (ReflectiveOperationException e) {
+            throw new SerializationException("binary deserialize fail for " + targetType.getName(), e);
+        }
+    }
+
+    private void writeValue(WriteContext ctx, Object value, ResolvableType declared)
+            throws ReflectiveOperationException {
+        final BinaryOutput out = ctx.out;
+        if (value == null) {
+            out.writeByte(NULL);
+            return;
+        }
+        final Class<?> clazz = value.getClass();
+        if (clazz == String.class) {
+            writeStringValue(ctx, (String) value);
+        } else if (clazz == Integer.class) {
+            out.writeByte(INT);
+            out.writeZigZagInt((Integer) value);
+        } else if (clazz == Long.class) {
+            out.writeByte(LONG);
+            out.writeZigZagLong((Long) value);
+        } else if (clazz == Boolean.class) {
+            out.writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (clazz == Double.class) {
+            out.writeByte(DOUBLE);
+            out.writeLong(Double.doubleToLongBits((Double) value));
+        } else if (clazz == Float.class) {
+            out.writeByte(FLOAT);
+            out.writeVarInt(Float.floatToIntBits((Float) value));
+        } else if (clazz == BigDecimal.class) {
+            out.writeByte(BIG_DECIMAL);
+            out.writeString(value.toString());
+        } else if (clazz == BigInteger.class) {
+            out.writeByte(BIG_INTEGER);
+            out.writeBytes(((BigInteger) value).toByteArray());
+        } else if (clazz == Short.class) {
+            out.writeByte(SHORT);
+            out.writeZigZagInt((Short) value);
+        } else if (clazz == Byte.class) {
+            out.writeByte(BYTE);
+            out.writeZigZagInt((Byte) value);
+        } else if (clazz == Character.class) {
+            out.writeByte(CHAR);
+            out.writeVarInt((Character) value);
+        } else if (clazz == BYTE_ARRAY_TYPE) {
+            out.writeByte(BYTES);
+            out.writeBytes((byte[]) value);
+        } else if (value instanceof Date) {
+            if (clazz != Date.class) {
+                writeTypeIfNecessary(ctx, clazz, declared);
+            }
+            out.writeByte(DATE);
+            out.writeZigZagLong(((Date) value).getTime());
+        } else if (value instanceof Enum) {
+            final Class<?> enumType = ((Enum<?>) value).getDeclaringClass();
+            writeTypeIfNecessary(ctx, enumType, declared);
+            out.writeByte(ENUM);
+            writeDictString(ctx, ((Enum<?>) value).name());
+        } else if (value instanceof Collection) {
+            enter(ctx);
+            final Collection<?> collection = (Collection<?>) value;
+            final ResolvableType elementType = declared.asCollection().getGeneric(0);
+            out.writeByte(value instanceof Set ? SET : LIST);
+            out.writeVarInt(collection.size());
+            for (Object element : collection) {
+                writeValue(ctx, element, elementType);
+            }
+            ctx.depth--;
+        } else if (value instanceof Map) {
+            enter(ctx);
+            final Map<?, ?> map = (Map<?, ?>) value;
+            final ResolvableType mapType = declared.asMap();
+            final ResolvableType keyType = mapType.getGeneric(0);
+            final ResolvableType valueType = mapType.getGeneric(1);
+            out.writeByte(MAP);
+            out.writeVarInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(ctx, entry.getKey(), keyType);
+                writeValue(ctx, entry.getValue(), valueType);
+            }
+            ctx.depth--;
+        } else if (clazz.isArray()) {
+            enter(ctx);
+            writeTypeIfNecessary(ctx, clazz, declared);
+            final ResolvableType componentType = ResolvableType.forClass(clazz.getComponentType());
+            final int length = Array.getLength(value);
+            out.writeByte(ARRAY);
+            out.writeVarInt(length);
+            for (int i = 0; i < length; i++) {
+                writeValue(ctx, Array.get(value, i), componentType);
+            }
+            ctx.depth--;
+        } else {
+            writeObject(ctx, value, clazz, declared);
+        }
+    }
+
+    private void writeObject(WriteContext ctx, Object value, Class<?> clazz, ResolvableType declared)
+            throws ReflectiveOperationException {
+        final String className = clazz.getName();
+        if (className.startsWith("java.") || className.startsWith("javax.")) {
+            throw new UnsupportedTypeException(className);
+        }
+        final BinaryClassSchema schema = BinaryClassSchema.of(clazz);
+        if (schema.constructor == null) {
+            throw new UnsupportedTypeException("no default constructor: " + className);
+        }
+        enter(ctx);
+        writeTypeIfNecessary(ctx, clazz, declared);
+        final BinaryClassSchema.FieldSchema[] fields = schema.fields;
+        final Object[] values = new Object[fields.length];
+        int count = 0;
+        for (int i = 0; i < fields.length; i++) {
+            values[i] = fields[i].field.get(value);
+            if (values[i] != null) {
+                count++;
+            }
+        }
+        final BinaryOutput out = ctx.out;
+        out.writeByte(OBJECT);
+        out.writeVarInt(count);
+        for (int i = 0; i < fields.length; i++) {
+            if (values[i] != null) {
+                writeDictString(ctx, fields[i].name);
+                writeValue(ctx, values[i], fields[i].type);
+            }
+        }
+        ctx.depth--;
+    }
+
+    private void writeTypeIfNecessary(WriteContext ctx, Class<?> clazz, ResolvableType declared) {
+        if (clazz == declared.resolve()) {
+            return;
+        }
+        final int id = BinaryTypeRegistry.getId(clazz);
+        if (id == 0 && !BinaryTypeRegistry.isAllowed(clazz.getName())) {
+            // 读取时不会加载未放行的类，改为以JSON写入
+            throw new UnsupportedTypeException("class not allowed: " + clazz.getName());
+        }
+        ctx.out.writeByte(TYPED);
+        ctx.out.writeVarInt(id);
+        if (id == 0) {
+            writeDictString(ctx, clazz.getName());
+        }
+    }
+
+    private void writeStringValue(WriteContext ctx, String value) {
+        if (dictionary && value.length() <= MAX_DICT_STRING_LENGTH) {
+            ctx.out.writeByte(DICT_STRING);
+            writeDictString(ctx, value);
+        } else {
+            ctx.out.writeByte(STRING);
+            ctx.out.writeString(value);
+        }
+    }
+
+    /**
+     * 首次出现写入0及字符串，之后写入序号+1
+     */
+    private void writeDictString(WriteContext ctx, String value) {
+        final Integer index = ctx.dict.get(value);
+        if (index != null) {
+            ctx.out.writeVarInt(index + 1);
+            return;
+        }
+        ctx.dict.put(value, ctx.dict.size());
+        ctx.out.writeVarInt(0);
+        ctx.out.writeString(value);
+    }
+
+    private void enter(WriteContext ctx) {
+        if (++ctx.depth > MAX_DEPTH) {
+            throw new UnsupportedTypeException("nesting deeper than " + MAX_DEPTH);
+        }
+    }
+
+    private Object readValue(ReadContext ctx, ResolvableType expected) throws ReflectiveOperationException {
+        final BinaryInput in = ctx.in;
+        final byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case INT:
+            case SHORT:
+            case BYTE: {
+                final int value = in.readZigZagInt();
+                return convertNumber(tag == INT ? (Object) value : tag == SHORT ? (Object) (short) value
+                        : (Object) (byte) value, expected.resolve());
+            }
+            case LONG:
+                return convertNumber(in.readZigZagLong(), expected.resolve());
+            case FLOAT:
+                return convertNumber(Float.intBitsToFloat(in.readVarInt()), expected.resolve());
+            case DOUBLE:
+                return convertNumber(Double.longBitsToDouble(in.readLong()), expected.resolve());
+            case BIG_DECIMAL:
+                return convertNumber(new BigDecimal(in.readString()), expected.resolve());
+            case BIG_INTEGER:
+                return convertNumber(new BigInteger(in.readBytes()), expected.resolve());
+            case CHAR:
+                return (char) in.readVarInt();
+            case STRING:
+                return in.readString();
+            case DICT_STRING:
+                return readDictString(ctx);
+            case BYTES:
+                return in.readBytes();
+            case DATE:
+                return convertDate(in.readZigZagLong(), expected.resolve());
+            case ENUM:
+                return convertEnum(readDictString(ctx), expected.resolve());
+            case TYPED: {
+                final Class<?> clazz = readClassRef(ctx);
+                final Class<?> expectedClass = expected.resolve();
+                if (clazz == null || (expectedClass != null && !expectedClass.isAssignableFrom(clazz))) {
+                    return readValue(ctx, expected);
+                }
+                return readValue(ctx, ResolvableType.forClass(clazz));
+            }
+            case LIST:
+            case SET:
+            case ARRAY:
+                return readCollection(ctx, tag, expected);
+            case MAP:
+                return readMap(ctx, expected);
+            case OBJECT:
+                return readObject(ctx, expected);
+            default:
+                throw new SerializationException("unknown binary tag " + tag);
+        }
+    }
+
+    private Object readCollection(ReadContext ctx, byte tag, ResolvableType expected)
+            throws ReflectiveOperationException {
+        final int size = readSize(ctx, 1);
+        final Class<?> expectedClass = expected.resolve();
+        if (expectedClass != null && expectedClass.isArray()) {
+            final Class<?> componentClass = expectedClass.getComponentType();
+            final ResolvableType componentType = expected.getComponentType();
+            final Object array = Array.newInstance(componentClass, size);
+            for (int i = 0; i < size; i++) {
+                final Object element = readValue(ctx, componentType);
+                if (element != null || !componentClass.isPrimitive()) {
+                    Array.set(array, i, element);
+                }
+            }
+            return array;
+        }
+        final Collection<Object> collection = newCollection(expectedClass, tag == SET, size);
+        final ResolvableType elementType = expected.asCollection().getGeneric(0);
+        for (int i = 0; i < size; i++) {
+            collection.add(readValue(ctx, elementType));
+        }
+        return collection;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<Object> newCollection(Class<?> expectedClass, boolean set, int size)
+            throws ReflectiveOperationException {
+        if (expectedClass != null && Collection.class.isAssignableFrom(expectedClass)) {
+            if (!expectedClass.isInterface() && !Modifier.isAbstract(expectedClass.getModifiers())) {
+                return (Collection<Object>) BinaryClassSchema.of(expectedClass).newInstance();
+            }
+            if (SortedSet.class.isAssignableFrom(expectedClass)) {
+                return new TreeSet<>();
+            }
+            if (Set.class.isAssignableFrom(expectedClass)) {
+                return new LinkedHashSet<>(size * 4 / 3 + 1);
+            }
+            if (List.class.isAssignableFrom(expectedClass)) {
+                return new ArrayList<>(size);
+            }
+        }
+        return set ? new LinkedHashSet<>(size * 4 / 3 + 1) : new ArrayList<>(size);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readMap(ReadContext ctx, ResolvableType expected) throws ReflectiveOperationException {
+        final int size = readSize(ctx, 2);
+        final Class<?> expectedClass = expected.resolve();
+        final Map<Object, Object> map;
+        if (expectedClass != null && Map.class.isAssignableFrom(expectedClass)
+                && !expectedClass.isInterface() && !Modifier.isAbstract(expectedClass.getModifiers())) {
+            map = (Map<Object, Object>) BinaryClassSchema.of(expectedClass).newInstance();
+        } else if (expectedClass != null && SortedMap.class.isAssignableFrom(expectedClass)) {
+            map = new TreeMap<>();
+        } else {
+            map = new LinkedHashMap<>(size * 4 / 3 + 1);
+        }
+        final ResolvableType mapType = expected.asMap();
+        final ResolvableType keyType = mapType.getGeneric(0);
+        final ResolvableType valueType = mapType.getGeneric(1);
+        for (int i = 0; i < size; i++) {
+            final Object key = readValue(ctx, keyType);
+            map.put(key, readValue(ctx, valueType));
+        }
+        return map;
+    }
+
+    private Object readObject(ReadContext ctx, ResolvableType expected) throws ReflectiveOperationException {
+        final int count = readSize(ctx, 2);
+        final Class<?> expectedClass = expected.resolve();
+        final BinaryClassSchema schema = expectedClass == null || expectedClass.getName().startsWith("java.")
+                ? null : BinaryClassSchema.of(expectedClass);
+        if (schema == null || schema.constructor == null) {
+            // 类型未知时按字段名读为Map
+            final JSONObject jsonObject = new JSONObject(true);
+            for (int i = 0; i < count; i++) {
+                final String name = readDictString(ctx);
+                jsonObject.put(name, readValue(ctx, ResolvableType.NONE));
+            }
+            return jsonObject;
+        }
+        final Object instance = schema.newInstance();
+        for (int i = 0; i < count; i++) {
+            final String name = readDictString(ctx);
+            final BinaryClassSchema.FieldSchema field = schema.getField(name);
+            final Object value = readValue(ctx, field == null ? ResolvableType.NONE : field.type);
+            if (field == null || (value == null && field.field.getType().isPrimitive())) {
+                continue;
+            }
+            try {
+                field.field.set(instance, value);
+            } catch (IllegalArgumentException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("skip incompatible field {}.{}: {}", schema.type.getName(), name, e.getMessage());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private String readDictString(ReadContext ctx) {
+        final int index = ctx.in.readVarInt();
+        if (index == 0) {
+            final String value = ctx.in.readString();
+            ctx.dict.add(value);
+            return value;
+        }
+        if (index > ctx.dict.size()) {
+            throw new SerializationException("malformed dictionary reference " + index);
+        }
+        return ctx.dict.get(index - 1);
+    }
+
+    /**
+     * 读取元素个数，每个元素至少占用minBytes字节，超出剩余数据时视为非法数据，避免按伪造的长度分配内存
+     */
+    private static int readSize(ReadContext ctx, int minBytes) {
+        final int size = ctx.in.readVarInt();
+        if (size < 0 || size > ctx.in.remaining() / minBytes) {
+            throw new SerializationException("malformed binary size " + size + ", remaining " + ctx.in.remaining());
+        }
+        return size;
+    }
+
+    private Class<?> readClassRef(ReadContext ctx) {
+        final int id = ctx.in.readVarInt();
+        if (id > 0) {
+            return BinaryTypeRegistry.getClass(id);
+        }
+        final String className = readDictString(ctx);
+        Class<?> clazz = CLASS_CACHE.get(className);
+        if (clazz != null) {
+            return clazz;
+        }
+        if (!BinaryTypeRegistry.isAllowed(className)) {
+            throw new SerializationException("binary deserialize: class " + className
+                    + " is not allowed, register or allow it in BinaryTypeRegistry");
+        }
+        try {
+            clazz = Class.forName(className, false, ClassUtils.getDefaultClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            log.warn("binary deserialize: class {} not found", className);
+            return null;
+        }
+        // 只缓存放行且存在的类型，缓存大小受放行范围限制
+        CLASS_CACHE.put(className, clazz);
+        return clazz;
+    }
+
+    private static Object convertNumber(Object value, Class<?> expected) {
+        if (expected == null || !(value instanceof Number)) {
+            return value;
+        }
+        final Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(expected);
+        if (type.isInstance(value)) {
+            return value;
+        }
+        final Number number = (Number) value;
+        if (type == Integer.class) {
+            return number.intValue();
+        } else if (type == Long.class) {
+            return number.longValue();
+        } else if (type == Double.class) {
+            return number.doubleValue();
+        } else if (type == Float.class) {
+            return number.floatValue();
+        } else if (type == Short.class) {
+            return number.shortValue();
+        } else if (type == Byte.class) {
+            return number.byteValue();
+        } else if (type == BigDecimal.class) {
+            return new BigDecimal(number.toString());
+        } else if (type == BigInteger.class) {
+            return number instanceof BigDecimal ? ((BigDecimal) number).toBigInteger()
+                    : BigInteger.valueOf(number.longValue());
+        } else if (type == String.class) {
+            return number.toString();
+        } else if (Date.class.isAssignableFrom(type)) {
+            return convertDate(number.longValue(), type);
+        }
+        return value;
+    }
+
+    private static Object convertDate(long time, Class<?> expected) {
+        if (expected == null || !Date.class.isAssignableFrom(expected) || expected == Date.class) {
+            return expected == Long.class || expected == long.class ? (Object) time : new Date(time);
+        }
+        try {
+            return expected.getConstructor(long.class).newInstance(time);
+        } catch (ReflectiveOperationException e) {
+            return new Date(time);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object convertEnum(String name, Class<?> expected) {
+        if (expected == null || !expected.isEnum()) {
+            return name;
+        }
+        try {
+            return Enum.valueOf((Class<? extends Enum>) expected, name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static class WriteContext {
+        final BinaryOutput out;
+        final Map<String, Integer> dict = new HashMap<>();
+        int depth;
+
+        WriteContext(BinaryOutput out) {
+            this.out = out;
+        }
+    }
+
+    private static class ReadContext {
+        final BinaryInput in;
+        final List<String> dict = new ArrayList<>();
+
+        ReadContext(BinaryInput in) {
+            this.in = in;
+        }
+    }
+
+    private static class UnsupportedTypeException extends RuntimeException {
+        UnsupportedTypeException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+}
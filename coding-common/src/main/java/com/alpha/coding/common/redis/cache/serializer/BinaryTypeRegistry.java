@@ -0,0 +1,114 @@
+package com.alpha.coding.common.redis.cache.serializer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * BinaryTypeRegistry 二进制序列化的类型注册
+ * <p>
+ * <li>注册后的类型以id代替类名写入，id须在所有读写该缓存的实例中保持一致，未注册的类型写入类名</li>
+ * <li>读取时只加载已注册、通过{@link #allow(Class)}或{@link #allowPackage(String)}放行的类型及内置的JDK值类型，
+ * 其它类名视为非法数据</li>
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+public class BinaryTypeRegistry {
+
+    private static final Map<Class<?>, Integer> CLASS_IDS = new ConcurrentHashMap<>();
+    private static final Map<Integer, Class<?>> ID_CLASSES = new ConcurrentHashMap<>();
+    private static final Set<String> ALLOWED_CLASSES = ConcurrentHashMap.newKeySet();
+    private static final CopyOnWriteArrayList<String> ALLOWED_PACKAGES = new CopyOnWriteArrayList<>();
+    private static final Set<String> BUILTIN_CLASSES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "java.lang.String", "java.lang.Integer", "java.lang.Long", "java.lang.Short", "java.lang.Byte",
+            "java.lang.Character", "java.lang.Boolean", "java.lang.Double", "java.lang.Float",
+            "java.math.BigDecimal", "java.math.BigInteger", "java.util.Date",
+            "java.sql.Date", "java.sql.Time", "java.sql.Timestamp")));
+
+    /**
+     * 注册类型
+     *
+     * @param clazz 类型
+     * @param id    类型id，须大于0
+     */
+    public static synchronized void register(Class<?> clazz, int id) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("type id must be positive: " + id);
+        }
+        final Class<?> exist = ID_CLASSES.get(id);
+        if (exist != null && !exist.equals(clazz)) {
+            throw new IllegalArgumentException("type id " + id + " already registered by " + exist.getName());
+        }
+        final Integer existId = CLASS_IDS.get(clazz);
+        if (existId != null && existId != id) {
+            throw new IllegalArgumentException(clazz.getName() + " already registered with id " + existId);
+        }
+        CLASS_IDS.put(clazz, id);
+        ID_CLASSES.put(id, clazz);
+        ALLOWED_CLASSES.add(clazz.getName());
+    }
+
+    /**
+     * 放行类型，读取时允许按类名加载
+     */
+    public static void allow(Class<?> clazz) {
+        ALLOWED_CLASSES.add(clazz.getName());
+    }
+
+    /**
+     * 放行包及其子包下的类型，读取时允许按类名加载
+     *
+     * @param packageName 包名，如com.alpha.coding
+     */
+    public static void allowPackage(String packageName) {
+        if (packageName == null || packageName.trim().isEmpty()) {
+            throw new IllegalArgumentException("package name must not be blank");
+        }
+        final String prefix = packageName.endsWith(".") ? packageName : packageName + ".";
+        ALLOWED_PACKAGES.addIfAbsent(prefix);
+    }
+
+    /**
+     * 类名是否允许加载，数组按元素类型判断
+     */
+    static boolean isAllowed(String className) {
+        String name = className;
+        if (name.startsWith("[")) {
+            name = name.substring(name.lastIndexOf('[') + 1);
+            if (name.length() == 1) {
+                return "ZBCSIJFD".contains(name);
+            }
+            if (!name.startsWith("L") || !name.endsWith(";")) {
+                return false;
+            }
+            name = name.substring(1, name.length() - 1);
+        }
+        if (BUILTIN_CLASSES.contains(name) || ALLOWED_CLASSES.contains(name)) {
+            return true;
+        }
+        for (String prefix : ALLOWED_PACKAGES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return 未注册时返回0
+     */
+    static int getId(Class<?> clazz) {
+        final Integer id = CLASS_IDS.get(clazz);
+        return id == null ? 0 : id;
+    }
+
+    static Class<?> getClass(int id) {
+        return ID_CLASSES.get(id);
+    }
+
+}
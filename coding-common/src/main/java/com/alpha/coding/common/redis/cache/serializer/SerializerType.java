@@ -0,0 +1,43 @@
+package com.alpha.coding.common.redis.cache.serializer;
+
+import java.lang.reflect.Type;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * SerializerType 缓存value序列化方式
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+public enum SerializerType {
+
+    /**
+     * 注解中使用，表示沿用全局配置
+     */
+    DEFAULT,
+    /**
+     * JSON文本
+     */
+    JSON,
+    /**
+     * 紧凑二进制，可读取JSON格式的旧数据
+     */
+    BINARY,
+    /**
+     * 紧凑二进制，同一value内重复出现的字符串只存储一次
+     */
+    BINARY_DICTIONARY;
+
+    public RedisSerializer create(Class<?> targetType, Type genericType) {
+        switch (this) {
+            case BINARY:
+                return new BinaryRedisSerializer(targetType, genericType, false);
+            case BINARY_DICTIONARY:
+                return new BinaryRedisSerializer(targetType, genericType, true);
+            default:
+                return new AutoJsonRedisSerializer(targetType, genericType);
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.alpha.coding.common.rocketmq;
+
+import java.util.BitSet;
+
+/**
+ * BatchConsumeResult 批量消费结果，按消息在批次中的下标记录失败
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+public class BatchConsumeResult {
+
+    private final BitSet failed = new BitSet();
+
+    public static BatchConsumeResult success() {
+        return new BatchConsumeResult();
+    }
+
+    /**
+     * 标记批次中下标为index的消息消费失败，失败消息会重新投递
+     */
+    public BatchConsumeResult markFailed(int index) {
+        failed.set(index);
+        return this;
+    }
+
+    /**
+     * 标记整批消费失败
+     */
+    public BatchConsumeResult markAllFailed(int size) {
+        failed.set(0, size);
+        return this;
+    }
+
+    public boolean isFailed(int index) {
+        return failed.get(index);
+    }
+
+    public int failedCount() {
+        return failed.cardinality();
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.alpha.coding.common.rocketmq;
+
+import org.apache.rocketmq.common.message.MessageExt;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * BatchMessage 批量消费的单条消息
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@Data
+@NoArgsConstructor
+@Accessors(chain = true)
+public class BatchMessage<T> {
+
+    /**
+     * 原始消息
+     */
+    private MessageExt message;
+
+    /**
+     * 解码后的消息体
+     */
+    private T payload;
+
+    public BatchMessage(MessageExt message, T payload) {
+        this.message = message;
+        this.payload = payload;
+    }
+
+}
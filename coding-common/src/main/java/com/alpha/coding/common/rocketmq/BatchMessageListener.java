@@ -0,0 +1,28 @@
+package com.alpha.coding.common.rocketmq;
+
+import java.util.List;
+
+import org.apache.rocketmq.common.message.MessageExt;
+
+/**
+ * BatchMessageListener 批量消息处理器，配合{@link BatchMessageListenerAdaptor}使用
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+public interface BatchMessageListener<T> {
+
+    /**
+     * 解码消息，抛出异常时该消息按消费失败处理
+     */
+    T decode(MessageExt message) throws Exception;
+
+    /**
+     * 批量消费
+     *
+     * @param messages 解码后的消息，条数不超过maxBatchSize
+     * @return 消费结果，返回null表示全部成功，抛出异常表示整批失败
+     */
+    BatchConsumeResult consume(List<BatchMessage<T>> messages) throws Exception;
+
+}
@@ -0,0 +1,247 @@
+package com.alpha.coding.common.rocketmq;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.rocketmq.client.consumer.DefaultMQPushConsumer;
+import org.apache.rocketmq.client.consumer.listener.ConsumeConcurrentlyContext;
+import org.apache.rocketmq.client.consumer.listener.ConsumeConcurrentlyStatus;
+import org.apache.rocketmq.client.consumer.listener.MessageListenerConcurrently;
+import org.apache.rocketmq.common.message.MessageExt;
+import org.apache.rocketmq.common.protocol.heartbeat.MessageModel;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * BatchMessageListenerAdaptor 将{@link BatchMessageListener}适配为MessageListenerConcurrently
+ * <p>
+ * <li>maxLingerMillis大于0时，多个消费线程的消息先进入缓冲区，攒满maxBatchSize或最早的消息等待超过maxLingerMillis后合并成一批处理，
+ * 各消费线程阻塞至所属消息处理完成；maxLingerMillis不大于0时只按maxBatchSize切分本次拉取的消息</li>
+ * <li>部分消息失败时，集群模式下失败消息逐条sendMessageBack重投，其余消息确认；sendMessageBack失败时通过ackIndex
+ * 重投该消息及其后的消息</li>
+ * <li>不依赖broker，可直接调用consumeMessage进行验证</li>
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@Slf4j
+@Accessors(chain = true)
+public class BatchMessageListenerAdaptor<T> implements MessageListenerConcurrently {
+
+    @Getter
+    private final BatchMessageListener<T> listener;
+
+    /**
+     * 单批最大条数
+     */
+    @Setter
+    @Getter
+    private int maxBatchSize = 100;
+    /**
+     * 最大攒批等待时间(ms)
+     */
+    @Setter
+    @Getter
+    private long maxLingerMillis = 0;
+    /**
+     * 用于逐条重投失败消息，为null时使用ackIndex重投
+     */
+    @Setter
+    private DefaultMQPushConsumer consumer;
+
+    private final Object lock = new Object();
+    private List<Pending<T>> buffer = new ArrayList<>();
+    private int bufferedCount;
+
+    public BatchMessageListenerAdaptor(BatchMessageListener<T> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public ConsumeConcurrentlyStatus consumeMessage(List<MessageExt> msgs, ConsumeConcurrentlyContext context) {
+        if (msgs == null || msgs.isEmpty()) {
+            return ConsumeConcurrentlyStatus.CONSUME_SUCCESS;
+        }
+        final Pending<T> pending = decode(msgs);
+        if (!pending.batch.isEmpty()) {
+            if (maxLingerMillis > 0) {
+                awaitLinger(pending);
+            } else {
+                process(Collections.singletonList(pending));
+            }
+        }
+        return resolveStatus(msgs, pending.failed, context);
+    }
+
+    private Pending<T> decode(List<MessageExt> msgs) {
+        final Pending<T> pending = new Pending<>(msgs.size());
+        for (int i = 0; i < msgs.size(); i++) {
+            final MessageExt msg = msgs.get(i);
+            try {
+                pending.batch.add(new BatchMessage<>(msg, listener.decode(msg)));
+                pending.positions.add(i);
+            } catch (Exception e) {
+                log.warn("decode message fail, msgId={}, msg={}", msg.getMsgId(), e.getMessage());
+                pending.failed[i] = true;
+            }
+        }
+        return pending;
+    }
+
+    private void awaitLinger(Pending<T> pending) {
+        List<Pending<T>> toFlush = null;
+        synchronized (lock) {
+            buffer.add(pending);
+            bufferedCount += pending.batch.size();
+            if (bufferedCount >= maxBatchSize) {
+                toFlush = drain();
+            }
+        }
+        if (toFlush != null) {
+            process(toFlush);
+            return;
+        }
+        try {
+            pending.done.get(maxLingerMillis, TimeUnit.MILLISECONDS);
+            return;
+        } catch (TimeoutException e) {
+            synchronized (lock) {
+                if (buffer.contains(pending)) {
+                    toFlush = drain();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // process内已标记失败
+            return;
+        }
+        if (toFlush != null) {
+            process(toFlush);
+            return;
+        }
+        // 已被其它线程取走，等待其处理完成
+        try {
+            pending.done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            markAllFailed(pending);
+        } catch (ExecutionException e) {
+            // process内已标记失败
+        }
+    }
+
+    private List<Pending<T>> drain() {
+        final List<Pending<T>> drained = buffer;
+        buffer = new ArrayList<>();
+        bufferedCount = 0;
+        return drained;
+    }
+
+    private void process(List<Pending<T>> pendings) {
+        final List<BatchMessage<T>> chunk = new ArrayList<>(maxBatchSize);
+        final List<Pending<T>> owners = new ArrayList<>(maxBatchSize);
+        final List<Integer> ownerIndexes = new ArrayList<>(maxBatchSize);
+        try {
+            for (Pending<T> pending : pendings) {
+                for (int i = 0; i < pending.batch.size(); i++) {
+                    chunk.add(pending.batch.get(i));
+                    owners.add(pending);
+                    ownerIndexes.add(pending.positions.get(i));
+                    if (chunk.size() >= maxBatchSize) {
+                        consumeChunk(chunk, owners, ownerIndexes);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                consumeChunk(chunk, owners, ownerIndexes);
+            }
+        } finally {
+            pendings.forEach(p -> p.done.complete(null));
+        }
+    }
+
+    private void consumeChunk(List<BatchMessage<T>> chunk, List<Pending<T>> owners, List<Integer> ownerIndexes) {
+        BatchConsumeResult result;
+        try {
+            result = listener.consume(new ArrayList<>(chunk));
+        } catch (Throwable e) {
+            log.warn("batch consume fail, size={}, msg={}", chunk.size(), e.getMessage(), e);
+            result = BatchConsumeResult.success().markAllFailed(chunk.size());
+        }
+        if (result != null) {
+            for (int i = 0; i < chunk.size(); i++) {
+                if (result.isFailed(i)) {
+                    owners.get(i).failed[ownerIndexes.get(i)] = true;
+                }
+            }
+        }
+        chunk.clear();
+        owners.clear();
+        ownerIndexes.clear();
+    }
+
+    private void markAllFailed(Pending<T> pending) {
+        for (int position : pending.positions) {
+            pending.failed[position] = true;
+        }
+    }
+
+    private ConsumeConcurrentlyStatus resolveStatus(List<MessageExt> msgs, boolean[] failed,
+                                                    ConsumeConcurrentlyContext context) {
+        int failedCount = 0;
+        for (boolean f : failed) {
+            if (f) {
+                failedCount++;
+            }
+        }
+        if (failedCount == 0) {
+            return ConsumeConcurrentlyStatus.CONSUME_SUCCESS;
+        }
+        if (failedCount == msgs.size()) {
+            return ConsumeConcurrentlyStatus.RECONSUME_LATER;
+        }
+        final boolean canSendBack = consumer != null && consumer.getMessageModel() == MessageModel.CLUSTERING;
+        for (int i = 0; i < msgs.size(); i++) {
+            if (!failed[i]) {
+                continue;
+            }
+            if (canSendBack) {
+                try {
+                    consumer.sendMessageBack(msgs.get(i), context.getDelayLevelWhenNextConsume(),
+                            context.getMessageQueue() == null ? null : context.getMessageQueue().getBrokerName());
+                    continue;
+                } catch (Exception e) {
+                    log.warn("sendMessageBack fail, msgId={}, msg={}", msgs.get(i).getMsgId(), e.getMessage());
+                }
+            }
+            // 由框架重投该消息及其后的消息
+            context.setAckIndex(i - 1);
+            return ConsumeConcurrentlyStatus.CONSUME_SUCCESS;
+        }
+        return ConsumeConcurrentlyStatus.CONSUME_SUCCESS;
+    }
+
+    private static class Pending<T> {
+
+        private final List<BatchMessage<T>> batch;
+        private final List<Integer> positions;
+        private final boolean[] failed;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Pending(int size) {
+            this.batch = new ArrayList<>(size);
+            this.positions = new ArrayList<>(size);
+            this.failed = new boolean[size];
+        }
+    }
+
+}
@@ -5,6 +5,7 @@ import java.util.Optional;
 import java.util.Set;
 
 import org.apache.rocketmq.client.producer.DefaultMQProducer;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.core.annotation.AnnotationAttributes;
@@ -112,8 +113,27 @@ public class EnableRocketMQAutoConfigHandler implements ConfigurationRegisterHan
             beanDefinitionBuilder.addPropertyValue("topic", topic);
             beanDefinitionBuilder.addPropertyValue("tag", tag);
             beanDefinitionBuilder.addPropertyValue("namesrvAddr", namesrvAddr);
-            beanDefinitionBuilder.addPropertyReference("messageListener",
-                    attributes.getString("messageListenerBeanName"));
+            final String messageListenerBeanName = attributes.getString("messageListenerBeanName");
+            final String batchMessageListenerBeanName = attributes.getString("batchMessageListenerBeanName");
+            if (StringUtils.isBlank(messageListenerBeanName) == StringUtils.isBlank(batchMessageListenerBeanName)) {
+                throw new BeanDefinitionStoreException("EnableRocketMQConsumer for topic " + topic + " group " + group
+                        + " must specify exactly one of messageListenerBeanName and batchMessageListenerBeanName");
+            }
+            if (StringUtils.isNotBlank(batchMessageListenerBeanName)) {
+                beanDefinitionBuilder.addPropertyReference("batchMessageListener", batchMessageListenerBeanName);
+                Optional.ofNullable(BeanDefineUtils.fetchProperty(env,
+                        Arrays.asList("rocketmq.consumer." + topic + ".batchMaxSize",
+                                "rocketmq.consumer.batchMaxSize"), StringUtils::isNumeric,
+                        Integer.class, null))
+                        .ifPresent(x -> beanDefinitionBuilder.addPropertyValue("batchMaxSize", x));
+                Optional.ofNullable(BeanDefineUtils.fetchProperty(env,
+                        Arrays.asList("rocketmq.consumer." + topic + ".batchMaxLingerMillis",
+                                "rocketmq.consumer.batchMaxLingerMillis"), StringUtils::isNumeric,
+                        Long.class, null))
+                        .ifPresent(x -> beanDefinitionBuilder.addPropertyValue("batchMaxLingerMillis", x));
+            } else {
+                beanDefinitionBuilder.addPropertyReference("messageListener", messageListenerBeanName);
+            }
             beanDefinitionBuilder.addPropertyValue("description", attributes.getString("description"));
             Optional.ofNullable(BeanDefineUtils.fetchProperty(env,
                     Arrays.asList("rocketmq.consumer." + topic + ".pullInterval",
@@ -19,6 +19,8 @@ import com.alpha.coding.common.bean.register.EnableAutoRegistrar;
  * <p>rocketmq.consumer.consumeMessageBatchMaxSize=100</p>
  * <p>rocketmq.consumer.consumeThreadMin=2</p>
  * <p>rocketmq.consumer.consumeThreadMax=8</p>
+ * <p>rocketmq.consumer.batchMaxSize=100</p>
+ * <p>rocketmq.consumer.batchMaxLingerMillis=0</p>
  *
  * @version 1.0
  * Date: 2021/4/28
@@ -51,9 +53,15 @@ public @interface EnableRocketMQConsumer {
     String tag() default "*";
 
     /**
-     * 消息处理器BeanName
+     * 消息处理器BeanName，与batchMessageListenerBeanName二选一
      */
-    String messageListenerBeanName();
+    String messageListenerBeanName() default "";
+
+    /**
+     * 批量消息处理器(com.alpha.coding.common.rocketmq.BatchMessageListener)BeanName，
+     * 单批条数与攒批等待时间见rocketmq.consumer.batchMaxSize与rocketmq.consumer.batchMaxLingerMillis
+     */
+    String batchMessageListenerBeanName() default "";
 
     /**
      * 消费者BeanName，为空时系统自动生成
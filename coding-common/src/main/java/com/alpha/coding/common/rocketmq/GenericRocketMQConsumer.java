@@ -26,12 +26,30 @@ public class GenericRocketMQConsumer extends DefaultMQPushConsumer implements In
     private String tag = "*";
     @Setter
     private String description;
+    /**
+     * 批量消息处理器，设置后替代messageListener
+     */
+    @Setter
+    private BatchMessageListener<?> batchMessageListener;
+    /**
+     * 批量消费单批最大条数
+     */
+    @Setter
+    private int batchMaxSize = 100;
+    /**
+     * 批量消费最大攒批等待时间(ms)
+     */
+    @Setter
+    private long batchMaxLingerMillis = 0;
 
     private volatile boolean started = false;
 
     @Override
     public void start() throws MQClientException {
         if (!started) {
+            if (this.batchMessageListener != null) {
+                registerBatchMessageListener();
+            }
             super.subscribe(this.topic, this.tag);
             if (Objects.equals(System.getProperty("rocketmq.client.name", "DEFAULT"), this.getInstanceName())) {
                 this.setInstanceName(UUID.randomUUID().toString().replaceAll("-", ""));
@@ -43,6 +61,19 @@ public class GenericRocketMQConsumer extends DefaultMQPushConsumer implements In
         }
     }
 
+    private void registerBatchMessageListener() {
+        if (this.getConsumeMessageBatchMaxSize() <= 1) {
+            // 默认每次只投递一条消息，放大到单批条数以便一次拉取的消息整体交给批量处理器
+            this.setConsumeMessageBatchMaxSize(Math.min(Math.max(this.batchMaxSize, 1), 1024));
+        }
+        super.registerMessageListener(new BatchMessageListenerAdaptor<>(this.batchMessageListener)
+                .setMaxBatchSize(Math.max(this.batchMaxSize, 1))
+                .setMaxLingerMillis(this.batchMaxLingerMillis)
+                .setConsumer(this));
+        log.info("[{}]RocketMQ批量消费,主题={},batchMaxSize={},batchMaxLingerMillis={}", this.description, this.topic,
+                this.batchMaxSize, this.batchMaxLingerMillis);
+    }
+
     @Override
     public void shutdown() {
         super.shutdown();
@@ -2,7 +2,6 @@ package com.alpha.coding.common.utils;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -16,12 +15,12 @@ import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.function.Predicate;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
 
+import com.alpha.coding.common.utils.compress.GzipCompressCodec;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -34,6 +33,7 @@ import lombok.extern.slf4j.Slf4j;
 public class CompressUtils {
 
     public static final Charset DEFAULT_CS = StandardCharsets.UTF_8;
+    private static final GzipCompressCodec GZIP_CODEC = new GzipCompressCodec();
 
     /**
      * compress by gzip, use UTF-8 for default
@@ -70,17 +70,11 @@ public class CompressUtils {
      * @return bytes compressed
      */
     public static byte[] gzip(byte[] bytes) throws IOException {
-        try (ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
-            try (GZIPOutputStream gzip = new GZIPOutputStream(bos)) {
-                gzip.write(bytes);
-                gzip.finish();
-            }
-            final byte[] array = bos.toByteArray();
-            if (log.isDebugEnabled()) {
-                log.debug("compress length: before={},after={}", bytes.length, array.length);
-            }
-            return array;
+        final byte[] array = GZIP_CODEC.compress(bytes, 0);
+        if (log.isDebugEnabled()) {
+            log.debug("compress length: before={},after={}", bytes.length, array.length);
         }
+        return array;
     }
 
     /**
@@ -90,19 +84,7 @@ public class CompressUtils {
      * @return bytes uncompressed
      */
     public static byte[] unGzip(byte[] bytes) throws IOException {
-        try (ByteArrayInputStream bis = new ByteArrayInputStream(bytes)) {
-            try (GZIPInputStream gzip = new GZIPInputStream(bis)) {
-                byte[] buf = new byte[1024];
-                int num = -1;
-                try (ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
-                    while ((num = gzip.read(buf, 0, buf.length)) != -1) {
-                        bos.write(buf, 0, num);
-                    }
-                    bos.flush();
-                    return bos.toByteArray();
-                }
-            }
-        }
+        return GZIP_CODEC.decompress(bytes, 0);
     }
 
     /**
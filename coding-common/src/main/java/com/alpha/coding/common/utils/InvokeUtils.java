@@ -2,9 +2,13 @@ package com.alpha.coding.common.utils;
 
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
@@ -24,6 +28,7 @@ import lombok.extern.slf4j.Slf4j;
 public class InvokeUtils {
 
     private static final ConcurrentHashMap<String, InvokeLock> LOCK_CACHE = new ConcurrentHashMap<>(64);
+    private static final ConcurrentHashMap<String, InvokeFlight> FLIGHT_CACHE = new ConcurrentHashMap<>(64);
 
     @Data
     @Accessors(chain = true)
@@ -35,6 +40,16 @@ public class InvokeUtils {
 
     }
 
+    /**
+     * 单飞调用的在途结果
+     */
+    public static class InvokeFlight {
+
+        private final Thread leader = Thread.currentThread();
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+    }
+
     @Data
     @Accessors(chain = true)
     public static class InvokeResult {
@@ -79,13 +94,15 @@ public class InvokeUtils {
         }
         InvokeLock lock = lockCache.get(key);
         if (lock == null) {
-            synchronized(lockCache) {
-                lock = lockCache.get(key);
-                if (lock == null) {
-                    lock = new InvokeLock();
-                    lock.queue = new LinkedBlockingDeque<>(Math.max(concurrency, 1));
-                    lock.waitCnt = new AtomicInteger(0);
-                    lockCache.put(key, lock);
+            if (lockCache instanceof ConcurrentMap) {
+                lock = lockCache.computeIfAbsent(key, k -> newInvokeLock(concurrency));
+            } else {
+                synchronized(lockCache) {
+                    lock = lockCache.get(key);
+                    if (lock == null) {
+                        lock = newInvokeLock(concurrency);
+                        lockCache.put(key, lock);
+                    }
                 }
             }
         }
@@ -162,10 +179,116 @@ public class InvokeUtils {
             if (addToQueue) {
                 lock.queue.remove(Thread.currentThread());
                 if (lock.queue.peek() == null && lock.waitCnt.get() <= 0) {
-                    lockCache.remove(key);
+                    lockCache.remove(key, lock);
+                }
+            }
+        }
+    }
+
+    private static InvokeLock newInvokeLock(int concurrency) {
+        final InvokeLock lock = new InvokeLock();
+        lock.queue = new LinkedBlockingDeque<>(Math.max(concurrency, 1));
+        lock.waitCnt = new AtomicInteger(0);
+        return lock;
+    }
+
+    /**
+     * 单飞请求控制：同一key的并发调用仅由首个调用者(leader)执行加载，其余调用者等待并共享其结果(值或异常)，
+     * leader结束后即移除在途记录，之后的调用重新加载
+     *
+     * @param flightCache                 在途调用缓存
+     * @param key                         资源key
+     * @param awaitMillis                 最大等待时长，null或负数表示无限等待
+     * @param failFastWhenTimeout         是否等待超时后快速失败，否则自行加载
+     * @param failFastWhenWaitInterrupted 是否等待中断后快速失败，否则自行加载
+     * @param valueSupplier               加载器：提供值函数
+     * @param valueConsumer               放置器：值后置处理函数(仅执行加载者调用)
+     * @return InvokeResult，winLock表示是否为执行加载者
+     */
+    public static InvokeResult singleFlightInvoke(ConcurrentMap<String, InvokeFlight> flightCache, String key,
+                                                  Long awaitMillis, boolean failFastWhenTimeout,
+                                                  boolean failFastWhenWaitInterrupted,
+                                                  ThrowableSupplier valueSupplier, Consumer valueConsumer)
+            throws Throwable {
+        if (key == null) {
+            return null;
+        }
+        final InvokeFlight flight = new InvokeFlight();
+        final InvokeFlight existFlight = flightCache.putIfAbsent(key, flight);
+        if (existFlight == null) {
+            try {
+                final Object result;
+                try {
+                    result = valueSupplier.get();
+                } catch (Throwable e) {
+                    flight.future.completeExceptionally(e);
+                    throw e;
                 }
+                // 先唤醒等待者，放置失败不影响已加载的值
+                flight.future.complete(result);
+                acceptQuietly(key, valueConsumer, result);
+                return new InvokeResult().setWinLock(true).setData(result);
+            } finally {
+                flightCache.remove(key, flight);
             }
         }
+        if (existFlight.leader == Thread.currentThread()) {
+            // 重入时直接处理
+            final Object result = valueSupplier.get();
+            acceptQuietly(key, valueConsumer, result);
+            return new InvokeResult().setWinLock(true).setData(result);
+        }
+        try {
+            final Object result = awaitMillis == null || awaitMillis < 0 ? existFlight.future.get()
+                    : existFlight.future.get(awaitMillis, TimeUnit.MILLISECONDS);
+            return new InvokeResult().setWinLock(false).setData(result);
+        } catch (ExecutionException e) {
+            throw e.getCause() == null ? e : e.getCause();
+        } catch (InterruptedException e) {
+            log.warn("invoke wait interrupted for {}", key);
+            if (failFastWhenWaitInterrupted) {
+                Thread.currentThread().interrupt();
+                return new InvokeResult().setWinLock(false).setInterrupted(true);
+            }
+            try {
+                return new InvokeResult().setWinLock(false).setInterrupted(true).setData(valueSupplier.get());
+            } finally {
+                // 自行加载完成后恢复中断状态
+                Thread.currentThread().interrupt();
+            }
+        } catch (TimeoutException e) {
+            log.warn("invoke wait timeout:{} for {}", awaitMillis, key);
+            if (failFastWhenTimeout) {
+                return new InvokeResult().setWinLock(false).setWaitTimeout(true);
+            }
+            return new InvokeResult().setWinLock(false).setWaitTimeout(true).setData(valueSupplier.get());
+        }
+    }
+
+    private static void acceptQuietly(String key, Consumer valueConsumer, Object result) {
+        if (valueConsumer == null) {
+            return;
+        }
+        try {
+            valueConsumer.accept(result);
+        } catch (Exception e) {
+            log.warn("invoke value consumer fail for {}", key, e);
+        }
+    }
+
+    /**
+     * 单飞请求控制
+     *
+     * @param key           资源key
+     * @param awaitMillis   最大等待时长，null或负数表示无限等待
+     * @param valueSupplier 加载器：提供值函数
+     * @param valueConsumer 放置器：值后置处理函数(仅执行加载者调用)
+     * @return InvokeResult
+     */
+    public static InvokeResult singleFlightInvoke(String key, Long awaitMillis,
+                                                  ThrowableSupplier valueSupplier, Consumer valueConsumer)
+            throws Throwable {
+        return singleFlightInvoke(FLIGHT_CACHE, key, awaitMillis, false, false, valueSupplier, valueConsumer);
     }
 
     /**
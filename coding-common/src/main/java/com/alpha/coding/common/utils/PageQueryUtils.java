@@ -1,16 +1,27 @@
 package com.alpha.coding.common.utils;
 
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
 import java.util.List;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
 import org.mybatis.dynamic.sql.select.CountDSL;
 import org.mybatis.dynamic.sql.select.QueryExpressionDSL;
 import org.mybatis.dynamic.sql.select.SelectModel;
 import org.mybatis.dynamic.sql.where.AbstractWhereFinisher;
 
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.alpha.coding.bo.page.KeysetPageRet;
 import com.alpha.coding.bo.page.PageRet;
 import com.alpha.coding.bo.response.PageResData;
 
@@ -22,6 +33,13 @@ import com.alpha.coding.bo.response.PageResData;
  */
 public class PageQueryUtils {
 
+    private static final String TOKEN_SIGN_ALGORITHM = "HmacSHA256";
+
+    /**
+     * 续传令牌的签名密钥，为null时令牌不签名
+     */
+    private static volatile byte[] tokenSecret;
+
     /**
      * pageQuery 分页查询
      *
@@ -131,4 +149,146 @@ public class PageQueryUtils {
         return new PageResData<>(pageRet, vos);
     }
 
+    /**
+     * keysetQuery 游标(keyset)分页查询
+     * <p>
+     * 按排序键"大于上一页最后一条"查询下一页，每页代价与页深度无关；
+     * 总数仅在首页查询一次并随续传令牌传递，后续页不再查询；
+     * 令牌默认仅编码不签名，通过{@link #setTokenSecret(String)}配置密钥后以HMAC-SHA256签名，多实例部署时需配置相同的密钥
+     *
+     * @param token           续传令牌，首页为null
+     * @param pageSize        页大小
+     * @param keyType         排序键类型，用于解析令牌
+     * @param keyExtractor    排序键提取函数，排序键需与查询的排序一致且唯一(如id，或(create_time,id)组合)
+     * @param selectAfterFunc 查询函数，入参为上一页最后一条的排序键(首页为null)与查询条数，需按排序键升序返回大于该键的记录
+     * @param countSup        总数提供函数，为null时不统计总数
+     * @param mapper          PO->VO函数
+     * @return PageResData，pageRet为KeysetPageRet
+     */
+    public static <P, T, K> PageResData<T> keysetQuery(String token, int pageSize, Class<K> keyType,
+                                                       Function<? super P, ? extends K> keyExtractor,
+                                                       BiFunction<K, Integer, List<P>> selectAfterFunc,
+                                                       Supplier<Long> countSup,
+                                                       Function<? super P, ? extends T> mapper) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        K lastKey = null;
+        int pageNo = 1;
+        long totalCount = -1;
+        if (StringUtils.isNotBlank(token)) {
+            final JSONObject tokenObj = decodeToken(token);
+            lastKey = tokenObj.getObject("k", keyType);
+            pageNo = tokenObj.getIntValue("p");
+            totalCount = tokenObj.containsKey("c") ? tokenObj.getLongValue("c") : -1;
+        } else if (countSup != null) {
+            totalCount = countSup.get();
+        }
+        final KeysetPageRet pageRet = new KeysetPageRet();
+        pageRet.setPageNo(pageNo).setPageSize(pageSize).setTotalCount(totalCount);
+        if (totalCount == 0) {
+            return new PageResData<>(pageRet, null);
+        }
+        // 多查一条用于判断是否有下一页
+        final List<P> list = selectAfterFunc.apply(lastKey, pageSize + 1);
+        final boolean hasMore = list != null && list.size() > pageSize;
+        final List<P> pageList = hasMore ? list.subList(0, pageSize) : list;
+        pageRet.setHasMore(hasMore);
+        if (hasMore) {
+            pageRet.setNextToken(encodeToken(keyExtractor.apply(pageList.get(pageSize - 1)), pageNo + 1,
+                    totalCount));
+        }
+        final List<T> vos = pageList == null ? null : pageList.stream().map(mapper).collect(Collectors.toList());
+        return new PageResData<>(pageRet, vos);
+    }
+
+    /**
+     * keysetScan 按游标(keyset)分页遍历全部数据
+     *
+     * @param pageSize        页大小
+     * @param keyExtractor    排序键提取函数
+     * @param selectAfterFunc 查询函数，入参为上一页最后一条的排序键(首页为null)与查询条数，需按排序键升序返回大于该键的记录
+     * @param pageConsumer    每页数据消费函数
+     * @return 遍历总条数
+     */
+    public static <P, K> long keysetScan(int pageSize, Function<? super P, ? extends K> keyExtractor,
+                                         BiFunction<K, Integer, List<P>> selectAfterFunc,
+                                         Consumer<List<P>> pageConsumer) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        K lastKey = null;
+        long total = 0;
+        while (true) {
+            final List<P> list = selectAfterFunc.apply(lastKey, pageSize);
+            if (list == null || list.isEmpty()) {
+                return total;
+            }
+            pageConsumer.accept(list);
+            total += list.size();
+            if (list.size() < pageSize) {
+                return total;
+            }
+            lastKey = keyExtractor.apply(list.get(list.size() - 1));
+        }
+    }
+
+    /**
+     * 设置续传令牌的签名密钥，设置后生成的令牌带签名且只接受签名正确的令牌；未设置时令牌仅编码不签名
+     */
+    public static void setTokenSecret(String secret) {
+        if (StringUtils.isBlank(secret)) {
+            throw new IllegalArgumentException("token secret is blank");
+        }
+        tokenSecret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String encodeToken(Object lastKey, int pageNo, long totalCount) {
+        final JSONObject tokenObj = new JSONObject(true);
+        tokenObj.put("k", lastKey);
+        tokenObj.put("p", pageNo);
+        if (totalCount >= 0) {
+            tokenObj.put("c", totalCount);
+        }
+        final String payload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(JSON.toJSONString(tokenObj).getBytes(StandardCharsets.UTF_8));
+        final byte[] secret = tokenSecret;
+        if (secret == null) {
+            return payload;
+        }
+        return payload + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(sign(secret, payload));
+    }
+
+    private static JSONObject decodeToken(String token) {
+        final int index = token.lastIndexOf('.');
+        final String payload = index < 0 ? token : token.substring(0, index);
+        final byte[] secret = tokenSecret;
+        Object tokenObj = null;
+        try {
+            // 未配置密钥时不校验签名
+            if (secret == null || (index > 0 && MessageDigest.isEqual(sign(secret, payload),
+                    Base64.getUrlDecoder().decode(token.substring(index + 1))))) {
+                tokenObj = JSON.parse(new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8));
+            }
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("invalid page token: " + token, e);
+        }
+        if (!(tokenObj instanceof JSONObject) || !((JSONObject) tokenObj).containsKey("p")) {
+            throw new IllegalArgumentException("invalid page token: " + token);
+        }
+        return (JSONObject) tokenObj;
+    }
+
+    private static byte[] sign(byte[] secret, String payload) {
+        try {
+            final Mac mac = Mac.getInstance(TOKEN_SIGN_ALGORITHM);
+            mac.init(new SecretKeySpec(secret, TOKEN_SIGN_ALGORITHM));
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("sign page token fail", e);
+        }
+    }
+
 }
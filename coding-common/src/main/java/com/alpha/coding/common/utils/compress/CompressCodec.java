@@ -0,0 +1,34 @@
+package com.alpha.coding.common.utils.compress;
+
+import java.io.IOException;
+
+/**
+ * CompressCodec 压缩编解码SPI
+ * <p>
+ * 实现类通过{@link CompressCodecs#register(String, CompressCodec)}注册，
+ * 或在META-INF/coding4j/com.alpha.coding.common.utils.compress.CompressCodec中以name=className形式声明
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+public interface CompressCodec {
+
+    /**
+     * 编解码id，写入数据头用于解码时识别，取值1-7，须在读写数据的所有实例中保持一致
+     */
+    int getId();
+
+    /**
+     * 压缩，返回数组的前offset字节由调用方填充
+     *
+     * @param src    原始数据
+     * @param offset 结果中预留的头部长度
+     */
+    byte[] compress(byte[] src, int offset) throws IOException;
+
+    /**
+     * 解压src中offset之后的数据
+     */
+    byte[] decompress(byte[] src, int offset) throws IOException;
+
+}
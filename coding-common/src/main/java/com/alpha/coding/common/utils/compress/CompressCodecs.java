@@ -0,0 +1,120 @@
+package com.alpha.coding.common.utils.compress;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.alpha.coding.common.bean.spi.ServiceBootstrap;
+import com.alpha.coding.common.utils.CompressUtils;
+import com.google.common.collect.Multimap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CompressCodecs 压缩编解码注册及自描述格式
+ * <p>
+ * <li>内置gzip({@link GzipCompressCodec})与lz({@link LzBlockCompressCodec})，
+ * 其它实现从META-INF/coding4j/com.alpha.coding.common.utils.compress.CompressCodec加载</li>
+ * <li>{@link #encode}输出以1字节头开头：0xF8|编解码id，0xF8表示未压缩；小于阈值或压缩后未变小时不压缩。
+ * 头字节在UTF-8中不会出现在首字节，也不与gzip魔数冲突</li>
+ * <li>{@link #decode}识别头字节；以gzip魔数开头的数据(CompressUtils.gzip写入)按gzip解压；其它数据视为未压缩原样返回</li>
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@Slf4j
+public class CompressCodecs {
+
+    public static final String GZIP = "gzip";
+    public static final String LZ = "lz";
+
+    private static final String CODEC_DIR = "META-INF/coding4j/";
+    private static final int HEADER_MASK = 0xF8;
+    private static final int HEADER_LENGTH = 1;
+
+    private static final Map<String, CompressCodec> CODECS = new ConcurrentHashMap<>();
+    private static final CompressCodec[] CODEC_IDS = new CompressCodec[8];
+
+    static {
+        register(GZIP, new GzipCompressCodec());
+        register(LZ, new LzBlockCompressCodec());
+        try {
+            final Multimap<String, CompressCodec> multimap = ServiceBootstrap.loadAll(CODEC_DIR, CompressCodec.class);
+            multimap.keySet().forEach(k -> register(k, multimap.get(k).iterator().next()));
+        } catch (Exception e) {
+            log.warn("load CompressCodec fail, msg={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 注册编解码
+     */
+    public static synchronized void register(String name, CompressCodec codec) {
+        final int id = codec.getId();
+        if (id <= 0 || id >= CODEC_IDS.length) {
+            throw new IllegalArgumentException("codec id must be in [1,7]: " + id);
+        }
+        final CompressCodec exist = CODEC_IDS[id];
+        if (exist != null && exist.getClass() != codec.getClass()) {
+            throw new IllegalArgumentException("codec id " + id + " already registered by "
+                    + exist.getClass().getName());
+        }
+        CODEC_IDS[id] = codec;
+        CODECS.put(name, codec);
+    }
+
+    /**
+     * @return 不存在时返回null
+     */
+    public static CompressCodec get(String name) {
+        return name == null ? null : CODECS.get(name);
+    }
+
+    /**
+     * 压缩为自描述格式
+     *
+     * @param codec     编解码
+     * @param bytes     原始数据
+     * @param threshold 压缩阈值，小于该长度的数据不压缩
+     */
+    public static byte[] encode(CompressCodec codec, byte[] bytes, int threshold) throws IOException {
+        if (bytes.length >= threshold) {
+            final byte[] compressed = codec.compress(bytes, HEADER_LENGTH);
+            if (compressed.length < bytes.length + HEADER_LENGTH) {
+                compressed[0] = (byte) (HEADER_MASK | codec.getId());
+                return compressed;
+            }
+        }
+        final byte[] raw = new byte[bytes.length + HEADER_LENGTH];
+        raw[0] = (byte) HEADER_MASK;
+        System.arraycopy(bytes, 0, raw, HEADER_LENGTH, bytes.length);
+        return raw;
+    }
+
+    /**
+     * 解压{@link #encode}或CompressUtils.gzip的结果，无法识别的数据原样返回
+     */
+    public static byte[] decode(byte[] bytes) throws IOException {
+        if (bytes == null || bytes.length == 0) {
+            return bytes;
+        }
+        final int header = bytes[0] & 0xFF;
+        if ((header & HEADER_MASK) == HEADER_MASK) {
+            final int id = header & ~HEADER_MASK;
+            if (id == 0) {
+                return Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length);
+            }
+            final CompressCodec codec = CODEC_IDS[id];
+            if (codec == null) {
+                throw new IOException("unknown compress codec id " + id);
+            }
+            return codec.decompress(bytes, HEADER_LENGTH);
+        }
+        if (bytes.length > 2 && header == 0x1F && (bytes[1] & 0xFF) == 0x8B) {
+            return CompressUtils.unGzip(bytes);
+        }
+        return bytes;
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.alpha.coding.common.utils.compress;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * GzipCompressCodec gzip编解码
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+public class GzipCompressCodec implements CompressCodec {
+
+    public static final int ID = 1;
+
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    @Override
+    public byte[] compress(byte[] src, int offset) throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream(offset + Math.max(64, src.length / 2));
+        bos.write(new byte[offset]);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bos, 8192)) {
+            gzip.write(src);
+        }
+        return bos.toByteArray();
+    }
+
+    @Override
+    public byte[] decompress(byte[] src, int offset) throws IOException {
+        final int length = src.length - offset;
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(src, offset, length), 8192)) {
+            final ByteArrayOutputStream bos = new ByteArrayOutputStream(Math.max(256, length * 4));
+            final byte[] buf = new byte[8192];
+            int num;
+            while ((num = gzip.read(buf, 0, buf.length)) != -1) {
+                bos.write(buf, 0, num);
+            }
+            return bos.toByteArray();
+        }
+    }
+
+}
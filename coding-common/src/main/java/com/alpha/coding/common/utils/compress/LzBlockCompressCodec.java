@@ -0,0 +1,232 @@
+package com.alpha.coding.common.utils.compress;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * LzBlockCompressCodec LZ77族块压缩(LZ4块格式)，纯Java实现
+ * <p>
+ * <li>格式：原始长度(变长整数)，随后为LZ4序列：token(高4位字面量长度、低4位匹配长度-4)、扩展长度、字面量、2字节小端偏移</li>
+ * <li>单遍哈希匹配，不做熵编码，压缩率低于gzip但CPU开销小得多；哈希表与不超过64KB的输出缓冲按线程复用，更大的输出单独分配</li>
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+public class LzBlockCompressCodec implements CompressCodec {
+
+    public static final int ID = 2;
+
+    private static final int MIN_MATCH = 4;
+    private static final int MF_LIMIT = 12;
+    private static final int LAST_LITERALS = 5;
+    private static final int MAX_DISTANCE = 0xFFFF;
+    private static final int MAX_HASH_LOG = 14;
+    private static final int MIN_HASH_LOG = 8;
+    private static final int ML_MASK = 0x0F;
+    private static final int RUN_MASK = 0x0F;
+    private static final int MAX_REUSE_BUFFER = 64 * 1024;
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    @Override
+    public byte[] compress(byte[] src, int offset) throws IOException {
+        final int srcLen = src.length;
+        final Buffers buffers = BUFFERS.get();
+        final byte[] dst = buffers.output(offset + 5 + srcLen + srcLen / 255 + 16);
+        int dOff = writeVarInt(dst, offset, srcLen);
+        int hashLog = MIN_HASH_LOG;
+        while (hashLog < MAX_HASH_LOG && (1 << hashLog) < srcLen) {
+            hashLog++;
+        }
+        Arrays.fill(buffers.table, 0, 1 << hashLog, -1);
+        dOff = compressBlock(src, srcLen, dst, dOff, buffers.table, hashLog);
+        return Arrays.copyOf(dst, dOff);
+    }
+
+    @Override
+    public byte[] decompress(byte[] src, int offset) throws IOException {
+        try {
+            int sOff = offset;
+            int originalLength = 0;
+            for (int shift = 0; ; shift += 7) {
+                final byte b = src[sOff++];
+                originalLength |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+                if (shift >= 28) {
+                    throw new IOException("malformed lz block length");
+                }
+            }
+            if (originalLength < 0 || originalLength > (long) (src.length - sOff) * 255 + 16) {
+                throw new IOException("malformed lz block length " + originalLength);
+            }
+            final byte[] dst = new byte[originalLength];
+            int dOff = 0;
+            while (true) {
+                final int token = src[sOff++] & 0xFF;
+                int literalLength = token >>> 4;
+                if (literalLength == RUN_MASK) {
+                    int b;
+                    do {
+                        b = src[sOff++] & 0xFF;
+                        literalLength += b;
+                    } while (b == 0xFF);
+                }
+                if (literalLength > src.length - sOff || literalLength > originalLength - dOff) {
+                    throw new IOException("malformed lz block literal length " + literalLength);
+                }
+                System.arraycopy(src, sOff, dst, dOff, literalLength);
+                sOff += literalLength;
+                dOff += literalLength;
+                if (sOff == src.length) {
+                    break;
+                }
+                final int matchOffset = (src[sOff] & 0xFF) | ((src[sOff + 1] & 0xFF) << 8);
+                sOff += 2;
+                int matchLength = token & ML_MASK;
+                if (matchLength == ML_MASK) {
+                    int b;
+                    do {
+                        b = src[sOff++] & 0xFF;
+                        matchLength += b;
+                    } while (b == 0xFF);
+                }
+                matchLength += MIN_MATCH;
+                final int ref = dOff - matchOffset;
+                if (matchOffset == 0 || ref < 0 || matchLength > originalLength - dOff) {
+                    throw new IOException("malformed lz block match at " + sOff);
+                }
+                if (matchOffset >= matchLength) {
+                    System.arraycopy(dst, ref, dst, dOff, matchLength);
+                } else {
+                    // 重叠复制
+                    for (int i = 0; i < matchLength; i++) {
+                        dst[dOff + i] = dst[ref + i];
+                    }
+                }
+                dOff += matchLength;
+            }
+            if (dOff != originalLength) {
+                throw new IOException("malformed lz block: expect " + originalLength + " bytes, got " + dOff);
+            }
+            return dst;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("malformed lz block: unexpected end of data");
+        }
+    }
+
+    private static int compressBlock(byte[] src, int srcLen, byte[] dst, int dOff, int[] table, int hashLog) {
+        int anchor = 0;
+        if (srcLen > MF_LIMIT) {
+            final int limit = srcLen - MF_LIMIT;
+            final int matchLimit = srcLen - LAST_LITERALS;
+            final int shift = 32 - hashLog;
+            int sOff = 0;
+            while (sOff < limit) {
+                final int sequence = readInt(src, sOff);
+                final int h = (sequence * -1640531535) >>> shift;
+                int ref = table[h];
+                table[h] = sOff;
+                if (ref < 0 || sOff - ref > MAX_DISTANCE || readInt(src, ref) != sequence) {
+                    // 长时间未匹配时加大步长
+                    sOff += 1 + ((sOff - anchor) >>> 6);
+                    continue;
+                }
+                while (sOff > anchor && ref > 0 && src[sOff - 1] == src[ref - 1]) {
+                    sOff--;
+                    ref--;
+                }
+                int matchLength = MIN_MATCH;
+                while (sOff + matchLength < matchLimit && src[ref + matchLength] == src[sOff + matchLength]) {
+                    matchLength++;
+                }
+                dOff = writeSequence(src, anchor, sOff - anchor, dst, dOff, sOff - ref, matchLength);
+                sOff += matchLength;
+                anchor = sOff;
+                if (sOff < limit) {
+                    final int p = sOff - 2;
+                    table[(readInt(src, p) * -1640531535) >>> shift] = p;
+                }
+            }
+        }
+        final int literalLength = srcLen - anchor;
+        final int tokenOff = dOff++;
+        if (literalLength >= RUN_MASK) {
+            dst[tokenOff] = (byte) (RUN_MASK << 4);
+            dOff = writeLength(dst, dOff, literalLength - RUN_MASK);
+        } else {
+            dst[tokenOff] = (byte) (literalLength << 4);
+        }
+        System.arraycopy(src, anchor, dst, dOff, literalLength);
+        return dOff + literalLength;
+    }
+
+    private static int writeSequence(byte[] src, int literalOff, int literalLength, byte[] dst, int dOff,
+                                     int matchOffset, int matchLength) {
+        final int tokenOff = dOff++;
+        int token;
+        if (literalLength >= RUN_MASK) {
+            token = RUN_MASK << 4;
+            dOff = writeLength(dst, dOff, literalLength - RUN_MASK);
+        } else {
+            token = literalLength << 4;
+        }
+        System.arraycopy(src, literalOff, dst, dOff, literalLength);
+        dOff += literalLength;
+        dst[dOff++] = (byte) matchOffset;
+        dst[dOff++] = (byte) (matchOffset >>> 8);
+        final int ml = matchLength - MIN_MATCH;
+        if (ml >= ML_MASK) {
+            token |= ML_MASK;
+            dOff = writeLength(dst, dOff, ml - ML_MASK);
+        } else {
+            token |= ml;
+        }
+        dst[tokenOff] = (byte) token;
+        return dOff;
+    }
+
+    private static int writeLength(byte[] dst, int dOff, int length) {
+        while (length >= 0xFF) {
+            dst[dOff++] = (byte) 0xFF;
+            length -= 0xFF;
+        }
+        dst[dOff++] = (byte) length;
+        return dOff;
+    }
+
+    private static int writeVarInt(byte[] dst, int dOff, int value) {
+        while ((value & ~0x7F) != 0) {
+            dst[dOff++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        dst[dOff++] = (byte) value;
+        return dOff;
+    }
+
+    private static int readInt(byte[] src, int off) {
+        return (src[off] & 0xFF) | ((src[off + 1] & 0xFF) << 8) | ((src[off + 2] & 0xFF) << 16)
+                | ((src[off + 3] & 0xFF) << 24);
+    }
+
+    private static class Buffers {
+        private final int[] table = new int[1 << MAX_HASH_LOG];
+        private byte[] output = new byte[1024];
+
+        byte[] output(int size) {
+            if (size > MAX_REUSE_BUFFER) {
+                return new byte[size];
+            }
+            if (output.length < size) {
+                output = new byte[Math.max(size, Math.min(MAX_REUSE_BUFFER, output.length << 1))];
+            }
+            return output;
+        }
+    }
+
+}
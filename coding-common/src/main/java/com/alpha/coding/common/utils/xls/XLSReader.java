@@ -1,19 +1,36 @@
 package com.alpha.coding.common.utils.xls;
 
-import java.lang.reflect.Field;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Consumer;
 
-import org.apache.commons.beanutils.ConvertUtils;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.util.SAXHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
 import com.alpha.coding.bo.base.Tuple;
-import com.alpha.coding.common.utils.ClassUtils;
-import com.alpha.coding.common.utils.FieldUtils;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -25,6 +42,11 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class XLSReader extends XLSOperator {
 
+    /**
+     * 流式解析默认批次大小
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
     /**
      * 将excel的sheet解析成objects（一行对应一个object）
      *
@@ -92,49 +114,194 @@ public class XLSReader extends XLSOperator {
      * 将表格的一行数据转换为实例对象，对象中的字段需被 @XLSLabel 标注
      */
     public static <T> T makeAndFillInstance(List<Tuple<String, Object>> fieldValues, Class<T> clazz) {
-        T newInstance = null;
+        return XLSRowBinder.of(clazz).bind(fieldValues);
+    }
+
+    /**
+     * 以SAX事件模型流式解析xlsx的第一个sheet，批次大小为{@link #DEFAULT_CHUNK_SIZE}
+     *
+     * @see XLSReader#parseStream(File, Class, int, int, int, Consumer)
+     */
+    public static <T> long parseStream(File file, Class<T> clazz, int rowOffset,
+                                       Consumer<List<T>> chunkConsumer) throws IOException {
+        return parseStream(file, clazz, 0, rowOffset, DEFAULT_CHUNK_SIZE, chunkConsumer);
+    }
+
+    /**
+     * 以SAX事件模型流式解析xlsx的sheet（一行对应一个object），按批次推送给consumer，内存占用与批次大小而非文件大小相关
+     *
+     * @param file          xlsx文件
+     * @param clazz         object类型
+     * @param sheetIndex    sheet序号，从0开始
+     * @param rowOffset     行偏移量，即去掉头部几行
+     * @param chunkSize     批次大小
+     * @param chunkConsumer 批次消费函数，每批为新的List
+     * @return 解析的object数
+     */
+    public static <T> long parseStream(File file, Class<T> clazz, int sheetIndex, int rowOffset, int chunkSize,
+                                       Consumer<List<T>> chunkConsumer) throws IOException {
+        final OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(file, PackageAccess.READ);
+        } catch (InvalidFormatException e) {
+            throw new IOException("open xlsx fail: " + file, e);
+        }
+        return parseStream(pkg, clazz, sheetIndex, rowOffset, chunkSize, chunkConsumer);
+    }
+
+    /**
+     * 以SAX事件模型流式解析xlsx的sheet，输入流会被完整读入内存中的zip结构，大文件优先使用File参数的方法
+     *
+     * @see XLSReader#parseStream(File, Class, int, int, int, Consumer)
+     */
+    public static <T> long parseStream(InputStream in, Class<T> clazz, int sheetIndex, int rowOffset, int chunkSize,
+                                       Consumer<List<T>> chunkConsumer) throws IOException {
+        final OPCPackage pkg;
         try {
-            newInstance = ClassUtils.newInstance(clazz);
-            final Map<Field, XLSLabelContext> fieldLabelMap = XLSOperator.fieldLabelMap(clazz);
-            for (Field field : fieldLabelMap.keySet()) {
-                final XLSLabelContext label = fieldLabelMap.get(field);
-                if (label.getOrder() < fieldValues.size()) {
-                    Object value = null;
-                    final Tuple<String, Object> tuple = fieldValues.get(label.getOrder());
-                    try {
-                        if (label.getJavaType() == void.class) {
-                            value = tuple.getF();
-                        } else if (Date.class.isAssignableFrom(label.getJavaType())) {
-                            value = tuple.getS();
-                            if (value != null && !(value instanceof Date)) {
-                                value = ConvertUtils.convert(value, label.getJavaType());
-                            }
-                        } else {
-                            value = tuple.getF();
-                            if (value != null) {
-                                value = ConvertUtils.convert(value, label.getJavaType());
-                            }
-                        }
-                        if (value != null) {
-                            value = ConvertUtils.convert(value, field.getType());
-                        }
-                    } catch (Exception e) {
-                        log.warn("convert value to field fail, fileName={}, valueTuple={}, msg={}",
-                                field.getName(), tuple, e.getMessage());
-                        throw e;
+            pkg = OPCPackage.open(in);
+        } catch (InvalidFormatException e) {
+            throw new IOException("open xlsx fail", e);
+        }
+        return parseStream(pkg, clazz, sheetIndex, rowOffset, chunkSize, chunkConsumer);
+    }
+
+    private static <T> long parseStream(OPCPackage pkg, Class<T> clazz, int sheetIndex, int rowOffset, int chunkSize,
+                                        Consumer<List<T>> chunkConsumer) throws IOException {
+        try {
+            final XSSFReader reader = new XSSFReader(pkg);
+            final ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            final Iterator<InputStream> sheets = reader.getSheetsData();
+            for (int i = 0; sheets.hasNext(); i++) {
+                try (InputStream sheet = sheets.next()) {
+                    if (i != sheetIndex) {
+                        continue;
                     }
-                    FieldUtils.setField(newInstance, field.getName(), value);
+                    final StreamFormatter formatter = new StreamFormatter();
+                    final StreamSheetHandler<T> handler = new StreamSheetHandler<>(XLSRowBinder.of(clazz),
+                            formatter, rowOffset, Math.max(chunkSize, 1), chunkConsumer);
+                    final XMLReader xmlReader = SAXHelper.newXMLReader();
+                    xmlReader.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), strings,
+                            handler, formatter, false));
+                    xmlReader.parse(new InputSource(sheet));
+                    handler.flush();
+                    return handler.count;
                 }
             }
-            return newInstance;
-        } catch (Exception e) {
-            log.warn("genInstance fail: clazz={}", clazz.getSimpleName(), e);
+            throw new IllegalArgumentException("sheet not found, sheetIndex=" + sheetIndex);
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("parse xlsx fail", e);
+        } finally {
+            pkg.revert();
         }
-        return newInstance;
     }
 
     public static Object getFormulaCellValue(Cell cell) {
         return DefaultCellValueEvaluator.getDefault().evaluateFormulaCellValue(cell);
     }
 
+    /**
+     * 数值单元格按{@link DefaultCellValueEvaluator}的规则记录(数值字符串, 日期)，供SAX回调取用
+     */
+    private static class StreamFormatter extends DataFormatter {
+
+        private String plainValue;
+        private Date dateValue;
+        private boolean formatted;
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString,
+                                            boolean use1904Windowing) {
+            plainValue = new BigDecimal(Double.toString(value)).toPlainString().replaceAll("[.][0]*$", "");
+            dateValue = DateUtil.isValidExcelDate(value) ? DateUtil.getJavaDate(value, use1904Windowing) : null;
+            formatted = true;
+            return plainValue;
+        }
+
+        private Tuple<String, Object> take(String formattedValue) {
+            if (!formatted) {
+                return Tuple.of(formattedValue, null);
+            }
+            formatted = false;
+            return Tuple.of(plainValue, dateValue);
+        }
+    }
+
+    private static class StreamSheetHandler<T> implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final XLSRowBinder<T> binder;
+        private final StreamFormatter formatter;
+        private final int rowOffset;
+        private final int chunkSize;
+        private final Consumer<List<T>> chunkConsumer;
+        private final List<Tuple<String, Object>> line = new ArrayList<>();
+        private List<T> chunk;
+        private int rowCount;
+        private long count;
+
+        private StreamSheetHandler(XLSRowBinder<T> binder, StreamFormatter formatter, int rowOffset, int chunkSize,
+                                   Consumer<List<T>> chunkConsumer) {
+            this.binder = binder;
+            this.formatter = formatter;
+            this.rowOffset = rowOffset;
+            this.chunkSize = chunkSize;
+            this.chunkConsumer = chunkConsumer;
+            this.chunk = new ArrayList<>(chunkSize);
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            line.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (rowCount++ < rowOffset) {
+                return;
+            }
+            final T t = binder.bind(line);
+            if (t == null) {
+                return;
+            }
+            chunk.add(t);
+            count++;
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            final Tuple<String, Object> value = formatter.take(formattedValue);
+            final int column = cellReference == null ? line.size() : columnIndex(cellReference);
+            while (line.size() < column) {
+                line.add(Tuple.empty());
+            }
+            line.add(value);
+        }
+
+        @Override
+        public void headerFooter(String text, boolean isHeader, String tagName) {
+        }
+
+        private void flush() {
+            if (!chunk.isEmpty()) {
+                final List<T> ready = chunk;
+                chunk = new ArrayList<>(chunkSize);
+                chunkConsumer.accept(ready);
+            }
+        }
+
+        private static int columnIndex(String cellReference) {
+            int column = 0;
+            for (int i = 0; i < cellReference.length(); i++) {
+                final char c = cellReference.charAt(i);
+                if (c < 'A' || c > 'Z') {
+                    break;
+                }
+                column = column * 26 + (c - 'A' + 1);
+            }
+            return column - 1;
+        }
+    }
+
 }
@@ -0,0 +1,149 @@
+package com.alpha.coding.common.utils.xls;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.beanutils.ConvertUtils;
+
+import com.alpha.coding.bo.base.Tuple;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * XLSRowBinder 将表格的一行数据转换为实例对象
+ * <p>
+ * 每个类只解析一次被@XLSLabel/@Label标注的字段，预先生成构造器与字段setter，逐行转换时不再查找字段
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+@Slf4j
+public final class XLSRowBinder<T> {
+
+    private static final Map<Class<?>, XLSRowBinder<?>> CACHE = new ConcurrentHashMap<>();
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<T> clazz;
+    private final Constructor<T> constructor;
+    private final FieldBinding[] bindings;
+
+    private XLSRowBinder(Class<T> clazz) {
+        this.clazz = clazz;
+        Constructor<T> ctor = null;
+        try {
+            ctor = clazz.getDeclaredConstructor();
+            ctor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            log.warn("no default constructor for {}", clazz.getName());
+        }
+        this.constructor = ctor;
+        final List<FieldBinding> list = new ArrayList<>();
+        XLSOperator.fieldLabelMap(clazz).forEach((field, label) -> list.add(new FieldBinding(field, label)));
+        this.bindings = list.toArray(new FieldBinding[0]);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> XLSRowBinder<T> of(Class<T> clazz) {
+        return (XLSRowBinder<T>) CACHE.computeIfAbsent(clazz, XLSRowBinder::new);
+    }
+
+    /**
+     * 转换一行数据，转换失败时返回已填充部分字段的实例，实例化失败时返回null
+     */
+    public T bind(List<Tuple<String, Object>> fieldValues) {
+        T newInstance = null;
+        try {
+            if (constructor == null) {
+                throw new IllegalStateException("no default constructor for " + clazz.getName());
+            }
+            newInstance = constructor.newInstance();
+            for (FieldBinding binding : bindings) {
+                if (binding.order < fieldValues.size()) {
+                    binding.set(newInstance, binding.convert(fieldValues.get(binding.order)));
+                }
+            }
+            return newInstance;
+        } catch (Exception e) {
+            log.warn("genInstance fail: clazz={}", clazz.getSimpleName(), e);
+        }
+        return newInstance;
+    }
+
+    private static class FieldBinding {
+
+        private final Field field;
+        private final int order;
+        private final Class<?> javaType;
+        private final boolean rawValue;
+        private final boolean dateValue;
+        private final MethodHandle setter;
+
+        private FieldBinding(Field field, XLSLabelContext label) {
+            this.field = field;
+            this.order = label.getOrder();
+            this.javaType = label.getJavaType();
+            this.rawValue = javaType == void.class;
+            this.dateValue = Date.class.isAssignableFrom(javaType);
+            field.setAccessible(true);
+            MethodHandle handle = null;
+            try {
+                handle = MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                log.debug("unreflectSetter fail for {}, use reflection", field, e);
+            }
+            this.setter = handle;
+        }
+
+        private Object convert(Tuple<String, Object> tuple) {
+            Object value;
+            try {
+                if (rawValue) {
+                    value = tuple.getF();
+                } else if (dateValue) {
+                    value = tuple.getS();
+                    if (value != null && !(value instanceof Date)) {
+                        value = ConvertUtils.convert(value, javaType);
+                    }
+                } else {
+                    value = tuple.getF();
+                    if (value != null) {
+                        value = ConvertUtils.convert(value, javaType);
+                    }
+                }
+                if (value != null) {
+                    value = ConvertUtils.convert(value, field.getType());
+                }
+            } catch (Exception e) {
+                log.warn("convert value to field fail, fileName={}, valueTuple={}, msg={}",
+                        field.getName(), tuple, e.getMessage());
+                throw e;
+            }
+            return value;
+        }
+
+        private void set(Object target, Object value) throws Exception {
+            try {
+                if (setter != null) {
+                    setter.invokeExact(target, value);
+                } else {
+                    field.set(target, value);
+                }
+            } catch (ClassCastException | IllegalArgumentException | NullPointerException e) {
+                log.warn("setField fail for name={}, value={}", field.getName(), value, e);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("setField fail for name=" + field.getName(), e);
+            }
+        }
+    }
+
+}
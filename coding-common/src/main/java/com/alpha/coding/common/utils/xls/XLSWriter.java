@@ -1,23 +1,33 @@
 package com.alpha.coding.common.utils.xls;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import org.apache.commons.beanutils.ConvertUtils;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.RichTextString;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import com.alpha.coding.bo.base.MapThreadLocalAdaptor;
@@ -41,6 +51,10 @@ public class XLSWriter extends XLSOperator {
     private static final Map<Sheet, Map<Class<? extends XLSCellHandler>, CellStyle>> CELL_STYLE_CACHE =
             new ConcurrentHashMap<>();
     private static final String XLS_CELL_HANDLER_LOCAL_KEY = "XLSCellHandlerMap";
+    /**
+     * 流式写入时内存中保留的行数
+     */
+    public static final int DEFAULT_ROW_ACCESS_WINDOW_SIZE = 100;
 
     /**
      * 添加cell处理
@@ -130,17 +144,7 @@ public class XLSWriter extends XLSOperator {
             final TreeMap<Integer, Field> canToCellFieldMap = XLSOperator.columnFieldMap(clazz);
             // 表头
             if (withHead) {
-                Row headRow = sheet.createRow(0);
-                for (Field field : canToCellFieldMap.values()) {
-                    XLSLabelContext label = fieldLabelMap.get(field);
-                    String value = label.getMemo();
-                    Cell cell = headRow.createCell(label.getOrder());
-                    cell.setCellValue(value);
-                    Class<? extends XLSCellHandler>[] headHandlerClazz = label.getHeadCellHandler();
-                    for (Class<? extends XLSCellHandler> handlerClazz : headHandlerClazz) {
-                        processCell(handlerClazz, cell, value, String.class);
-                    }
-                }
+                writeHead(sheet, canToCellFieldMap, fieldLabelMap);
             }
             // 表内容
             if (list == null) {
@@ -148,27 +152,7 @@ public class XLSWriter extends XLSOperator {
             }
             int rowOffset = withHead ? 1 : 0;
             for (int j = 0; j < list.size(); j++) {
-                T t = list.get(j);
-                Row row = sheet.createRow(j + rowOffset);
-                for (Field field : canToCellFieldMap.values()) {
-                    XLSLabelContext label = fieldLabelMap.get(field);
-                    Cell cell = row.createCell(label.getOrder());
-                    Object value = field.get(t);
-                    Class<?> type = field.getType();
-                    if (label.getJavaType() != void.class) {
-                        if (Date.class.isAssignableFrom(type) && label.getJavaType() == String.class) {
-                            value = DateUtils.format((Date) value, label.getOutDateFormat());
-                            type = String.class;
-                        } else {
-                            value = ConvertUtils.convert(value, label.getJavaType());
-                        }
-                    }
-                    setValue(cell, value);
-                    Class<? extends XLSCellHandler>[] cellHandlerClazz = label.getCellHandler();
-                    for (Class<? extends XLSCellHandler> handlerClazz : cellHandlerClazz) {
-                        processCell(handlerClazz, cell, value, type);
-                    }
-                }
+                writeRow(sheet.createRow(j + rowOffset), list.get(j), canToCellFieldMap, fieldLabelMap);
             }
         } finally {
             try {
@@ -180,6 +164,144 @@ public class XLSWriter extends XLSOperator {
         }
     }
 
+    /**
+     * 流式生成xlsx并写入输出流，内存中仅保留rowAccessWindowSize行，其余行压缩写入临时文件，
+     * 单个Sheet写满时自动新建Sheet(名称追加序号)
+     *
+     * @param out       输出流，调用方负责关闭
+     * @param iterator  对象迭代器
+     * @param clazz     对象类型
+     * @param withHead  是否包含头部
+     * @param sheetName Sheet名称
+     * @return 写入的数据行数
+     */
+    public static <T> long writeStream(OutputStream out, Iterator<T> iterator, Class<T> clazz, boolean withHead,
+                                       String sheetName) throws IOException, IllegalAccessException {
+        return writeStream(out, iterator, clazz, withHead, sheetName, DEFAULT_ROW_ACCESS_WINDOW_SIZE);
+    }
+
+    /**
+     * 流式生成xlsx并写入输出流
+     *
+     * @param out       输出流，调用方负责关闭
+     * @param stream    对象流
+     * @param clazz     对象类型
+     * @param withHead  是否包含头部
+     * @param sheetName Sheet名称
+     * @return 写入的数据行数
+     */
+    public static <T> long writeStream(OutputStream out, Stream<T> stream, Class<T> clazz, boolean withHead,
+                                       String sheetName) throws IOException, IllegalAccessException {
+        return writeStream(out, stream.iterator(), clazz, withHead, sheetName, DEFAULT_ROW_ACCESS_WINDOW_SIZE);
+    }
+
+    /**
+     * 流式生成xlsx并写入输出流，数据按页拉取，如分页查询数据库
+     *
+     * @param out          输出流，调用方负责关闭
+     * @param pageSupplier 分页数据提供者，返回null或空列表时结束
+     * @param clazz        对象类型
+     * @param withHead     是否包含头部
+     * @param sheetName    Sheet名称
+     * @return 写入的数据行数
+     */
+    public static <T> long writePageStream(OutputStream out, Supplier<List<T>> pageSupplier, Class<T> clazz,
+                                           boolean withHead, String sheetName)
+            throws IOException, IllegalAccessException {
+        return writeStream(out, new PageIterator<>(pageSupplier), clazz, withHead, sheetName,
+                DEFAULT_ROW_ACCESS_WINDOW_SIZE);
+    }
+
+    /**
+     * 流式生成xlsx并写入输出流
+     *
+     * @param out                 输出流，调用方负责关闭
+     * @param iterator            对象迭代器
+     * @param clazz               对象类型
+     * @param withHead            是否包含头部
+     * @param sheetName           Sheet名称
+     * @param rowAccessWindowSize 内存中保留的行数
+     * @return 写入的数据行数
+     */
+    public static <T> long writeStream(OutputStream out, Iterator<T> iterator, Class<T> clazz, boolean withHead,
+                                       String sheetName, int rowAccessWindowSize)
+            throws IOException, IllegalAccessException {
+        // 不使用共享字符串表，避免字符串随行数累积在内存中
+        final SXSSFWorkbook wb = new SXSSFWorkbook(null, rowAccessWindowSize, true);
+        final List<Sheet> sheets = new ArrayList<>();
+        try {
+            final Map<Field, XLSLabelContext> fieldLabelMap = XLSOperator.fieldLabelMap(clazz);
+            final TreeMap<Integer, Field> canToCellFieldMap = XLSOperator.columnFieldMap(clazz);
+            final int maxRowIndex = SpreadsheetVersion.EXCEL2007.getLastRowIndex();
+            Sheet sheet = null;
+            int rowIndex = 0;
+            long count = 0;
+            while (sheet == null || iterator.hasNext()) {
+                if (sheet == null || rowIndex > maxRowIndex) {
+                    sheet = StringUtils.isBlank(sheetName) ? wb.createSheet()
+                            : wb.createSheet(sheets.isEmpty() ? sheetName : sheetName + "_" + sheets.size());
+                    sheets.add(sheet);
+                    rowIndex = 0;
+                    if (withHead) {
+                        writeHead(sheet, canToCellFieldMap, fieldLabelMap);
+                        rowIndex++;
+                    }
+                    continue;
+                }
+                writeRow(sheet.createRow(rowIndex++), iterator.next(), canToCellFieldMap, fieldLabelMap);
+                count++;
+            }
+            wb.write(out);
+            out.flush();
+            return count;
+        } finally {
+            sheets.forEach(CELL_STYLE_CACHE::remove);
+            MapThreadLocalAdaptor.remove(XLS_CELL_HANDLER_LOCAL_KEY);
+            if (!wb.dispose()) {
+                log.warn("dispose SXSSFWorkbook temp files fail");
+            }
+            wb.close();
+        }
+    }
+
+    private static void writeHead(Sheet sheet, TreeMap<Integer, Field> canToCellFieldMap,
+                                  Map<Field, XLSLabelContext> fieldLabelMap) {
+        Row headRow = sheet.createRow(0);
+        for (Field field : canToCellFieldMap.values()) {
+            XLSLabelContext label = fieldLabelMap.get(field);
+            String value = label.getMemo();
+            Cell cell = headRow.createCell(label.getOrder());
+            cell.setCellValue(value);
+            Class<? extends XLSCellHandler>[] headHandlerClazz = label.getHeadCellHandler();
+            for (Class<? extends XLSCellHandler> handlerClazz : headHandlerClazz) {
+                processCell(handlerClazz, cell, value, String.class);
+            }
+        }
+    }
+
+    private static <T> void writeRow(Row row, T t, TreeMap<Integer, Field> canToCellFieldMap,
+                                     Map<Field, XLSLabelContext> fieldLabelMap) throws IllegalAccessException {
+        for (Field field : canToCellFieldMap.values()) {
+            XLSLabelContext label = fieldLabelMap.get(field);
+            Cell cell = row.createCell(label.getOrder());
+            Object value = field.get(t);
+            Class<?> type = field.getType();
+            if (label.getJavaType() != void.class) {
+                if (Date.class.isAssignableFrom(type) && label.getJavaType() == String.class) {
+                    value = DateUtils.format((Date) value, label.getOutDateFormat());
+                    type = String.class;
+                } else {
+                    value = ConvertUtils.convert(value, label.getJavaType());
+                }
+            }
+            setValue(cell, value);
+            Class<? extends XLSCellHandler>[] cellHandlerClazz = label.getCellHandler();
+            for (Class<? extends XLSCellHandler> handlerClazz : cellHandlerClazz) {
+                processCell(handlerClazz, cell, value, type);
+            }
+        }
+    }
+
     public static void setValue(Cell cell, Object obj) {
         if (obj == null) {
             cell.setCellValue("");
@@ -239,4 +361,39 @@ public class XLSWriter extends XLSOperator {
         }
     }
 
+    /**
+     * 分页数据迭代器
+     */
+    private static class PageIterator<T> implements Iterator<T> {
+
+        private final Supplier<List<T>> pageSupplier;
+        private Iterator<T> current = Collections.emptyIterator();
+        private boolean finished;
+
+        private PageIterator(Supplier<List<T>> pageSupplier) {
+            this.pageSupplier = pageSupplier;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext() && !finished) {
+                final List<T> page = pageSupplier.get();
+                if (page == null || page.isEmpty()) {
+                    finished = true;
+                } else {
+                    current = page.iterator();
+                }
+            }
+            return current.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+    }
+
 }
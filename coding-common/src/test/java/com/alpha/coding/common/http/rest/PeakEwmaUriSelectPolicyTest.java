@@ -0,0 +1,126 @@
+package com.alpha.coding.common.http.rest;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * PeakEwmaUriSelectPolicyTest
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+public class PeakEwmaUriSelectPolicyTest {
+
+    private static final List<String> TWO = Arrays.asList("a", "b");
+    private static final List<String> FOUR = Arrays.asList("a", "b", "c", "d");
+
+    private static void complete(PeakEwmaUriSelectPolicy policy, String uri, long millis, Throwable error) {
+        policy.onStart(uri);
+        policy.onComplete(uri, TimeUnit.MILLISECONDS.toNanos(millis), error);
+    }
+
+    private static Set<String> selectMany(PeakEwmaUriSelectPolicy policy, List<String> uris, int times) {
+        final Set<String> selected = new HashSet<>();
+        for (int i = 0; i < times; i++) {
+            selected.add(policy.select(uris));
+        }
+        return selected;
+    }
+
+    @Test
+    public void testPreferLowerLatency() {
+        final PeakEwmaUriSelectPolicy policy = new PeakEwmaUriSelectPolicy();
+        complete(policy, "a", 5, null);
+        complete(policy, "b", 500, null);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a")), selectMany(policy, TWO, 200));
+    }
+
+    @Test
+    public void testPreferFewerInFlight() {
+        final PeakEwmaUriSelectPolicy policy = new PeakEwmaUriSelectPolicy();
+        complete(policy, "a", 10, null);
+        complete(policy, "b", 20, null);
+        for (int i = 0; i < 10; i++) {
+            policy.onStart("a");
+        }
+        Assert.assertEquals(new HashSet<>(Arrays.asList("b")), selectMany(policy, TWO, 200));
+    }
+
+    @Test
+    public void testEjectAfterConsecutiveFailures() {
+        final PeakEwmaUriSelectPolicy policy = new PeakEwmaUriSelectPolicy().setConsecutiveFailuresToEject(3);
+        policy.select(FOUR);
+        for (int i = 0; i < 3; i++) {
+            complete(policy, "a", 1, new CompletionException(new IOException("connect refused")));
+        }
+        Assert.assertFalse(selectMany(policy, FOUR, 500).contains("a"));
+    }
+
+    @Test
+    public void testSuccessResetsFailures() {
+        final PeakEwmaUriSelectPolicy policy = new PeakEwmaUriSelectPolicy().setConsecutiveFailuresToEject(3);
+        policy.select(FOUR);
+        for (int i = 0; i < 10; i++) {
+            complete(policy, "a", 1, i % 2 == 0 ? new IOException("reset") : null);
+        }
+        Assert.assertTrue(selectMany(policy, FOUR, 500).contains("a"));
+    }
+
+    @Test
+    public void testClientErrorAndRejectionNotCountedAsFailure() {
+        final PeakEwmaUriSelectPolicy policy = new PeakEwmaUriSelectPolicy().setConsecutiveFailuresToEject(2);
+        policy.select(FOUR);
+        for (int i = 0; i < 5; i++) {
+            complete(policy, "a", 1, new HttpClientErrorException(HttpStatus.NOT_FOUND));
+            complete(policy, "b", 1, new RejectedExecutionException("too many in-flight requests"));
+        }
+        final Set<String> selected = selectMany(policy, FOUR, 500);
+        Assert.assertTrue(selected.contains("a"));
+        Assert.assertTrue(selected.contains("b"));
+    }
+
+    @Test
+    public void testMaxEjectionPercent() {
+        final PeakEwmaUriSelectPolicy policy = new PeakEwmaUriSelectPolicy()
+                .setConsecutiveFailuresToEject(1).setMaxEjectionPercent(50);
+        policy.select(TWO);
+        complete(policy, "a", 1, new IOException("down"));
+        complete(policy, "b", 1, new IOException("down"));
+        // 两个uri中最多摘除一个
+        Assert.assertEquals(1, selectMany(policy, TWO, 200).size());
+    }
+
+    @Test
+    public void testRecoverAfterEjectionExpires() throws InterruptedException {
+        final PeakEwmaUriSelectPolicy policy = new PeakEwmaUriSelectPolicy()
+                .setConsecutiveFailuresToEject(1).setBaseEjectionMillis(50);
+        policy.select(FOUR);
+        complete(policy, "a", 1, new IOException("down"));
+        Assert.assertFalse(selectMany(policy, FOUR, 200).contains("a"));
+        Thread.sleep(80);
+        Assert.assertTrue(selectMany(policy, FOUR, 500).contains("a"));
+    }
+
+    @Test
+    public void testAllEjectedFallbackToAll() {
+        final PeakEwmaUriSelectPolicy policy = new PeakEwmaUriSelectPolicy()
+                .setConsecutiveFailuresToEject(1).setMaxEjectionPercent(100);
+        policy.select(TWO);
+        complete(policy, "a", 1, new IOException("down"));
+        complete(policy, "b", 500, new IOException("down"));
+        // 全部摘除时仍在全部uri中按代价选择
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a")), selectMany(policy, TWO, 200));
+    }
+
+}
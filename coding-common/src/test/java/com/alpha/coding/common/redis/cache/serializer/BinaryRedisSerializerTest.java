@@ -0,0 +1,188 @@
+package com.alpha.coding.common.redis.cache.serializer;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import lombok.Data;
+
+/**
+ * BinaryRedisSerializerTest
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+public class BinaryRedisSerializerTest {
+
+    public enum Status {
+        ON, OFF
+    }
+
+    @Data
+    public static class Item {
+        private String name;
+        private int count;
+    }
+
+    @Data
+    public static class Order {
+        private Long id;
+        private String remark;
+        private int version;
+        private BigDecimal amount;
+        private Date createTime;
+        private Status status;
+        private List<Item> items;
+        private Map<String, Long> tags;
+        private long[] codes;
+        private Object extra;
+    }
+
+    public static class AllowedExtra extends Item {
+    }
+
+    public static class DisallowedExtra extends Item {
+    }
+
+    private static Item item(String name, int count) {
+        final Item item = new Item();
+        item.setName(name);
+        item.setCount(count);
+        return item;
+    }
+
+    private static Order order() {
+        final Order order = new Order();
+        order.setId(1001L);
+        order.setRemark("remark");
+        order.setVersion(-3);
+        order.setAmount(new BigDecimal("12.50"));
+        order.setCreateTime(new Date(1700000000000L));
+        order.setStatus(Status.OFF);
+        order.setItems(new ArrayList<>(Arrays.asList(item("a", 1), item("a", 2), null)));
+        final Map<String, Long> tags = new LinkedHashMap<>();
+        tags.put("x", 1L);
+        tags.put("y", null);
+        order.setTags(tags);
+        order.setCodes(new long[] {1L, Long.MAX_VALUE, -1L});
+        return order;
+    }
+
+    private static byte[] bytes(int... values) {
+        final byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+
+    @Test
+    public void testRoundTrip() {
+        for (boolean dictionary : new boolean[] {false, true}) {
+            final BinaryRedisSerializer serializer = new BinaryRedisSerializer(Order.class, null, dictionary);
+            final Order order = order();
+            final byte[] bytes = serializer.serialize(order);
+            Assert.assertEquals(BinaryRedisSerializer.MAGIC, bytes[0]);
+            final Order result = (Order) serializer.deserialize(bytes);
+            Assert.assertArrayEquals(order.getCodes(), result.getCodes());
+            order.setCodes(null);
+            result.setCodes(null);
+            Assert.assertEquals(order, result);
+        }
+    }
+
+    @Test
+    public void testRoundTripAllowedSubtype() {
+        BinaryTypeRegistry.allow(AllowedExtra.class);
+        final BinaryRedisSerializer serializer = new BinaryRedisSerializer(Order.class, null, true);
+        final Order order = order();
+        final AllowedExtra extra = new AllowedExtra();
+        extra.setName("extra");
+        order.setExtra(extra);
+        final Order result = (Order) serializer.deserialize(serializer.serialize(order));
+        Assert.assertTrue(result.getExtra() instanceof AllowedExtra);
+        Assert.assertEquals("extra", ((AllowedExtra) result.getExtra()).getName());
+    }
+
+    @Test
+    public void testDisallowedSubtypeWrittenAsJson() {
+        final BinaryRedisSerializer serializer = new BinaryRedisSerializer(Order.class, null, false);
+        final Order order = order();
+        final DisallowedExtra extra = new DisallowedExtra();
+        extra.setName("extra");
+        order.setExtra(extra);
+        final byte[] bytes = serializer.serialize(order);
+        Assert.assertNotEquals(BinaryRedisSerializer.MAGIC, bytes[0]);
+        final Order result = (Order) serializer.deserialize(bytes);
+        Assert.assertEquals(order.getId(), result.getId());
+        Assert.assertEquals("extra", ((Map) result.getExtra()).get("name"));
+    }
+
+    @Test(expected = SerializationException.class)
+    public void testRejectDisallowedClass() {
+        final BinaryRedisSerializer serializer = new BinaryRedisSerializer(Object.class, null, false);
+        final byte[] className = "java.lang.ProcessBuilder".getBytes(StandardCharsets.UTF_8);
+        final byte[] bytes = new byte[6 + className.length + 2];
+        System.arraycopy(bytes(0xB1, 1, 22, 0, 0, className.length), 0, bytes, 0, 6);
+        System.arraycopy(className, 0, bytes, 6, className.length);
+        bytes[bytes.length - 2] = 21;
+        serializer.deserialize(bytes);
+    }
+
+    @Test
+    public void testAllowedNames() {
+        Assert.assertTrue(BinaryTypeRegistry.isAllowed("java.sql.Timestamp"));
+        Assert.assertTrue(BinaryTypeRegistry.isAllowed("[J"));
+        Assert.assertTrue(BinaryTypeRegistry.isAllowed("[[Ljava.lang.String;"));
+        Assert.assertFalse(BinaryTypeRegistry.isAllowed("java.lang.Runtime"));
+        Assert.assertFalse(BinaryTypeRegistry.isAllowed("[Ljava.lang.ProcessBuilder;"));
+        BinaryTypeRegistry.allowPackage("com.alpha.coding.test.allowed");
+        Assert.assertTrue(BinaryTypeRegistry.isAllowed("com.alpha.coding.test.allowed.sub.Foo"));
+        Assert.assertFalse(BinaryTypeRegistry.isAllowed("com.alpha.coding.test.allowedx.Foo"));
+    }
+
+    @Test
+    public void testRejectOversizedLength() {
+        final BinaryRedisSerializer serializer = new BinaryRedisSerializer(List.class, null, false);
+        // LIST/MAP/OBJECT/BYTES声明的长度远大于剩余数据
+        final byte[][] malformed = {
+                bytes(0xB1, 1, 17, 0xFF, 0xFF, 0xFF, 0xFF, 0x07, 0),
+                bytes(0xB1, 1, 19, 0x80, 0x80, 0x40, 0, 0),
+                bytes(0xB1, 1, 21, 0x10, 0, 0),
+                bytes(0xB1, 1, 9, 0xFF, 0xFF, 0xFF, 0xFF, 0x07, 0),
+                bytes(0xB1, 1, 17, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F),
+        };
+        for (byte[] bytes : malformed) {
+            try {
+                serializer.deserialize(bytes);
+                Assert.fail("expect SerializationException for " + Arrays.toString(bytes));
+            } catch (SerializationException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testRejectTruncated() {
+        final BinaryRedisSerializer serializer = new BinaryRedisSerializer(Order.class, null, true);
+        final byte[] bytes = serializer.serialize(order());
+        for (int length = 2; length < bytes.length; length++) {
+            try {
+                serializer.deserialize(Arrays.copyOf(bytes, length));
+                Assert.fail("expect SerializationException for length " + length);
+            } catch (SerializationException e) {
+                // expected
+            }
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.alpha.coding.common.rocketmq;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.apache.rocketmq.client.consumer.listener.ConsumeConcurrentlyContext;
+import org.apache.rocketmq.client.consumer.listener.ConsumeConcurrentlyStatus;
+import org.apache.rocketmq.common.message.MessageExt;
+import org.apache.rocketmq.common.message.MessageQueue;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * BatchMessageListenerAdaptorTest 不依赖broker，直接以拉取到的消息列表驱动适配器
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+public class BatchMessageListenerAdaptorTest {
+
+    private static List<MessageExt> messages(String... bodies) {
+        final List<MessageExt> msgs = new ArrayList<>(bodies.length);
+        for (String body : bodies) {
+            final MessageExt msg = new MessageExt();
+            msg.setTopic("topic_test");
+            msg.setMsgId("id_" + body);
+            msg.setBody(body.getBytes(StandardCharsets.UTF_8));
+            msgs.add(msg);
+        }
+        return msgs;
+    }
+
+    private static ConsumeConcurrentlyContext context() {
+        return new ConsumeConcurrentlyContext(new MessageQueue("topic_test", "broker-a", 0));
+    }
+
+    /**
+     * 记录每批消息，payload以"bad"开头时解码失败，以"fail"开头时消费失败
+     */
+    private static class RecordingListener implements BatchMessageListener<String> {
+
+        private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean throwOnConsume;
+
+        @Override
+        public String decode(MessageExt message) throws Exception {
+            final String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            if (body.startsWith("bad")) {
+                throw new IllegalArgumentException("bad message " + body);
+            }
+            return body;
+        }
+
+        @Override
+        public BatchConsumeResult consume(List<BatchMessage<String>> messages) throws Exception {
+            batches.add(messages.stream().map(BatchMessage::getPayload).collect(Collectors.toList()));
+            if (throwOnConsume) {
+                throw new IllegalStateException("consume fail");
+            }
+            final BatchConsumeResult result = BatchConsumeResult.success();
+            for (int i = 0; i < messages.size(); i++) {
+                if (messages.get(i).getPayload().startsWith("fail")) {
+                    result.markFailed(i);
+                }
+            }
+            return result;
+        }
+    }
+
+    @Test
+    public void testSplitByMaxBatchSize() {
+        final RecordingListener listener = new RecordingListener();
+        final BatchMessageListenerAdaptor<String> adaptor =
+                new BatchMessageListenerAdaptor<>(listener).setMaxBatchSize(2);
+        final ConsumeConcurrentlyStatus status = adaptor.consumeMessage(messages("a", "b", "c", "d", "e"), context());
+        Assert.assertEquals(ConsumeConcurrentlyStatus.CONSUME_SUCCESS, status);
+        Assert.assertEquals(Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("c", "d"),
+                Collections.singletonList("e")), listener.batches);
+    }
+
+    @Test
+    public void testPartialFailureAckBeforeFirstFailed() {
+        final RecordingListener listener = new RecordingListener();
+        final BatchMessageListenerAdaptor<String> adaptor = new BatchMessageListenerAdaptor<>(listener);
+        final ConsumeConcurrentlyContext context = context();
+        final ConsumeConcurrentlyStatus status = adaptor.consumeMessage(messages("a", "bad", "fail", "d"), context);
+        Assert.assertEquals(ConsumeConcurrentlyStatus.CONSUME_SUCCESS, status);
+        // 解码失败的消息不进入批次，无法逐条重投时从第一条失败消息起重投
+        Assert.assertEquals(Collections.singletonList(Arrays.asList("a", "fail", "d")), listener.batches);
+        Assert.assertEquals(0, context.getAckIndex());
+    }
+
+    @Test
+    public void testAllFailedReconsumeLater() {
+        final RecordingListener listener = new RecordingListener();
+        listener.throwOnConsume = true;
+        final BatchMessageListenerAdaptor<String> adaptor = new BatchMessageListenerAdaptor<>(listener);
+        Assert.assertEquals(ConsumeConcurrentlyStatus.RECONSUME_LATER,
+                adaptor.consumeMessage(messages("a", "b"), context()));
+        Assert.assertEquals(ConsumeConcurrentlyStatus.RECONSUME_LATER,
+                adaptor.consumeMessage(messages("bad1", "bad2"), context()));
+    }
+
+    @Test
+    public void testLingerMergesConcurrentPulls() throws Exception {
+        final RecordingListener listener = new RecordingListener();
+        final BatchMessageListenerAdaptor<String> adaptor = new BatchMessageListenerAdaptor<>(listener)
+                .setMaxBatchSize(4).setMaxLingerMillis(5000);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final Future<ConsumeConcurrentlyStatus> f1 = executor.submit(() -> {
+                start.await();
+                return adaptor.consumeMessage(messages("a", "b"), context());
+            });
+            final Future<ConsumeConcurrentlyStatus> f2 = executor.submit(() -> {
+                start.await();
+                return adaptor.consumeMessage(messages("c", "fail"), context());
+            });
+            start.countDown();
+            Assert.assertEquals(ConsumeConcurrentlyStatus.CONSUME_SUCCESS, f1.get());
+            Assert.assertEquals(ConsumeConcurrentlyStatus.CONSUME_SUCCESS, f2.get());
+        } finally {
+            executor.shutdown();
+        }
+        // 两次拉取攒满一批后合并处理，失败只影响所属的拉取
+        Assert.assertEquals(1, listener.batches.size());
+        Assert.assertEquals(4, listener.batches.get(0).size());
+    }
+
+    @Test
+    public void testLingerTimeoutFlush() {
+        final RecordingListener listener = new RecordingListener();
+        final BatchMessageListenerAdaptor<String> adaptor = new BatchMessageListenerAdaptor<>(listener)
+                .setMaxBatchSize(100).setMaxLingerMillis(50);
+        final long start = System.currentTimeMillis();
+        Assert.assertEquals(ConsumeConcurrentlyStatus.CONSUME_SUCCESS,
+                adaptor.consumeMessage(messages("a"), context()));
+        Assert.assertTrue(System.currentTimeMillis() - start >= 50);
+        Assert.assertEquals(Collections.singletonList(Collections.singletonList("a")), listener.batches);
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.alpha.coding.common.utils.compress;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.alpha.coding.common.utils.CompressUtils;
+
+/**
+ * CompressCodecsTest
+ *
+ * @version 1.0
+ * Date: 2026/10/18
+ */
+public class CompressCodecsTest {
+
+    private static final int[] SIZES = {0, 1, 12, 13, 100, 4096, 64 * 1024, 64 * 1024 + 1, 300 * 1024};
+
+    private static byte[] text(int size) {
+        final StringBuilder sb = new StringBuilder(size + 64);
+        int i = 0;
+        while (sb.length() < size) {
+            sb.append("{\"id\":").append(i).append(",\"name\":\"item-").append(i % 17).append("\"},");
+            i++;
+        }
+        return Arrays.copyOf(sb.toString().getBytes(StandardCharsets.UTF_8), size);
+    }
+
+    private static byte[] random(int size) {
+        final byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        for (String name : new String[] {CompressCodecs.GZIP, CompressCodecs.LZ}) {
+            final CompressCodec codec = CompressCodecs.get(name);
+            for (int size : SIZES) {
+                for (byte[] bytes : new byte[][] {text(size), random(size)}) {
+                    final byte[] encoded = CompressCodecs.encode(codec, bytes, 0);
+                    Assert.assertArrayEquals(name + ":" + size, bytes, CompressCodecs.decode(encoded));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLzReuseBufferAcrossSizes() throws IOException {
+        final LzBlockCompressCodec codec = new LzBlockCompressCodec();
+        // 大小交替，校验复用缓冲中的残留数据不会影响结果
+        for (int size : new int[] {300 * 1024, 100, 64 * 1024, 13, 300 * 1024, 4096}) {
+            final byte[] bytes = text(size);
+            Assert.assertArrayEquals(bytes, codec.decompress(codec.compress(bytes, 3), 3));
+        }
+    }
+
+    @Test
+    public void testThreshold() throws IOException {
+        final CompressCodec codec = CompressCodecs.get(CompressCodecs.LZ);
+        final byte[] bytes = text(1000);
+        final byte[] raw = CompressCodecs.encode(codec, bytes, 1001);
+        Assert.assertEquals(bytes.length + 1, raw.length);
+        Assert.assertEquals((byte) 0xF8, raw[0]);
+        final byte[] compressed = CompressCodecs.encode(codec, bytes, 1000);
+        Assert.assertTrue(compressed.length < bytes.length);
+        Assert.assertEquals((byte) (0xF8 | LzBlockCompressCodec.ID), compressed[0]);
+        // 压缩后未变小时不压缩
+        Assert.assertEquals((byte) 0xF8, CompressCodecs.encode(codec, random(1000), 0)[0]);
+    }
+
+    @Test
+    public void testDecodeLegacyAndPlain() throws IOException {
+        final byte[] bytes = text(2048);
+        Assert.assertArrayEquals(bytes, CompressCodecs.decode(CompressUtils.gzip(bytes)));
+        final byte[] json = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        Assert.assertSame(json, CompressCodecs.decode(json));
+        Assert.assertNull(CompressCodecs.decode(null));
+    }
+
+    @Test
+    public void testMalformedInput() throws IOException {
+        final byte[] encoded = CompressCodecs.encode(CompressCodecs.get(CompressCodecs.LZ), text(4096), 0);
+        final byte[][] malformed = {
+                // 未注册的编解码id
+                {(byte) 0xFF, 1, 2, 3},
+                // 长度超出数据可表示的范围
+                {(byte) (0xF8 | LzBlockCompressCodec.ID), (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x7F, 0},
+                // 长度为负的变长整数
+                {(byte) (0xF8 | LzBlockCompressCodec.ID), (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F},
+                // 匹配偏移超出已解压数据
+                {(byte) (0xF8 | LzBlockCompressCodec.ID), 8, 0x00, (byte) 0xFF, 0x00},
+                // 截断的gzip
+                Arrays.copyOf(CompressCodecs.encode(CompressCodecs.get(CompressCodecs.GZIP), text(4096), 0), 20),
+        };
+        for (byte[] bytes : malformed) {
+            assertMalformed(bytes);
+        }
+        for (int length = 1; length < encoded.length; length += Math.max(1, encoded.length / 50)) {
+            assertMalformed(Arrays.copyOf(encoded, length));
+        }
+    }
+
+    private static void assertMalformed(byte[] bytes) {
+        try {
+            CompressCodecs.decode(bytes);
+            Assert.fail("expect IOException for " + Arrays.toString(Arrays.copyOf(bytes, Math.min(16, bytes.length))));
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+}